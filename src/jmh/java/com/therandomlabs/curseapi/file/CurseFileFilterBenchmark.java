@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.therandomlabs.curseapi.forgesvc.ForgeSvcFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link CurseFileFilter#test(CurseFile)} and
+ * {@link CompiledCurseFileFilter#test(CurseFile)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurseFileFilterBenchmark {
+	@Param({"100", "5000"})
+	public int count;
+
+	private List<CurseFile> files;
+	private CurseFileFilter emptyFilter;
+	private CurseFileFilter filter;
+	private CompiledCurseFileFilter compiledFilter;
+
+	/**
+	 * Loads the files and creates the filters.
+	 */
+	@Setup
+	public void setup() {
+		files = ForgeSvcFixtures.files(count);
+		emptyFilter = new CurseFileFilter();
+		filter = new CurseFileFilter().
+				gameVersionStrings("1.12.2", "1.14.4").
+				newerThan(files.get(files.size() / 4).id()).
+				minimumStability(CurseReleaseType.BETA);
+		compiledFilter = filter.compile();
+	}
+
+	/**
+	 * Tests all files against a filter that matches all files.
+	 *
+	 * @param blackhole a {@link Blackhole}.
+	 */
+	@Benchmark
+	public void testEmptyFilter(Blackhole blackhole) {
+		test(emptyFilter, blackhole);
+	}
+
+	/**
+	 * Tests all files against a filter with game versions, a minimum file ID and
+	 * a minimum stability.
+	 *
+	 * @param blackhole a {@link Blackhole}.
+	 */
+	@Benchmark
+	public void testFilter(Blackhole blackhole) {
+		test(filter, blackhole);
+	}
+
+	/**
+	 * Tests all files against the compiled form of the filter used by
+	 * {@link #testFilter(Blackhole)}.
+	 *
+	 * @param blackhole a {@link Blackhole}.
+	 */
+	@Benchmark
+	public void testCompiledFilter(Blackhole blackhole) {
+		test(compiledFilter, blackhole);
+	}
+
+	private void test(Predicate<CurseFile> filter, Blackhole blackhole) {
+		for (CurseFile file : files) {
+			blackhole.consume(filter.test(file));
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CurseFilesComparison#of(java.util.Collection, java.util.Collection)} and
+ * {@link CurseFilesComparison#ofParallel(java.util.Collection, java.util.Collection)}
+ * using collections that resemble modpack updates: most files are unchanged, and the rest
+ * are updated, downgraded, removed or added.
+ * The average time per file should stay constant as the number of projects increases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurseFilesComparisonBenchmark {
+	@Param({"100", "1000", "10000", "100000"})
+	public int projects;
+
+	private List<BasicCurseFile> oldFiles;
+	private List<BasicCurseFile> newFiles;
+
+	/**
+	 * Creates the old and new files.
+	 */
+	@Setup
+	public void setup() {
+		final Random random = new Random(projects);
+		oldFiles = new ArrayList<>(projects);
+		newFiles = new ArrayList<>(projects);
+
+		for (int i = 0; i < projects; i++) {
+			final int projectID = CurseAPI.MIN_PROJECT_ID + i;
+			final int fileID = CurseAPI.MIN_FILE_ID + 100 + i * 10;
+			final int change = random.nextInt(20);
+
+			//Unchanged: 70%, updated: 15%, downgraded: 5%, removed: 5%, added: 5%.
+			if (change != 19) {
+				oldFiles.add(new BasicCurseFile.Immutable(projectID, fileID));
+			}
+
+			if (change < 14) {
+				newFiles.add(new BasicCurseFile.Immutable(projectID, fileID));
+			} else if (change < 17) {
+				newFiles.add(new BasicCurseFile.Immutable(projectID, fileID + 1));
+			} else if (change == 17) {
+				newFiles.add(new BasicCurseFile.Immutable(projectID, fileID - 1));
+			} else if (change == 19) {
+				newFiles.add(new BasicCurseFile.Immutable(projectID, fileID));
+			}
+		}
+	}
+
+	/**
+	 * Compares the old and new files.
+	 *
+	 * @return the comparison.
+	 */
+	@Benchmark
+	public CurseFilesComparison<BasicCurseFile> of() {
+		return CurseFilesComparison.of(oldFiles, newFiles);
+	}
+
+	/**
+	 * Compares the old and new files using parallel streams.
+	 *
+	 * @return the comparison.
+	 */
+	@Benchmark
+	public CurseFilesComparison<BasicCurseFile> ofParallel() {
+		return CurseFilesComparison.ofParallel(oldFiles, newFiles);
+	}
+}
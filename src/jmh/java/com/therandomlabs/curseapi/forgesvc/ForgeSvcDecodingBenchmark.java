@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.forgesvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.squareup.moshi.JsonAdapter;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.project.CurseProject;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Moshi decoding of {@link ForgeSvcProject}s and {@link ForgeSvcFile}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForgeSvcDecodingBenchmark {
+	/**
+	 * Decodes a list of files.
+	 *
+	 * @param fixture the files fixture.
+	 * @return the decoded files.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@Benchmark
+	public List<? extends CurseFile> decodeFiles(FilesFixture fixture) throws IOException {
+		return fixture.adapter.fromJson(new Buffer().write(fixture.json));
+	}
+
+	/**
+	 * Decodes a list of projects.
+	 *
+	 * @param fixture the projects fixture.
+	 * @return the decoded projects.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@Benchmark
+	public List<? extends CurseProject> decodeProjects(ProjectsFixture fixture)
+			throws IOException {
+		return fixture.adapter.fromJson(new Buffer().write(fixture.json));
+	}
+
+	/**
+	 * A JSON array of files.
+	 */
+	@State(Scope.Benchmark)
+	public static class FilesFixture {
+		@Param({"100", "5000"})
+		public int count;
+
+		private byte[] json;
+		private JsonAdapter<List<ForgeSvcFile>> adapter;
+
+		/**
+		 * Loads the fixture.
+		 */
+		@Setup
+		public void setup() {
+			//Responses are decoded from bytes in the same way that response bodies are.
+			json = ForgeSvcFixtures.filesJSON(count).getBytes(StandardCharsets.UTF_8);
+			adapter = ForgeSvcFixtures.adapter(ForgeSvcFixtures.FILES_TYPE);
+		}
+	}
+
+	/**
+	 * A JSON array of projects.
+	 */
+	@State(Scope.Benchmark)
+	public static class ProjectsFixture {
+		@Param({"1", "100"})
+		public int count;
+
+		private byte[] json;
+		private JsonAdapter<List<ForgeSvcProject>> adapter;
+
+		/**
+		 * Loads the fixture.
+		 */
+		@Setup
+		public void setup() {
+			json = ForgeSvcFixtures.projectsJSON(count).getBytes(StandardCharsets.UTF_8);
+			adapter = ForgeSvcFixtures.adapter(ForgeSvcFixtures.PROJECTS_TYPE);
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.forgesvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Types;
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.util.MoshiUtils;
+import okio.Buffer;
+
+/**
+ * Provides synthetic ForgeSvc responses for benchmarks.
+ * <p>
+ * The responses are generated deterministically and have the same structure as the responses
+ * returned by ForgeSvc so that the benchmarks can be run offline and are reproducible.
+ */
+public final class ForgeSvcFixtures {
+	static final Type FILES_TYPE = Types.newParameterizedType(List.class, ForgeSvcFile.class);
+	static final Type PROJECTS_TYPE =
+			Types.newParameterizedType(List.class, ForgeSvcProject.class);
+
+	private static final int FIRST_FILE_ID = CurseAPI.MIN_FILE_ID + 2_000_000;
+	private static final int FIRST_PROJECT_ID = 200_000;
+	private static final long FIRST_FILE_DATE = 1_500_000_000L;
+
+	private static final String[] GAME_VERSIONS = {
+			"1.7.10", "1.10.2", "1.11.2", "1.12.2", "1.14.4", "1.15.2", "Forge", "Fabric"
+	};
+
+	private static final String[] CHANGELOG_LINES = {
+			"Fixed a crash when loading worlds created in older versions.",
+			"Added a configuration option to disable the update checker.",
+			"Improved performance of block entity rendering on servers with many players.",
+			"Updated translations (thanks to all contributors on the translation project).",
+			"Removed the deprecated API; see the wiki for migration instructions."
+	};
+
+	private ForgeSvcFixtures() {}
+
+	/**
+	 * Returns a JSON array of the specified number of files, as returned by
+	 * {@code api/v2/addon/{projectID}/files}.
+	 *
+	 * @param count the number of files.
+	 * @return a JSON array of files.
+	 */
+	public static String filesJSON(int count) {
+		return write(writer -> writeFiles(writer, count));
+	}
+
+	/**
+	 * Returns a JSON array of the specified number of projects, as returned by
+	 * {@code api/v2/addon}. Each project contains ten latest files.
+	 *
+	 * @param count the number of projects.
+	 * @return a JSON array of projects.
+	 */
+	public static String projectsJSON(int count) {
+		return write(writer -> writeProjects(writer, count));
+	}
+
+	/**
+	 * Returns a changelog containing the specified number of entries.
+	 *
+	 * @param entries the number of changelog entries.
+	 * @return an HTML changelog.
+	 */
+	public static String changelogHTML(int entries) {
+		return generateChangelog(entries);
+	}
+
+	/**
+	 * Decodes the files returned by {@link #filesJSON(int)}.
+	 *
+	 * @param count the number of files.
+	 * @return a {@link List} of {@link CurseFile}s.
+	 */
+	public static List<CurseFile> files(int count) {
+		try {
+			return MoshiUtils.moshi.<List<CurseFile>>adapter(FILES_TYPE).fromJson(filesJSON(count));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	static <T> JsonAdapter<T> adapter(Type type) {
+		return MoshiUtils.moshi.adapter(type);
+	}
+
+	private static String write(JsonWriterConsumer consumer) {
+		final Buffer buffer = new Buffer();
+
+		try (JsonWriter writer = JsonWriter.of(buffer)) {
+			consumer.accept(writer);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+
+		return buffer.readUtf8();
+	}
+
+	private static void writeFiles(JsonWriter writer, int count) throws IOException {
+		final Random random = new Random(count);
+		writer.beginArray();
+
+		for (int i = 0; i < count; i++) {
+			writeFile(writer, random, FIRST_PROJECT_ID, FIRST_FILE_ID + i * 7);
+		}
+
+		writer.endArray();
+	}
+
+	private static void writeProjects(JsonWriter writer, int count) throws IOException {
+		final Random random = new Random(count);
+		writer.beginArray();
+
+		for (int i = 0; i < count; i++) {
+			writeProject(writer, random, FIRST_PROJECT_ID + i);
+		}
+
+		writer.endArray();
+	}
+
+	private static void writeProject(JsonWriter writer, Random random, int projectID)
+			throws IOException {
+		final String slug = "project-" + projectID;
+		final String url = "https://www.curseforge.com/minecraft/mc-mods/" + slug;
+
+		writer.beginObject();
+		writer.name("id").value(projectID);
+		writer.name("name").value("Project " + projectID);
+
+		writer.name("authors").beginArray();
+		writer.beginObject();
+		writer.name("name").value("author" + projectID);
+		writer.name("url").value("https://www.curseforge.com/members/" + projectID + "-author");
+		writer.name("projectId").value(projectID);
+		writer.name("id").value(projectID * 3);
+		writer.name("userId").value(projectID * 5);
+		writer.name("twitchId").value(projectID * 7);
+		writer.endObject();
+		writer.endArray();
+
+		writer.name("attachments").beginArray();
+
+		for (int i = 0; i < 3; i++) {
+			final String attachmentURL = "https://media.forgecdn.net/attachments/" +
+					projectID / 1000 + "/" + projectID % 1000 + "/" + i;
+			writer.beginObject();
+			writer.name("id").value(projectID * 10 + i);
+			writer.name("projectId").value(projectID);
+			writer.name("description").value("Screenshot " + i);
+			writer.name("isDefault").value(i == 0);
+			writer.name("thumbnailUrl").value(attachmentURL + "/256/256/image.png");
+			writer.name("title").value("Image " + i);
+			writer.name("url").value(attachmentURL + "/image.png");
+			writer.name("status").value(1);
+			writer.endObject();
+		}
+
+		writer.endArray();
+
+		writer.name("websiteUrl").value(url);
+		writer.name("gameId").value(432);
+		writer.name("summary").value("A benchmark fixture project with the ID " + projectID + ".");
+		writer.name("defaultFileId").value(FIRST_FILE_ID + projectID);
+		writer.name("downloadCount").value(random.nextInt(100_000_000));
+
+		writer.name("latestFiles").beginArray();
+
+		for (int i = 0; i < 10; i++) {
+			writeFile(writer, random, projectID, FIRST_FILE_ID + projectID * 10 + i);
+		}
+
+		writer.endArray();
+
+		writer.name("categories").beginArray();
+
+		for (int i = 0; i < 3; i++) {
+			final int categoryID = 400 + random.nextInt(40);
+			writer.beginObject();
+			writer.name("categoryId").value(categoryID);
+			writer.name("name").value("Category " + categoryID);
+			writer.name("url").value(
+					"https://www.curseforge.com/minecraft/mc-mods/category-" + categoryID
+			);
+			writer.name("avatarUrl").value(
+					"https://media.forgecdn.net/avatars/" + categoryID + "/avatar.png"
+			);
+			writer.name("parentId").value(6);
+			writer.name("rootId").value(6);
+			writer.name("projectId").value(projectID);
+			writer.name("avatarId").value(categoryID);
+			writer.name("gameId").value(432);
+			writer.endObject();
+		}
+
+		writer.endArray();
+
+		writer.name("status").value(4);
+		writer.name("primaryCategoryId").value(423);
+
+		writer.name("categorySection").beginObject();
+		writer.name("id").value(8);
+		writer.name("gameId").value(432);
+		writer.name("name").value("Mods");
+		writer.name("packageType").value(6);
+		writer.name("path").value("mods");
+		writer.name("initialInclusionPattern").value(".");
+		writer.name("gameCategoryId").value(6);
+		writer.endObject();
+
+		writer.name("slug").value(slug);
+		writer.name("isFeatured").value(false);
+		writer.name("popularityScore").value(random.nextDouble() * 10_000.0);
+		writer.name("gamePopularityRank").value(random.nextInt(10_000));
+		writer.name("primaryLanguage").value("enUS");
+		writer.name("gameSlug").value("minecraft");
+		writer.name("gameName").value("Minecraft");
+		writer.name("portalName").value("www.curseforge.com");
+		writer.name("dateModified").value(date(projectID));
+		writer.name("dateCreated").value(date(projectID - 100_000));
+		writer.name("dateReleased").value(date(projectID));
+		writer.name("isAvailable").value(true);
+		writer.name("isExperiemental").value(false);
+		writer.endObject();
+	}
+
+	private static void writeFile(JsonWriter writer, Random random, int projectID, int fileID)
+			throws IOException {
+		final String fileName = "project-" + projectID + "-" + fileID + ".jar";
+
+		writer.beginObject();
+		writer.name("id").value(fileID);
+		writer.name("displayName").value("Project " + projectID + " " + fileID);
+		writer.name("fileName").value(fileName);
+		writer.name("fileDate").value(date(fileID - FIRST_FILE_ID));
+		writer.name("fileLength").value(1024 + random.nextInt(1 << 22));
+		writer.name("releaseType").value(1 + random.nextInt(3));
+		writer.name("fileStatus").value(4);
+		writer.name("downloadUrl").value(
+				"https://edge.forgecdn.net/files/" + fileID / 1000 + "/" + fileID % 1000 + "/" +
+						fileName
+		);
+		writer.name("isAlternate").value(false);
+		writer.name("alternateFileId").value(0);
+
+		writer.name("dependencies").beginArray();
+
+		for (int i = random.nextInt(4); i > 0; i--) {
+			writer.beginObject();
+			writer.name("id").value(0);
+			writer.name("addonId").value(FIRST_PROJECT_ID + random.nextInt(100_000));
+			writer.name("type").value(1 + random.nextInt(6));
+			writer.name("fileId").value(0);
+			writer.endObject();
+		}
+
+		writer.endArray();
+
+		writer.name("isAvailable").value(true);
+
+		writer.name("modules").beginArray();
+		writer.beginObject();
+		writer.name("foldername").value("META-INF");
+		writer.name("fingerprint").value(random.nextInt() & 0xFFFFFFFFL);
+		writer.name("type").value(3);
+		writer.endObject();
+		writer.endArray();
+
+		writer.name("packageFingerprint").value(random.nextInt() & 0xFFFFFFFFL);
+
+		writer.name("gameVersion").beginArray();
+		final int firstVersion = random.nextInt(GAME_VERSIONS.length - 2);
+		final int versionCount = 1 + random.nextInt(3);
+
+		for (int i = 0; i < versionCount; i++) {
+			writer.value(GAME_VERSIONS[firstVersion + i]);
+		}
+
+		writer.endArray();
+
+		writer.name("installMetadata").nullValue();
+		writer.name("serverPackFileId").nullValue();
+		writer.name("hasInstallScript").value(false);
+		writer.name("gameVersionDateReleased").value(date(0));
+		writer.name("gameVersionFlavor").nullValue();
+		writer.endObject();
+	}
+
+	private static String date(int hours) {
+		return Instant.ofEpochSecond(FIRST_FILE_DATE + hours * 3600L).toString();
+	}
+
+	private static String generateChangelog(int entries) {
+		final Random random = new Random(entries);
+		final StringBuilder html = new StringBuilder();
+
+		for (int i = entries; i > 0; i--) {
+			html.append("<h2><strong>Version 1.").append(i).append(".0</strong></h2>\n");
+			html.append("<p>Released for <em>Minecraft 1.12.2</em>. See ").
+					append("<a href=\"https://github.com/example/project/releases/tag/1.").
+					append(i).append(".0\">the release page</a> for details.</p>\n<ul>\n");
+
+			for (int j = 1 + random.nextInt(8); j > 0; j--) {
+				html.append("<li>").
+						append(CHANGELOG_LINES[random.nextInt(CHANGELOG_LINES.length)]).
+						append("</li>\n");
+			}
+
+			html.append("</ul>\n");
+
+			if (random.nextInt(4) == 0) {
+				html.append("<p>Known issues:<br>Some textures may flicker.<br><br><br>").
+						append("<span style=\"color: #ff0000;\">Back up your worlds!</span>").
+						append("</p>\n");
+			}
+		}
+
+		return html.toString();
+	}
+
+	@FunctionalInterface
+	private interface JsonWriterConsumer {
+		void accept(JsonWriter writer) throws IOException;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.forgesvc;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+import com.squareup.moshi.Types;
+import com.therandomlabs.curseapi.util.GameVersionIndices;
+
+/**
+ * Reports the heap retained by the game version strings of decoded files with and without
+ * {@link GameVersionIndices}. This can be run using the {@code jmhFootprint} Gradle task.
+ */
+public final class ForgeSvcFootprint {
+	private static final int FILES = 50_000;
+
+	private ForgeSvcFootprint() {}
+
+	/**
+	 * Runs the footprint measurement.
+	 *
+	 * @param args the number of files may optionally be specified.
+	 * @throws IOException if an I/O error occurs.
+	 * @throws InterruptedException if the current thread is interrupted.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		final int count = args.length == 0 ? FILES : Integer.parseInt(args[0]);
+		final String json = ForgeSvcFixtures.filesJSON(count);
+
+		final long plain = retainedBytes(json, PlainGameVersions.class);
+		final long indices = retainedBytes(json, IndexedGameVersions.class);
+		final long files = retainedBytes(json, ForgeSvcFile.class);
+
+		System.out.printf("Files: %d%n", count);
+		System.out.printf("Set<String> game versions: %d bytes%n", plain);
+		System.out.printf("@GameVersionIndices game versions: %d bytes%n", indices);
+		System.out.printf(
+				"Saved: %d bytes (%.1f bytes per file)%n",
+				plain - indices, (plain - indices) / (double) count
+		);
+		System.out.printf(
+				"Decoded ForgeSvcFiles: %d bytes (%.1f bytes per file)%n",
+				files, files / (double) count
+		);
+	}
+
+	private static long retainedBytes(String json, Class<?> type)
+			throws IOException, InterruptedException {
+		final Type listType = Types.newParameterizedType(List.class, type);
+		final long before = usedHeap();
+		final List<?> decoded = ForgeSvcFixtures.<List<?>>adapter(listType).fromJson(json);
+		final long after = usedHeap();
+		//The decoded list is used after the heap is measured so that it is still reachable.
+		return decoded == null || decoded.isEmpty() ? 0L : after - before;
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50L);
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@SuppressWarnings("unused")
+	private static final class PlainGameVersions {
+		private Set<String> gameVersion;
+	}
+
+	@SuppressWarnings("unused")
+	private static final class IndexedGameVersions {
+		@GameVersionIndices
+		private int[] gameVersion;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.forgesvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.HTTPArchive;
+import com.therandomlabs.curseapi.util.OkHttpUtils;
+import com.therandomlabs.curseapi.util.RetrofitUtils;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput and latency distribution of {@link ForgeSvcProvider} requests that
+ * are replayed from an {@link HTTPArchive} with injected latency and server errors.
+ * The archive is recorded from synthetic fixture responses, so the benchmark can be run
+ * offline, and the sampled latencies include the retries caused by the injected errors.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForgeSvcReplayBenchmark {
+	private static final int PROJECT_ID = 200_000;
+	private static final int PROJECTS = 100;
+
+	@Param({"0", "50"})
+	public long latencyMillis;
+
+	@Param({"0.0", "0.01"})
+	public double errorRate;
+
+	private final List<Integer> projectIDs = new ArrayList<>(PROJECTS);
+	private Path archiveDirectory;
+
+	/**
+	 * Records the fixture responses and starts replaying them.
+	 *
+	 * @throws CurseException if an error occurs.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@Setup
+	public void setup() throws CurseException, IOException {
+		for (int i = 0; i < PROJECTS; i++) {
+			projectIDs.add(PROJECT_ID + i);
+		}
+
+		archiveDirectory = Files.createTempDirectory("curseapi-replay-benchmark");
+		final HTTPArchive archive = new HTTPArchive(archiveDirectory);
+		final String filesJSON = ForgeSvcFixtures.filesJSON(100);
+		final String projectsJSON = ForgeSvcFixtures.projectsJSON(PROJECTS);
+		final OkHttpClient client = OkHttpUtils.getClient();
+
+		//The fixtures are served in place of the ForgeSvc API while they are being recorded.
+		OkHttpUtils.setClient(client.newBuilder().addInterceptor(chain -> {
+			final Request request = chain.request();
+			final String json =
+					request.url().encodedPath().endsWith("/files") ? filesJSON : projectsJSON;
+			return new Response.Builder().
+					request(request).
+					protocol(Protocol.HTTP_1_1).
+					code(200).
+					message("OK").
+					body(ResponseBody.create(MediaType.get("application/json"), json)).
+					build();
+		}).build());
+		RetrofitUtils.setInterceptor(archive.recorder());
+
+		try {
+			ForgeSvcProvider.instance.files(PROJECT_ID);
+			ForgeSvcProvider.instance.projects(projectIDs);
+		} finally {
+			OkHttpUtils.setClient(client);
+		}
+
+		final Duration latency = Duration.ofMillis(latencyMillis);
+		RetrofitUtils.setInterceptor(archive.replayer().
+				latency(latency).
+				latencyJitter(latency).
+				errorRate(errorRate));
+	}
+
+	/**
+	 * Stops replaying responses and deletes the archive.
+	 *
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		RetrofitUtils.setInterceptor(null);
+		MoreFiles.deleteRecursively(archiveDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+	}
+
+	/**
+	 * Retrieves the files of a project.
+	 *
+	 * @return the files.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Benchmark
+	public CurseFiles<CurseFile> files() throws CurseException {
+		return ForgeSvcProvider.instance.files(PROJECT_ID);
+	}
+
+	/**
+	 * Retrieves a batch of projects.
+	 *
+	 * @return the projects.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Benchmark
+	public Map<Integer, CurseProject> projects() throws CurseException {
+		return ForgeSvcProvider.instance.projects(projectIDs);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.therandomlabs.curseapi.forgesvc.ForgeSvcFixtures;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link JsoupUtils#getPlainText(Element)},
+ * {@link JsoupUtils#getPlainText(Element, int)} and
+ * {@link JsoupUtils#renderPlainText(String, int, Appendable)} on changelogs.
+ * The {@code FromHTML} benchmarks include parsing so that they can be compared with the
+ * streaming renderer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsoupUtilsBenchmark {
+	@Param({"10", "1000"})
+	public int entries;
+
+	private String changelogHTML;
+	private Element changelog;
+
+	/**
+	 * Loads and parses the changelog.
+	 */
+	@Setup
+	public void setup() {
+		changelogHTML = ForgeSvcFixtures.changelogHTML(entries);
+		changelog = JsoupUtils.parseBody(changelogHTML);
+	}
+
+	/**
+	 * Converts the changelog to plain text without word wrapping.
+	 *
+	 * @return the plain text.
+	 */
+	@Benchmark
+	public String getPlainText() {
+		return JsoupUtils.getPlainText(changelog);
+	}
+
+	/**
+	 * Converts the changelog to plain text with a maximum line length of 80.
+	 *
+	 * @return the plain text.
+	 */
+	@Benchmark
+	public String getPlainTextWrapped() {
+		return JsoupUtils.getPlainText(changelog, 80);
+	}
+
+	/**
+	 * Parses the changelog and converts it to plain text with a maximum line length of 80.
+	 *
+	 * @return the plain text.
+	 */
+	@Benchmark
+	public String getPlainTextFromHTML() {
+		return JsoupUtils.getPlainText(JsoupUtils.parseBody(changelogHTML), 80);
+	}
+
+	/**
+	 * Converts the changelog to plain text with a maximum line length of 80 without building
+	 * a DOM.
+	 *
+	 * @return the plain text.
+	 */
+	@Benchmark
+	public String renderPlainTextFromHTML() {
+		return JsoupUtils.renderPlainText(changelogHTML, 80);
+	}
+
+	/**
+	 * Converts the changelog to plain text with a maximum line length of 80 without building
+	 * a DOM, discarding the output as it is written.
+	 *
+	 * @param blackhole a {@link Blackhole}.
+	 * @throws IOException never.
+	 */
+	@Benchmark
+	public void renderPlainTextToAppendable(Blackhole blackhole) throws IOException {
+		JsoupUtils.renderPlainText(changelogHTML, 80, new BlackholeAppendable(blackhole));
+	}
+
+	private static final class BlackholeAppendable implements Appendable {
+		private final Blackhole blackhole;
+
+		BlackholeAppendable(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public Appendable append(CharSequence sequence) {
+			blackhole.consume(sequence);
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence sequence, int start, int end) {
+			blackhole.consume(start);
+			blackhole.consume(end);
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			blackhole.consume(c);
+			return this;
+		}
+	}
+}
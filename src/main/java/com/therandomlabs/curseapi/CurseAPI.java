@@ -26,32 +26,53 @@ package com.therandomlabs.curseapi;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.net.ssl.HttpsURLConnection;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.therandomlabs.curseapi.file.BasicCurseFile;
 import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFileStore;
 import com.therandomlabs.curseapi.file.CurseFiles;
 import com.therandomlabs.curseapi.forgesvc.ForgeSvcProvider;
 import com.therandomlabs.curseapi.game.CurseCategory;
@@ -59,10 +80,13 @@ import com.therandomlabs.curseapi.game.CurseGame;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
 import com.therandomlabs.curseapi.game.CurseGameVersionGroup;
 import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.project.CurseSearchIterator;
 import com.therandomlabs.curseapi.project.CurseSearchQuery;
 import com.therandomlabs.curseapi.util.CheckedFunction;
+import com.therandomlabs.curseapi.util.FutureUtils;
 import com.therandomlabs.curseapi.util.JsoupUtils;
 import com.therandomlabs.curseapi.util.OkHttpUtils;
+import com.therandomlabs.curseapi.util.RequestCoalescer;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -109,11 +133,62 @@ public final class CurseAPI {
 
 	private static final Logger logger = LoggerFactory.getLogger(CurseAPI.class);
 
-	private static final List<CurseAPIProvider> providers =
-			Lists.newArrayList(ForgeSvcProvider.instance);
+	//Readers use the current snapshot without locking, and writers replace it atomically.
+	private static final AtomicReference<ProviderChain> providerChain =
+			new AtomicReference<>(new ProviderChain(ImmutableList.of(ForgeSvcProvider.instance)));
+
+	private static final RequestCoalescer<CurseAPIRequest> requestCoalescer =
+			new RequestCoalescer<>();
+
+	private static volatile Executor executor = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("CurseAPI-Worker-%d").setDaemon(true).build()
+	);
+
+	private static volatile int maxConcurrency = 16;
+
+	private static volatile CurseAPIDispatchPolicy dispatchPolicy =
+			CurseAPIDispatchPolicy.SEQUENTIAL;
 
 	private CurseAPI() {}
 
+	@FunctionalInterface
+	private interface BatchFunction<K, V> {
+		@Nullable
+		Map<? super K, ? extends V> apply(CurseAPIProvider provider, Set<K> keys)
+				throws CurseException;
+	}
+
+	//An immutable snapshot of the registered providers that also contains the providers that
+	//implement each operation so that providers are not called for other operations.
+	private static final class ProviderChain {
+		final ImmutableList<CurseAPIProvider> providers;
+		final Map<CurseAPIOperation, ImmutableList<CurseAPIProvider>> routes =
+				new EnumMap<>(CurseAPIOperation.class);
+
+		ProviderChain(List<CurseAPIProvider> providers) {
+			this.providers = ImmutableList.copyOf(providers);
+			final Map<CurseAPIOperation, ImmutableList.Builder<CurseAPIProvider>> builders =
+					new EnumMap<>(CurseAPIOperation.class);
+
+			for (CurseAPIOperation operation : CurseAPIOperation.values()) {
+				builders.put(operation, ImmutableList.builder());
+			}
+
+			for (CurseAPIProvider provider : providers) {
+				final Set<CurseAPIOperation> operations = provider.operations();
+				Preconditions.checkNotNull(
+						operations, "operations should not be null: %s", provider
+				);
+
+				for (CurseAPIOperation operation : operations) {
+					builders.get(operation).add(provider);
+				}
+			}
+
+			builders.forEach((operation, builder) -> routes.put(operation, builder.build()));
+		}
+	}
+
 	/**
 	 * Returns a {@link CurseProject} instance for the specified project ID.
 	 *
@@ -124,7 +199,38 @@ public final class CurseAPI {
 	 */
 	public static Optional<CurseProject> project(int id) throws CurseException {
 		CursePreconditions.checkProjectID(id, "id");
-		return get(provider -> provider.project(id));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT, id), provider -> provider.project(id)
+		);
+	}
+
+	/**
+	 * Returns {@link CurseProject} instances for the specified project IDs.
+	 * <p>
+	 * Projects that have been cached are not requested again, and the remaining projects
+	 * are requested from the {@link CurseAPIProvider}s in as few requests as they support.
+	 * If a {@link CurseAPIProvider} cannot find some of the projects, they are requested from
+	 * the next {@link CurseAPIProvider}.
+	 *
+	 * @param ids a {@link Collection} of project IDs.
+	 * @return a mutable {@link Map} of project IDs to {@link CurseProject} instances in the
+	 * order of the specified project IDs. Project IDs for which no project exists are not
+	 * included.
+	 * @throws CurseException if an error occurs.
+	 */
+	public static Map<Integer, CurseProject> projects(Collection<Integer> ids)
+			throws CurseException {
+		Preconditions.checkNotNull(ids, "ids should not be null");
+
+		for (Integer id : ids) {
+			Preconditions.checkNotNull(id, "ids should not contain null");
+			CursePreconditions.checkProjectID(id, "id");
+		}
+
+		return getAll(
+				ids, CurseAPIOperation.PROJECT,
+				id -> CurseAPIRequest.of(CurseAPIOperation.PROJECT, id), CurseAPIProvider::projects
+		);
 	}
 
 	/**
@@ -193,7 +299,28 @@ public final class CurseAPI {
 	 */
 	public static Optional<Element> projectDescription(int id) throws CurseException {
 		CursePreconditions.checkProjectID(id, "id");
-		return get(provider -> provider.projectDescription(id));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT_DESCRIPTION, id), Element::clone,
+				provider -> provider.projectDescription(id)
+		);
+	}
+
+	/**
+	 * Returns the description for the project with the specified ID as an HTML string.
+	 * Unlike {@link #projectDescription(int)}, this does not require the description to be
+	 * parsed.
+	 *
+	 * @param id a project ID.
+	 * @return the description for the project with the specified ID as an HTML string wrapped
+	 * in an {@link Optional} if the project exists, or otherwise an empty {@link Optional}.
+	 * @throws CurseException if an error occurs.
+	 */
+	public static Optional<String> projectDescriptionHTML(int id) throws CurseException {
+		CursePreconditions.checkProjectID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT_DESCRIPTION_HTML, id),
+				provider -> provider.projectDescriptionHTML(id)
+		);
 	}
 
 	/**
@@ -241,7 +368,56 @@ public final class CurseAPI {
 	public static Optional<List<CurseProject>> searchProjects(CurseSearchQuery query)
 			throws CurseException {
 		Preconditions.checkNotNull(query, "query should not be null");
-		return get(provider -> provider.searchProjects(query));
+		//The query is cloned so that it can be safely used as a key.
+		final CurseSearchQuery clonedQuery = query.clone();
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.SEARCH_PROJECTS, clonedQuery), ArrayList::new,
+				provider -> provider.searchProjects(clonedQuery)
+		);
+	}
+
+	/**
+	 * Returns a lazy {@link Stream} of all {@link CurseProject}s that match the specified
+	 * {@link CurseSearchQuery}, starting from the query's page index. Pages are retrieved as
+	 * they are needed, and {@link CurseSearchIterator#DEFAULT_PREFETCHED_PAGES} pages are
+	 * retrieved in advance.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 * @return a {@link Stream} of {@link CurseProject}s that match the specified query.
+	 * @see #searchProjectsStream(CurseSearchQuery, int)
+	 */
+	public static Stream<CurseProject> searchProjectsStream(CurseSearchQuery query) {
+		return searchProjectsStream(query, CurseSearchIterator.DEFAULT_PREFETCHED_PAGES);
+	}
+
+	/**
+	 * Returns a lazy {@link Stream} of all {@link CurseProject}s that match the specified
+	 * {@link CurseSearchQuery}, starting from the query's page index.
+	 * <p>
+	 * Pages are retrieved as they are needed, and while the current page is being processed,
+	 * the specified number of subsequent pages are retrieved in the background. Each
+	 * {@link CurseProject} is only included once, even if it shifts between pages during
+	 * iteration. If a page cannot be retrieved, the returned {@link Stream} throws a
+	 * {@link java.util.concurrent.CompletionException} wrapping the cause when it reaches
+	 * that page. Closing the returned {@link Stream} cancels the retrieval of any pages that
+	 * have not yet been retrieved.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 * @param prefetchedPages the number of pages after the current page that should be
+	 * retrieved in advance.
+	 * @return a {@link Stream} of {@link CurseProject}s that match the specified query.
+	 * @see CurseSearchIterator
+	 */
+	public static Stream<CurseProject> searchProjectsStream(
+			CurseSearchQuery query, int prefetchedPages
+	) {
+		final CurseSearchIterator iterator = new CurseSearchIterator(query, prefetchedPages);
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(
+						iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL
+				),
+				false
+		).onClose(iterator::close);
 	}
 
 	/**
@@ -254,7 +430,10 @@ public final class CurseAPI {
 	 */
 	public static Optional<CurseFiles<CurseFile>> files(int projectID) throws CurseException {
 		CursePreconditions.checkProjectID(projectID, "projectID");
-		return get(provider -> provider.files(projectID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILES, projectID), CurseFiles::clone,
+				provider -> provider.files(projectID)
+		);
 	}
 
 	/**
@@ -272,7 +451,42 @@ public final class CurseAPI {
 	public static Optional<CurseFile> file(int projectID, int fileID) throws CurseException {
 		CursePreconditions.checkProjectID(projectID, "projectID");
 		CursePreconditions.checkFileID(fileID, "fileID");
-		return get(provider -> provider.file(projectID, fileID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE, projectID, fileID),
+				provider -> provider.file(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Returns {@link CurseFile} instances for the specified files, which may belong to
+	 * different projects.
+	 * <p>
+	 * Files that have been cached are not requested again, and the remaining files
+	 * are requested from the {@link CurseAPIProvider}s in as few requests as they support.
+	 * If a {@link CurseAPIProvider} cannot find some of the files, they are requested from
+	 * the next {@link CurseAPIProvider}.
+	 * Like {@link #file(int, int)}, this method cannot be used to retrieve alternate files.
+	 *
+	 * @param files a {@link Collection} of {@link BasicCurseFile}s, for example
+	 * {@link BasicCurseFile.Immutable}s read from a modpack manifest.
+	 * @return a mutable {@link Map} of the specified {@link BasicCurseFile}s to
+	 * {@link CurseFile} instances in the order of the specified {@link BasicCurseFile}s.
+	 * {@link BasicCurseFile}s for which no file exists are not included.
+	 * @throws CurseException if an error occurs.
+	 */
+	public static Map<BasicCurseFile, CurseFile> files(Collection<? extends BasicCurseFile> files)
+			throws CurseException {
+		Preconditions.checkNotNull(files, "files should not be null");
+
+		for (BasicCurseFile file : files) {
+			Preconditions.checkNotNull(file, "files should not contain null");
+		}
+
+		return getAll(
+				files, CurseAPIOperation.FILE,
+				file -> CurseAPIRequest.of(CurseAPIOperation.FILE, file.projectID(), file.id()),
+				CurseAPIProvider::files
+		);
 	}
 
 	/**
@@ -289,7 +503,32 @@ public final class CurseAPI {
 	public static Optional<Element> fileChangelog(int projectID, int fileID) throws CurseException {
 		CursePreconditions.checkProjectID(projectID, "projectID");
 		CursePreconditions.checkFileID(fileID, "fileID");
-		return get(provider -> provider.fileChangelog(projectID, fileID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_CHANGELOG, projectID, fileID),
+				Element::clone, provider -> provider.fileChangelog(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Returns the changelog for the specified project and file ID as an HTML string.
+	 * Unlike {@link #fileChangelog(int, int)}, this does not require the changelog to be
+	 * parsed.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return the changelog for the specified project and file ID as an HTML string wrapped in
+	 * an {@link Optional} if the file exists, or otherwise an empty {@link Optional}.
+	 * If no changelog is provided for the specified file, the string is empty.
+	 * @throws CurseException if an error occurs.
+	 */
+	public static Optional<String> fileChangelogHTML(int projectID, int fileID)
+			throws CurseException {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_CHANGELOG_HTML, projectID, fileID),
+				provider -> provider.fileChangelogHTML(projectID, fileID)
+		);
 	}
 
 	/**
@@ -343,11 +582,16 @@ public final class CurseAPI {
 			throws CurseException {
 		CursePreconditions.checkProjectID(projectID, "projectID");
 		CursePreconditions.checkFileID(fileID, "fileID");
-		return get(provider -> provider.fileDownloadURL(projectID, fileID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_DOWNLOAD_URL, projectID, fileID),
+				provider -> provider.fileDownloadURL(projectID, fileID)
+		);
 	}
 
 	/**
 	 * Downloads the file with the specified project and file ID to the specified {@link Path}.
+	 * If a global {@link CurseFileStore} has been set, it is used to download the file, and the
+	 * size of the file is verified using {@link CurseFile#fileSize()}.
 	 *
 	 * @param projectID a project ID.
 	 * @param fileID a file ID.
@@ -366,12 +610,21 @@ public final class CurseAPI {
 			return false;
 		}
 
-		OkHttpUtils.download(optionalURL.get(), path);
+		final CurseFileStore store = CurseFileStore.global();
+
+		if (store == null) {
+			OkHttpUtils.download(optionalURL.get(), path);
+		} else {
+			store.download(fileID, optionalURL.get(), fileSize(projectID, fileID), path);
+		}
+
 		return true;
 	}
 
 	/**
 	 * Downloads the file with the specified project and file ID to the specified directory.
+	 * If a global {@link CurseFileStore} has been set, it is used to download the file, and the
+	 * size of the file is verified using {@link CurseFile#fileSize()}.
 	 *
 	 * @param projectID a project ID.
 	 * @param fileID a file ID.
@@ -394,9 +647,19 @@ public final class CurseAPI {
 		}
 
 		final HttpUrl url = optionalURL.get();
-		return Optional.of(OkHttpUtils.downloadToDirectory(
-				url, directory, OkHttpUtils.getFileNameFromURLPath(url)
-		));
+		final String fileName = OkHttpUtils.getFileNameFromURLPath(url);
+		final CurseFileStore store = CurseFileStore.global();
+
+		if (store == null) {
+			return Optional.of(OkHttpUtils.downloadToDirectory(url, directory, fileName));
+		}
+
+		Preconditions.checkArgument(
+				!Files.isRegularFile(directory), "directory should not be a regular file"
+		);
+		final Path path = directory.resolve(fileName);
+		store.download(fileID, url, fileSize(projectID, fileID), path);
+		return Optional.of(path);
 	}
 
 	/**
@@ -408,7 +671,10 @@ public final class CurseAPI {
 	 * @throws CurseException if an error occurs.
 	 */
 	public static Optional<Set<CurseGame>> games() throws CurseException {
-		return get(CurseAPIProvider::games);
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAMES), CurseAPI::copySet,
+				CurseAPIProvider::games
+		);
 	}
 
 	/**
@@ -433,7 +699,9 @@ public final class CurseAPI {
 	 */
 	public static Optional<CurseGame> game(int id) throws CurseException {
 		CursePreconditions.checkGameID(id, "id");
-		return get(provider -> provider.game(id));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME, id), provider -> provider.game(id)
+		);
 	}
 
 	/**
@@ -450,7 +718,10 @@ public final class CurseAPI {
 	public static <V extends CurseGameVersion<?>> Optional<SortedSet<V>> gameVersions(int gameID)
 			throws CurseException {
 		CursePreconditions.checkGameID(gameID, "gameID");
-		return get(provider -> (SortedSet<V>) provider.gameVersions(gameID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME_VERSIONS, gameID), TreeSet::new,
+				provider -> (SortedSet<V>) provider.gameVersions(gameID)
+		);
 	}
 
 	/**
@@ -471,7 +742,10 @@ public final class CurseAPI {
 	) throws CurseException {
 		CursePreconditions.checkGameID(gameID, "gameID");
 		Preconditions.checkNotNull(versionString, "versionString should not be null");
-		return get(provider -> (V) provider.gameVersion(gameID, versionString));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME_VERSION, gameID, versionString),
+				provider -> (V) provider.gameVersion(gameID, versionString)
+		);
 	}
 
 	/**
@@ -483,7 +757,10 @@ public final class CurseAPI {
 	 * @throws CurseException if an error occurs.
 	 */
 	public static Optional<Set<CurseCategory>> categories() throws CurseException {
-		return get(CurseAPIProvider::categories);
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORIES), CurseAPI::copySet,
+				CurseAPIProvider::categories
+		);
 	}
 
 	/**
@@ -497,7 +774,11 @@ public final class CurseAPI {
 	 */
 	public static Optional<Set<CurseCategory>> categories(int sectionID) throws CurseException {
 		CursePreconditions.checkCategorySectionID(sectionID, "sectionID");
-		return get(provider -> provider.categories(sectionID));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORY_SECTION, sectionID),
+				CurseAPI::copySet,
+				provider -> provider.categories(sectionID)
+		);
 	}
 
 	/**
@@ -536,7 +817,10 @@ public final class CurseAPI {
 	 */
 	public static Optional<CurseCategory> category(int id) throws CurseException {
 		CursePreconditions.checkCategoryID(id, "id");
-		return get(provider -> provider.category(id));
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORY, id),
+				provider -> provider.category(id)
+		);
 	}
 
 	/**
@@ -584,8 +868,11 @@ public final class CurseAPI {
 	 * and this allows methods that throw {@link CurseException}s such as
 	 * {@link CurseFile#changelog()} to be called.
 	 * <p>
-	 * {@link Collection#parallelStream()} is used to iterate over elements of the
-	 * {@link Collection}, meaning that time-consuming requests may be executed in parallel.
+	 * The mapping function is called in parallel using the {@link Executor} returned by
+	 * {@link #executor()}, and at most {@link #maxConcurrency()} calls are in progress at a time,
+	 * meaning that time-consuming requests may be executed in parallel.
+	 * If the mapping function throws an exception for any element, the remaining elements
+	 * are not processed, and the exception is rethrown.
 	 *
 	 * @param collection a {@link Collection} to derive the result from.
 	 * @param function a {@link CheckedFunction} that maps objects of type {@code E} to objects of
@@ -596,23 +883,53 @@ public final class CurseAPI {
 	 * @param <C> the type of the resultant collection.
 	 * @return a collection derived from the elements of the specified {@link Collection}.
 	 * @throws CurseException if an error occurs.
+	 * @see #parallelMap(Collection, CheckedFunction, Collector, Executor, int)
 	 */
 	public static <E, R, C> C parallelMap(
 			Collection<? extends E> collection,
 			CheckedFunction<? super E, ? extends R, CurseException> function,
 			Collector<? super R, ?, C> collector
 	) throws CurseException {
-		try {
-			return collection.parallelStream().
-					map(element -> callCheckedFunction(element, function)).
-					collect(collector);
-		} catch (RuntimeException ex) {
-			if (ex.getCause() instanceof CurseException) {
-				throw (CurseException) ex.getCause();
-			}
+		return parallelMap(collection, function, collector, executor, maxConcurrency);
+	}
 
-			throw ex;
-		}
+	/**
+	 * Returns a collection derived from the elements of the specified {@link Collection} by
+	 * applying the specified mapping function.
+	 * <p>
+	 * The mapping function is called using the specified {@link Executor}, and at most the
+	 * specified number of calls are in progress at a time. The calling thread blocks until
+	 * all calls have completed, so the {@link Executor} should not be one that only has threads
+	 * that may be calling this method.
+	 * If the mapping function throws an exception for any element, the remaining elements
+	 * are not processed, and the exception is rethrown.
+	 *
+	 * @param collection a {@link Collection} to derive the result from.
+	 * @param function a {@link CheckedFunction} that maps objects of type {@code E} to objects of
+	 * type {@link R}.
+	 * @param collector a {@link Collector}.
+	 * @param executor the {@link Executor} used to call the mapping function.
+	 * @param maxConcurrency the maximum number of calls to the mapping function that may be in
+	 * progress at a time.
+	 * @param <E> the type of the elements.
+	 * @param <R> the type of the resultant values.
+	 * @param <C> the type of the resultant collection.
+	 * @return a collection derived from the elements of the specified {@link Collection}.
+	 * @throws CurseException if an error occurs.
+	 * @see FutureUtils#mapBounded(Collection, CheckedFunction, Executor, int)
+	 */
+	public static <E, R, C> C parallelMap(
+			Collection<? extends E> collection,
+			CheckedFunction<? super E, ? extends R, CurseException> function,
+			Collector<? super R, ?, C> collector, Executor executor, int maxConcurrency
+	) throws CurseException {
+		Preconditions.checkNotNull(collection, "collection should not be null");
+		Preconditions.checkNotNull(function, "function should not be null");
+		Preconditions.checkNotNull(collector, "collector should not be null");
+		final List<R> results = FutureUtils.join(
+				FutureUtils.<E, R>mapBounded(collection, function, executor, maxConcurrency)
+		);
+		return results.stream().collect(collector);
 	}
 
 	/**
@@ -624,8 +941,9 @@ public final class CurseAPI {
 	 * {@link CurseFile#changelog()} to be called.
 	 * <p>
 	 * The key function and the value function are both called on each element to retrieve the keys
-	 * and values of the {@link Map} respectively. Additionally, {@link Collection#parallelStream()}
-	 * is used to iterate over elements of the {@link Collection}, meaning that time-consuming
+	 * and values of the {@link Map} respectively. Additionally, the functions are called in
+	 * parallel in the same way as in
+	 * {@link #parallelMap(Collection, CheckedFunction, Collector)}, meaning that time-consuming
 	 * requests may be executed in parallel.
 	 *
 	 * @param collection a {@link Collection} to derive the result from.
@@ -654,6 +972,123 @@ public final class CurseAPI {
 		);
 	}
 
+	/**
+	 * Returns the {@link Executor} used by
+	 * {@link #parallelMap(Collection, CheckedFunction, Collector)} and to run blocking
+	 * {@link CurseAPIProvider} methods for {@link CurseAPIAsync}.
+	 * By default, this is a cached thread pool that uses daemon threads.
+	 *
+	 * @return the {@link Executor} used by CurseAPI.
+	 */
+	public static Executor executor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the {@link Executor} used by
+	 * {@link #parallelMap(Collection, CheckedFunction, Collector)} and to run blocking
+	 * {@link CurseAPIProvider} methods for {@link CurseAPIAsync}.
+	 * The previous {@link Executor} is not shut down.
+	 * <p>
+	 * As the tasks submitted to this {@link Executor} may block while waiting for HTTP responses,
+	 * it should not be a small fixed thread pool such as
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+	 *
+	 * @param executor an {@link Executor}.
+	 * @see #useVirtualThreads()
+	 */
+	public static void setExecutor(Executor executor) {
+		Preconditions.checkNotNull(executor, "executor should not be null");
+		CurseAPI.executor = executor;
+	}
+
+	/**
+	 * Sets the {@link Executor} used by CurseAPI to one that starts a new virtual thread for
+	 * each task if this is supported by the running JVM.
+	 *
+	 * @return {@code true} if virtual threads are now used, or otherwise {@code false}.
+	 * @see #setExecutor(Executor)
+	 */
+	public static boolean useVirtualThreads() {
+		final Method method;
+
+		try {
+			method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException ex) {
+			logger.debug("Virtual threads are not supported by this JVM");
+			return false;
+		}
+
+		try {
+			setExecutor((Executor) method.invoke(null));
+			return true;
+		} catch (IllegalAccessException | InvocationTargetException ex) {
+			//For example, virtual threads may be a preview feature that is not enabled.
+			logger.warn("Failed to create virtual thread executor", ex);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the maximum number of calls to the mapping function that may be in progress at
+	 * a time in {@link #parallelMap(Collection, CheckedFunction, Collector)}.
+	 * By default, this is {@code 16}.
+	 *
+	 * @return the maximum concurrency of
+	 * {@link #parallelMap(Collection, CheckedFunction, Collector)}.
+	 */
+	public static int maxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Sets the maximum number of calls to the mapping function that may be in progress at
+	 * a time in {@link #parallelMap(Collection, CheckedFunction, Collector)}.
+	 *
+	 * @param maxConcurrency the maximum concurrency of
+	 * {@link #parallelMap(Collection, CheckedFunction, Collector)}.
+	 */
+	public static void setMaxConcurrency(int maxConcurrency) {
+		Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency should be positive");
+		CurseAPI.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Returns the {@link CurseAPIDispatchPolicy} used to dispatch requests to the registered
+	 * {@link CurseAPIProvider}s. By default, this is {@link CurseAPIDispatchPolicy#SEQUENTIAL}.
+	 *
+	 * @return the {@link CurseAPIDispatchPolicy} used to dispatch requests.
+	 */
+	public static CurseAPIDispatchPolicy dispatchPolicy() {
+		return dispatchPolicy;
+	}
+
+	/**
+	 * Sets the {@link CurseAPIDispatchPolicy} used to dispatch requests to the registered
+	 * {@link CurseAPIProvider}s.
+	 *
+	 * @param policy a {@link CurseAPIDispatchPolicy}.
+	 */
+	public static void setDispatchPolicy(CurseAPIDispatchPolicy policy) {
+		Preconditions.checkNotNull(policy, "policy should not be null");
+		dispatchPolicy = policy;
+	}
+
+	/**
+	 * Returns the 95th percentile latency of the most recent successful requests made to the
+	 * specified {@link CurseAPIProvider} using the methods in this class and
+	 * {@link CurseAPIAsync}. This is used by {@link CurseAPIDispatchPolicy#HEDGED}.
+	 *
+	 * @param provider a {@link CurseAPIProvider}.
+	 * @return the 95th percentile latency of the specified {@link CurseAPIProvider} wrapped in an
+	 * {@link Optional} if any requests have been made to it, or otherwise an empty
+	 * {@link Optional}.
+	 */
+	public static Optional<Duration> providerLatency(CurseAPIProvider provider) {
+		Preconditions.checkNotNull(provider, "provider should not be null");
+		return CurseAPIDispatcher.latency(provider);
+	}
+
 	/**
 	 * Registers a {@link CurseAPIProvider} if has not already been registered.
 	 *
@@ -666,16 +1101,31 @@ public final class CurseAPI {
 	public static boolean addProvider(CurseAPIProvider provider, boolean firstPriority) {
 		Preconditions.checkNotNull(provider, "provider should not be null");
 
-		if (providers.contains(provider)) {
-			return false;
-		}
+		ProviderChain chain;
+		ProviderChain newChain;
 
-		if (firstPriority) {
-			providers.add(0, provider);
-		} else {
-			providers.add(provider);
-		}
+		do {
+			chain = providerChain.get();
+
+			if (chain.providers.contains(provider)) {
+				return false;
+			}
+
+			final List<CurseAPIProvider> providers = new ArrayList<>(chain.providers.size() + 1);
 
+			if (firstPriority) {
+				providers.add(provider);
+				providers.addAll(chain.providers);
+			} else {
+				providers.addAll(chain.providers);
+				providers.add(provider);
+			}
+
+			newChain = new ProviderChain(providers);
+		} while (!providerChain.compareAndSet(chain, newChain));
+
+		//Cached results may no longer be what the providers would return.
+		CurseAPICache.instance.invalidateAll();
 		return true;
 	}
 
@@ -688,7 +1138,57 @@ public final class CurseAPI {
 	 */
 	public static boolean removeProvider(CurseAPIProvider provider) {
 		Preconditions.checkNotNull(provider, "provider should not be null");
-		return providers.remove(provider);
+
+		ProviderChain chain;
+		ProviderChain newChain;
+
+		do {
+			chain = providerChain.get();
+
+			if (!chain.providers.contains(provider)) {
+				return false;
+			}
+
+			final List<CurseAPIProvider> providers = new ArrayList<>(chain.providers);
+			providers.remove(provider);
+			newChain = new ProviderChain(providers);
+		} while (!providerChain.compareAndSet(chain, newChain));
+
+		CurseAPIDispatcher.clearLatencies(provider);
+		CurseAPICache.instance.invalidateAll();
+		return true;
+	}
+
+	/**
+	 * Atomically replaces all registered {@link CurseAPIProvider}s with the specified
+	 * {@link CurseAPIProvider}s. Requests that are already in progress continue to use the
+	 * previously registered {@link CurseAPIProvider}s.
+	 *
+	 * @param providers a {@link Collection} of {@link CurseAPIProvider}s in order of priority.
+	 * Duplicate {@link CurseAPIProvider}s are ignored.
+	 * @return a mutable {@link List} of the previously registered {@link CurseAPIProvider}s.
+	 */
+	public static List<CurseAPIProvider> setProviders(
+			Collection<? extends CurseAPIProvider> providers
+	) {
+		Preconditions.checkNotNull(providers, "providers should not be null");
+
+		for (CurseAPIProvider provider : providers) {
+			Preconditions.checkNotNull(provider, "providers should not contain null");
+		}
+
+		final ProviderChain oldChain = providerChain.getAndSet(
+				new ProviderChain(new ArrayList<>(new LinkedHashSet<>(providers)))
+		);
+
+		for (CurseAPIProvider provider : oldChain.providers) {
+			if (!providers.contains(provider)) {
+				CurseAPIDispatcher.clearLatencies(provider);
+			}
+		}
+
+		CurseAPICache.instance.invalidateAll();
+		return new ArrayList<>(oldChain.providers);
 	}
 
 	/**
@@ -697,36 +1197,194 @@ public final class CurseAPI {
 	 * @return an mutable {@link List} of all registered {@link CurseAPIProvider}s.
 	 */
 	public static List<CurseAPIProvider> providers() {
-		return new ArrayList<>(providers);
+		return new ArrayList<>(providerChain.get().providers);
+	}
+
+	/**
+	 * Returns the {@link CurseAPICache} used to cache the results of requests made using the
+	 * methods in this class and {@link CurseAPIAsync}.
+	 *
+	 * @return the {@link CurseAPICache} instance.
+	 */
+	public static CurseAPICache cache() {
+		return CurseAPICache.instance;
+	}
+
+	/**
+	 * Returns the {@link RequestCoalescer} used to coalesce concurrent identical requests made
+	 * using the methods in this class and {@link CurseAPIAsync}.
+	 * While a request is in flight, identical requests wait for it to complete and share its
+	 * result or exception rather than being sent to the {@link CurseAPIProvider}s again.
+	 * Callers that share a result receive their own copies of mutable results.
+	 *
+	 * @return the {@link RequestCoalescer} used to coalesce concurrent identical requests.
+	 */
+	public static RequestCoalescer<CurseAPIRequest> requestCoalescer() {
+		return requestCoalescer;
+	}
+
+	/**
+	 * Returns the {@link CurseAPIAsync} instance, which provides asynchronous counterparts of
+	 * the methods in this class that return {@link java.util.concurrent.CompletableFuture}s.
+	 *
+	 * @return the {@link CurseAPIAsync} instance.
+	 */
+	public static CurseAPIAsync async() {
+		return CurseAPIAsync.instance;
+	}
+
+	//Returns the registered providers that implement the specified operation in order of
+	//priority. The returned list is an immutable snapshot, so it does not need to be copied.
+	static List<CurseAPIProvider> providers(CurseAPIOperation operation) {
+		final ProviderChain chain = providerChain.get();
+
+		if (chain.providers.isEmpty()) {
+			logger.warn("No CurseAPIProviders configured");
+		}
+
+		return chain.routes.get(operation);
+	}
+
+	//Returns a mutable copy of the specified set for callers that share a coalesced result.
+	static <E> Set<E> copySet(Set<E> set) {
+		if (set instanceof SortedSet) {
+			return new TreeSet<>((SortedSet<E>) set);
+		}
+
+		return new LinkedHashSet<>(set);
+	}
+
+	//Used to verify files downloaded into a CurseFileStore so that truncated files are not
+	//stored and reused.
+	private static long fileSize(int projectID, int fileID) throws CurseException {
+		return file(projectID, fileID).map(CurseFile::fileSize).orElse(-1L);
 	}
 
 	private static <T> Optional<T> get(
+			CurseAPIRequest request, CheckedFunction<CurseAPIProvider, T, CurseException> function
+	) throws CurseException {
+		return get(request, UnaryOperator.identity(), function);
+	}
+
+	private static <T> Optional<T> get(
+			CurseAPIRequest request, UnaryOperator<T> copier,
 			CheckedFunction<CurseAPIProvider, T, CurseException> function
 	) throws CurseException {
+		final List<CurseAPIProvider> providers = providers(request.operation());
+
 		if (providers.isEmpty()) {
-			logger.warn("No CurseAPIProviders configured");
 			return Optional.empty();
 		}
 
+		final T cached = CurseAPICache.instance.get(request, copier);
+
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+
+		return Optional.ofNullable(requestCoalescer.execute(request, () -> {
+			final T t = dispatch(providers, function);
+
+			if (t != null) {
+				CurseAPICache.instance.put(request, t, copier);
+			}
+
+			return t;
+		}, copier));
+	}
+
+	@Nullable
+	private static <T> T dispatch(
+			List<CurseAPIProvider> providers,
+			CheckedFunction<CurseAPIProvider, T, CurseException> function
+	) throws CurseException {
+		final CurseAPIDispatchPolicy policy = dispatchPolicy;
+
+		if (policy != CurseAPIDispatchPolicy.SEQUENTIAL) {
+			//The blocking provider methods are called using the executor so that they can be
+			//called concurrently. Cancelled calls that are already in progress are not
+			//interrupted, and their results are discarded.
+			return FutureUtils.join(CurseAPIDispatcher.dispatch(
+					providers,
+					provider -> FutureUtils.supplyAsync(() -> function.apply(provider), executor),
+					policy
+			));
+		}
+
 		for (CurseAPIProvider provider : providers) {
+			final long startTime = System.nanoTime();
 			final T t = function.apply(provider);
+			CurseAPIDispatcher.recordLatency(provider, System.nanoTime() - startTime);
 
 			if (t != null) {
-				return Optional.of(t);
+				return t;
 			}
 		}
 
-		return Optional.empty();
+		return null;
 	}
 
-	@Nullable
-	private static <E, T> T callCheckedFunction(
-			E element, CheckedFunction<E, T, CurseException> function
-	) {
-		try {
-			return function.apply(element);
-		} catch (CurseException ex) {
-			throw new RuntimeException(ex);
+	//Retrieves values for multiple keys using the batch methods in CurseAPIProvider.
+	//Values are cached individually using the specified CurseAPIRequests.
+	private static <K, V> Map<K, V> getAll(
+			Collection<? extends K> keys, CurseAPIOperation operation,
+			Function<? super K, CurseAPIRequest> requestFunction, BatchFunction<K, V> function
+	) throws CurseException {
+		final Set<K> uniqueKeys = new LinkedHashSet<>(keys);
+		final Map<K, V> values = new HashMap<>(uniqueKeys.size());
+		final Set<K> remainingKeys = new LinkedHashSet<>();
+
+		for (K key : uniqueKeys) {
+			final V value = CurseAPICache.instance.get(
+					requestFunction.apply(key), UnaryOperator.identity()
+			);
+
+			if (value == null) {
+				remainingKeys.add(key);
+			} else {
+				values.put(key, value);
+			}
+		}
+
+		final List<CurseAPIProvider> providers =
+				remainingKeys.isEmpty() ? ImmutableList.of() : providers(operation);
+
+		for (CurseAPIProvider provider : providers) {
+			if (remainingKeys.isEmpty()) {
+				break;
+			}
+
+			final Map<? super K, ? extends V> results =
+					function.apply(provider, Collections.unmodifiableSet(remainingKeys));
+
+			if (results == null) {
+				continue;
+			}
+
+			for (Iterator<K> it = remainingKeys.iterator(); it.hasNext();) {
+				final K key = it.next();
+				final V value = results.get(key);
+
+				if (value != null) {
+					values.put(key, value);
+					CurseAPICache.instance.put(
+							requestFunction.apply(key), value, UnaryOperator.identity()
+					);
+					it.remove();
+				}
+			}
+		}
+
+		final Map<K, V> orderedValues = new LinkedHashMap<>(values.size());
+
+		for (K key : uniqueKeys) {
+			final V value = values.get(key);
+
+			if (value != null) {
+				orderedValues.put(key, value);
+			}
 		}
+
+		return orderedValues;
 	}
 }
@@ -0,0 +1,690 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.file.BasicCurseFile;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.game.CurseGameVersion;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.project.CurseSearchQuery;
+import com.therandomlabs.curseapi.util.CheckedFunction;
+import com.therandomlabs.curseapi.util.CheckedSupplier;
+import com.therandomlabs.curseapi.util.FutureUtils;
+import com.therandomlabs.curseapi.util.JsoupUtils;
+import okhttp3.HttpUrl;
+import org.jsoup.nodes.Element;
+
+/**
+ * The asynchronous counterpart of {@link CurseAPI}.
+ * <p>
+ * The methods in this class perform the same input validation as those in {@link CurseAPI} and
+ * use the same chain of {@link CurseAPIProvider}s, but rather than blocking, they return
+ * {@link CompletableFuture}s. By default, each {@link CurseAPIProvider} is only consulted once
+ * the previous {@link CurseAPIProvider} has completed with {@code null}; this can be changed by
+ * calling {@link CurseAPI#setDispatchPolicy(CurseAPIDispatchPolicy)}.
+ * If an error occurs, the returned {@link CompletableFuture} completes exceptionally with a
+ * {@link CurseException}.
+ * <p>
+ * The singleton instance of this class can be retrieved by calling {@link CurseAPI#async()}.
+ */
+public final class CurseAPIAsync {
+	static final CurseAPIAsync instance = new CurseAPIAsync();
+
+	private CurseAPIAsync() {}
+
+	@FunctionalInterface
+	private interface BatchFunction<K, V> {
+		CompletableFuture<? extends Map<? super K, ? extends V>> apply(
+				CurseAPIProvider provider, Set<K> keys
+		);
+	}
+
+	//Retrieves values for multiple keys by calling the asynchronous batch methods in
+	//CurseAPIProvider one provider at a time, as CurseAPI does for the blocking batch methods.
+	//Values are cached individually using the specified CurseAPIRequests.
+	private static final class BatchRequest<K, V> {
+		final CompletableFuture<Map<K, V>> future = new CompletableFuture<>();
+		final Set<K> keys;
+		final Map<K, V> values;
+		final Set<K> remainingKeys = new LinkedHashSet<>();
+		final Function<? super K, CurseAPIRequest> requestFunction;
+		final BatchFunction<K, V> function;
+		final Iterator<CurseAPIProvider> providers;
+		volatile CompletableFuture<?> call;
+
+		BatchRequest(
+				Collection<? extends K> keys, CurseAPIOperation operation,
+				Function<? super K, CurseAPIRequest> requestFunction, BatchFunction<K, V> function
+		) {
+			this.keys = new LinkedHashSet<>(keys);
+			values = new HashMap<>(this.keys.size());
+			this.requestFunction = requestFunction;
+			this.function = function;
+
+			for (K key : this.keys) {
+				final V value = CurseAPICache.instance.get(
+						requestFunction.apply(key), UnaryOperator.identity()
+				);
+
+				if (value == null) {
+					remainingKeys.add(key);
+				} else {
+					values.put(key, value);
+				}
+			}
+
+			providers = remainingKeys.isEmpty() ?
+					Collections.emptyIterator() : CurseAPI.providers(operation).iterator();
+
+			//Cancelling the returned CompletableFuture cancels the call that is in progress.
+			future.whenComplete((result, throwable) -> {
+				final CompletableFuture<?> call = this.call;
+
+				if (future.isCancelled() && call != null) {
+					call.cancel(false);
+				}
+			});
+		}
+
+		void next() {
+			if (remainingKeys.isEmpty() || !providers.hasNext()) {
+				final Map<K, V> orderedValues = new LinkedHashMap<>(values.size());
+
+				for (K key : keys) {
+					final V value = values.get(key);
+
+					if (value != null) {
+						orderedValues.put(key, value);
+					}
+				}
+
+				future.complete(orderedValues);
+				return;
+			}
+
+			final CompletableFuture<? extends Map<? super K, ? extends V>> call;
+
+			try {
+				call = function.apply(
+						providers.next(), Collections.unmodifiableSet(remainingKeys)
+				);
+			} catch (RuntimeException ex) {
+				future.completeExceptionally(ex);
+				return;
+			}
+
+			this.call = call;
+
+			if (future.isCancelled()) {
+				call.cancel(false);
+				return;
+			}
+
+			call.whenComplete((results, throwable) -> {
+				if (throwable != null) {
+					future.completeExceptionally(throwable);
+					return;
+				}
+
+				if (results != null) {
+					for (Iterator<K> it = remainingKeys.iterator(); it.hasNext();) {
+						final K key = it.next();
+						final V value = results.get(key);
+
+						if (value != null) {
+							values.put(key, value);
+							CurseAPICache.instance.put(
+									requestFunction.apply(key), value, UnaryOperator.identity()
+							);
+							it.remove();
+						}
+					}
+				}
+
+				next();
+			});
+		}
+	}
+
+	/**
+	 * Asynchronously returns a {@link CurseProject} instance for the specified project ID.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseProject} instance for
+	 * the specified project ID wrapped in an {@link Optional} if the project exists, or otherwise
+	 * an empty {@link Optional}.
+	 * @see CurseAPI#project(int)
+	 */
+	public CompletableFuture<Optional<CurseProject>> project(int id) {
+		CursePreconditions.checkProjectID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT, id),
+				provider -> provider.projectAsync(id)
+		);
+	}
+
+	/**
+	 * Asynchronously returns {@link CurseProject} instances for the specified project IDs.
+	 *
+	 * @param ids a {@link Collection} of project IDs.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Map} of
+	 * project IDs to {@link CurseProject} instances in the order of the specified project IDs.
+	 * @see CurseAPI#projects(Collection)
+	 */
+	public CompletableFuture<Map<Integer, CurseProject>> projects(Collection<Integer> ids) {
+		Preconditions.checkNotNull(ids, "ids should not be null");
+		final List<Integer> idList = new ArrayList<>(ids);
+
+		for (Integer id : idList) {
+			Preconditions.checkNotNull(id, "ids should not contain null");
+			CursePreconditions.checkProjectID(id, "id");
+		}
+
+		return getAll(
+				idList, CurseAPIOperation.PROJECT,
+				id -> CurseAPIRequest.of(CurseAPIOperation.PROJECT, id),
+				CurseAPIProvider::projectsAsync
+		);
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with an {@link Element} containing the
+	 * description for the project with the specified ID wrapped in an {@link Optional} if the
+	 * project exists, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#projectDescription(int)
+	 */
+	public CompletableFuture<Optional<Element>> projectDescription(int id) {
+		CursePreconditions.checkProjectID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT_DESCRIPTION, id), Element::clone,
+				provider -> provider.projectDescriptionAsync(id)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID as an
+	 * HTML string.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with the description for the project
+	 * with the specified ID as an HTML string wrapped in an {@link Optional} if the project
+	 * exists, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#projectDescriptionHTML(int)
+	 */
+	public CompletableFuture<Optional<String>> projectDescriptionHTML(int id) {
+		CursePreconditions.checkProjectID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT_DESCRIPTION_HTML, id),
+				provider -> provider.projectDescriptionHTMLAsync(id)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID as plain text.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with the description for the project
+	 * with the specified ID as plain text wrapped in an {@link Optional} if the project exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#projectDescriptionPlainText(int)
+	 */
+	public CompletableFuture<Optional<String>> projectDescriptionPlainText(int id) {
+		return projectDescriptionPlainText(id, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID as plain text.
+	 *
+	 * @param id a project ID.
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link CompletableFuture} that completes with the description for the project
+	 * with the specified ID as plain text wrapped in an {@link Optional} if the project exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#projectDescriptionPlainText(int, int)
+	 */
+	public CompletableFuture<Optional<String>> projectDescriptionPlainText(
+			int id, int maxLineLength
+	) {
+		CursePreconditions.checkProjectID(id, "id");
+		Preconditions.checkArgument(maxLineLength > 0, "maxLineLength should be greater than 0");
+		return projectDescription(id).thenApply(optionalDescription -> optionalDescription.map(
+				description -> JsoupUtils.getPlainText(description, maxLineLength).trim()
+		));
+	}
+
+	/**
+	 * Asynchronously executes a {@link CurseSearchQuery}.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link List} of
+	 * {@link CurseProject}s that match the specified query wrapped in an {@link Optional} if the
+	 * query is successful, or otherwise {@link Optional#empty()}.
+	 * @see CurseAPI#searchProjects(CurseSearchQuery)
+	 */
+	public CompletableFuture<Optional<List<CurseProject>>> searchProjects(CurseSearchQuery query) {
+		Preconditions.checkNotNull(query, "query should not be null");
+		//The query is cloned so that modifications made while the request is in flight
+		//do not have any effect.
+		final CurseSearchQuery clonedQuery = query.clone();
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.SEARCH_PROJECTS, clonedQuery), ArrayList::new,
+				provider -> provider.searchProjectsAsync(clonedQuery)
+		);
+	}
+
+	/**
+	 * Asynchronously returns a {@link CurseFiles} instance for the specified project ID.
+	 *
+	 * @param projectID a project ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseFiles} instance for
+	 * the specified project ID wrapped in an {@link Optional} if the project exists, or otherwise
+	 * an empty {@link Optional}.
+	 * @see CurseAPI#files(int)
+	 */
+	public CompletableFuture<Optional<CurseFiles<CurseFile>>> files(int projectID) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILES, projectID), CurseFiles::clone,
+				provider -> provider.filesAsync(projectID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns a {@link CurseFile} instance for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseFile} instance for
+	 * the specified project and file ID wrapped in an {@link Optional} if the file exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#file(int, int)
+	 */
+	public CompletableFuture<Optional<CurseFile>> file(int projectID, int fileID) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE, projectID, fileID),
+				provider -> provider.fileAsync(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns {@link CurseFile} instances for the specified files.
+	 *
+	 * @param files a {@link Collection} of {@link BasicCurseFile}s.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Map} of the
+	 * specified {@link BasicCurseFile}s to {@link CurseFile} instances in the order of the
+	 * specified {@link BasicCurseFile}s.
+	 * @see CurseAPI#files(Collection)
+	 */
+	public CompletableFuture<Map<BasicCurseFile, CurseFile>> files(
+			Collection<? extends BasicCurseFile> files
+	) {
+		Preconditions.checkNotNull(files, "files should not be null");
+		final List<BasicCurseFile> fileList = new ArrayList<>(files);
+
+		for (BasicCurseFile file : fileList) {
+			Preconditions.checkNotNull(file, "files should not contain null");
+		}
+
+		return getAll(
+				fileList, CurseAPIOperation.FILE,
+				file -> CurseAPIRequest.of(CurseAPIOperation.FILE, file.projectID(), file.id()),
+				CurseAPIProvider::filesAsync
+		);
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with an {@link Element} containing the
+	 * changelog for the specified project and file ID wrapped in an {@link Optional} if the file
+	 * exists, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#fileChangelog(int, int)
+	 */
+	public CompletableFuture<Optional<Element>> fileChangelog(int projectID, int fileID) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_CHANGELOG, projectID, fileID),
+				Element::clone, provider -> provider.fileChangelogAsync(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID as an
+	 * HTML string.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with the changelog for the specified
+	 * project and file ID as an HTML string wrapped in an {@link Optional} if the file exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#fileChangelogHTML(int, int)
+	 */
+	public CompletableFuture<Optional<String>> fileChangelogHTML(int projectID, int fileID) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_CHANGELOG_HTML, projectID, fileID),
+				provider -> provider.fileChangelogHTMLAsync(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID as plain text.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with the changelog for the specified
+	 * project and file ID as plain text wrapped in an {@link Optional} if the file exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#fileChangelogPlainText(int, int)
+	 */
+	public CompletableFuture<Optional<String>> fileChangelogPlainText(int projectID, int fileID) {
+		return fileChangelogPlainText(projectID, fileID, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID as plain text.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link CompletableFuture} that completes with the changelog for the specified
+	 * project and file ID as plain text wrapped in an {@link Optional} if the file exists,
+	 * or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#fileChangelogPlainText(int, int, int)
+	 */
+	public CompletableFuture<Optional<String>> fileChangelogPlainText(
+			int projectID, int fileID, int maxLineLength
+	) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		Preconditions.checkArgument(maxLineLength > 0, "maxLineLength should be greater than 0");
+		return fileChangelog(projectID, fileID).thenApply(
+				optionalChangelog -> optionalChangelog.map(
+						changelog -> JsoupUtils.getPlainText(changelog, maxLineLength).trim()
+				)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the download URL for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with the download URL for the specified
+	 * project and file ID wrapped in an {@link Optional} if the file exists, or otherwise
+	 * an empty {@link Optional}.
+	 * @see CurseAPI#fileDownloadURL(int, int)
+	 */
+	public CompletableFuture<Optional<HttpUrl>> fileDownloadURL(int projectID, int fileID) {
+		CursePreconditions.checkProjectID(projectID, "projectID");
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.FILE_DOWNLOAD_URL, projectID, fileID),
+				provider -> provider.fileDownloadURLAsync(projectID, fileID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns all games that CurseForge supports.
+	 *
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseGame} instances that represent all games supported by CurseForge wrapped in an
+	 * {@link Optional} if it can be retrieved, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#games()
+	 */
+	public CompletableFuture<Optional<Set<CurseGame>>> games() {
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAMES), CurseAPI::copySet,
+				CurseAPIProvider::gamesAsync
+		);
+	}
+
+	/**
+	 * Asynchronously returns the CurseForge game with the specified ID.
+	 *
+	 * @param id a game ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseGame} instance that
+	 * represents the CurseForge game with the specified ID wrapped in an {@link Optional} if it
+	 * exists, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#game(int)
+	 */
+	public CompletableFuture<Optional<CurseGame>> game(int id) {
+		CursePreconditions.checkGameID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME, id), provider -> provider.gameAsync(id)
+		);
+	}
+
+	/**
+	 * Asynchronously returns all game versions of the game with the specified ID supported by
+	 * CurseForge.
+	 *
+	 * @param gameID a game ID.
+	 * @param <V> the implementation of {@link CurseGameVersion}.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link SortedSet}
+	 * containing {@link CurseGameVersion} instances that represent all game versions of the game
+	 * with the specified ID supported by CurseForge wrapped in an {@link Optional} if it can be
+	 * retrieved, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#gameVersions(int)
+	 */
+	@SuppressWarnings("unchecked")
+	public <V extends CurseGameVersion<?>> CompletableFuture<Optional<SortedSet<V>>> gameVersions(
+			int gameID
+	) {
+		CursePreconditions.checkGameID(gameID, "gameID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME_VERSIONS, gameID), TreeSet::new,
+				provider -> provider.gameVersionsAsync(gameID).thenApply(
+						versions -> (SortedSet<V>) versions
+				)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the game version of the game with the specified ID with the
+	 * specified version string.
+	 *
+	 * @param gameID a game ID.
+	 * @param versionString a version string. The version string may be empty but should never
+	 * be {@code null}.
+	 * @param <V> the implementation of {@link CurseGameVersion}.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseGameVersion} instance
+	 * that represents the game version of the game with the specified ID with the specified
+	 * version string wrapped in an {@link Optional} if it exists, or otherwise an empty
+	 * {@link Optional}.
+	 * @see CurseAPI#gameVersion(int, String)
+	 */
+	@SuppressWarnings("unchecked")
+	public <V extends CurseGameVersion<?>> CompletableFuture<Optional<V>> gameVersion(
+			int gameID, String versionString
+	) {
+		CursePreconditions.checkGameID(gameID, "gameID");
+		Preconditions.checkNotNull(versionString, "versionString should not be null");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.GAME_VERSION, gameID, versionString),
+				provider -> provider.gameVersionAsync(gameID, versionString).thenApply(
+						version -> (V) version
+				)
+		);
+	}
+
+	/**
+	 * Asynchronously returns all project categories on CurseForge.
+	 *
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseCategory} instances that represent all project categories on CurseForge wrapped
+	 * in an {@link Optional} if it can be retrieved, or otherwise an empty {@link Optional}.
+	 * @see CurseAPI#categories()
+	 */
+	public CompletableFuture<Optional<Set<CurseCategory>>> categories() {
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORIES), CurseAPI::copySet,
+				CurseAPIProvider::categoriesAsync
+		);
+	}
+
+	/**
+	 * Asynchronously returns all categories in a category section.
+	 *
+	 * @param sectionID a category section ID.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseCategory} instances that represent all categories in the category section with
+	 * the specified ID wrapped in an {@link Optional} if it can be retrieved, or otherwise an empty
+	 * {@link Optional}.
+	 * @see CurseAPI#categories(int)
+	 */
+	public CompletableFuture<Optional<Set<CurseCategory>>> categories(int sectionID) {
+		CursePreconditions.checkCategorySectionID(sectionID, "sectionID");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORY_SECTION, sectionID),
+				CurseAPI::copySet,
+				provider -> provider.categoriesAsync(sectionID)
+		);
+	}
+
+	/**
+	 * Asynchronously returns the CurseForge category with the specified ID.
+	 *
+	 * @param id a category ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseCategory} instance
+	 * that represents the CurseForge category with the specified ID wrapped in an
+	 * {@link Optional} if it exists, or otherwise {@link Optional#empty()}.
+	 * @see CurseAPI#category(int)
+	 */
+	public CompletableFuture<Optional<CurseCategory>> category(int id) {
+		CursePreconditions.checkCategoryID(id, "id");
+		return get(
+				CurseAPIRequest.of(CurseAPIOperation.CATEGORY, id),
+				provider -> provider.categoryAsync(id)
+		);
+	}
+
+	//Used by the default asynchronous methods in CurseAPIProvider.
+	static <T> CompletableFuture<T> supply(CheckedSupplier<? extends T, CurseException> supplier) {
+		return FutureUtils.supplyAsync(supplier, CurseAPI.executor());
+	}
+
+	//Used by the default batch methods in CurseAPIProvider. The function is called for each
+	//distinct key using the executor with bounded concurrency, and keys for which it returns
+	//null are not included in the returned Map.
+	static <K, V> CompletableFuture<Map<K, V>> mapBounded(
+			Collection<? extends K> keys,
+			CheckedFunction<? super K, ? extends V, CurseException> function
+	) {
+		final List<K> keyList = new ArrayList<>(new LinkedHashSet<>(keys));
+		return FutureUtils.thenApply(
+				FutureUtils.mapBounded(
+						keyList, function, CurseAPI.executor(), CurseAPI.maxConcurrency()
+				),
+				values -> {
+					final Map<K, V> map = new HashMap<>();
+
+					for (int i = 0; i < keyList.size(); i++) {
+						final V value = values.get(i);
+
+						if (value != null) {
+							map.put(keyList.get(i), value);
+						}
+					}
+
+					return map;
+				}
+		);
+	}
+
+	private static <K, V> CompletableFuture<Map<K, V>> getAll(
+			Collection<? extends K> keys, CurseAPIOperation operation,
+			Function<? super K, CurseAPIRequest> requestFunction, BatchFunction<K, V> function
+	) {
+		final BatchRequest<K, V> request =
+				new BatchRequest<>(keys, operation, requestFunction, function);
+		request.next();
+		return request.future;
+	}
+
+	private static <T> CompletableFuture<Optional<T>> get(
+			CurseAPIRequest request,
+			Function<CurseAPIProvider, CompletableFuture<? extends T>> function
+	) {
+		return get(request, UnaryOperator.identity(), function);
+	}
+
+	private static <T> CompletableFuture<Optional<T>> get(
+			CurseAPIRequest request, UnaryOperator<T> copier,
+			Function<CurseAPIProvider, CompletableFuture<? extends T>> function
+	) {
+		final List<CurseAPIProvider> providers = CurseAPI.providers(request.operation());
+
+		if (providers.isEmpty()) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+
+		final T cached = CurseAPICache.instance.get(request, copier);
+
+		if (cached != null) {
+			return CompletableFuture.completedFuture(Optional.of(cached));
+		}
+
+		return CurseAPI.requestCoalescer().executeAsync(
+				request,
+				() -> CurseAPIDispatcher.dispatch(
+						providers, function, CurseAPI.dispatchPolicy()
+				).thenApply(result -> {
+					CurseAPICache.instance.put(request, result, copier);
+					return result;
+				}),
+				copier
+		).thenApply(Optional::ofNullable);
+	}
+}
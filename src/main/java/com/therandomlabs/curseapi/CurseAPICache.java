@@ -0,0 +1,308 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A process-wide cache for the results of requests made using the methods in {@link CurseAPI}
+ * and {@link CurseAPIAsync}.
+ * <p>
+ * Results are keyed by {@link CurseAPIRequest}, and each {@link CurseAPIOperation} has its own
+ * size-bounded cache with its own {@link Policy}, so that, for example, games and categories
+ * may be cached for hours while projects and files are only cached for minutes.
+ * When a cache grows beyond its maximum size, the least recently used entries are evicted first.
+ * Only successful, non-{@code null} results are cached.
+ * <p>
+ * Mutable results such as {@link com.therandomlabs.curseapi.file.CurseFiles} are copied both
+ * when they are cached and when they are retrieved from the cache, so modifying a returned
+ * result never affects the cache.
+ * <p>
+ * The cache is cleared whenever a {@link CurseAPIProvider} is registered or unregistered.
+ * The singleton instance of this class can be retrieved by calling {@link CurseAPI#cache()}.
+ */
+public final class CurseAPICache {
+	static final CurseAPICache instance = new CurseAPICache();
+
+	//This map is not modified after construction; policies are changed by replacing the
+	//referenced OperationCache.
+	private final Map<CurseAPIOperation, AtomicReference<OperationCache>> caches =
+			new EnumMap<>(CurseAPIOperation.class);
+
+	private volatile boolean enabled = true;
+
+	private CurseAPICache() {
+		for (CurseAPIOperation operation : CurseAPIOperation.values()) {
+			caches.put(
+					operation, new AtomicReference<>(new OperationCache(defaultPolicy(operation)))
+			);
+		}
+	}
+
+	/**
+	 * Represents the caching policy for a {@link CurseAPIOperation}.
+	 */
+	public static final class Policy {
+		/**
+		 * A {@link Policy} that disables caching.
+		 */
+		public static final Policy DISABLED = new Policy(0L, Duration.ZERO);
+
+		private final long maximumSize;
+		private final Duration timeToLive;
+
+		private Policy(long maximumSize, Duration timeToLive) {
+			this.maximumSize = maximumSize;
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this).
+					add("maximumSize", maximumSize).
+					add("timeToLive", timeToLive).
+					toString();
+		}
+
+		/**
+		 * Returns the maximum number of entries that may be cached.
+		 *
+		 * @return the maximum number of entries that may be cached.
+		 */
+		public long maximumSize() {
+			return maximumSize;
+		}
+
+		/**
+		 * Returns the amount of time for which entries are cached after they are written.
+		 *
+		 * @return the amount of time for which entries are cached after they are written.
+		 */
+		public Duration timeToLive() {
+			return timeToLive;
+		}
+
+		/**
+		 * Returns a {@link Policy} with the specified maximum size and time to live.
+		 *
+		 * @param maximumSize the maximum number of entries that may be cached. If this is
+		 * {@code 0}, nothing is cached.
+		 * @param timeToLive the amount of time for which entries are cached after they are
+		 * written.
+		 * @return a {@link Policy} with the specified maximum size and time to live.
+		 */
+		public static Policy of(long maximumSize, Duration timeToLive) {
+			Preconditions.checkArgument(maximumSize >= 0L, "maximumSize should not be negative");
+			Preconditions.checkNotNull(timeToLive, "timeToLive should not be null");
+			Preconditions.checkArgument(
+					!timeToLive.isNegative(), "timeToLive should not be negative"
+			);
+			return new Policy(maximumSize, timeToLive);
+		}
+	}
+
+	private static final class OperationCache {
+		private final Policy policy;
+		private final Cache<CurseAPIRequest, Object> cache;
+
+		OperationCache(Policy policy) {
+			this.policy = policy;
+			cache = CacheBuilder.newBuilder().
+					maximumSize(policy.maximumSize).
+					expireAfterWrite(policy.timeToLive.toNanos(), TimeUnit.NANOSECONDS).
+					recordStats().
+					build();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		final MoreObjects.ToStringHelper helper =
+				MoreObjects.toStringHelper(this).add("enabled", enabled);
+		caches.forEach((operation, cache) -> helper.add(operation.name(), cache.get().policy));
+		return helper.toString();
+	}
+
+	/**
+	 * Returns whether caching is enabled. Caching is enabled by default.
+	 *
+	 * @return {@code true} if caching is enabled, or otherwise {@code false}.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets whether caching is enabled. Disabling caching also clears the cache.
+	 *
+	 * @param enabled {@code true} if caching should be enabled, or otherwise {@code false}.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+
+		if (!enabled) {
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * Returns the {@link Policy} for the specified {@link CurseAPIOperation}.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 * @return the {@link Policy} for the specified {@link CurseAPIOperation}.
+	 */
+	public Policy policy(CurseAPIOperation operation) {
+		return cache(operation).policy;
+	}
+
+	/**
+	 * Sets the {@link Policy} for the specified {@link CurseAPIOperation}.
+	 * This clears all cached results for the {@link CurseAPIOperation} and resets its
+	 * statistics.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 * @param policy a {@link Policy}.
+	 */
+	public void setPolicy(CurseAPIOperation operation, Policy policy) {
+		Preconditions.checkNotNull(operation, "operation should not be null");
+		Preconditions.checkNotNull(policy, "policy should not be null");
+
+		caches.get(operation).getAndSet(new OperationCache(policy)).cache.invalidateAll();
+	}
+
+	/**
+	 * Returns the hit, miss, load and eviction statistics for the specified
+	 * {@link CurseAPIOperation}.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 * @return a {@link CacheStats} for the specified {@link CurseAPIOperation}.
+	 */
+	public CacheStats stats(CurseAPIOperation operation) {
+		return cache(operation).cache.stats();
+	}
+
+	/**
+	 * Returns the number of cached results for the specified {@link CurseAPIOperation}.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 * @return the approximate number of cached results for the specified
+	 * {@link CurseAPIOperation}.
+	 */
+	public long size(CurseAPIOperation operation) {
+		return cache(operation).cache.size();
+	}
+
+	/**
+	 * Removes the cached result for the specified {@link CurseAPIRequest} if there is one.
+	 *
+	 * @param request a {@link CurseAPIRequest}.
+	 */
+	public void invalidate(CurseAPIRequest request) {
+		Preconditions.checkNotNull(request, "request should not be null");
+		cache(request.operation()).cache.invalidate(request);
+	}
+
+	/**
+	 * Removes all cached results for the specified {@link CurseAPIOperation}.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 */
+	public void invalidateAll(CurseAPIOperation operation) {
+		cache(operation).cache.invalidateAll();
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public void invalidateAll() {
+		for (CurseAPIOperation operation : CurseAPIOperation.values()) {
+			invalidateAll(operation);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	<T> T get(CurseAPIRequest request, UnaryOperator<T> copier) {
+		if (!enabled) {
+			return null;
+		}
+
+		final T result = (T) cache(request.operation()).cache.getIfPresent(request);
+		return result == null ? null : copier.apply(result);
+	}
+
+	<T> void put(CurseAPIRequest request, @Nullable T result, UnaryOperator<T> copier) {
+		if (enabled && result != null) {
+			cache(request.operation()).cache.put(request, copier.apply(result));
+		}
+	}
+
+	private OperationCache cache(CurseAPIOperation operation) {
+		Preconditions.checkNotNull(operation, "operation should not be null");
+
+		return caches.get(operation).get();
+	}
+
+	private static Policy defaultPolicy(CurseAPIOperation operation) {
+		switch (operation) {
+			case PROJECT:
+			case FILE:
+				return Policy.of(10_000L, Duration.ofMinutes(10L));
+			case PROJECT_DESCRIPTION:
+			case PROJECT_DESCRIPTION_HTML:
+			case FILES:
+				return Policy.of(1000L, Duration.ofMinutes(10L));
+			case SEARCH_PROJECTS:
+				return Policy.of(500L, Duration.ofMinutes(1L));
+			case FILE_CHANGELOG:
+			case FILE_CHANGELOG_HTML:
+				//Changelogs are rarely edited after a file is uploaded.
+				return Policy.of(1000L, Duration.ofHours(1L));
+			case FILE_DOWNLOAD_URL:
+				//Download URLs do not change once a file is uploaded.
+				return Policy.of(10_000L, Duration.ofDays(1L));
+			default:
+				//Games, game versions and categories.
+				return Policy.of(1000L, Duration.ofHours(6L));
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+/**
+ * Represents the way requests are dispatched to the registered {@link CurseAPIProvider}s.
+ * This applies to requests for single objects made using {@link CurseAPI} and
+ * {@link CurseAPIAsync}. Requests for multiple objects such as
+ * {@link CurseAPI#projects(java.util.Collection)} are always dispatched sequentially.
+ *
+ * @see CurseAPI#setDispatchPolicy(CurseAPIDispatchPolicy)
+ */
+public enum CurseAPIDispatchPolicy {
+	/**
+	 * Each {@link CurseAPIProvider} is only consulted once the previous
+	 * {@link CurseAPIProvider} has returned {@code null}, and an exception thrown by any
+	 * {@link CurseAPIProvider} is rethrown immediately.
+	 * This is the default policy.
+	 */
+	SEQUENTIAL,
+	/**
+	 * All {@link CurseAPIProvider}s are consulted at once, and the first non-{@code null}
+	 * result is used, regardless of the order of the {@link CurseAPIProvider}s.
+	 * The requests to the other {@link CurseAPIProvider}s are then cancelled.
+	 * An exception is only thrown if no {@link CurseAPIProvider} returns a non-{@code null}
+	 * result.
+	 */
+	RACE,
+	/**
+	 * {@link CurseAPIProvider}s are consulted in order, but if a {@link CurseAPIProvider} has
+	 * not responded within its 95th percentile latency, the next {@link CurseAPIProvider} is
+	 * also consulted, and the first non-{@code null} result is used. The requests to the other
+	 * {@link CurseAPIProvider}s are then cancelled. If a {@link CurseAPIProvider} returns
+	 * {@code null} or throws an exception, the next {@link CurseAPIProvider} is consulted
+	 * immediately. An exception is only thrown if no {@link CurseAPIProvider} returns a
+	 * non-{@code null} result.
+	 * <p>
+	 * Until enough latencies have been recorded for a {@link CurseAPIProvider},
+	 * a delay of 500 milliseconds is used.
+	 *
+	 * @see CurseAPI#providerLatency(CurseAPIProvider)
+	 */
+	HEDGED
+}
@@ -0,0 +1,301 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.therandomlabs.curseapi.util.FutureUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+//Dispatches requests to CurseAPIProviders according to a CurseAPIDispatchPolicy and tracks
+//the latency of each CurseAPIProvider.
+final class CurseAPIDispatcher {
+	//Used for hedged requests until MIN_HEDGE_SAMPLES latencies have been recorded.
+	private static final long DEFAULT_HEDGE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+	private static final int MIN_HEDGE_SAMPLES = 20;
+	private static final int LATENCY_SAMPLES = 128;
+
+	private static final Map<CurseAPIProvider, Latencies> latencies = new ConcurrentHashMap<>();
+
+	//Hedged requests are started from this thread, so starting a request must not block.
+	private static final ScheduledExecutorService scheduler =
+			Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setNameFormat("CurseAPI-Hedger-%d").
+							setDaemon(true).build()
+			);
+
+	private CurseAPIDispatcher() {}
+
+	private static final class Latencies {
+		private final long[] samples = new long[LATENCY_SAMPLES];
+		private int count;
+		private int next;
+		private long p95 = -1L;
+
+		synchronized void record(long nanos) {
+			samples[next] = nanos;
+			next = (next + 1) % samples.length;
+			count = Math.min(count + 1, samples.length);
+			p95 = -1L;
+		}
+
+		synchronized int count() {
+			return count;
+		}
+
+		synchronized long p95() {
+			if (p95 == -1L) {
+				final long[] sorted = Arrays.copyOf(samples, count);
+				Arrays.sort(sorted);
+				p95 = sorted[(int) Math.ceil(count * 0.95) - 1];
+			}
+
+			return p95;
+		}
+	}
+
+	//Dispatches a request to the specified providers. The returned CompletableFuture
+	//completes with null if no provider returns a non-null result, and cancelling it cancels
+	//any requests that are still in progress.
+	private static final class Dispatch<T> {
+		private final List<CurseAPIProvider> providers;
+		private final Function<CurseAPIProvider, CompletableFuture<? extends T>> function;
+		private final boolean hedged;
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+		private final List<CompletableFuture<? extends T>> futures = new ArrayList<>();
+
+		//Only accessed while synchronized on this Dispatch.
+		private int started;
+		private int finished;
+		@Nullable
+		private Throwable failure;
+
+		Dispatch(
+				List<CurseAPIProvider> providers,
+				Function<CurseAPIProvider, CompletableFuture<? extends T>> function,
+				boolean hedged
+		) {
+			this.providers = providers;
+			this.function = function;
+			this.hedged = hedged;
+			result.whenComplete((t, throwable) -> cancelAll());
+		}
+
+		CompletableFuture<T> start(int count) {
+			for (int i = 0; i < count; i++) {
+				startNext();
+			}
+
+			return result;
+		}
+
+		private void startNext() {
+			final int index;
+			final CurseAPIProvider provider;
+
+			synchronized (this) {
+				if (result.isDone() || started == providers.size()) {
+					return;
+				}
+
+				index = started++;
+				provider = providers.get(index);
+			}
+
+			final long startTime = System.nanoTime();
+			CompletableFuture<? extends T> future;
+
+			try {
+				future = function.apply(provider);
+			} catch (RuntimeException ex) {
+				future = FutureUtils.failed(ex);
+			}
+
+			//A null CompletableFuture is treated the same way as a null result.
+			if (future == null) {
+				future = CompletableFuture.completedFuture(null);
+			}
+
+			synchronized (this) {
+				futures.add(future);
+			}
+
+			if (result.isDone()) {
+				future.cancel(false);
+				return;
+			}
+
+			future.whenComplete((t, throwable) -> {
+				if (throwable == null) {
+					recordLatency(provider, System.nanoTime() - startTime);
+				}
+
+				finish(index, t, throwable);
+			});
+
+			if (hedged && !future.isDone()) {
+				scheduler.schedule(
+						() -> hedge(index), hedgeDelayNanos(provider), TimeUnit.NANOSECONDS
+				);
+			}
+		}
+
+		private void hedge(int index) {
+			final boolean startNext;
+
+			synchronized (this) {
+				//Only hedge if no other provider has been started since this one.
+				startNext = started == index + 1;
+			}
+
+			if (startNext) {
+				startNext();
+			}
+		}
+
+		private void finish(int index, @Nullable T t, @Nullable Throwable throwable) {
+			if (t != null) {
+				result.complete(t);
+				return;
+			}
+
+			final boolean startNext;
+			final boolean done;
+
+			synchronized (this) {
+				if (throwable != null && !(throwable instanceof CancellationException) &&
+						failure == null) {
+					failure = FutureUtils.unwrap(throwable);
+				}
+
+				finished++;
+				startNext = hedged && started == index + 1 && started < providers.size();
+				done = finished == providers.size();
+			}
+
+			if (startNext) {
+				startNext();
+			} else if (done) {
+				if (failure == null) {
+					result.complete(null);
+				} else {
+					result.completeExceptionally(failure);
+				}
+			}
+		}
+
+		private void cancelAll() {
+			final List<CompletableFuture<? extends T>> futuresToCancel;
+
+			synchronized (this) {
+				futuresToCancel = new ArrayList<>(futures);
+			}
+
+			futuresToCancel.forEach(future -> future.cancel(false));
+		}
+	}
+
+	static <T> CompletableFuture<T> dispatch(
+			List<CurseAPIProvider> providers,
+			Function<CurseAPIProvider, CompletableFuture<? extends T>> function,
+			CurseAPIDispatchPolicy policy
+	) {
+		switch (policy) {
+			case RACE:
+				return new Dispatch<>(providers, function, false).start(providers.size());
+			case HEDGED:
+				return new Dispatch<>(providers, function, true).start(1);
+			default:
+				return sequential(providers.iterator(), function);
+		}
+	}
+
+	static void recordLatency(CurseAPIProvider provider, long nanos) {
+		latencies.computeIfAbsent(provider, key -> new Latencies()).record(nanos);
+	}
+
+	static Optional<Duration> latency(CurseAPIProvider provider) {
+		final Latencies providerLatencies = latencies.get(provider);
+
+		if (providerLatencies == null || providerLatencies.count() == 0) {
+			return Optional.empty();
+		}
+
+		return Optional.of(Duration.ofNanos(providerLatencies.p95()));
+	}
+
+	static void clearLatencies(CurseAPIProvider provider) {
+		latencies.remove(provider);
+	}
+
+	private static long hedgeDelayNanos(CurseAPIProvider provider) {
+		final Latencies providerLatencies = latencies.get(provider);
+		return providerLatencies == null || providerLatencies.count() < MIN_HEDGE_SAMPLES ?
+				DEFAULT_HEDGE_DELAY_NANOS : providerLatencies.p95();
+	}
+
+	private static <T> CompletableFuture<T> sequential(
+			Iterator<CurseAPIProvider> providers,
+			Function<CurseAPIProvider, CompletableFuture<? extends T>> function
+	) {
+		if (!providers.hasNext()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		final CurseAPIProvider provider = providers.next();
+		final long startTime = System.nanoTime();
+		final CompletableFuture<? extends T> future;
+
+		try {
+			future = function.apply(provider);
+		} catch (RuntimeException ex) {
+			return FutureUtils.failed(ex);
+		}
+
+		//A null CompletableFuture is treated the same way as a null result.
+		if (future == null) {
+			return sequential(providers, function);
+		}
+
+		return future.thenCompose(t -> {
+			recordLatency(provider, System.nanoTime() - startTime);
+			return t == null ?
+					sequential(providers, function) : CompletableFuture.<T>completedFuture(t);
+		});
+	}
+}
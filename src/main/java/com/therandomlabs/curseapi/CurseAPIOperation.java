@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+/**
+ * Represents an operation that can be performed by a {@link CurseAPIProvider}.
+ * Each constant corresponds to a method in {@link CurseAPIProvider}.
+ */
+public enum CurseAPIOperation {
+	/**
+	 * {@link CurseAPIProvider#project(int)}.
+	 */
+	PROJECT,
+	/**
+	 * {@link CurseAPIProvider#projectDescription(int)}.
+	 */
+	PROJECT_DESCRIPTION,
+	/**
+	 * {@link CurseAPIProvider#projectDescriptionHTML(int)}.
+	 */
+	PROJECT_DESCRIPTION_HTML,
+	/**
+	 * {@link CurseAPIProvider#searchProjects(com.therandomlabs.curseapi.project.CurseSearchQuery)}.
+	 */
+	SEARCH_PROJECTS,
+	/**
+	 * {@link CurseAPIProvider#files(int)}.
+	 */
+	FILES,
+	/**
+	 * {@link CurseAPIProvider#file(int, int)}.
+	 */
+	FILE,
+	/**
+	 * {@link CurseAPIProvider#fileChangelog(int, int)}.
+	 */
+	FILE_CHANGELOG,
+	/**
+	 * {@link CurseAPIProvider#fileChangelogHTML(int, int)}.
+	 */
+	FILE_CHANGELOG_HTML,
+	/**
+	 * {@link CurseAPIProvider#fileDownloadURL(int, int)}.
+	 */
+	FILE_DOWNLOAD_URL,
+	/**
+	 * {@link CurseAPIProvider#games()}.
+	 */
+	GAMES,
+	/**
+	 * {@link CurseAPIProvider#game(int)}.
+	 */
+	GAME,
+	/**
+	 * {@link CurseAPIProvider#gameVersions(int)}.
+	 */
+	GAME_VERSIONS,
+	/**
+	 * {@link CurseAPIProvider#gameVersion(int, String)}.
+	 */
+	GAME_VERSION,
+	/**
+	 * {@link CurseAPIProvider#categories()}.
+	 */
+	CATEGORIES,
+	/**
+	 * {@link CurseAPIProvider#categories(int)}.
+	 */
+	CATEGORY_SECTION,
+	/**
+	 * {@link CurseAPIProvider#category(int)}.
+	 */
+	CATEGORY
+}
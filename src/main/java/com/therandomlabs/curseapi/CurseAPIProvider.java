@@ -23,10 +23,15 @@
 
 package com.therandomlabs.curseapi;
 
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
 
+import com.therandomlabs.curseapi.file.BasicCurseFile;
 import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.file.CurseFiles;
 import com.therandomlabs.curseapi.game.CurseCategory;
@@ -34,6 +39,7 @@ import com.therandomlabs.curseapi.game.CurseGame;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
 import com.therandomlabs.curseapi.project.CurseProject;
 import com.therandomlabs.curseapi.project.CurseSearchQuery;
+import com.therandomlabs.curseapi.util.FutureUtils;
 import com.therandomlabs.curseapi.util.JsoupUtils;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -46,8 +52,31 @@ import org.jsoup.nodes.Element;
  * {@link CurseAPIProvider} should be used instead or that an object does not exist on CurseForge.
  * As input validation is performed by the methods in {@link CurseAPI}, it does not need to be
  * performed by implementations of this interface.
+ * <p>
+ * Each method also has an asynchronous counterpart that is used by {@link CurseAPIAsync}.
+ * By default, these call the corresponding blocking method using {@link CurseAPI#executor()};
+ * implementations that support non-blocking I/O should override them. The returned
+ * {@link CompletableFuture}s may complete with {@code null} to signify that a fallback
+ * {@link CurseAPIProvider} should be used instead or that an object does not exist on CurseForge.
  */
 public interface CurseAPIProvider {
+	/**
+	 * Returns the {@link CurseAPIOperation}s that this {@link CurseAPIProvider} implements.
+	 * Requests for other {@link CurseAPIOperation}s are not sent to this
+	 * {@link CurseAPIProvider}, so implementations that only implement some methods should
+	 * override this method to avoid being called unnecessarily.
+	 * <p>
+	 * This method is called when this {@link CurseAPIProvider} is registered, so the returned
+	 * {@link Set} should not change afterwards. By default, all {@link CurseAPIOperation}s
+	 * are returned.
+	 *
+	 * @return a {@link Set} of the {@link CurseAPIOperation}s that this
+	 * {@link CurseAPIProvider} implements.
+	 */
+	default Set<CurseAPIOperation> operations() {
+		return EnumSet.allOf(CurseAPIOperation.class);
+	}
+
 	/**
 	 * Returns a {@link CurseProject} instance for the specified project ID.
 	 *
@@ -60,6 +89,25 @@ public interface CurseAPIProvider {
 		return null;
 	}
 
+	/**
+	 * Returns {@link CurseProject} instances for the specified project IDs.
+	 * <p>
+	 * By default, this calls {@link #project(int)} for each project ID using
+	 * {@link CurseAPI#executor()} with at most {@link CurseAPI#maxConcurrency()} calls in
+	 * progress at a time. If any call fails, no further calls are started.
+	 * Implementations that can retrieve multiple projects in a single request should
+	 * override this method.
+	 *
+	 * @param ids a {@link Collection} of project IDs.
+	 * @return a mutable {@link Map} of project IDs to {@link CurseProject} instances.
+	 * Project IDs for which no project can be found are not included.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Nullable
+	default Map<Integer, CurseProject> projects(Collection<Integer> ids) throws CurseException {
+		return FutureUtils.join(CurseAPIAsync.mapBounded(ids, this::project));
+	}
+
 	/**
 	 * Returns the description for the project with the specified ID.
 	 *
@@ -72,6 +120,22 @@ public interface CurseAPIProvider {
 		return null;
 	}
 
+	/**
+	 * Returns the description for the project with the specified ID as an HTML string.
+	 * By default, this returns the outer HTML of the {@link Element} returned by
+	 * {@link #projectDescription(int)}. Implementations that retrieve descriptions as HTML
+	 * should override this method so that the HTML does not need to be parsed.
+	 *
+	 * @param id a project ID.
+	 * @return the description for the project with the specified ID as an HTML string.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Nullable
+	default String projectDescriptionHTML(int id) throws CurseException {
+		final Element description = projectDescription(id);
+		return description == null ? null : description.outerHtml();
+	}
+
 	/**
 	 * Executes a {@link CurseSearchQuery}.
 	 *
@@ -109,6 +173,29 @@ public interface CurseAPIProvider {
 		return null;
 	}
 
+	/**
+	 * Returns {@link CurseFile} instances for the specified files.
+	 * <p>
+	 * By default, this calls {@link #file(int, int)} for each file using
+	 * {@link CurseAPI#executor()} with at most {@link CurseAPI#maxConcurrency()} calls in
+	 * progress at a time. If any call fails, no further calls are started.
+	 * Implementations that can retrieve multiple files in a single request should
+	 * override this method.
+	 *
+	 * @param files a {@link Collection} of {@link BasicCurseFile}s.
+	 * @return a mutable {@link Map} of the specified {@link BasicCurseFile}s to
+	 * {@link CurseFile} instances. {@link BasicCurseFile}s for which no file can be found
+	 * are not included.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Nullable
+	default Map<BasicCurseFile, CurseFile> files(Collection<? extends BasicCurseFile> files)
+			throws CurseException {
+		return FutureUtils.join(
+				CurseAPIAsync.mapBounded(files, file -> file(file.projectID(), file.id()))
+		);
+	}
+
 	/**
 	 * Returns the changelog for the specified project and file ID.
 	 *
@@ -124,6 +211,29 @@ public interface CurseAPIProvider {
 		return null;
 	}
 
+	/**
+	 * Returns the changelog for the specified project and file ID as an HTML string.
+	 * By default, this returns the outer HTML of the {@link Element} returned by
+	 * {@link #fileChangelog(int, int)}. Implementations that retrieve changelogs as HTML
+	 * should override this method so that the HTML does not need to be parsed.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return the changelog for the specified project and file ID as an HTML string.
+	 * If no changelog is provided for the specified file, an empty string is returned.
+	 * @throws CurseException if an error occurs.
+	 */
+	@Nullable
+	default String fileChangelogHTML(int projectID, int fileID) throws CurseException {
+		final Element changelog = fileChangelog(projectID, fileID);
+
+		if (changelog == null) {
+			return null;
+		}
+
+		return JsoupUtils.isEmpty(changelog) ? "" : changelog.outerHtml();
+	}
+
 	/**
 	 * Returns the download URL for the specified project and file ID.
 	 *
@@ -229,4 +339,237 @@ public interface CurseAPIProvider {
 	default CurseCategory category(int id) throws CurseException {
 		return null;
 	}
+
+	/**
+	 * Asynchronously returns a {@link CurseProject} instance for the specified project ID.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseProject} instance for
+	 * the specified project ID.
+	 * @see #project(int)
+	 */
+	default CompletableFuture<CurseProject> projectAsync(int id) {
+		return CurseAPIAsync.supply(() -> project(id));
+	}
+
+	/**
+	 * Asynchronously returns {@link CurseProject} instances for the specified project IDs.
+	 *
+	 * @param ids a {@link Collection} of project IDs.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Map} of
+	 * project IDs to {@link CurseProject} instances.
+	 * @see #projects(Collection)
+	 */
+	default CompletableFuture<Map<Integer, CurseProject>> projectsAsync(Collection<Integer> ids) {
+		return CurseAPIAsync.mapBounded(ids, this::project);
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with an {@link Element} containing the
+	 * description for the project with the specified ID.
+	 * @see #projectDescription(int)
+	 */
+	default CompletableFuture<Element> projectDescriptionAsync(int id) {
+		return CurseAPIAsync.supply(() -> projectDescription(id));
+	}
+
+	/**
+	 * Asynchronously returns the description for the project with the specified ID as an
+	 * HTML string.
+	 *
+	 * @param id a project ID.
+	 * @return a {@link CompletableFuture} that completes with the description for the project
+	 * with the specified ID as an HTML string.
+	 * @see #projectDescriptionHTML(int)
+	 */
+	default CompletableFuture<String> projectDescriptionHTMLAsync(int id) {
+		return CurseAPIAsync.supply(() -> projectDescriptionHTML(id));
+	}
+
+	/**
+	 * Asynchronously executes a {@link CurseSearchQuery}.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link List} of
+	 * {@link CurseProject}s that match the specified query.
+	 * @see #searchProjects(CurseSearchQuery)
+	 */
+	default CompletableFuture<List<CurseProject>> searchProjectsAsync(CurseSearchQuery query) {
+		return CurseAPIAsync.supply(() -> searchProjects(query));
+	}
+
+	/**
+	 * Asynchronously returns a {@link CurseFiles} instance for the specified project ID.
+	 *
+	 * @param projectID a project ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseFiles} instance for
+	 * the specified project ID.
+	 * @see #files(int)
+	 */
+	default CompletableFuture<CurseFiles<CurseFile>> filesAsync(int projectID) {
+		return CurseAPIAsync.supply(() -> files(projectID));
+	}
+
+	/**
+	 * Asynchronously returns a {@link CurseFile} instance for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseFile} instance for
+	 * the specified project and file ID.
+	 * @see #file(int, int)
+	 */
+	default CompletableFuture<CurseFile> fileAsync(int projectID, int fileID) {
+		return CurseAPIAsync.supply(() -> file(projectID, fileID));
+	}
+
+	/**
+	 * Asynchronously returns {@link CurseFile} instances for the specified files.
+	 *
+	 * @param files a {@link Collection} of {@link BasicCurseFile}s.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Map} of the
+	 * specified {@link BasicCurseFile}s to {@link CurseFile} instances.
+	 * @see #files(Collection)
+	 */
+	default CompletableFuture<Map<BasicCurseFile, CurseFile>> filesAsync(
+			Collection<? extends BasicCurseFile> files
+	) {
+		return CurseAPIAsync.mapBounded(files, file -> file(file.projectID(), file.id()));
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with an {@link Element} containing the
+	 * changelog for the specified project and file ID.
+	 * @see #fileChangelog(int, int)
+	 */
+	default CompletableFuture<Element> fileChangelogAsync(int projectID, int fileID) {
+		return CurseAPIAsync.supply(() -> fileChangelog(projectID, fileID));
+	}
+
+	/**
+	 * Asynchronously returns the changelog for the specified project and file ID as an
+	 * HTML string.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with the changelog for the specified
+	 * project and file ID as an HTML string.
+	 * @see #fileChangelogHTML(int, int)
+	 */
+	default CompletableFuture<String> fileChangelogHTMLAsync(int projectID, int fileID) {
+		return CurseAPIAsync.supply(() -> fileChangelogHTML(projectID, fileID));
+	}
+
+	/**
+	 * Asynchronously returns the download URL for the specified project and file ID.
+	 *
+	 * @param projectID a project ID.
+	 * @param fileID a file ID.
+	 * @return a {@link CompletableFuture} that completes with the download URL for the specified
+	 * project and file ID.
+	 * @see #fileDownloadURL(int, int)
+	 */
+	default CompletableFuture<HttpUrl> fileDownloadURLAsync(int projectID, int fileID) {
+		return CurseAPIAsync.supply(() -> fileDownloadURL(projectID, fileID));
+	}
+
+	/**
+	 * Asynchronously returns all games that CurseForge supports.
+	 *
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseGame} instances that represent all games supported by CurseForge.
+	 * @see #games()
+	 */
+	default CompletableFuture<Set<CurseGame>> gamesAsync() {
+		return CurseAPIAsync.supply(this::games);
+	}
+
+	/**
+	 * Asynchronously returns the CurseForge game with the specified ID.
+	 *
+	 * @param id a game ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseGame} instance that
+	 * represents the CurseForge game with the specified ID.
+	 * @see #game(int)
+	 */
+	default CompletableFuture<CurseGame> gameAsync(int id) {
+		return CurseAPIAsync.supply(() -> game(id));
+	}
+
+	/**
+	 * Asynchronously returns all game versions of the game with the specified ID supported by
+	 * CurseForge.
+	 *
+	 * @param gameID a game ID.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link SortedSet}
+	 * containing {@link CurseGameVersion} instances that represent all game versions of the game
+	 * with the specified ID supported by CurseForge.
+	 * @see #gameVersions(int)
+	 */
+	default CompletableFuture<SortedSet<? extends CurseGameVersion<?>>> gameVersionsAsync(
+			int gameID
+	) {
+		return CurseAPIAsync.supply(() -> gameVersions(gameID));
+	}
+
+	/**
+	 * Asynchronously returns the game version of the game with the specified ID with the
+	 * specified version string.
+	 *
+	 * @param gameID a game ID.
+	 * @param versionString a version string. The version string may be empty but should never
+	 * be {@code null}.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseGameVersion} instance
+	 * that represents the game version of the game with the specified ID with the specified
+	 * version string.
+	 * @see #gameVersion(int, String)
+	 */
+	default CompletableFuture<CurseGameVersion<?>> gameVersionAsync(
+			int gameID, String versionString
+	) {
+		return CurseAPIAsync.supply(() -> gameVersion(gameID, versionString));
+	}
+
+	/**
+	 * Asynchronously returns all project categories on CurseForge.
+	 *
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseCategory} instances that represent all project categories on CurseForge.
+	 * @see #categories()
+	 */
+	default CompletableFuture<Set<CurseCategory>> categoriesAsync() {
+		return CurseAPIAsync.supply(this::categories);
+	}
+
+	/**
+	 * Asynchronously returns all categories in a category section.
+	 *
+	 * @param sectionID a category section ID.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Set} containing
+	 * {@link CurseCategory} instances that represent all categories in the category section with
+	 * the specified ID.
+	 * @see #categories(int)
+	 */
+	default CompletableFuture<Set<CurseCategory>> categoriesAsync(int sectionID) {
+		return CurseAPIAsync.supply(() -> categories(sectionID));
+	}
+
+	/**
+	 * Asynchronously returns the CurseForge category with the specified ID.
+	 *
+	 * @param id a category ID.
+	 * @return a {@link CompletableFuture} that completes with a {@link CurseCategory} instance
+	 * that represents the CurseForge category with the specified ID.
+	 * @see #category(int)
+	 */
+	default CompletableFuture<CurseCategory> categoryAsync(int id) {
+		return CurseAPIAsync.supply(() -> category(id));
+	}
 }
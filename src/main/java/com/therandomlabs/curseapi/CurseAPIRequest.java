@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents a request made to the {@link CurseAPIProvider}s, i.e. a {@link CurseAPIOperation}
+ * along with its arguments.
+ * <p>
+ * Two {@link CurseAPIRequest}s are equal if their {@link CurseAPIOperation}s and arguments are
+ * equal, so instances of this class are suitable as keys for coalescing and caching requests.
+ * Arguments should therefore be immutable.
+ */
+public final class CurseAPIRequest {
+	private final CurseAPIOperation operation;
+	private final List<Object> arguments;
+	private final int hashCode;
+
+	private CurseAPIRequest(CurseAPIOperation operation, Object[] arguments) {
+		this.operation = operation;
+		this.arguments = Collections.unmodifiableList(Arrays.asList(arguments));
+		hashCode = Objects.hash(operation, this.arguments);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method returns {@code true} if and only if the other object is also a
+	 * {@link CurseAPIRequest} and its {@link CurseAPIOperation} and arguments are equal to
+	 * those of this {@link CurseAPIRequest}.
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof CurseAPIRequest)) {
+			return false;
+		}
+
+		final CurseAPIRequest request = (CurseAPIRequest) object;
+		return operation == request.operation && arguments.equals(request.arguments);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("operation", operation).
+				add("arguments", arguments).
+				toString();
+	}
+
+	/**
+	 * Returns this {@link CurseAPIRequest}'s {@link CurseAPIOperation}.
+	 *
+	 * @return this {@link CurseAPIRequest}'s {@link CurseAPIOperation}.
+	 */
+	public CurseAPIOperation operation() {
+		return operation;
+	}
+
+	/**
+	 * Returns this {@link CurseAPIRequest}'s arguments.
+	 *
+	 * @return an immutable {@link List} containing this {@link CurseAPIRequest}'s arguments.
+	 */
+	public List<Object> arguments() {
+		return arguments;
+	}
+
+	/**
+	 * Returns a {@link CurseAPIRequest} with the specified {@link CurseAPIOperation} and
+	 * arguments.
+	 *
+	 * @param operation a {@link CurseAPIOperation}.
+	 * @param arguments the arguments. These should be immutable.
+	 * @return a {@link CurseAPIRequest} with the specified {@link CurseAPIOperation} and
+	 * arguments.
+	 */
+	public static CurseAPIRequest of(CurseAPIOperation operation, Object... arguments) {
+		Preconditions.checkNotNull(operation, "operation should not be null");
+		Preconditions.checkNotNull(arguments, "arguments should not be null");
+		return new CurseAPIRequest(operation, arguments.clone());
+	}
+}
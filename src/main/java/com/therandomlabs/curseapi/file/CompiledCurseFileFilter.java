@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.google.common.base.MoreObjects;
+import com.therandomlabs.curseapi.util.StringDictionary;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable {@link Predicate} for {@link CurseFile}s that is equivalent to a
+ * {@link CurseFileFilter} but does not allocate any objects when testing files.
+ * <p>
+ * This filter's game version strings are represented as a bitset that is created once, and
+ * each {@link CurseFile}'s game version strings are tested against it using the indices
+ * returned by {@link CurseFile#gameVersionIndices()}, so testing whether a file matches any of
+ * this filter's game versions does not require any {@link Set}s to be copied.
+ *
+ * @see CurseFileFilter#compile()
+ */
+public final class CompiledCurseFileFilter implements Predicate<CurseFile> {
+	@Nullable
+	private final long[] gameVersionBits;
+	private final int newerThan;
+	private final int olderThan;
+	private final int maximumReleaseTypeID;
+
+	CompiledCurseFileFilter(
+			Set<String> gameVersionStrings, int newerThan, int olderThan,
+			CurseReleaseType minimumStability
+	) {
+		gameVersionBits = gameVersionStrings.isEmpty() ?
+				null : CurseFile.gameVersionStringDictionary().bits(gameVersionStrings);
+		this.newerThan = newerThan;
+		this.olderThan = olderThan;
+		maximumReleaseTypeID = minimumStability.id();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("newerThan", newerThan).
+				add("olderThan", olderThan).
+				add("minimumStability", CurseReleaseType.fromID(maximumReleaseTypeID)).
+				toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean test(CurseFile file) {
+		final int id = file.id();
+
+		if (id <= newerThan || id >= olderThan ||
+				file.releaseType().id() > maximumReleaseTypeID) {
+			return false;
+		}
+
+		return gameVersionBits == null ||
+				StringDictionary.intersects(gameVersionBits, file.gameVersionIndices());
+	}
+
+	/**
+	 * Applies this {@link CompiledCurseFileFilter} on the specified {@link Collection} of
+	 * {@link CurseFile}s. This is done by calling {@link Collection#removeIf(Predicate)}
+	 * with the {@link Predicate} returned by {@link #negate()}.
+	 *
+	 * @param files a {@link Collection} of {@link CurseFile}s.
+	 * @return {@code true} if any elements were removed, or otherwise {@code false}.
+	 */
+	public boolean apply(Collection<? extends CurseFile> files) {
+		return files.removeIf(negate());
+	}
+}
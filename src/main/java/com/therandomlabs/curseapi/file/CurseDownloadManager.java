@@ -0,0 +1,593 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.util.FileMoves;
+import com.therandomlabs.curseapi.util.FutureUtils;
+import com.therandomlabs.curseapi.util.OkHttpUtils;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads multiple {@link ExistingCurseFile}s to a directory in parallel.
+ * <p>
+ * Each file is first downloaded to a {@code .part} file in the target directory, which is
+ * moved to its final location once the download is complete. If a download is interrupted,
+ * the {@code .part} file is kept, and the next attempt resumes the download using an HTTP
+ * {@code Range} request if the server supports it. The strong {@code ETag} or the
+ * {@code Last-Modified} date of the response is stored next to the {@code .part} file and sent
+ * in an {@code If-Range} header so that the download is restarted from the beginning if the
+ * remote file has changed. Downloads for which neither is known are also restarted, as are
+ * downloads for which the server responds with an unexpected {@code Content-Range}.
+ * If the size of a file is known, that is, if it is a {@link CurseFile}, the size of the
+ * downloaded file is verified, and files that already exist in the target directory with
+ * the correct size are not downloaded again.
+ * <p>
+ * This class also keeps track of the number of files and bytes that it has downloaded as well
+ * as the time spent downloading, which can be used to calculate the average throughput.
+ */
+public final class CurseDownloadManager {
+	/**
+	 * Listens for download progress.
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+		/**
+		 * Called when data for a file has been downloaded.
+		 * This method may be called concurrently from multiple threads.
+		 *
+		 * @param file the {@link ExistingCurseFile} being downloaded.
+		 * @param bytesDownloaded the number of bytes of the file that have been downloaded,
+		 * including bytes downloaded before the download was resumed.
+		 * @param totalBytes the size of the file in bytes, or {@code -1} if it is not known.
+		 */
+		void onProgress(ExistingCurseFile file, long bytesDownloaded, long totalBytes);
+
+		/**
+		 * Called when a file has been downloaded or was found to already exist.
+		 * This method may be called concurrently from multiple threads.
+		 *
+		 * @param file the downloaded {@link ExistingCurseFile}.
+		 * @param path a {@link Path} to the downloaded file.
+		 */
+		default void onComplete(ExistingCurseFile file, Path path) {
+			//No-op by default.
+		}
+	}
+
+	private static final String PART_FILE_EXTENSION = ".part";
+	private static final String VALIDATOR_FILE_EXTENSION = ".validator";
+	private static final long BUFFER_SIZE = 8192L;
+	private static final long RETRY_DELAY_MILLIS = 500L;
+
+	private static final Logger logger = LoggerFactory.getLogger(CurseDownloadManager.class);
+
+	private final AtomicLong filesDownloaded = new AtomicLong();
+	private final AtomicLong bytesDownloaded = new AtomicLong();
+	//Guards the busy time, which only includes time during which at least one call to
+	//downloadAsync is in progress so that overlapping calls are not counted twice.
+	private final Object busyLock = new Object();
+	private long busyNanos;
+	private long busySince;
+	private int activeDownloads;
+
+	@Nullable
+	private Executor executor;
+	private int maxConcurrency = 4;
+	private int maxAttempts = 3;
+	@Nullable
+	private ProgressListener progressListener;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("maxConcurrency", maxConcurrency).
+				add("maxAttempts", maxAttempts).
+				add("filesDownloaded", filesDownloaded()).
+				add("bytesDownloaded", bytesDownloaded()).
+				toString();
+	}
+
+	/**
+	 * Sets the {@link Executor} used to download files.
+	 * By default, {@link CurseAPI#executor()} is used.
+	 *
+	 * @param executor an {@link Executor}.
+	 * @return this {@link CurseDownloadManager}.
+	 */
+	public CurseDownloadManager executor(Executor executor) {
+		Preconditions.checkNotNull(executor, "executor should not be null");
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of files that are downloaded at a time.
+	 *
+	 * @return the maximum number of files that are downloaded at a time.
+	 */
+	public int maxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Sets the maximum number of files that are downloaded at a time. By default, this is 4.
+	 *
+	 * @param maxConcurrency the maximum number of files that are downloaded at a time.
+	 * @return this {@link CurseDownloadManager}.
+	 */
+	public CurseDownloadManager maxConcurrency(int maxConcurrency) {
+		Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency should be positive");
+		this.maxConcurrency = maxConcurrency;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of attempts made to download each file.
+	 *
+	 * @return the maximum number of attempts made to download each file.
+	 */
+	public int maxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Sets the maximum number of attempts made to download each file. Each attempt after the
+	 * first resumes the download where the previous attempt left off. Attempts are made after
+	 * I/O errors as well as server errors and {@code 429 Too Many Requests} responses, and each
+	 * attempt waits half a second longer than the previous one. By default, this is 3.
+	 *
+	 * @param maxAttempts the maximum number of attempts made to download each file.
+	 * @return this {@link CurseDownloadManager}.
+	 */
+	public CurseDownloadManager maxAttempts(int maxAttempts) {
+		Preconditions.checkArgument(maxAttempts > 0, "maxAttempts should be positive");
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link ProgressListener} that is notified of download progress.
+	 *
+	 * @param progressListener a {@link ProgressListener}, or {@code null} if progress
+	 * should not be reported.
+	 * @return this {@link CurseDownloadManager}.
+	 */
+	public CurseDownloadManager progressListener(@Nullable ProgressListener progressListener) {
+		this.progressListener = progressListener;
+		return this;
+	}
+
+	/**
+	 * Downloads the specified files to the specified directory. The name of each downloaded file
+	 * is the name returned by {@link CurseFile#nameOnDisk()} for {@link CurseFile}s, or otherwise
+	 * the file name in the download URL.
+	 * <p>
+	 * Duplicate files are only downloaded once. If multiple different files have the same
+	 * name, an {@link IllegalArgumentException} is thrown if they are all {@link CurseFile}s,
+	 * or otherwise, the download fails with a {@link CurseException}.
+	 * <p>
+	 * If any file fails to download, the files that have not yet been started are not
+	 * downloaded, and the exception is rethrown. The {@code .part} files of incomplete
+	 * downloads are kept so that the downloads can be resumed by calling this method again.
+	 *
+	 * @param files a {@link Collection} of {@link ExistingCurseFile}s.
+	 * @param directory a {@link Path} to a directory. If the directory does not exist,
+	 * it is created.
+	 * @return a mutable {@link Map} of the specified {@link ExistingCurseFile}s to {@link Path}s
+	 * to the downloaded files in the order of the specified {@link ExistingCurseFile}s.
+	 * @throws CurseException if an error occurs.
+	 * @throws IllegalArgumentException if multiple different {@link CurseFile}s have the same
+	 * name.
+	 */
+	public Map<ExistingCurseFile, Path> download(
+			Collection<? extends ExistingCurseFile> files, Path directory
+	) throws CurseException {
+		return FutureUtils.join(downloadAsync(files, directory));
+	}
+
+	/**
+	 * Asynchronously downloads the specified files to the specified directory.
+	 *
+	 * @param files a {@link Collection} of {@link ExistingCurseFile}s.
+	 * @param directory a {@link Path} to a directory. If the directory does not exist,
+	 * it is created.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link Map} of the
+	 * specified {@link ExistingCurseFile}s to {@link Path}s to the downloaded files.
+	 * @see #download(Collection, Path)
+	 */
+	public CompletableFuture<Map<ExistingCurseFile, Path>> downloadAsync(
+			Collection<? extends ExistingCurseFile> files, Path directory
+	) {
+		Preconditions.checkNotNull(files, "files should not be null");
+		Preconditions.checkNotNull(directory, "directory should not be null");
+		Preconditions.checkArgument(
+				!Files.isRegularFile(directory), "directory should not be a regular file"
+		);
+
+		final List<ExistingCurseFile> fileList = new ArrayList<>(new LinkedHashSet<>(files));
+		//Files that would be downloaded to the same path would overwrite each other's .part
+		//files, so each file name may only be claimed by one file.
+		final Map<String, ExistingCurseFile> fileNames = new ConcurrentHashMap<>();
+
+		for (ExistingCurseFile file : fileList) {
+			Preconditions.checkNotNull(file, "files should not contain null");
+
+			if (file instanceof CurseFile) {
+				final String fileName = ((CurseFile) file).nameOnDisk();
+				Preconditions.checkArgument(
+						fileNames.putIfAbsent(fileName, file) == null,
+						"files should not contain multiple files named %s", fileName
+				);
+			}
+		}
+
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException ex) {
+			return FutureUtils.failed(
+					new CurseException("Failed to create directory: " + directory, ex)
+			);
+		}
+
+		startBusy();
+
+		return FutureUtils.mapBounded(
+				fileList, file -> download(file, directory, fileNames),
+				executor == null ? CurseAPI.executor() : executor, maxConcurrency
+		).whenComplete((paths, throwable) -> endBusy()).thenApply(paths -> {
+			final Map<ExistingCurseFile, Path> downloadedFiles =
+					new LinkedHashMap<>(fileList.size());
+
+			for (int i = 0; i < fileList.size(); i++) {
+				downloadedFiles.put(fileList.get(i), paths.get(i));
+			}
+
+			return downloadedFiles;
+		});
+	}
+
+	/**
+	 * Returns the number of files that have been downloaded by this
+	 * {@link CurseDownloadManager}. Files that already existed are not included.
+	 *
+	 * @return the number of files that have been downloaded.
+	 */
+	public long filesDownloaded() {
+		return filesDownloaded.get();
+	}
+
+	/**
+	 * Returns the number of bytes that have been downloaded by this
+	 * {@link CurseDownloadManager}.
+	 *
+	 * @return the number of bytes that have been downloaded.
+	 */
+	public long bytesDownloaded() {
+		return bytesDownloaded.get();
+	}
+
+	/**
+	 * Returns the average throughput of this {@link CurseDownloadManager} in bytes per second,
+	 * which is calculated by dividing the number of bytes downloaded by the total time during
+	 * which at least one call to {@link #download(Collection, Path)} or
+	 * {@link #downloadAsync(Collection, Path)} was in progress.
+	 *
+	 * @return the average throughput in bytes per second, or {@code 0.0} if nothing has been
+	 * downloaded.
+	 */
+	public double throughput() {
+		final long nanos;
+
+		synchronized (busyLock) {
+			nanos = activeDownloads == 0 ? busyNanos : busyNanos + System.nanoTime() - busySince;
+		}
+
+		return nanos == 0L ? 0.0 : bytesDownloaded.get() * 1.0e9 / nanos;
+	}
+
+	/**
+	 * Resets the statistics returned by {@link #filesDownloaded()}, {@link #bytesDownloaded()}
+	 * and {@link #throughput()}.
+	 */
+	public void resetStatistics() {
+		filesDownloaded.set(0L);
+		bytesDownloaded.set(0L);
+
+		synchronized (busyLock) {
+			busyNanos = 0L;
+			busySince = System.nanoTime();
+		}
+	}
+
+	private void startBusy() {
+		synchronized (busyLock) {
+			if (activeDownloads++ == 0) {
+				busySince = System.nanoTime();
+			}
+		}
+	}
+
+	private void endBusy() {
+		synchronized (busyLock) {
+			if (--activeDownloads == 0) {
+				busyNanos += System.nanoTime() - busySince;
+			}
+		}
+	}
+
+	private Path download(
+			ExistingCurseFile file, Path directory, Map<String, ExistingCurseFile> fileNames
+	) throws CurseException {
+		final HttpUrl url = file.downloadURL();
+		final String fileName = file instanceof CurseFile ?
+				((CurseFile) file).nameOnDisk() : OkHttpUtils.getFileNameFromURLPath(url);
+		//The names of files that are not CurseFiles are only known once their download URLs
+		//have been retrieved.
+		final ExistingCurseFile claimant = fileNames.putIfAbsent(fileName, file);
+
+		if (claimant != null && claimant != file) {
+			throw new CurseException(
+					"Cannot download " + url + " as " + fileName + " is also the name of: " +
+							claimant
+			);
+		}
+
+		final long expectedSize = file instanceof CurseFile ? ((CurseFile) file).fileSize() : -1L;
+
+		final Path path = directory.resolve(fileName);
+		final Path partPath = directory.resolve(fileName + PART_FILE_EXTENSION);
+
+		try {
+			if (expectedSize > 0L && Files.isRegularFile(path) &&
+					Files.size(path) == expectedSize) {
+				logger.debug("Skipping download of existing file: {}", path);
+				onComplete(file, path);
+				return path;
+			}
+
+			for (int attempt = 1; ; attempt++) {
+				try {
+					downloadPart(file, url, partPath, expectedSize);
+					break;
+				} catch (IOException ex) {
+					if (attempt >= maxAttempts) {
+						throw ex;
+					}
+
+					logger.warn("Failed to download {}; resuming download", url, ex);
+					waitBeforeRetrying(attempt, url);
+				}
+			}
+
+			FileMoves.move(partPath, path);
+			Files.deleteIfExists(validatorPath(partPath));
+		} catch (IOException ex) {
+			throw new CurseException("Failed to download " + url + " to: " + path, ex);
+		}
+
+		filesDownloaded.incrementAndGet();
+		onComplete(file, path);
+		return path;
+	}
+
+	private void downloadPart(
+			ExistingCurseFile file, HttpUrl url, Path partPath, long expectedSize
+	) throws CurseException, IOException {
+		final Path validatorPath = validatorPath(partPath);
+		long offset = Files.isRegularFile(partPath) ? Files.size(partPath) : 0L;
+		final String validator = offset > 0L && Files.isRegularFile(validatorPath) ?
+				new String(Files.readAllBytes(validatorPath), StandardCharsets.UTF_8) : null;
+
+		if (expectedSize > 0L && offset == expectedSize && validator != null) {
+			return;
+		}
+
+		//If it is not known which version of the remote file the partial file contains,
+		//it cannot be resumed safely.
+		if (validator == null || (expectedSize > 0L && offset > expectedSize)) {
+			offset = 0L;
+		}
+
+		final Request.Builder builder = new Request.Builder().url(url);
+
+		if (offset > 0L) {
+			builder.header("Range", "bytes=" + offset + "-");
+			builder.header("If-Range", validator);
+		}
+
+		final Request request = builder.build();
+		logger.debug("Executing request: {}", request);
+
+		try (Response response = OkHttpUtils.getClient().newCall(request).execute()) {
+			//416 Range Not Satisfiable: the partial file cannot be resumed.
+			if (response.code() == 416) {
+				Files.delete(partPath);
+				Files.deleteIfExists(validatorPath);
+				throw new IOException("Failed to resume download: " + request);
+			}
+
+			//Server errors and throttled requests may succeed if they are retried.
+			if (response.code() >= 500 || response.code() == 429) {
+				throw new IOException(
+						"Failed to execute request: " + request + ": " + response.code()
+				);
+			}
+
+			if (!response.isSuccessful()) {
+				throw new CurseException(
+						"Failed to execute request: " + request + ": " + response.code()
+				);
+			}
+
+			final ResponseBody body = response.body();
+
+			if (body == null) {
+				throw new CurseException("Failed to execute request: " + request);
+			}
+
+			if (response.code() == 206) {
+				if (!startsAt(response.header("Content-Range"), offset)) {
+					Files.delete(partPath);
+					Files.deleteIfExists(validatorPath);
+					throw new IOException(
+							"Unexpected Content-Range " + response.header("Content-Range") +
+									" for: " + request
+					);
+				}
+			} else {
+				//If the server ignores the Range header or the remote file has changed,
+				//the file is downloaded from the start.
+				offset = 0L;
+				writeValidator(response, validatorPath);
+			}
+
+			final long totalSize = expectedSize > 0L ? expectedSize :
+					body.contentLength() < 0L ? -1L : offset + body.contentLength();
+
+			writePart(file, body.source(), partPath, offset, totalSize);
+		}
+
+		final long size = Files.size(partPath);
+
+		if (expectedSize > 0L && size != expectedSize) {
+			Files.delete(partPath);
+			Files.deleteIfExists(validatorPath);
+			throw new CurseException(String.format(
+					"Downloaded file size %d does not match expected size %d: %s",
+					size, expectedSize, url
+			));
+		}
+	}
+
+	private void writePart(
+			ExistingCurseFile file, BufferedSource source, Path partPath, long offset,
+			long totalSize
+	) throws IOException {
+		final StandardOpenOption mode = offset == 0L ?
+				StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND;
+		long downloaded = offset;
+
+		try (BufferedSink sink = Okio.buffer(Okio.sink(
+				partPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode
+		))) {
+			long read;
+
+			while ((read = source.read(sink.buffer(), BUFFER_SIZE)) != -1L) {
+				sink.emitCompleteSegments();
+				downloaded += read;
+				bytesDownloaded.addAndGet(read);
+
+				if (progressListener != null) {
+					progressListener.onProgress(file, downloaded, totalSize);
+				}
+			}
+		}
+	}
+
+	private void onComplete(ExistingCurseFile file, Path path) {
+		if (progressListener != null) {
+			progressListener.onComplete(file, path);
+		}
+	}
+
+	private static void waitBeforeRetrying(int attempt, HttpUrl url)
+			throws InterruptedIOException {
+		try {
+			Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while retrying download: " + url);
+		}
+	}
+
+	private static Path validatorPath(Path partPath) {
+		return partPath.resolveSibling(partPath.getFileName() + VALIDATOR_FILE_EXTENSION);
+	}
+
+	private static void writeValidator(Response response, Path validatorPath)
+			throws IOException {
+		final String eTag = response.header("ETag");
+		//Weak validators cannot be used in If-Range headers.
+		final String validator = eTag != null && !eTag.startsWith("W/") ?
+				eTag : response.header("Last-Modified");
+
+		if (validator == null) {
+			Files.deleteIfExists(validatorPath);
+		} else {
+			Files.write(validatorPath, validator.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static boolean startsAt(@Nullable String contentRange, long offset) {
+		//For example: bytes 1000-1999/2000
+		if (contentRange == null || !contentRange.startsWith("bytes ")) {
+			return false;
+		}
+
+		final int dashIndex = contentRange.indexOf('-');
+
+		if (dashIndex == -1) {
+			return false;
+		}
+
+		try {
+			return Long.parseLong(contentRange.substring(6, dashIndex).trim()) == offset;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+}
@@ -37,6 +37,7 @@ import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
 import com.therandomlabs.curseapi.game.CurseGameVersionGroup;
 import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.StringDictionary;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -47,6 +48,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * Implementations of this class should be effectively immutable.
  */
 public abstract class CurseFile extends BasicCurseFile implements ExistingCurseFile {
+	//Game version strings are interned into a single dictionary rather than per game because
+	//a file's game can only be determined by retrieving its project.
+	private static final StringDictionary gameVersionStringDictionary = new StringDictionary();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -218,6 +223,40 @@ public abstract class CurseFile extends BasicCurseFile implements ExistingCurseF
 	 */
 	public abstract Set<String> gameVersionStrings();
 
+	/**
+	 * Returns the indices of this file's game version strings in
+	 * {@link #gameVersionStringDictionary()}. The returned array should not be modified.
+	 * <p>
+	 * By default, the indices are retrieved by interning the strings returned by
+	 * {@link #gameVersionStrings()}. Implementations that store their game version strings
+	 * as indices should override this method to return them without creating any
+	 * {@link Set}s.
+	 *
+	 * @return the indices of this file's game version strings.
+	 */
+	protected int[] gameVersionIndices() {
+		final Set<String> gameVersionStrings = gameVersionStrings();
+		final int[] indices = new int[gameVersionStrings.size()];
+		int i = 0;
+
+		for (String gameVersionString : gameVersionStrings) {
+			indices[i++] = gameVersionStringDictionary.index(gameVersionString);
+		}
+
+		return indices;
+	}
+
+	/**
+	 * Returns the {@link StringDictionary} that game version strings are interned into.
+	 * Implementations of this class may store their game version strings as indices in this
+	 * dictionary to reduce memory usage.
+	 *
+	 * @return the {@link StringDictionary} that game version strings are interned into.
+	 */
+	public static StringDictionary gameVersionStringDictionary() {
+		return gameVersionStringDictionary;
+	}
+
 	/**
 	 * Returns this file's game versions.
 	 * This value may be refreshed by calling {@link #clearGameVersionsCache()}.
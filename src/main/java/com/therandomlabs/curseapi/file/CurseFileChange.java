@@ -23,13 +23,25 @@
 
 package com.therandomlabs.curseapi.file;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPI;
 import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.project.CurseProject;
 import com.therandomlabs.curseapi.util.CheckedFunction;
+import com.therandomlabs.curseapi.util.FutureUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -271,15 +283,7 @@ public class CurseFileChange<F extends BasicCurseFile> {
 	 * @throws CurseException if an error occurs.
 	 */
 	public CurseFiles<CurseFile> filesBetween() throws CurseException {
-		final CurseProject project = project();
-
-		if (project == null) {
-			return new CurseFiles<>();
-		}
-
-		final CurseFiles<CurseFile> files = project.files();
-		new CurseFileFilter().between(olderFile().id(), newerFile().id() + 1).apply(files);
-		return files;
+		return new CurseFiles<>(filesBetween(filesIndex()));
 	}
 
 	/**
@@ -298,9 +302,97 @@ public class CurseFileChange<F extends BasicCurseFile> {
 			return new CurseFiles<>();
 		}
 
-		final CurseFiles<CurseFile> files = project.files();
-		new CurseFileFilter().between(olderFile().id() - 1, newerFile().id() + 1).apply(files);
-		return files;
+		return new CurseFiles<>(
+				project.filesIndex().between(olderFile().id() - 1, newerFile().id() + 1)
+		);
+	}
+
+	/**
+	 * Returns the changelogs of all files that are chronologically between the old file and the
+	 * new file as plain text. The older file is excluded, and the newer file is included.
+	 * This is equivalent to calling {@link #changelogs(Collection, int)} with a collection that
+	 * only contains this {@link CurseFileChange}.
+	 *
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link Stream} of {@link CurseFileChangelog}s ordered from newest to oldest.
+	 * @throws CurseException if an error occurs.
+	 * @see #filesBetween()
+	 * @see #changelogs(Collection, int)
+	 */
+	public Stream<CurseFileChangelog> changelogs(int maxLineLength) throws CurseException {
+		return changelogs(Collections.singleton(this), maxLineLength);
+	}
+
+	/**
+	 * Returns the changelogs of all files that are chronologically between the old and new files
+	 * of the specified {@link CurseFileChange}s as plain text. For each {@link CurseFileChange},
+	 * the older file is excluded, and the newer file is included.
+	 * <p>
+	 * {@link CurseProject#filesIndex()} is called once for each project. The changelogs are then
+	 * retrieved in parallel using {@link CurseAPI#executor()} with at most
+	 * {@link CurseAPI#maxConcurrency()} requests in progress at a time, and each changelog is
+	 * available from the returned {@link Stream} as soon as it and the changelogs before it have
+	 * been retrieved, so the first changelogs can be processed while the rest are still being
+	 * retrieved.
+	 * <p>
+	 * The changelogs are ordered by project ID, and then from newest to oldest.
+	 * If a changelog cannot be retrieved, the returned {@link Stream} throws a
+	 * {@link CompletionException} wrapping the cause when it reaches that changelog.
+	 * Closing the returned {@link Stream} cancels the retrieval of any changelogs that have
+	 * not yet been retrieved.
+	 *
+	 * @param fileChanges a collection of {@link CurseFileChange}s.
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link Stream} of {@link CurseFileChangelog}s.
+	 * @throws CurseException if an error occurs while retrieving the files of a project.
+	 * @see ExistingCurseFile#changelogPlainText(int)
+	 */
+	public static Stream<CurseFileChangelog> changelogs(
+			Collection<? extends CurseFileChange<?>> fileChanges, int maxLineLength
+	) throws CurseException {
+		Preconditions.checkNotNull(fileChanges, "fileChanges should not be null");
+		Preconditions.checkArgument(maxLineLength > 0, "maxLineLength should be greater than 0");
+
+		final List<CurseFileChange<?>> sortedFileChanges = new ArrayList<>(fileChanges);
+		sortedFileChanges.sort(Comparator.comparingInt(CurseFileChange::projectID));
+
+		//Retrieve the files of each project only once.
+		final Map<Integer, CurseFileChange<?>> projectFileChanges = new LinkedHashMap<>();
+
+		for (CurseFileChange<?> fileChange : sortedFileChanges) {
+			projectFileChanges.putIfAbsent(fileChange.projectID(), fileChange);
+		}
+
+		final Map<Integer, CurseFilesIndex<CurseFile>> filesIndexes = CurseAPI.parallelMap(
+				projectFileChanges.values(), CurseFileChange::projectID,
+				CurseFileChange::filesIndex
+		);
+
+		final List<CurseFile> files = new ArrayList<>();
+
+		for (CurseFileChange<?> fileChange : sortedFileChanges) {
+			files.addAll(fileChange.filesBetween(filesIndexes.get(fileChange.projectID())));
+		}
+
+		final List<CompletableFuture<CurseFileChangelog>> changelogs = FutureUtils.mapEachBounded(
+				files,
+				file -> new CurseFileChangelog(file, file.changelogPlainText(maxLineLength)),
+				CurseAPI.executor(), CurseAPI.maxConcurrency()
+		);
+
+		return changelogs.stream().
+				map(CompletableFuture::join).
+				onClose(() -> changelogs.forEach(changelog -> changelog.cancel(false)));
+	}
+
+	private CurseFilesIndex<CurseFile> filesIndex() throws CurseException {
+		final CurseProject project = project();
+		return project == null ?
+				CurseFilesIndex.of(Collections.emptyList()) : project.filesIndex();
+	}
+
+	private List<CurseFile> filesBetween(CurseFilesIndex<CurseFile> filesIndex) {
+		return filesIndex.between(olderFile().id(), newerFile().id() + 1);
 	}
 
 	@Nullable
@@ -310,6 +402,6 @@ public class CurseFileChange<F extends BasicCurseFile> {
 		}
 
 		final CurseProject project = project();
-		return project == null ? null : project.files().fileWithID(file.id());
+		return project == null ? null : project.filesIndex().fileWithID(file.id());
 	}
 }
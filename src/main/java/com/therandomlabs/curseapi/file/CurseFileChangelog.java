@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents the plain text changelog of a {@link CurseFile}.
+ *
+ * @see CurseFileChange#changelogs(int)
+ * @see CurseFilesComparison#updatedChangelogs(int)
+ * @see CurseFilesComparison#downgradedChangelogs(int)
+ */
+public final class CurseFileChangelog {
+	private final CurseFile file;
+	private final String plainText;
+
+	/**
+	 * Constructs a {@link CurseFileChangelog} with the specified file and plain text changelog.
+	 *
+	 * @param file a {@link CurseFile}.
+	 * @param plainText the changelog of the specified {@link CurseFile} as plain text.
+	 */
+	public CurseFileChangelog(CurseFile file, String plainText) {
+		Preconditions.checkNotNull(file, "file should not be null");
+		Preconditions.checkNotNull(plainText, "plainText should not be null");
+		this.file = file;
+		this.plainText = plainText;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("file", file).
+				add("plainTextLength", plainText.length()).
+				toString();
+	}
+
+	/**
+	 * Returns the {@link CurseFile}.
+	 *
+	 * @return the {@link CurseFile}.
+	 */
+	public CurseFile file() {
+		return file;
+	}
+
+	/**
+	 * Returns the changelog of the {@link CurseFile} as plain text.
+	 * If a changelog is not provided, this is an empty string.
+	 *
+	 * @return the changelog of the {@link CurseFile} as plain text.
+	 * @see ExistingCurseFile#changelogPlainText(int)
+	 */
+	public String plainText() {
+		return plainText;
+	}
+}
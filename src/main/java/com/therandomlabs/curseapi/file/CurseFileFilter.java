@@ -24,7 +24,6 @@
 package com.therandomlabs.curseapi.file;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -35,6 +34,7 @@ import com.therandomlabs.curseapi.CurseAPI;
 import com.therandomlabs.curseapi.CursePreconditions;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
 import com.therandomlabs.curseapi.game.CurseGameVersionGroup;
+import com.therandomlabs.curseapi.util.StringDictionary;
 
 /**
  * An implementation of {@link Predicate} with several utility methods for {@link CurseFile}s.
@@ -67,15 +67,29 @@ public class CurseFileFilter implements Cloneable, Predicate<CurseFile> {
 	 */
 	@Override
 	public boolean test(CurseFile file) {
-		final Set<String> gameVersionStrings = gameVersionStrings();
-
-		if (!gameVersionStrings.isEmpty() &&
-				Collections.disjoint(gameVersionStrings, file.gameVersionStrings())) {
+		if (!gameVersionStrings.isEmpty() && !hasGameVersionString(file)) {
 			return false;
 		}
 
-		return file.newerThan(newerThan()) && file.olderThan(olderThan()) &&
-				file.releaseType().hasMinimumStability(minimumStability());
+		return file.newerThan(newerThan) && file.olderThan(olderThan) &&
+				file.releaseType().hasMinimumStability(minimumStability);
+	}
+
+	/**
+	 * Returns a {@link CompiledCurseFileFilter} that is equivalent to this
+	 * {@link CurseFileFilter}. Changes made to this {@link CurseFileFilter} after this method
+	 * is called are not reflected in the returned {@link CompiledCurseFileFilter}.
+	 * <p>
+	 * A {@link CompiledCurseFileFilter} should be used when the same filter is applied to
+	 * many files, as it does not allocate any objects when testing files.
+	 *
+	 * @return a {@link CompiledCurseFileFilter} that is equivalent to this
+	 * {@link CurseFileFilter}.
+	 */
+	public CompiledCurseFileFilter compile() {
+		return new CompiledCurseFileFilter(
+				gameVersionStrings, newerThan, olderThan, minimumStability
+		);
 	}
 
 	/**
@@ -368,4 +382,16 @@ public class CurseFileFilter implements Cloneable, Predicate<CurseFile> {
 	public boolean apply(Collection<? extends CurseFile> files) {
 		return files.removeIf(negate());
 	}
+
+	private boolean hasGameVersionString(CurseFile file) {
+		final StringDictionary dictionary = CurseFile.gameVersionStringDictionary();
+
+		for (int index : file.gameVersionIndices()) {
+			if (gameVersionStrings.contains(dictionary.string(index))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
 }
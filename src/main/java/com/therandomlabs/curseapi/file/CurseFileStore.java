@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.CursePreconditions;
+import com.therandomlabs.curseapi.util.FileMoves;
+import com.therandomlabs.curseapi.util.OkHttpUtils;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.HashingSink;
+import okio.Okio;
+import okio.Source;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A content-addressed local store of downloaded CurseForge files that allows files that are
+ * used in multiple places to only be downloaded once.
+ * <p>
+ * Files are stored at {@code <root>/<file ID>/<SHA-1 hash>}. The SHA-1 hash of each file is
+ * calculated while it is being downloaded, so storing a file does not require it to be read
+ * again. If the size of a file is known, it is verified before the file is stored.
+ * Stored files are made read-only, and whenever a stored file is looked up, its contents are
+ * verified against the SHA-1 hash in its name, so a stored file that has been modified is
+ * deleted and downloaded again rather than being reused.
+ * <p>
+ * Stored files are hard-linked to their target locations where possible so that they do not
+ * take up additional disk space, and are otherwise copied. As hard-linked files share their
+ * contents and permissions with the stored files, they are also read-only and should not be
+ * modified in place. Copied files are writable. Hard links can be disabled by calling
+ * {@link #hardLinks(boolean)}.
+ * <p>
+ * If a global {@link CurseFileStore} is set using {@link #setGlobal(CurseFileStore)},
+ * it is used by {@link ExistingCurseFile#download(Path)},
+ * {@link ExistingCurseFile#downloadToDirectory(Path)} and
+ * {@link com.therandomlabs.curseapi.CurseAPI#downloadFile(int, int, Path)}.
+ */
+public final class CurseFileStore {
+	private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+	private static final Logger logger = LoggerFactory.getLogger(CurseFileStore.class);
+
+	@Nullable
+	private static volatile CurseFileStore global;
+
+	private final Path root;
+	private volatile boolean hardLinks = true;
+
+	/**
+	 * Constructs a {@link CurseFileStore} with the specified root directory.
+	 *
+	 * @param root a {@link Path} to the root directory of the store. If the directory does not
+	 * exist, it is created when the first file is stored.
+	 */
+	public CurseFileStore(Path root) {
+		Preconditions.checkNotNull(root, "root should not be null");
+		Preconditions.checkArgument(
+				!Files.isRegularFile(root), "root should not be a regular file"
+		);
+		this.root = root;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("root", root).
+				add("hardLinks", hardLinks).
+				toString();
+	}
+
+	/**
+	 * Returns the root directory of this {@link CurseFileStore}.
+	 *
+	 * @return a {@link Path} to the root directory of this {@link CurseFileStore}.
+	 */
+	public Path root() {
+		return root;
+	}
+
+	/**
+	 * Sets whether stored files should be hard-linked to their target locations where possible.
+	 * If this is {@code false}, stored files are always copied. By default, this is
+	 * {@code true}.
+	 *
+	 * @param hardLinks {@code true} if hard links should be used, or otherwise {@code false}.
+	 * @return this {@link CurseFileStore}.
+	 */
+	public CurseFileStore hardLinks(boolean hardLinks) {
+		this.hardLinks = hardLinks;
+		return this;
+	}
+
+	/**
+	 * Returns the stored file with the specified file ID.
+	 *
+	 * @param fileID a file ID.
+	 * @param expectedSize the expected size of the file in bytes, or {@code -1} if it is not
+	 * known. If the stored file does not have the expected size, it is deleted.
+	 * Stored files whose contents do not match the SHA-1 hashes in their names are also deleted.
+	 * @return a {@link Path} to the stored file with the specified file ID, or {@code null} if
+	 * it is not stored.
+	 * @throws CurseException if an I/O error occurs.
+	 */
+	@Nullable
+	public Path get(int fileID, long expectedSize) throws CurseException {
+		CursePreconditions.checkFileID(fileID, "fileID");
+
+		final Path directory = root.resolve(Integer.toString(fileID));
+
+		if (!Files.isDirectory(directory)) {
+			return null;
+		}
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path path : stream) {
+				if (path.getFileName().toString().endsWith(TEMPORARY_FILE_EXTENSION) ||
+						!Files.isRegularFile(path)) {
+					continue;
+				}
+
+				if (expectedSize >= 0L && Files.size(path) != expectedSize) {
+					logger.warn("Deleting stored file with incorrect size: {}", path);
+					delete(path);
+					continue;
+				}
+
+				if (!hash(path).equals(path.getFileName().toString())) {
+					logger.warn("Deleting stored file that does not match its hash: {}", path);
+					delete(path);
+					continue;
+				}
+
+				return path;
+			}
+		} catch (IOException ex) {
+			throw new CurseException("Failed to read stored files in: " + directory, ex);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Downloads the file with the specified file ID from the specified URL into this
+	 * {@link CurseFileStore}.
+	 *
+	 * @param fileID a file ID.
+	 * @param url the download URL of the file.
+	 * @param expectedSize the expected size of the file in bytes, or {@code -1} if it is not
+	 * known.
+	 * @return a {@link Path} to the stored file.
+	 * @throws CurseException if the file cannot be downloaded, if it does not have the
+	 * expected size, or if an I/O error occurs.
+	 */
+	public Path put(int fileID, HttpUrl url, long expectedSize) throws CurseException {
+		CursePreconditions.checkFileID(fileID, "fileID");
+		Preconditions.checkNotNull(url, "url should not be null");
+
+		final Path directory = root.resolve(Integer.toString(fileID));
+		final Request request = new Request.Builder().url(url).build();
+		logger.debug("Executing request: {}", request);
+
+		Path temporaryFile = null;
+
+		try {
+			Files.createDirectories(directory);
+			temporaryFile = Files.createTempFile(directory, "download", TEMPORARY_FILE_EXTENSION);
+
+			final HashingSink hashingSink;
+
+			try (Response response = OkHttpUtils.getClient().newCall(request).execute()) {
+				final ResponseBody body = response.body();
+
+				if (!response.isSuccessful() || body == null) {
+					throw new CurseException(
+							"Failed to execute request: " + request + ": " + response.code()
+					);
+				}
+
+				//The file is hashed as it is written, so it does not need to be read again.
+				hashingSink = HashingSink.sha1(Okio.sink(temporaryFile));
+
+				try (BufferedSink sink = Okio.buffer(hashingSink)) {
+					sink.writeAll(body.source());
+				}
+			}
+
+			final long size = Files.size(temporaryFile);
+
+			if (expectedSize >= 0L && size != expectedSize) {
+				throw new CurseException(String.format(
+						"Downloaded file size %d does not match expected size %d: %s",
+						size, expectedSize, url
+				));
+			}
+
+			final Path path = directory.resolve(hashingSink.hash().hex());
+
+			//Another thread may have stored the same file in the meantime.
+			if (Files.isRegularFile(path)) {
+				return path;
+			}
+
+			FileMoves.move(temporaryFile, path);
+
+			//Stored files are shared by every file that is linked to them.
+			if (!path.toFile().setReadOnly()) {
+				logger.debug("Failed to make stored file read-only: {}", path);
+			}
+
+			return path;
+		} catch (IOException ex) {
+			throw new CurseException("Failed to download " + url + " to: " + directory, ex);
+		} finally {
+			deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Downloads the file with the specified file ID to the specified {@link Path} using this
+	 * {@link CurseFileStore}. If the file is not already stored, it is downloaded into this
+	 * {@link CurseFileStore} first.
+	 *
+	 * @param fileID a file ID.
+	 * @param url the download URL of the file.
+	 * @param expectedSize the expected size of the file in bytes, or {@code -1} if it is not
+	 * known.
+	 * @param path a {@link Path}.
+	 * @throws CurseException if the file cannot be downloaded, if it does not have the
+	 * expected size, or if an I/O error occurs.
+	 */
+	public void download(int fileID, HttpUrl url, long expectedSize, Path path)
+			throws CurseException {
+		Preconditions.checkNotNull(path, "path should not be null");
+
+		Path storedFile = get(fileID, expectedSize);
+
+		if (storedFile == null) {
+			storedFile = put(fileID, url, expectedSize);
+		} else {
+			logger.debug("Using stored file: {}", storedFile);
+		}
+
+		try {
+			link(storedFile, path);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to copy " + storedFile + " to: " + path, ex);
+		}
+	}
+
+	/**
+	 * Downloads the specified file to the specified {@link Path} using this
+	 * {@link CurseFileStore}. If the specified file is a {@link CurseFile}, its size is verified
+	 * using {@link CurseFile#fileSize()}.
+	 *
+	 * @param file an {@link ExistingCurseFile}.
+	 * @param path a {@link Path}.
+	 * @throws CurseException if an error occurs.
+	 * @see #download(int, HttpUrl, long, Path)
+	 */
+	public void download(ExistingCurseFile file, Path path) throws CurseException {
+		Preconditions.checkNotNull(file, "file should not be null");
+		download(
+				file.id(), file.downloadURL(),
+				file instanceof CurseFile ? ((CurseFile) file).fileSize() : -1L, path
+		);
+	}
+
+	/**
+	 * Returns the global {@link CurseFileStore}.
+	 *
+	 * @return the global {@link CurseFileStore}, or {@code null} if it has not been set.
+	 */
+	@Nullable
+	public static CurseFileStore global() {
+		return global;
+	}
+
+	/**
+	 * Sets the global {@link CurseFileStore}.
+	 *
+	 * @param store a {@link CurseFileStore}, or {@code null} if files should be downloaded
+	 * directly.
+	 */
+	public static void setGlobal(@Nullable CurseFileStore store) {
+		global = store;
+	}
+
+	private void link(Path storedFile, Path path) throws IOException {
+		final Path parent = path.toAbsolutePath().getParent();
+
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+
+		Files.deleteIfExists(path);
+
+		if (hardLinks) {
+			try {
+				Files.createLink(path, storedFile);
+				return;
+			} catch (FileAlreadyExistsException ex) {
+				//Another thread created the file in the meantime, so we replace it below.
+				logger.debug("File already exists: {}", path);
+			} catch (IOException | UnsupportedOperationException ex) {
+				//For example, the file store may be on a different file system.
+				logger.debug("Failed to create hard link from {} to {}", path, storedFile, ex);
+			}
+		}
+
+		Files.copy(storedFile, path, StandardCopyOption.REPLACE_EXISTING);
+
+		//The copy may have inherited the stored file's permissions.
+		if (!path.toFile().setWritable(true)) {
+			logger.debug("Failed to make copied file writable: {}", path);
+		}
+	}
+
+	private static String hash(Path path) throws IOException {
+		final HashingSink hashingSink = HashingSink.sha1(Okio.blackhole());
+
+		try (Source source = Okio.source(path); BufferedSink sink = Okio.buffer(hashingSink)) {
+			sink.writeAll(source);
+		}
+
+		return hashingSink.hash().hex();
+	}
+
+	private static void delete(Path path) throws IOException {
+		//Read-only files cannot be deleted on some platforms.
+		if (!path.toFile().setWritable(true)) {
+			logger.debug("Failed to make stored file writable: {}", path);
+		}
+
+		Files.delete(path);
+	}
+
+	private static void deleteIfExists(@Nullable Path path) {
+		if (path == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException ex) {
+			logger.warn("Failed to delete temporary file: {}", path, ex);
+		}
+	}
+}
@@ -125,16 +125,27 @@ public class CurseFiles<F extends BasicCurseFile> extends TreeSet<F> {
 
 	/**
 	 * Returns the {@link CurseFile} instance in this {@link CurseFiles} with the specified ID.
+	 * <p>
+	 * If this {@link CurseFiles} is ordered using its natural ordering, {@link #SORT_BY_NEWEST}
+	 * or {@link #SORT_BY_OLDEST}, this is done in logarithmic time. Otherwise, every file
+	 * may need to be checked. To look up many files, {@link #index()} may be used instead.
 	 *
 	 * @param id a file ID.
 	 * @return the {@link CurseFile} instance in this {@link CurseFiles} with the specified ID,
 	 * or {@code null} if it does not exist.
 	 * @see CurseFileFilter
 	 */
+	@SuppressWarnings("unchecked")
 	@Nullable
 	public F fileWithID(int id) {
 		CursePreconditions.checkFileID(id, "id");
 
+		if (isOrderedByID()) {
+			//The comparator only calls BasicCurseFile#id(), so any BasicCurseFile can be used.
+			final F file = floor((F) new BasicCurseFile.Immutable(CurseAPI.MIN_PROJECT_ID, id));
+			return file == null || file.id() != id ? null : file;
+		}
+
 		for (F file : this) {
 			if (id == file.id()) {
 				return file;
@@ -144,6 +155,17 @@ public class CurseFiles<F extends BasicCurseFile> extends TreeSet<F> {
 		return null;
 	}
 
+	/**
+	 * Returns an immutable {@link CurseFilesIndex} containing the {@link CurseFile}s in this
+	 * {@link CurseFiles}. Changes to this {@link CurseFiles} are not reflected in the index.
+	 *
+	 * @return a {@link CurseFilesIndex} containing the {@link CurseFile}s in this
+	 * {@link CurseFiles}.
+	 */
+	public CurseFilesIndex<F> index() {
+		return CurseFilesIndex.of(this);
+	}
+
 	/**
 	 * Returns a copy of this {@link CurseFiles} instance with the specified {@link Comparator}.
 	 *
@@ -163,8 +185,9 @@ public class CurseFiles<F extends BasicCurseFile> extends TreeSet<F> {
 	 * and this allows methods that throw {@link CurseException}s such as
 	 * {@link CurseFile#changelog()} to be called.
 	 * <p>
-	 * {@link #parallelStream()} is used to iterate over elements of this {@link CurseFiles},
-	 * meaning that time-consuming requests may be executed in parallel.
+	 * The mapping function is called in parallel using {@link CurseAPI#executor()} with at most
+	 * {@link CurseAPI#maxConcurrency()} calls in progress at a time, meaning that time-consuming
+	 * requests may be executed in parallel.
 	 *
 	 * @param function a {@link CheckedFunction} that maps files to objects of type {@code R}.
 	 * @param collector a {@link Collector}.
@@ -191,8 +214,9 @@ public class CurseFiles<F extends BasicCurseFile> extends TreeSet<F> {
 	 * <p>
 	 * The key function and the value function are both called on each {@link CurseFile}
 	 * to retrieve the keys and values of the {@link Map} respectively. Additionally,
-	 * {@link #parallelStream()} is used to iterate over elements of this {@link CurseFiles},
-	 * meaning that time-consuming requests may be executed in parallel.
+	 * the functions are called in parallel using {@link CurseAPI#executor()} with at most
+	 * {@link CurseAPI#maxConcurrency()} calls in progress at a time, meaning that
+	 * time-consuming requests may be executed in parallel.
 	 *
 	 * @param keyMapper a {@link CheckedFunction} that maps files to objects of type {@code K}.
 	 * @param valueMapper a {@link CheckedFunction} that maps files to objects of type {@code V}.
@@ -208,4 +232,9 @@ public class CurseFiles<F extends BasicCurseFile> extends TreeSet<F> {
 	) throws CurseException {
 		return CurseAPI.parallelMap(this, keyMapper, valueMapper);
 	}
+
+	private boolean isOrderedByID() {
+		final Comparator<? super F> comparator = comparator();
+		return comparator == null || comparator == SORT_BY_NEWEST || comparator == SORT_BY_OLDEST;
+	}
 }
@@ -23,12 +23,22 @@
 
 package com.therandomlabs.curseapi.file;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.therandomlabs.curseapi.CurseException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Represents a comparison between two sets of {@link BasicCurseFile}s.
@@ -97,6 +107,39 @@ public class CurseFilesComparison<F extends BasicCurseFile> {
 		return (Set<CurseFileChange<F>>) downgraded.clone();
 	}
 
+	/**
+	 * Returns the changelogs of the files that are included in the updated files as plain text.
+	 * For each updated file, this includes the changelogs of all files that are chronologically
+	 * between the old file and the new file, excluding the old file.
+	 * The changelogs are retrieved in parallel and streamed in order as they become available.
+	 *
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link Stream} of {@link CurseFileChangelog}s ordered by project ID, and then
+	 * from newest to oldest.
+	 * @throws CurseException if an error occurs.
+	 * @see CurseFileChange#changelogs(Collection, int)
+	 */
+	public Stream<CurseFileChangelog> updatedChangelogs(int maxLineLength) throws CurseException {
+		return CurseFileChange.changelogs(updated, maxLineLength);
+	}
+
+	/**
+	 * Returns the changelogs of the files that are reverted by the downgraded files as plain text.
+	 * For each downgraded file, this includes the changelogs of all files that are
+	 * chronologically between the new file and the old file, excluding the new file.
+	 * The changelogs are retrieved in parallel and streamed in order as they become available.
+	 *
+	 * @param maxLineLength the maximum length of a line. This value is used for word wrapping.
+	 * @return a {@link Stream} of {@link CurseFileChangelog}s ordered by project ID, and then
+	 * from newest to oldest.
+	 * @throws CurseException if an error occurs.
+	 * @see CurseFileChange#changelogs(Collection, int)
+	 */
+	public Stream<CurseFileChangelog> downgradedChangelogs(int maxLineLength)
+			throws CurseException {
+		return CurseFileChange.changelogs(downgraded, maxLineLength);
+	}
+
 	/**
 	 * Returns a {@link CurseFiles} containing all removed files.
 	 *
@@ -120,56 +163,132 @@ public class CurseFilesComparison<F extends BasicCurseFile> {
 	 * an old and new collection of files.
 	 * Files in the old collection may be newer than files of the same project in the new
 	 * collection.
+	 * <p>
+	 * Both collections are indexed by project ID, so this method runs in linear time.
 	 *
 	 * @param oldFiles an old collection of files.
 	 * @param newFiles a new collection of files.
 	 * @param <F> the type of {@link BasicCurseFile}.
 	 * @return a {@link CurseFilesComparison} instance that represents a comparison between
 	 * the specified collections of files.
+	 * @throws IllegalArgumentException if either collection contains different files that
+	 * belong to the same project.
 	 */
 	public static <F extends BasicCurseFile> CurseFilesComparison<F> of(
 			Collection<? extends F> oldFiles, Collection<? extends F> newFiles
+	) {
+		return of(oldFiles, newFiles, false);
+	}
+
+	/**
+	 * Returns a {@link CurseFilesComparison} instance that represents a comparison between
+	 * an old and new collection of files.
+	 * This method behaves identically to {@link #of(Collection, Collection)}, but indexes and
+	 * compares the collections using parallel streams, which may be faster for very large
+	 * collections.
+	 *
+	 * @param oldFiles an old collection of files.
+	 * @param newFiles a new collection of files.
+	 * @param <F> the type of {@link BasicCurseFile}.
+	 * @return a {@link CurseFilesComparison} instance that represents a comparison between
+	 * the specified collections of files.
+	 * @throws IllegalArgumentException if either collection contains different files that
+	 * belong to the same project.
+	 */
+	public static <F extends BasicCurseFile> CurseFilesComparison<F> ofParallel(
+			Collection<? extends F> oldFiles, Collection<? extends F> newFiles
+	) {
+		return of(oldFiles, newFiles, true);
+	}
+
+	private static <F extends BasicCurseFile> CurseFilesComparison<F> of(
+			Collection<? extends F> oldFiles, Collection<? extends F> newFiles, boolean parallel
 	) {
 		Preconditions.checkNotNull(oldFiles, "oldFiles should not be null");
 		Preconditions.checkNotNull(newFiles, "newFiles should not be null");
 
-		final Set<F> unchanged = new HashSet<>();
-		final Set<CurseFileChange<F>> updated = new HashSet<>();
-		final Set<CurseFileChange<F>> downgraded = new HashSet<>();
-		final Set<F> removed = new HashSet<>();
-		final Set<F> added = new HashSet<>();
+		final Map<Integer, F> oldFilesByProject = indexByProject(oldFiles, "oldFiles", parallel);
+		final Map<Integer, F> newFilesByProject = indexByProject(newFiles, "newFiles", parallel);
 
-		for (F oldFile : oldFiles) {
-			final Optional<? extends F> optionalNewFile =
-					newFiles.stream().filter(oldFile::sameProject).findAny();
+		final Changes<F> changes = stream(oldFilesByProject.values(), parallel).collect(
+				Collector.of(
+						Changes::new,
+						(fileChanges, oldFile) -> fileChanges.add(
+								oldFile, newFilesByProject.get(oldFile.projectID())
+						),
+						Changes::combine
+				)
+		);
 
-			if (!optionalNewFile.isPresent()) {
-				removed.add(oldFile);
-				continue;
-			}
+		final List<F> added = stream(newFilesByProject.values(), parallel).
+				filter(newFile -> !oldFilesByProject.containsKey(newFile.projectID())).
+				collect(Collectors.toList());
 
-			final F newFile = optionalNewFile.get();
+		return new CurseFilesComparison<>(
+				changes.unchanged, changes.updated, changes.downgraded, changes.removed, added
+		);
+	}
 
-			if (oldFile.equals(newFile)) {
-				unchanged.add(newFile);
-				continue;
-			}
+	private static <F extends BasicCurseFile> Map<Integer, F> indexByProject(
+			Collection<? extends F> files, String name, boolean parallel
+	) {
+		final BinaryOperator<F> merger = (file1, file2) -> {
+			//The same file may be specified more than once, but it is unclear which of two
+			//different files of the same project should be compared.
+			Preconditions.checkArgument(
+					file1.equals(file2), "%s contains multiple files of project %s: %s and %s",
+					name, file1.projectID(), file1, file2
+			);
+			return file1;
+		};
 
-			final CurseFileChange<F> fileChange = new CurseFileChange<>(oldFile, newFile);
+		if (parallel) {
+			return files.parallelStream().collect(Collectors.toConcurrentMap(
+					BasicCurseFile::projectID, Function.identity(), merger
+			));
+		}
 
-			if (fileChange.isDowngrade()) {
-				downgraded.add(fileChange);
-			} else {
-				updated.add(fileChange);
-			}
+		final Map<Integer, F> filesByProject = Maps.newHashMapWithExpectedSize(files.size());
+
+		for (F file : files) {
+			filesByProject.merge(file.projectID(), file, merger);
 		}
 
-		for (F newFile : newFiles) {
-			if (oldFiles.stream().noneMatch(newFile::sameProject)) {
-				added.add(newFile);
+		return filesByProject;
+	}
+
+	private static <T> Stream<T> stream(Collection<T> collection, boolean parallel) {
+		return parallel ? collection.parallelStream() : collection.stream();
+	}
+
+	private static final class Changes<F extends BasicCurseFile> {
+		private final List<F> unchanged = new ArrayList<>();
+		private final List<CurseFileChange<F>> updated = new ArrayList<>();
+		private final List<CurseFileChange<F>> downgraded = new ArrayList<>();
+		private final List<F> removed = new ArrayList<>();
+
+		void add(F oldFile, @Nullable F newFile) {
+			if (newFile == null) {
+				removed.add(oldFile);
+			} else if (oldFile.equals(newFile)) {
+				unchanged.add(newFile);
+			} else {
+				final CurseFileChange<F> fileChange = new CurseFileChange<>(oldFile, newFile);
+
+				if (fileChange.isDowngrade()) {
+					downgraded.add(fileChange);
+				} else {
+					updated.add(fileChange);
+				}
 			}
 		}
 
-		return new CurseFilesComparison<>(unchanged, updated, downgraded, removed, added);
+		Changes<F> combine(Changes<F> changes) {
+			unchanged.addAll(changes.unchanged);
+			updated.addAll(changes.updated);
+			downgraded.addAll(changes.downgraded);
+			removed.addAll(changes.removed);
+			return this;
+		}
 	}
 }
@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.therandomlabs.curseapi.CursePreconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable, ID-indexed snapshot of a collection of {@link BasicCurseFile}s.
+ * <p>
+ * Unlike {@link CurseFiles}, which may be ordered using any {@link java.util.Comparator},
+ * a {@link CurseFilesIndex} always stores its files ordered by ID, so files can be retrieved
+ * by ID in logarithmic time without boxing, and ranges of files can be retrieved as views
+ * without copying. This makes it suitable for repeatedly querying projects with many files.
+ *
+ * @param <F> the type of {@link BasicCurseFile}.
+ * @see CurseFiles#index()
+ */
+public final class CurseFilesIndex<F extends BasicCurseFile> {
+	//Both are ordered from oldest to newest.
+	private final int[] ids;
+	private final ImmutableList<F> files;
+
+	private CurseFilesIndex(int[] ids, ImmutableList<F> files) {
+		this.ids = ids;
+		this.files = files;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("size", ids.length).toString();
+	}
+
+	/**
+	 * Returns the number of files in this {@link CurseFilesIndex}.
+	 *
+	 * @return the number of files in this {@link CurseFilesIndex}.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Returns whether this {@link CurseFilesIndex} is empty.
+	 *
+	 * @return {@code true} if this {@link CurseFilesIndex} is empty, or otherwise
+	 * {@code false}.
+	 */
+	public boolean isEmpty() {
+		return ids.length == 0;
+	}
+
+	/**
+	 * Returns the file in this {@link CurseFilesIndex} with the specified ID.
+	 *
+	 * @param id a file ID.
+	 * @return the file in this {@link CurseFilesIndex} with the specified ID,
+	 * or {@code null} if it does not exist.
+	 */
+	@Nullable
+	public F fileWithID(int id) {
+		CursePreconditions.checkFileID(id, "id");
+		final int index = Arrays.binarySearch(ids, id);
+		return index < 0 ? null : files.get(index);
+	}
+
+	/**
+	 * Returns all files in this {@link CurseFilesIndex}.
+	 *
+	 * @return an immutable {@link List} containing all files in this {@link CurseFilesIndex}
+	 * ordered from newest to oldest.
+	 */
+	public List<F> files() {
+		return files.reverse();
+	}
+
+	/**
+	 * Returns all files in this {@link CurseFilesIndex} that are newer than the file with the
+	 * specified ID. A file with the specified ID does not need to exist.
+	 *
+	 * @param fileID a file ID.
+	 * @return an immutable {@link List} view containing all files newer than the file with
+	 * the specified ID ordered from newest to oldest.
+	 */
+	public List<F> newerThan(int fileID) {
+		return view(indexAfter(fileID), ids.length);
+	}
+
+	/**
+	 * Returns all files in this {@link CurseFilesIndex} that are older than the file with the
+	 * specified ID. A file with the specified ID does not need to exist.
+	 *
+	 * @param fileID a file ID.
+	 * @return an immutable {@link List} view containing all files older than the file with
+	 * the specified ID ordered from newest to oldest.
+	 */
+	public List<F> olderThan(int fileID) {
+		return view(0, indexOf(fileID));
+	}
+
+	/**
+	 * Returns all files in this {@link CurseFilesIndex} that are newer than the file with the
+	 * specified older ID and older than the file with the specified newer ID.
+	 * Files with the specified IDs do not need to exist.
+	 *
+	 * @param olderFileID an older file ID.
+	 * @param newerFileID a newer file ID.
+	 * @return an immutable {@link List} view containing all files between the files with the
+	 * specified IDs exclusively ordered from newest to oldest.
+	 */
+	public List<F> between(int olderFileID, int newerFileID) {
+		Preconditions.checkArgument(
+				newerFileID > olderFileID, "newerFileID should be newer than olderFileID"
+		);
+		final int fromIndex = indexAfter(olderFileID);
+		return view(fromIndex, Math.max(fromIndex, indexOf(newerFileID)));
+	}
+
+	/**
+	 * Returns the specified number of newest files in this {@link CurseFilesIndex}.
+	 *
+	 * @param count a maximum number of files.
+	 * @return an immutable {@link List} view containing at most the specified number of
+	 * newest files ordered from newest to oldest.
+	 */
+	public List<F> latest(int count) {
+		Preconditions.checkArgument(count >= 0, "count should not be negative");
+		return view(Math.max(0, ids.length - count), ids.length);
+	}
+
+	/**
+	 * Returns the newest file in this {@link CurseFilesIndex}.
+	 *
+	 * @return the newest file in this {@link CurseFilesIndex}, or {@code null} if this
+	 * {@link CurseFilesIndex} is empty.
+	 */
+	@Nullable
+	public F latest() {
+		return ids.length == 0 ? null : files.get(ids.length - 1);
+	}
+
+	/**
+	 * Returns a {@link CurseFiles} containing all files in this {@link CurseFilesIndex}.
+	 *
+	 * @return a {@link CurseFiles} containing all files in this {@link CurseFilesIndex}.
+	 */
+	public CurseFiles<F> toCurseFiles() {
+		return new CurseFiles<>(files);
+	}
+
+	/**
+	 * Returns a {@link CurseFilesIndex} containing the files in the specified collection.
+	 * If the collection contains multiple files with the same ID, only one of them is indexed.
+	 *
+	 * @param files a collection of {@link BasicCurseFile}s.
+	 * @param <F> the type of {@link BasicCurseFile}.
+	 * @return a {@link CurseFilesIndex} containing the files in the specified collection.
+	 */
+	public static <F extends BasicCurseFile> CurseFilesIndex<F> of(
+			Collection<? extends F> files
+	) {
+		Preconditions.checkNotNull(files, "files should not be null");
+
+		final ImmutableList<F> sortedFiles = ImmutableList.sortedCopyOf(
+				CurseFiles.SORT_BY_OLDEST, files
+		);
+		final ImmutableList.Builder<F> uniqueFiles =
+				ImmutableList.builderWithExpectedSize(sortedFiles.size());
+		final int[] ids = new int[sortedFiles.size()];
+		int size = 0;
+
+		for (F file : sortedFiles) {
+			if (size == 0 || ids[size - 1] != file.id()) {
+				ids[size++] = file.id();
+				uniqueFiles.add(file);
+			}
+		}
+
+		return new CurseFilesIndex<>(Arrays.copyOf(ids, size), uniqueFiles.build());
+	}
+
+	//The index of the first file that is not older than the file with the specified ID.
+	private int indexOf(int fileID) {
+		final int index = Arrays.binarySearch(ids, fileID);
+		return index < 0 ? -index - 1 : index;
+	}
+
+	//The index of the first file that is newer than the file with the specified ID.
+	private int indexAfter(int fileID) {
+		final int index = Arrays.binarySearch(ids, fileID);
+		return index < 0 ? -index - 1 : index + 1;
+	}
+
+	private List<F> view(int fromIndex, int toIndex) {
+		return files.subList(fromIndex, toIndex).reverse();
+	}
+}
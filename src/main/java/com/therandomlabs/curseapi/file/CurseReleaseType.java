@@ -42,6 +42,9 @@ public enum CurseReleaseType {
 	 */
 	ALPHA;
 
+	//values() returns a new array every time it is called.
+	private static final CurseReleaseType[] releaseTypes = values();
+
 	private final int id = ordinal() + 1;
 
 	/**
@@ -74,6 +77,6 @@ public enum CurseReleaseType {
 	public static CurseReleaseType fromID(int id) {
 		Preconditions.checkArgument(id > 0, "id should be positive");
 		Preconditions.checkArgument(id <= 3, "id should not be above 3");
-		return values()[id - 1];
+		return releaseTypes[id - 1];
 	}
 }
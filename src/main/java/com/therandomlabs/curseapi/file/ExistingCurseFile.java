@@ -23,6 +23,7 @@
 
 package com.therandomlabs.curseapi.file;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -33,6 +34,7 @@ import com.therandomlabs.curseapi.CurseAPI;
 import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.project.CurseProject;
 import com.therandomlabs.curseapi.util.JsoupUtils;
+import com.therandomlabs.curseapi.util.LazyElement;
 import com.therandomlabs.curseapi.util.OkHttpUtils;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -54,7 +56,7 @@ public interface ExistingCurseFile {
 		@Nullable
 		private transient HttpUrl downloadURL;
 		@Nullable
-		private transient Element changelog;
+		private transient LazyElement changelog;
 
 		/**
 		 * Constructs an {@link Existing} with the specified project and file ID.
@@ -123,18 +125,15 @@ public interface ExistingCurseFile {
 		 */
 		@Override
 		public Element changelog() throws CurseException {
-			if (changelog == null) {
-				final Optional<Element> optionalChangelog =
-						CurseAPI.fileChangelog(projectID(), id());
-
-				if (!optionalChangelog.isPresent()) {
-					throw new CurseException("File does not exist: " + this);
-				}
-
-				changelog = optionalChangelog.get();
-			}
+			return lazyChangelog().element();
+		}
 
-			return changelog;
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String changelogHTML() throws CurseException {
+			return lazyChangelog().html();
 		}
 
 		/**
@@ -144,8 +143,30 @@ public interface ExistingCurseFile {
 		public void clearChangelogCache() {
 			changelog = null;
 		}
+
+		private LazyElement lazyChangelog() throws CurseException {
+			if (changelog == null) {
+				final Optional<String> optionalChangelog =
+						CurseAPI.fileChangelogHTML(projectID(), id());
+
+				if (!optionalChangelog.isPresent()) {
+					throw new CurseException("File does not exist: " + this);
+				}
+
+				changelog = LazyElement.of(optionalChangelog.get());
+			}
+
+			return changelog;
+		}
 	}
 
+	/**
+	 * Returns this file's ID.
+	 *
+	 * @return this file's ID.
+	 */
+	int id();
+
 	/**
 	 * Returns this file's download URL.
 	 * This value may be refreshed by calling {@link #clearDownloadURLCache()}.
@@ -157,26 +178,47 @@ public interface ExistingCurseFile {
 
 	/**
 	 * Downloads this file to the specified {@link Path}.
+	 * If a global {@link CurseFileStore} has been set, it is used to download this file.
 	 *
 	 * @param path a {@link Path}.
 	 * @throws CurseException if an error occurs.
+	 * @see CurseFileStore#global()
 	 */
 	default void download(Path path) throws CurseException {
-		OkHttpUtils.download(downloadURL(), path);
+		final CurseFileStore store = CurseFileStore.global();
+
+		if (store == null) {
+			OkHttpUtils.download(downloadURL(), path);
+		} else {
+			store.download(this, path);
+		}
 	}
 
 	/**
 	 * Downloads this file to the specified directory.
+	 * If a global {@link CurseFileStore} has been set, it is used to download this file.
 	 *
 	 * @param directory a {@link Path} to a directory.
 	 * @return a {@link Path} to the downloaded file.
 	 * @throws CurseException if an error occurs.
+	 * @see CurseFileStore#global()
 	 */
 	default Path downloadToDirectory(Path directory) throws CurseException {
 		final HttpUrl url = downloadURL();
-		return OkHttpUtils.downloadToDirectory(
-				url, directory, OkHttpUtils.getFileNameFromURLPath(url)
+		final String fileName = OkHttpUtils.getFileNameFromURLPath(url);
+		final CurseFileStore store = CurseFileStore.global();
+
+		if (store == null) {
+			return OkHttpUtils.downloadToDirectory(url, directory, fileName);
+		}
+
+		Preconditions.checkNotNull(directory, "directory should not be null");
+		Preconditions.checkArgument(
+				!Files.isRegularFile(directory), "directory should not be a regular file"
 		);
+		final Path path = directory.resolve(fileName);
+		store.download(this, path);
+		return path;
 	}
 
 	/**
@@ -198,6 +240,22 @@ public interface ExistingCurseFile {
 	 */
 	Element changelog() throws CurseException;
 
+	/**
+	 * Returns this file's changelog as an HTML string.
+	 * This value may be refreshed by calling {@link #clearChangelogCache()}.
+	 * Implementations that retrieve changelogs as HTML should override this method
+	 * so that the changelog does not need to be parsed.
+	 *
+	 * @return this file's changelog as an HTML string. If a changelog is not provided,
+	 * an empty string is returned.
+	 * @throws CurseException if an error occurs.
+	 * @see #clearChangelogCache()
+	 */
+	default String changelogHTML() throws CurseException {
+		final Element changelog = changelog();
+		return JsoupUtils.isEmpty(changelog) ? "" : changelog.outerHtml();
+	}
+
 	/**
 	 * Returns this file's changelog as plain text.
 	 * This value may be refreshed by calling {@link #clearChangelogCache()}.
@@ -24,11 +24,13 @@
 package com.therandomlabs.curseapi.forgesvc;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 
@@ -36,6 +38,9 @@ interface ForgeSvc {
 	@GET("api/v2/addon/{projectID}")
 	Call<ForgeSvcProject> getProject(@Path("projectID") int id);
 
+	@POST("api/v2/addon")
+	Call<List<ForgeSvcProject>> getProjects(@Body List<Integer> ids);
+
 	@GET("api/v2/addon/search")
 	Call<List<ForgeSvcProject>> searchProjects(
 			@Query("gameId") int gameID, @Query("sectionId") int categorySectionID,
@@ -48,7 +53,10 @@ interface ForgeSvc {
 	Call<ResponseBody> getDescription(@Path("projectID") int projectID);
 
 	@GET("api/v2/addon/{projectID}/files")
-	Call<Set<ForgeSvcFile>> getFiles(@Path("projectID") int projectID);
+	Call<ResponseBody> getFiles(@Path("projectID") int projectID);
+
+	@POST("api/v2/addon/files")
+	Call<Map<Integer, List<ForgeSvcFile>>> getFiles(@Body List<Integer> fileIDs);
 
 	@GET("api/v2/addon/{projectID}/file/{fileID}")
 	Call<ForgeSvcFile> getFile(@Path("projectID") int projectID, @Path("fileID") int fileID);
@@ -62,16 +70,16 @@ interface ForgeSvc {
 	);
 
 	@GET("api/v2/game")
-	Call<Set<ForgeSvcGame>> getGames(@Query("supportsAddons") boolean requireAddonSupport);
+	Call<ResponseBody> getGames(@Query("supportsAddons") boolean requireAddonSupport);
 
 	@GET("api/v2/game/{gameID}")
 	Call<ForgeSvcGame> getGame(@Path("gameID") int id);
 
 	@GET("api/v2/category")
-	Call<Set<ForgeSvcCategory>> getCategories();
+	Call<ResponseBody> getCategories();
 
 	@GET("api/v2/category/section/{sectionID}")
-	Call<Set<ForgeSvcCategory>> getCategories(@Path("sectionID") int sectionID);
+	Call<ResponseBody> getCategories(@Path("sectionID") int sectionID);
 
 	@GET("api/v2/category/{categoryID}")
 	Call<ForgeSvcCategory> getCategory(@Path("categoryID") int id);
@@ -30,6 +30,7 @@ import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.file.CurseAlternateFile;
 import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.LazyElement;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -47,7 +48,7 @@ final class ForgeSvcAlternateFile extends CurseAlternateFile {
 
 	private transient CurseProject project;
 	private transient HttpUrl downloadURL;
-	private transient Element changelog;
+	private transient LazyElement changelog;
 	private transient CurseFile mainFile;
 
 	ForgeSvcAlternateFile(CurseFile mainFile, @Nullable CurseProject project) {
@@ -118,17 +119,12 @@ final class ForgeSvcAlternateFile extends CurseAlternateFile {
 
 	@Override
 	public Element changelog() throws CurseException {
-		if (changelog == null) {
-			final Optional<Element> optionalChangelog = CurseAPI.fileChangelog(projectID, id);
-
-			if (!optionalChangelog.isPresent()) {
-				throw new CurseException("Failed to retrieve changelog: " + this);
-			}
-
-			changelog = optionalChangelog.get();
-		}
+		return lazyChangelog().element();
+	}
 
-		return changelog;
+	@Override
+	public String changelogHTML() throws CurseException {
+		return lazyChangelog().html();
 	}
 
 	@Override
@@ -160,4 +156,18 @@ final class ForgeSvcAlternateFile extends CurseAlternateFile {
 	public void clearMainFileCache() {
 		mainFile = null;
 	}
+
+	private LazyElement lazyChangelog() throws CurseException {
+		if (changelog == null) {
+			final Optional<String> optionalChangelog = CurseAPI.fileChangelogHTML(projectID, id);
+
+			if (!optionalChangelog.isPresent()) {
+				throw new CurseException("Failed to retrieve changelog: " + this);
+			}
+
+			changelog = LazyElement.of(optionalChangelog.get());
+		}
+
+		return changelog;
+	}
 }
@@ -30,6 +30,7 @@ import com.therandomlabs.curseapi.CurseAPI;
 import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.util.Interned;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -51,7 +52,9 @@ final class ForgeSvcCategory extends CurseCategory {
 	//This is the name in api/v2/addon.
 	private int categoryId;
 
+	@Interned
 	private String name;
+	@Interned
 	private String slug;
 	private HttpUrl url;
 	private HttpUrl avatarUrl;
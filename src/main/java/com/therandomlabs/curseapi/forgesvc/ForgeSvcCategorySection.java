@@ -31,6 +31,7 @@ import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseCategorySection;
 import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.util.Interned;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
@@ -41,6 +42,7 @@ import org.checkerframework.framework.qual.TypeUseLocation;
 final class ForgeSvcCategorySection extends CurseCategorySection {
 	private int gameId;
 	private int gameCategoryId;
+	@Interned
 	private String name;
 
 	//Cache.
@@ -74,6 +74,14 @@ final class ForgeSvcDependency extends CurseDependency {
 		return CurseDependencyType.fromID(type);
 	}
 
+	//This is called by ForgeSvcFile#copy().
+	ForgeSvcDependency copy() {
+		final ForgeSvcDependency dependency = new ForgeSvcDependency();
+		dependency.addonId = addonId;
+		dependency.type = type;
+		return dependency;
+	}
+
 	//This is called by ForgeSvcFile#dependencies().
 	void setDependent(CurseFile file) {
 		dependent = file;
@@ -40,6 +40,9 @@ import com.therandomlabs.curseapi.file.CurseFileStatus;
 import com.therandomlabs.curseapi.file.CurseReleaseType;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
 import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.GameVersionIndices;
+import com.therandomlabs.curseapi.util.LazyElement;
+import com.therandomlabs.curseapi.util.StringDictionary;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -61,7 +64,9 @@ final class ForgeSvcFile extends CurseFile {
 	private HttpUrl downloadUrl;
 	private int alternateFileId;
 	private Set<ForgeSvcDependency> dependencies;
-	private Set<String> gameVersion;
+	//Stored as indices in CurseFile#gameVersionStringDictionary() to reduce memory usage.
+	@GameVersionIndices
+	private int[] gameVersion;
 
 	private transient ForgeSvcAlternateFile alternateFile;
 	private transient boolean dependenciesInitialized;
@@ -69,7 +74,7 @@ final class ForgeSvcFile extends CurseFile {
 	//Cache.
 	private transient CurseProject project;
 	private transient SortedSet<CurseGameVersion<?>> gameVersions;
-	private transient Element changelog;
+	private transient LazyElement changelog;
 
 	@Override
 	public int projectID() {
@@ -170,19 +175,32 @@ final class ForgeSvcFile extends CurseFile {
 
 	@Override
 	public Set<String> gameVersionStrings() {
-		return new LinkedHashSet<>(gameVersion);
+		final StringDictionary dictionary = gameVersionStringDictionary();
+		final Set<String> gameVersionStrings = new LinkedHashSet<>(gameVersion.length);
+
+		for (int index : gameVersion) {
+			gameVersionStrings.add(dictionary.string(index));
+		}
+
+		return gameVersionStrings;
+	}
+
+	@Override
+	protected int[] gameVersionIndices() {
+		return gameVersion;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public <V extends CurseGameVersion<?>> SortedSet<V> gameVersions() throws CurseException {
 		if (gameVersions == null) {
-			final Set<String> versionStrings = gameVersionStrings();
+			final StringDictionary dictionary = gameVersionStringDictionary();
 			gameVersions = new TreeSet<>();
 			final int gameID = project().gameID();
 
-			for (String versionString : versionStrings) {
-				CurseAPI.<V>gameVersion(gameID, versionString).ifPresent(gameVersions::add);
+			for (int index : gameVersion) {
+				CurseAPI.<V>gameVersion(gameID, dictionary.string(index)).
+						ifPresent(gameVersions::add);
 			}
 		}
 
@@ -196,22 +214,56 @@ final class ForgeSvcFile extends CurseFile {
 
 	@Override
 	public Element changelog() throws CurseException {
+		return lazyChangelog().element();
+	}
+
+	@Override
+	public String changelogHTML() throws CurseException {
+		return lazyChangelog().html();
+	}
+
+	@Override
+	public void clearChangelogCache() {
+		changelog = null;
+	}
+
+	private LazyElement lazyChangelog() throws CurseException {
 		if (changelog == null) {
-			final Optional<Element> optionalChangelog = CurseAPI.fileChangelog(projectId, id);
+			final Optional<String> optionalChangelog = CurseAPI.fileChangelogHTML(projectId, id);
 
 			if (!optionalChangelog.isPresent()) {
 				throw new CurseException("Failed to retrieve changelog for file: " + this);
 			}
 
-			changelog = optionalChangelog.get();
+			changelog = LazyElement.of(optionalChangelog.get());
 		}
 
 		return changelog;
 	}
 
-	@Override
-	public void clearChangelogCache() {
-		changelog = null;
+	//This is called by ForgeSvcProvider so that decoded response bodies that are reused
+	//by RetrofitUtils are never modified or shared between callers.
+	//The game version indices are never modified, so they can be shared.
+	ForgeSvcFile copy() {
+		final ForgeSvcFile file = new ForgeSvcFile();
+		file.projectId = projectId;
+		file.id = id;
+		file.displayName = displayName;
+		file.fileName = fileName;
+		file.fileDate = fileDate;
+		file.fileLength = fileLength;
+		file.releaseType = releaseType;
+		file.fileStatus = fileStatus;
+		file.downloadUrl = downloadUrl;
+		file.alternateFileId = alternateFileId;
+		file.dependencies = new HashSet<>(dependencies.size());
+
+		for (ForgeSvcDependency dependency : dependencies) {
+			file.dependencies.add(dependency.copy());
+		}
+
+		file.gameVersion = gameVersion;
+		return file;
 	}
 
 	//This is called by ForgeSvcProvider so that projectId is not 0.
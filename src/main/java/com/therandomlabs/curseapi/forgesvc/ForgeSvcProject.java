@@ -36,12 +36,15 @@ import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.CursePreconditions;
 import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.file.CurseFilesIndex;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseCategorySection;
 import com.therandomlabs.curseapi.game.CurseGame;
 import com.therandomlabs.curseapi.project.CurseAttachment;
 import com.therandomlabs.curseapi.project.CurseMember;
 import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.Interned;
+import com.therandomlabs.curseapi.util.LazyElement;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -70,11 +73,13 @@ final class ForgeSvcProject extends CurseProject {
 	//"isExperimental" is spelled incorrectly in the JSON.
 	@SuppressWarnings("SpellCheckingInspection")
 	private boolean isExperiemental;
+	private List<GameVersionLatestFile> gameVersionLatestFiles;
 
 	//Cache.
 	private transient CurseGame game;
-	private transient Element description;
+	private transient LazyElement description;
 	private transient CurseFiles<CurseFile> files;
+	private transient CurseFilesIndex<CurseFile> filesIndex;
 
 	@Override
 	public int id() {
@@ -151,17 +156,12 @@ final class ForgeSvcProject extends CurseProject {
 
 	@Override
 	public Element description() throws CurseException {
-		if (description == null) {
-			final Optional<Element> optionalDescription = CurseAPI.projectDescription(id);
-
-			if (!optionalDescription.isPresent()) {
-				throw new CurseException("Failed to retrieve description for project: " + this);
-			}
-
-			description = optionalDescription.get();
-		}
+		return lazyDescription().element();
+	}
 
-		return description;
+	@Override
+	public String descriptionHTML() throws CurseException {
+		return lazyDescription().html();
 	}
 
 	@Override
@@ -194,9 +194,19 @@ final class ForgeSvcProject extends CurseProject {
 		return new CurseFiles<>(files);
 	}
 
+	@Override
+	public CurseFilesIndex<CurseFile> filesIndex() throws CurseException {
+		if (filesIndex == null) {
+			filesIndex = files().index();
+		}
+
+		return filesIndex;
+	}
+
 	@Override
 	public void clearFilesCache() {
 		files = null;
+		filesIndex = null;
 	}
 
 	@Override
@@ -251,4 +261,40 @@ final class ForgeSvcProject extends CurseProject {
 	public boolean experimental() {
 		return isExperiemental;
 	}
+
+	@Override
+	public Set<String> gameVersionStrings() {
+		final Set<String> gameVersionStrings = new LinkedHashSet<>();
+
+		if (gameVersionLatestFiles != null) {
+			for (GameVersionLatestFile file : gameVersionLatestFiles) {
+				if (file.gameVersion != null) {
+					gameVersionStrings.add(file.gameVersion);
+				}
+			}
+		}
+
+		return gameVersionStrings;
+	}
+
+	private LazyElement lazyDescription() throws CurseException {
+		if (description == null) {
+			final Optional<String> optionalDescription = CurseAPI.projectDescriptionHTML(id);
+
+			if (!optionalDescription.isPresent()) {
+				throw new CurseException("Failed to retrieve description for project: " + this);
+			}
+
+			description = LazyElement.of(optionalDescription.get());
+		}
+
+		return description;
+	}
+
+	//Only the game version is needed from each latest file entry.
+	@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+	private static final class GameVersionLatestFile {
+		@Interned
+		private String gameVersion;
+	}
 }
@@ -23,24 +23,39 @@
 
 package com.therandomlabs.curseapi.forgesvc;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import com.google.common.collect.Lists;
+import com.squareup.moshi.Types;
+import com.therandomlabs.curseapi.CurseAPIOperation;
 import com.therandomlabs.curseapi.CurseAPIProvider;
 import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.BasicCurseFile;
 import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.file.CurseFiles;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseGame;
 import com.therandomlabs.curseapi.project.CurseProject;
 import com.therandomlabs.curseapi.project.CurseSearchQuery;
+import com.therandomlabs.curseapi.util.FutureUtils;
 import com.therandomlabs.curseapi.util.JsoupUtils;
 import com.therandomlabs.curseapi.util.RetrofitUtils;
 import okhttp3.HttpUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jsoup.nodes.Element;
+import retrofit2.Call;
 
 /**
  * A {@link CurseAPIProvider} that uses the API at {@code https://addons-ecs.forgesvc.net/}
@@ -64,8 +79,34 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	private static final ForgeSvc forgeSVC =
 			RetrofitUtils.get("https://addons-ecs.forgesvc.net/").create(ForgeSvc.class);
 
+	//The maximum number of project or file IDs sent in a single request.
+	private static final int MAX_IDS_PER_REQUEST = 500;
+
+	//These responses are decoded by RetrofitUtils so that the decoded bodies can be reused
+	//when the responses are served from the HTTP cache.
+	private static final Type filesType =
+			Types.newParameterizedType(Set.class, ForgeSvcFile.class);
+	private static final Type gamesType =
+			Types.newParameterizedType(Set.class, ForgeSvcGame.class);
+	private static final Type categoriesType =
+			Types.newParameterizedType(Set.class, ForgeSvcCategory.class);
+
 	private ForgeSvcProvider() {}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * CurseForge does not provide game versions, so this returns every
+	 * {@link CurseAPIOperation} except {@link CurseAPIOperation#GAME_VERSIONS} and
+	 * {@link CurseAPIOperation#GAME_VERSION}.
+	 */
+	@Override
+	public Set<CurseAPIOperation> operations() {
+		return EnumSet.complementOf(
+				EnumSet.of(CurseAPIOperation.GAME_VERSIONS, CurseAPIOperation.GAME_VERSION)
+		);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -75,33 +116,41 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 		return RetrofitUtils.execute(forgeSVC.getProject(id));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The projects are retrieved in batches of up to 500 projects, and the batches are
+	 * requested in parallel.
+	 */
+	@Override
+	public Map<Integer, CurseProject> projects(Collection<Integer> ids) throws CurseException {
+		return toProjectMap(executeBatches(partition(ids), forgeSVC::getProjects));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Nullable
 	@Override
 	public Element projectDescription(int id) throws CurseException {
-		final Element element = RetrofitUtils.getElement(forgeSVC.getDescription(id));
-		//If the description is empty, we assume that the project does not exist.
-		return JsoupUtils.isEmpty(element) ? null : element;
+		return toDescription(RetrofitUtils.getElement(forgeSVC.getDescription(id)));
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
+	@Nullable
 	@Override
-	public List<CurseProject> searchProjects(CurseSearchQuery query) throws CurseException {
-		final List<ForgeSvcProject> projects = RetrofitUtils.execute(forgeSVC.searchProjects(
-				query.gameID(), query.categorySectionID(), query.categoryID(),
-				query.gameVersionString(), query.pageIndex(), query.pageSize(),
-				query.searchFilter(), query.sortingMethod().id()
-		));
-
-		if (projects == null) {
-			throw new CurseException("Failed to search projects: " + query);
-		}
+	public String projectDescriptionHTML(int id) throws CurseException {
+		return toDescriptionHTML(RetrofitUtils.getString(forgeSVC.getDescription(id)));
+	}
 
-		return new ArrayList<>(projects);
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<CurseProject> searchProjects(CurseSearchQuery query) throws CurseException {
+		return toSearchResults(query, RetrofitUtils.execute(searchProjectsCall(query)));
 	}
 
 	/**
@@ -110,17 +159,27 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	@Nullable
 	@Override
 	public CurseFiles<CurseFile> files(int projectID) throws CurseException {
-		final Set<ForgeSvcFile> files = RetrofitUtils.execute(forgeSVC.getFiles(projectID));
-
-		if (files == null) {
-			return null;
-		}
-
-		for (ForgeSvcFile file : files) {
-			file.setProjectID(projectID);
-		}
+		return toCurseFiles(
+				projectID, RetrofitUtils.execute(
+						forgeSVC.getFiles(projectID), filesType, ForgeSvcProvider::copyFiles
+				)
+		);
+	}
 
-		return new CurseFiles<>(files);
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The files are retrieved in batches of up to 500 files, and the batches are
+	 * requested in parallel. Files are looked up by file ID. If the response specifies the
+	 * project ID of a file, files whose project IDs do not match are not included. Otherwise,
+	 * the project ID of the {@link BasicCurseFile} is not validated and is assigned to the
+	 * file, and if multiple {@link BasicCurseFile}s have the same file ID but different
+	 * project IDs, only the first of them is included.
+	 */
+	@Override
+	public Map<BasicCurseFile, CurseFile> files(Collection<? extends BasicCurseFile> files)
+			throws CurseException {
+		return toCurseFileMap(files, executeBatches(partition(fileIDs(files)), forgeSVC::getFiles));
 	}
 
 	/**
@@ -129,14 +188,7 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	@Nullable
 	@Override
 	public CurseFile file(int projectID, int fileID) throws CurseException {
-		final ForgeSvcFile file = RetrofitUtils.execute(forgeSVC.getFile(projectID, fileID));
-
-		if (file == null) {
-			return null;
-		}
-
-		file.setProjectID(projectID);
-		return file;
+		return toCurseFile(projectID, RetrofitUtils.execute(forgeSVC.getFile(projectID, fileID)));
 	}
 
 	/**
@@ -150,6 +202,17 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 		return RetrofitUtils.getElement(forgeSVC.getChangelog(projectID, fileID));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param projectID a project ID. This is apparently not necessary, so {@code 0} will suffice.
+	 */
+	@Nullable
+	@Override
+	public String fileChangelogHTML(int projectID, int fileID) throws CurseException {
+		return RetrofitUtils.getString(forgeSVC.getChangelog(projectID, fileID));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -167,13 +230,7 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	 */
 	@Override
 	public Set<CurseGame> games() throws CurseException {
-		final Set<ForgeSvcGame> games = RetrofitUtils.execute(forgeSVC.getGames(false));
-
-		if (games == null) {
-			throw new CurseException("Failed to retrieve games");
-		}
-
-		return new TreeSet<>(games);
+		return toGames(RetrofitUtils.execute(forgeSVC.getGames(false), gamesType));
 	}
 
 	/**
@@ -190,13 +247,7 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	 */
 	@Override
 	public Set<CurseCategory> categories() throws CurseException {
-		final Set<ForgeSvcCategory> categories = RetrofitUtils.execute(forgeSVC.getCategories());
-
-		if (categories == null) {
-			throw new CurseException("Failed to retrieve categories");
-		}
-
-		return new TreeSet<>(categories);
+		return toCategories(RetrofitUtils.execute(forgeSVC.getCategories(), categoriesType));
 	}
 
 	/**
@@ -206,7 +257,7 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	@Override
 	public Set<CurseCategory> categories(int sectionID) throws CurseException {
 		final Set<ForgeSvcCategory> categories =
-				RetrofitUtils.execute(forgeSVC.getCategories(sectionID));
+				RetrofitUtils.execute(forgeSVC.getCategories(sectionID), categoriesType);
 		return categories == null ? null : new TreeSet<>(categories);
 	}
 
@@ -218,4 +269,393 @@ public final class ForgeSvcProvider implements CurseAPIProvider {
 	public CurseCategory category(int id) throws CurseException {
 		return RetrofitUtils.execute(forgeSVC.getCategory(id));
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<CurseProject> projectAsync(int id) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getProject(id)), project -> project
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Map<Integer, CurseProject>> projectsAsync(Collection<Integer> ids) {
+		return FutureUtils.thenApply(
+				executeBatchesAsync(partition(ids), forgeSVC::getProjects),
+				ForgeSvcProvider::toProjectMap
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Element> projectDescriptionAsync(int id) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.getElementAsync(forgeSVC.getDescription(id)),
+				ForgeSvcProvider::toDescription
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<String> projectDescriptionHTMLAsync(int id) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.getStringAsync(forgeSVC.getDescription(id)),
+				ForgeSvcProvider::toDescriptionHTML
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<List<CurseProject>> searchProjectsAsync(CurseSearchQuery query) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(searchProjectsCall(query)),
+				projects -> toSearchResults(query, projects)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<CurseFiles<CurseFile>> filesAsync(int projectID) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(
+						forgeSVC.getFiles(projectID), filesType, ForgeSvcProvider::copyFiles
+				),
+				files -> toCurseFiles(projectID, files)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Map<BasicCurseFile, CurseFile>> filesAsync(
+			Collection<? extends BasicCurseFile> files
+	) {
+		final List<BasicCurseFile> fileList = new ArrayList<>(files);
+		return FutureUtils.thenApply(
+				executeBatchesAsync(partition(fileIDs(fileList)), forgeSVC::getFiles),
+				results -> toCurseFileMap(fileList, results)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<CurseFile> fileAsync(int projectID, int fileID) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getFile(projectID, fileID)),
+				file -> toCurseFile(projectID, file)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param projectID a project ID. This is apparently not necessary, so {@code 0} will suffice.
+	 */
+	@Override
+	public CompletableFuture<Element> fileChangelogAsync(int projectID, int fileID) {
+		return RetrofitUtils.getElementAsync(forgeSVC.getChangelog(projectID, fileID));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param projectID a project ID. This is apparently not necessary, so {@code 0} will suffice.
+	 */
+	@Override
+	public CompletableFuture<String> fileChangelogHTMLAsync(int projectID, int fileID) {
+		return RetrofitUtils.getStringAsync(forgeSVC.getChangelog(projectID, fileID));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @param projectID a project ID. This is apparently not necessary, so {@code 0} will suffice.
+	 */
+	@Override
+	public CompletableFuture<HttpUrl> fileDownloadURLAsync(int projectID, int fileID) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.getStringAsync(forgeSVC.getFileDownloadURL(projectID, fileID)),
+				url -> url == null ? null : HttpUrl.get(url)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Set<CurseGame>> gamesAsync() {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getGames(false), gamesType),
+				ForgeSvcProvider::toGames
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<CurseGame> gameAsync(int id) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getGame(id)), game -> game
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Set<CurseCategory>> categoriesAsync() {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getCategories(), categoriesType),
+				ForgeSvcProvider::toCategories
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<Set<CurseCategory>> categoriesAsync(int sectionID) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.<Set<ForgeSvcCategory>>executeAsync(
+						forgeSVC.getCategories(sectionID), categoriesType
+				),
+				categories -> categories == null ? null : new TreeSet<>(categories)
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<CurseCategory> categoryAsync(int id) {
+		return FutureUtils.thenApply(
+				RetrofitUtils.executeAsync(forgeSVC.getCategory(id)), category -> category
+		);
+	}
+
+	private static Call<List<ForgeSvcProject>> searchProjectsCall(CurseSearchQuery query) {
+		return forgeSVC.searchProjects(
+				query.gameID(), query.categorySectionID(), query.categoryID(),
+				query.gameVersionString(), query.pageIndex(), query.pageSize(),
+				query.searchFilter(), query.sortingMethod().id()
+		);
+	}
+
+	@Nullable
+	private static Element toDescription(@Nullable Element element) {
+		//If the description is empty, we assume that the project does not exist.
+		return JsoupUtils.isEmpty(element) ? null : element;
+	}
+
+	@Nullable
+	private static String toDescriptionHTML(@Nullable String html) {
+		return html == null || html.trim().isEmpty() ? null : html;
+	}
+
+	private static List<CurseProject> toSearchResults(
+			CurseSearchQuery query, @Nullable List<ForgeSvcProject> projects
+	) throws CurseException {
+		if (projects == null) {
+			throw new CurseException("Failed to search projects: " + query);
+		}
+
+		return new ArrayList<>(projects);
+	}
+
+	private static List<List<Integer>> partition(Collection<Integer> ids) {
+		//Duplicate IDs are removed so that nothing is requested more than once.
+		return Lists.partition(new ArrayList<>(new LinkedHashSet<>(ids)), MAX_IDS_PER_REQUEST);
+	}
+
+	private static List<Integer> fileIDs(Collection<? extends BasicCurseFile> files) {
+		final List<Integer> ids = new ArrayList<>(files.size());
+
+		for (BasicCurseFile file : files) {
+			ids.add(file.id());
+		}
+
+		return ids;
+	}
+
+	private static <T> List<@Nullable T> executeBatches(
+			List<List<Integer>> batches, Function<List<Integer>, Call<T>> callFunction
+	) throws CurseException {
+		if (batches.size() == 1) {
+			return Collections.singletonList(RetrofitUtils.execute(
+					callFunction.apply(batches.get(0))
+			));
+		}
+
+		//Multiple batches are requested in parallel.
+		return FutureUtils.join(executeBatchesAsync(batches, callFunction));
+	}
+
+	private static <T> CompletableFuture<List<@Nullable T>> executeBatchesAsync(
+			List<List<Integer>> batches, Function<List<Integer>, Call<T>> callFunction
+	) {
+		final List<CompletableFuture<T>> futures = new ArrayList<>(batches.size());
+
+		for (List<Integer> batch : batches) {
+			futures.add(RetrofitUtils.executeAsync(callFunction.apply(batch)));
+		}
+
+		final CompletableFuture<List<@Nullable T>> results =
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).
+						thenApply(ignored -> {
+							final List<@Nullable T> batchResults =
+									new ArrayList<>(futures.size());
+
+							for (CompletableFuture<T> future : futures) {
+								batchResults.add(future.join());
+							}
+
+							return batchResults;
+						});
+
+		//Cancelling the results cancels the requests for all batches.
+		results.whenComplete((result, throwable) -> {
+			if (results.isCancelled()) {
+				futures.forEach(future -> future.cancel(false));
+			}
+		});
+
+		return results;
+	}
+
+	private static Map<Integer, CurseProject> toProjectMap(
+			List<@Nullable List<ForgeSvcProject>> batches
+	) {
+		final Map<Integer, CurseProject> projects = new HashMap<>();
+
+		for (List<ForgeSvcProject> batch : batches) {
+			if (batch != null) {
+				for (ForgeSvcProject project : batch) {
+					projects.put(project.id(), project);
+				}
+			}
+		}
+
+		return projects;
+	}
+
+	private static Map<BasicCurseFile, CurseFile> toCurseFileMap(
+			Collection<? extends BasicCurseFile> files,
+			List<@Nullable Map<Integer, List<ForgeSvcFile>>> batches
+	) {
+		final Map<Integer, List<ForgeSvcFile>> results = new HashMap<>();
+
+		for (Map<Integer, List<ForgeSvcFile>> batch : batches) {
+			if (batch != null) {
+				results.putAll(batch);
+			}
+		}
+
+		final Map<BasicCurseFile, CurseFile> curseFiles = new HashMap<>();
+		//The project IDs that have been assigned to files whose project IDs are not specified
+		//by the response.
+		final Map<Integer, Integer> assignedProjectIDs = new HashMap<>();
+
+		for (BasicCurseFile file : files) {
+			final List<ForgeSvcFile> matches = results.get(file.id());
+
+			if (matches == null) {
+				continue;
+			}
+
+			for (ForgeSvcFile match : matches) {
+				if (match.id() != file.id()) {
+					continue;
+				}
+
+				if (match.projectID() == 0) {
+					//The file instance is shared, so it can only be assigned one project ID.
+					final Integer assignedProjectID =
+							assignedProjectIDs.putIfAbsent(file.id(), file.projectID());
+
+					if (assignedProjectID == null) {
+						match.setProjectID(file.projectID());
+					} else if (assignedProjectID != file.projectID()) {
+						break;
+					}
+				} else if (match.projectID() != file.projectID()) {
+					break;
+				}
+
+				curseFiles.put(file, match);
+				break;
+			}
+		}
+
+		return curseFiles;
+	}
+
+	private static Set<ForgeSvcFile> copyFiles(Set<ForgeSvcFile> files) {
+		final Set<ForgeSvcFile> copies = new LinkedHashSet<>(files.size());
+
+		for (ForgeSvcFile file : files) {
+			copies.add(file.copy());
+		}
+
+		return copies;
+	}
+
+	@Nullable
+	private static CurseFiles<CurseFile> toCurseFiles(
+			int projectID, @Nullable Set<ForgeSvcFile> files
+	) {
+		if (files == null) {
+			return null;
+		}
+
+		for (ForgeSvcFile file : files) {
+			file.setProjectID(projectID);
+		}
+
+		return new CurseFiles<>(files);
+	}
+
+	@Nullable
+	private static CurseFile toCurseFile(int projectID, @Nullable ForgeSvcFile file) {
+		if (file == null) {
+			return null;
+		}
+
+		file.setProjectID(projectID);
+		return file;
+	}
+
+	private static Set<CurseGame> toGames(@Nullable Set<ForgeSvcGame> games)
+			throws CurseException {
+		if (games == null) {
+			throw new CurseException("Failed to retrieve games");
+		}
+
+		return new TreeSet<>(games);
+	}
+
+	private static Set<CurseCategory> toCategories(@Nullable Set<ForgeSvcCategory> categories)
+			throws CurseException {
+		if (categories == null) {
+			throw new CurseException("Failed to retrieve categories");
+		}
+
+		return new TreeSet<>(categories);
+	}
 }
@@ -24,6 +24,7 @@
 package com.therandomlabs.curseapi.project;
 
 import java.time.ZonedDateTime;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import com.google.common.base.MoreObjects;
@@ -32,6 +33,7 @@ import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.CursePreconditions;
 import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.file.CurseFilesIndex;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseCategorySection;
 import com.therandomlabs.curseapi.game.CurseGame;
@@ -207,6 +209,18 @@ public abstract class CurseProject implements Comparable<CurseProject> {
 	 */
 	public abstract Element description() throws CurseException;
 
+	/**
+	 * Returns this project's description as an HTML string.
+	 * Implementations that retrieve descriptions as HTML should override this method
+	 * so that the description does not need to be parsed.
+	 *
+	 * @return this project's description as an HTML string.
+	 * @throws CurseException if an error occurs.
+	 */
+	public String descriptionHTML() throws CurseException {
+		return description().outerHtml();
+	}
+
 	/**
 	 * Returns this project's description as plain text.
 	 *
@@ -254,6 +268,19 @@ public abstract class CurseProject implements Comparable<CurseProject> {
 	 */
 	public abstract CurseFiles<CurseFile> files() throws CurseException;
 
+	/**
+	 * Returns a {@link CurseFilesIndex} containing the files in this project.
+	 * Unlike {@link #files()}, implementations may return the same instance every time this
+	 * method is called, so it should be preferred when files are looked up repeatedly.
+	 * This value may be refreshed by calling {@link #clearFilesCache()}.
+	 *
+	 * @return a {@link CurseFilesIndex} containing the files in this project.
+	 * @throws CurseException if an error occurs.
+	 */
+	public CurseFilesIndex<CurseFile> filesIndex() throws CurseException {
+		return files().index();
+	}
+
 	/**
 	 * If this {@link CurseProject} implementation caches the value returned by
 	 * {@link #files()} and supports clearing this cache, this method clears this cached value.
@@ -328,4 +355,19 @@ public abstract class CurseProject implements Comparable<CurseProject> {
 	 * @return {@code true} if this project is experimental, or otherwise {@code false}.
 	 */
 	public abstract boolean experimental();
+
+	/**
+	 * Returns the game version strings that this project has files for.
+	 * Unlike calling {@link CurseFile#gameVersionStrings()} on each file in {@link #files()},
+	 * this does not require any requests to be made.
+	 * <p>
+	 * By default, this returns an empty {@link Set}. Implementations that receive this
+	 * information along with the project should override this method.
+	 *
+	 * @return a mutable {@link Set} containing the game version strings that this project has
+	 * files for.
+	 */
+	public Set<String> gameVersionStrings() {
+		return new LinkedHashSet<>();
+	}
 }
@@ -0,0 +1,297 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.project;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.util.FileMoves;
+import com.therandomlabs.curseapi.util.FutureUtils;
+import com.therandomlabs.curseapi.util.MoshiUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Incrementally crawls the {@link CurseProject}s that match a {@link CurseSearchQuery}.
+ * <p>
+ * Search results are sorted by {@link CurseSearchSort#LAST_UPDATED} and iterated through
+ * using a {@link CurseSearchIterator}. The newest {@link CurseProject#lastModificationTime()}
+ * that has been crawled is persisted to a JSON checkpoint file, and the next crawl stops once
+ * it reaches {@link CurseProject}s that were last modified before this checkpoint, so the
+ * cost of each crawl is proportional to the number of changed {@link CurseProject}s rather
+ * than the total number of {@link CurseProject}s. If no checkpoint exists, every
+ * {@link CurseProject} is crawled.
+ * <p>
+ * Only {@link CurseProject}s that have been modified since the checkpoint are passed to the
+ * {@link Listener}, along with the {@link CurseFile}s that have been uploaded since the
+ * checkpoint. The checkpoint is only updated after every changed {@link CurseProject} has
+ * been passed to the {@link Listener}, so if a crawl fails, the next crawl starts from the
+ * same checkpoint.
+ */
+public final class CurseProjectCrawler {
+	/**
+	 * Handles changed {@link CurseProject}s.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+		/**
+		 * Called for each {@link CurseProject} that has been modified since the checkpoint.
+		 * {@link CurseProject}s are passed to this method in order from the most recently
+		 * modified to the least recently modified.
+		 *
+		 * @param project a changed {@link CurseProject}.
+		 * @param files a {@link CurseFiles} instance containing the {@link CurseFile}s in the
+		 * {@link CurseProject} that have been uploaded since the checkpoint. This is empty if
+		 * file retrieval has been disabled.
+		 * @throws CurseException if an error occurs. This stops the crawl without updating the
+		 * checkpoint.
+		 */
+		void projectChanged(CurseProject project, CurseFiles<CurseFile> files)
+				throws CurseException;
+	}
+
+	private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+	private final CurseSearchQuery query;
+	private final Path checkpoint;
+	private int prefetchedPages = CurseSearchIterator.DEFAULT_PREFETCHED_PAGES;
+	private Duration overlap = Duration.ZERO;
+	private boolean files = true;
+
+	/**
+	 * Constructs a {@link CurseProjectCrawler} for the specified {@link CurseSearchQuery}.
+	 *
+	 * @param query a {@link CurseSearchQuery}. The query is cloned, and its page index and
+	 * sorting method are overridden.
+	 * @param checkpoint the {@link Path} to the JSON checkpoint file.
+	 */
+	public CurseProjectCrawler(CurseSearchQuery query, Path checkpoint) {
+		Preconditions.checkNotNull(query, "query should not be null");
+		Preconditions.checkNotNull(checkpoint, "checkpoint should not be null");
+		this.query = query.clone().clearPageIndex().sortingMethod(CurseSearchSort.LAST_UPDATED);
+		this.checkpoint = checkpoint;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("query", query).
+				add("checkpoint", checkpoint).
+				toString();
+	}
+
+	/**
+	 * Sets the number of search result pages that are retrieved in advance.
+	 * By default, {@link CurseSearchIterator#DEFAULT_PREFETCHED_PAGES} pages are retrieved
+	 * in advance.
+	 *
+	 * @param pages a number of pages.
+	 * @return this {@link CurseProjectCrawler}.
+	 */
+	public CurseProjectCrawler prefetchedPages(int pages) {
+		Preconditions.checkArgument(pages >= 0, "pages should not be smaller than 0");
+		prefetchedPages = pages;
+		return this;
+	}
+
+	/**
+	 * Sets the duration before the checkpoint that is still crawled.
+	 * Because search results are sorted by {@link CurseProject#lastUpdateTime()} rather than
+	 * {@link CurseProject#lastModificationTime()}, a crawl may otherwise stop before reaching
+	 * {@link CurseProject}s that were modified without being updated. {@link CurseProject}s in
+	 * the overlap are only passed to the {@link Listener} if they have been modified since the
+	 * checkpoint. By default, there is no overlap.
+	 *
+	 * @param overlap a {@link Duration}.
+	 * @return this {@link CurseProjectCrawler}.
+	 */
+	public CurseProjectCrawler overlap(Duration overlap) {
+		Preconditions.checkNotNull(overlap, "overlap should not be null");
+		Preconditions.checkArgument(!overlap.isNegative(), "overlap should not be negative");
+		this.overlap = overlap;
+		return this;
+	}
+
+	/**
+	 * Sets whether the {@link CurseFile}s in changed {@link CurseProject}s should be retrieved.
+	 * By default, files are retrieved.
+	 *
+	 * @param files {@code true} if the {@link CurseFile}s in changed {@link CurseProject}s should
+	 * be retrieved, or otherwise {@code false}.
+	 * @return this {@link CurseProjectCrawler}.
+	 */
+	public CurseProjectCrawler files(boolean files) {
+		this.files = files;
+		return this;
+	}
+
+	/**
+	 * Reads the checkpoint file.
+	 *
+	 * @return the newest {@link CurseProject#lastModificationTime()} that has been crawled
+	 * wrapped in an {@link Optional} if the checkpoint file exists, or otherwise an empty
+	 * {@link Optional}.
+	 * @throws CurseException if the checkpoint file cannot be read.
+	 */
+	public Optional<ZonedDateTime> checkpoint() throws CurseException {
+		if (!Files.exists(checkpoint)) {
+			return Optional.empty();
+		}
+
+		return Optional.ofNullable(
+				MoshiUtils.fromJSON(checkpoint, Checkpoint.class).lastModificationTime
+		);
+	}
+
+	/**
+	 * Crawls the {@link CurseProject}s that have been modified since the checkpoint and updates
+	 * the checkpoint.
+	 * <p>
+	 * The {@link CurseFile}s in changed {@link CurseProject}s are retrieved in parallel using
+	 * {@link CurseAPI#executor()} with at most {@link CurseAPI#maxConcurrency()} requests in
+	 * progress at a time, and the {@link Listener} is called on the calling thread.
+	 *
+	 * @param listener a {@link Listener}.
+	 * @return the number of changed {@link CurseProject}s.
+	 * @throws CurseException if an error occurs.
+	 */
+	public int crawl(Listener listener) throws CurseException {
+		Preconditions.checkNotNull(listener, "listener should not be null");
+
+		final ZonedDateTime lastModificationTime = checkpoint().orElse(null);
+		final List<CurseProject> changedProjects = changedProjects(lastModificationTime);
+
+		if (changedProjects.isEmpty()) {
+			return 0;
+		}
+
+		final List<CompletableFuture<CurseFiles<CurseFile>>> projectFiles = files ?
+				FutureUtils.mapEachBounded(
+						changedProjects, project -> newFiles(project, lastModificationTime),
+						CurseAPI.executor(), CurseAPI.maxConcurrency()
+				) : null;
+		ZonedDateTime newLastModificationTime = lastModificationTime;
+
+		try {
+			for (int i = 0; i < changedProjects.size(); i++) {
+				final CurseProject project = changedProjects.get(i);
+				listener.projectChanged(
+						project, projectFiles == null ?
+								new CurseFiles<>() : FutureUtils.join(projectFiles.get(i))
+				);
+
+				if (newLastModificationTime == null ||
+						project.lastModificationTime().isAfter(newLastModificationTime)) {
+					newLastModificationTime = project.lastModificationTime();
+				}
+			}
+		} finally {
+			if (projectFiles != null) {
+				projectFiles.forEach(future -> future.cancel(false));
+			}
+		}
+
+		writeCheckpoint(newLastModificationTime);
+		return changedProjects.size();
+	}
+
+	private List<CurseProject> changedProjects(@Nullable ZonedDateTime lastModificationTime)
+			throws CurseException {
+		final ZonedDateTime stopTime =
+				lastModificationTime == null ? null : lastModificationTime.minus(overlap);
+		final List<CurseProject> changedProjects = new ArrayList<>();
+
+		try (CurseSearchIterator iterator = new CurseSearchIterator(query, prefetchedPages)) {
+			while (iterator.hasNext()) {
+				final CurseProject project = iterator.next();
+				final ZonedDateTime time = project.lastModificationTime();
+
+				if (stopTime != null && time.isBefore(stopTime)) {
+					break;
+				}
+
+				if (lastModificationTime == null || time.isAfter(lastModificationTime)) {
+					changedProjects.add(project);
+				}
+			}
+		} catch (CompletionException ex) {
+			throw FutureUtils.rethrow(ex);
+		}
+
+		return changedProjects;
+	}
+
+	private void writeCheckpoint(ZonedDateTime lastModificationTime) throws CurseException {
+		final Checkpoint newCheckpoint = new Checkpoint();
+		newCheckpoint.lastModificationTime = lastModificationTime;
+
+		//The checkpoint is written to a temporary file first so that it is never left
+		//partially written.
+		final Path temporaryCheckpoint = checkpoint.resolveSibling(
+				checkpoint.getFileName() + TEMPORARY_FILE_EXTENSION
+		);
+		MoshiUtils.toJSON(newCheckpoint, temporaryCheckpoint);
+
+		try {
+			FileMoves.move(temporaryCheckpoint, checkpoint);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to write checkpoint: " + checkpoint, ex);
+		}
+	}
+
+	private static CurseFiles<CurseFile> newFiles(
+			CurseProject project, @Nullable ZonedDateTime lastModificationTime
+	) throws CurseException {
+		final CurseFiles<CurseFile> newFiles = new CurseFiles<>();
+
+		for (CurseFile file : project.files()) {
+			if (lastModificationTime == null || file.uploadTime().isAfter(lastModificationTime)) {
+				newFiles.add(file);
+			}
+		}
+
+		return newFiles;
+	}
+
+	private static final class Checkpoint {
+		@Nullable
+		ZonedDateTime lastModificationTime;
+	}
+}
@@ -0,0 +1,563 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.project;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPIOperation;
+import com.therandomlabs.curseapi.CurseAPIProvider;
+import com.therandomlabs.curseapi.CursePreconditions;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An in-memory {@link CurseAPIProvider} that executes {@link CurseSearchQuery}s using an
+ * inverted index of {@link CurseProject}s that have already been retrieved, so that searches
+ * do not require any requests to be made.
+ * <p>
+ * The name, summary, slug, author names and category names of each {@link CurseProject} are
+ * split into lowercase alphanumeric terms. A search filter matches a {@link CurseProject} if
+ * every term in the search filter is a prefix of at least one of its terms. The game,
+ * category section, category and game version filters of {@link CurseSearchQuery} are also
+ * supported, and the game version filter is matched against
+ * {@link CurseProject#gameVersionStrings()}.
+ * <p>
+ * The order for each {@link CurseSearchSort} is only computed once after this index is
+ * modified, so a search only needs to scan this order until the requested page has been
+ * filled. As CurseForge's featured and popularity rankings are not available locally,
+ * {@link CurseSearchSort#FEATURED} and {@link CurseSearchSort#POPULARITY} both sort by
+ * download count.
+ * <p>
+ * As a {@link CurseAPIProvider}, this index provides indexed {@link CurseProject}s and
+ * executes {@link CurseSearchQuery}s for games that have indexed {@link CurseProject}s.
+ * Everything else falls back to the next {@link CurseAPIProvider}.
+ * This class is thread-safe.
+ *
+ * @see com.therandomlabs.curseapi.CurseAPI#addProvider(CurseAPIProvider, boolean)
+ * @see CurseProjectCrawler
+ */
+public final class CurseProjectIndex implements CurseAPIProvider {
+	//These are the default page sizes documented in CurseSearchQuery#pageSize(int).
+	private static final int DEFAULT_PAGE_SIZE = 500;
+	private static final int DEFAULT_FILTERED_PAGE_SIZE = 25;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	//Each project is assigned a document number, which is its bit index in the bitsets below.
+	private final Map<Integer, Integer> documentNumbers = new HashMap<>();
+	private final List<@Nullable CurseProject> documents = new ArrayList<>();
+	private final Deque<Integer> freeDocumentNumbers = new ArrayDeque<>();
+
+	//Most terms only belong to a few projects, so their document numbers are stored as lists
+	//rather than bitsets so that prefix searches do not need to scan mostly empty bitsets.
+	private final NavigableMap<String, Postings> terms = new TreeMap<>();
+	private final Map<Integer, BitSet> games = new HashMap<>();
+	private final Map<Integer, BitSet> categorySections = new HashMap<>();
+	private final Map<Integer, BitSet> categories = new HashMap<>();
+	private final Map<String, BitSet> gameVersions = new HashMap<>();
+
+	//The document numbers in the order for each CurseSearchSort. These are computed lazily
+	//while the read lock is held and are cleared while the write lock is held.
+	private final AtomicReferenceArray<int[]> orders =
+			new AtomicReferenceArray<>(CurseSearchSort.values().length);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("size", size()).
+				toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This returns {@link CurseAPIOperation#PROJECT} and
+	 * {@link CurseAPIOperation#SEARCH_PROJECTS}.
+	 */
+	@Override
+	public Set<CurseAPIOperation> operations() {
+		return EnumSet.of(CurseAPIOperation.PROJECT, CurseAPIOperation.SEARCH_PROJECTS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseProject project(int id) {
+		lock.readLock().lock();
+
+		try {
+			final Integer number = documentNumbers.get(id);
+			return number == null ? null : documents.get(number);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the specified query is for a game that does not have any indexed
+	 * {@link CurseProject}s, {@code null} is returned so that a fallback
+	 * {@link CurseAPIProvider} is used instead.
+	 */
+	@Nullable
+	@Override
+	public List<CurseProject> searchProjects(CurseSearchQuery query) {
+		lock.readLock().lock();
+
+		try {
+			if (query.gameID() == 0 ? documentNumbers.isEmpty() :
+					!games.containsKey(query.gameID())) {
+				return null;
+			}
+
+			return searchIndex(query);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Executes a {@link CurseSearchQuery} against the {@link CurseProject}s in this index.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 * @return a mutable {@link List} of {@link CurseProject}s that match the specified query.
+	 */
+	public List<CurseProject> search(CurseSearchQuery query) {
+		Preconditions.checkNotNull(query, "query should not be null");
+		lock.readLock().lock();
+
+		try {
+			return searchIndex(query);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds the specified {@link CurseProject} to this index. If a {@link CurseProject} with the
+	 * same ID has already been indexed, it is replaced.
+	 *
+	 * @param project a {@link CurseProject}.
+	 */
+	public void add(CurseProject project) {
+		Preconditions.checkNotNull(project, "project should not be null");
+		lock.writeLock().lock();
+
+		try {
+			addDocument(project);
+			clearOrders();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds the specified {@link CurseProject}s to this index. If a {@link CurseProject} with the
+	 * same ID as one of the specified {@link CurseProject}s has already been indexed,
+	 * it is replaced.
+	 *
+	 * @param projects a {@link Collection} of {@link CurseProject}s.
+	 */
+	public void addAll(Collection<? extends CurseProject> projects) {
+		Preconditions.checkNotNull(projects, "projects should not be null");
+		lock.writeLock().lock();
+
+		try {
+			for (CurseProject project : projects) {
+				Preconditions.checkNotNull(project, "project should not be null");
+				addDocument(project);
+			}
+
+			clearOrders();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the {@link CurseProject} with the specified ID from this index.
+	 *
+	 * @param id a project ID.
+	 * @return {@code true} if a {@link CurseProject} was removed, or otherwise {@code false}.
+	 */
+	public boolean remove(int id) {
+		CursePreconditions.checkProjectID(id, "id");
+		lock.writeLock().lock();
+
+		try {
+			if (!removeDocument(id)) {
+				return false;
+			}
+
+			clearOrders();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes all {@link CurseProject}s from this index.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+
+		try {
+			documentNumbers.clear();
+			documents.clear();
+			freeDocumentNumbers.clear();
+			terms.clear();
+			games.clear();
+			categorySections.clear();
+			categories.clear();
+			gameVersions.clear();
+			clearOrders();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of {@link CurseProject}s in this index.
+	 *
+	 * @return the number of {@link CurseProject}s in this index.
+	 */
+	public int size() {
+		lock.readLock().lock();
+
+		try {
+			return documentNumbers.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<CurseProject> searchIndex(CurseSearchQuery query) {
+		final List<CurseProject> results = new ArrayList<>();
+		final BitSet matches = matches(query);
+
+		if (matches.isEmpty()) {
+			return results;
+		}
+
+		final int pageSize = query.pageSize() != 0 ? query.pageSize() :
+				query.searchFilter().isEmpty() ? DEFAULT_PAGE_SIZE : DEFAULT_FILTERED_PAGE_SIZE;
+		long skipped = (long) query.pageIndex() * pageSize;
+
+		for (int number : order(query.sortingMethod())) {
+			if (!matches.get(number)) {
+				continue;
+			}
+
+			if (skipped > 0) {
+				skipped--;
+				continue;
+			}
+
+			results.add(documents.get(number));
+
+			if (results.size() == pageSize) {
+				break;
+			}
+		}
+
+		return results;
+	}
+
+	private void addDocument(CurseProject project) {
+		removeDocument(project.id());
+
+		final Integer freeNumber = freeDocumentNumbers.poll();
+		final int number;
+
+		if (freeNumber == null) {
+			number = documents.size();
+			documents.add(project);
+		} else {
+			number = freeNumber;
+			documents.set(number, project);
+		}
+
+		documentNumbers.put(project.id(), number);
+		updateIndices(project, number, true);
+	}
+
+	private boolean removeDocument(int id) {
+		final Integer number = documentNumbers.remove(id);
+
+		if (number == null) {
+			return false;
+		}
+
+		final CurseProject project = documents.get(number);
+		documents.set(number, null);
+		freeDocumentNumbers.push(number);
+
+		if (project != null) {
+			//Projects are effectively immutable, so this clears the same bits that were set.
+			updateIndices(project, number, false);
+		}
+
+		return true;
+	}
+
+	private void updateIndices(CurseProject project, int number, boolean set) {
+		for (String term : terms(project)) {
+			if (set) {
+				terms.computeIfAbsent(term, key -> new Postings()).add(number);
+				continue;
+			}
+
+			final Postings postings = terms.get(term);
+
+			if (postings != null && postings.remove(number)) {
+				terms.remove(term);
+			}
+		}
+
+		update(games, project.gameID(), number, set);
+		update(categorySections, project.categorySection().id(), number, set);
+
+		for (CurseCategory category : project.categories()) {
+			update(categories, category.id(), number, set);
+		}
+
+		for (String gameVersion : project.gameVersionStrings()) {
+			update(gameVersions, gameVersion, number, set);
+		}
+	}
+
+	private void clearOrders() {
+		for (int i = 0; i < orders.length(); i++) {
+			orders.set(i, null);
+		}
+	}
+
+	private BitSet matches(CurseSearchQuery query) {
+		BitSet matches = null;
+
+		if (query.gameID() != 0) {
+			matches = and(matches, games.get(query.gameID()));
+		}
+
+		if (query.categorySectionID() != 0) {
+			matches = and(matches, categorySections.get(query.categorySectionID()));
+		}
+
+		if (query.categoryID() != 0) {
+			matches = and(matches, categories.get(query.categoryID()));
+		}
+
+		if (!query.gameVersionString().isEmpty()) {
+			matches = and(matches, gameVersions.get(query.gameVersionString()));
+		}
+
+		final Set<String> filterTerms = new HashSet<>();
+		addTerms(query.searchFilter(), filterTerms);
+
+		for (String term : filterTerms) {
+			//Every term that starts with the filter term sorts between the filter term and the
+			//filter term followed by the largest char.
+			final BitSet termMatches = new BitSet(documents.size());
+
+			for (Postings postings :
+					terms.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+				postings.setAll(termMatches);
+			}
+
+			matches = and(matches, termMatches);
+		}
+
+		if (matches == null) {
+			matches = new BitSet(documents.size());
+
+			for (int number : documentNumbers.values()) {
+				matches.set(number);
+			}
+		}
+
+		return matches;
+	}
+
+	private int[] order(CurseSearchSort sortingMethod) {
+		int[] order = orders.get(sortingMethod.ordinal());
+
+		if (order == null) {
+			final Comparator<CurseProject> comparator = comparator(sortingMethod);
+			order = documentNumbers.values().stream().
+					sorted(Comparator.comparing(documents::get, comparator)).
+					mapToInt(Integer::intValue).
+					toArray();
+			//If another thread computed the same order concurrently, it is simply replaced.
+			orders.set(sortingMethod.ordinal(), order);
+		}
+
+		return order;
+	}
+
+	private static Comparator<CurseProject> comparator(CurseSearchSort sortingMethod) {
+		final Comparator<CurseProject> comparator;
+
+		switch (sortingMethod) {
+			case LAST_UPDATED:
+				comparator = Comparator.comparing(CurseProject::lastUpdateTime).reversed();
+				break;
+			case NAME:
+				comparator =
+						Comparator.comparing(CurseProject::name, String.CASE_INSENSITIVE_ORDER);
+				break;
+			case AUTHOR:
+				comparator = Comparator.comparing(
+						project -> project.author().name(), String.CASE_INSENSITIVE_ORDER
+				);
+				break;
+			default:
+				comparator = Comparator.comparingInt(CurseProject::downloadCount).reversed();
+		}
+
+		return comparator.thenComparingInt(CurseProject::id);
+	}
+
+	private static Set<String> terms(CurseProject project) {
+		final Set<String> terms = new HashSet<>();
+		addTerms(project.name(), terms);
+		addTerms(project.summary(), terms);
+		addTerms(project.slug(), terms);
+
+		for (CurseMember author : project.authors()) {
+			addTerms(author.name(), terms);
+		}
+
+		for (CurseCategory category : project.categories()) {
+			addTerms(category.name(), terms);
+		}
+
+		return terms;
+	}
+
+	private static void addTerms(String string, Set<String> terms) {
+		final String lowerCase = string.toLowerCase(Locale.ROOT);
+		int start = -1;
+
+		for (int i = 0; i <= lowerCase.length(); i++) {
+			if (i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i))) {
+				if (start == -1) {
+					start = i;
+				}
+			} else if (start != -1) {
+				terms.add(lowerCase.substring(start, i));
+				start = -1;
+			}
+		}
+	}
+
+	private static <K> void update(Map<K, BitSet> index, K key, int number, boolean set) {
+		if (set) {
+			index.computeIfAbsent(key, k -> new BitSet()).set(number);
+			return;
+		}
+
+		final BitSet bits = index.get(key);
+
+		if (bits != null) {
+			bits.clear(number);
+
+			if (bits.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	private static BitSet and(@Nullable BitSet matches, @Nullable BitSet bits) {
+		if (bits == null) {
+			return new BitSet();
+		}
+
+		//The bitsets in the indices are never modified here.
+		if (matches == null) {
+			return (BitSet) bits.clone();
+		}
+
+		matches.and(bits);
+		return matches;
+	}
+
+	private static final class Postings {
+		private int[] numbers = new int[2];
+		private int size;
+
+		void add(int number) {
+			if (size == numbers.length) {
+				numbers = Arrays.copyOf(numbers, size * 2);
+			}
+
+			numbers[size++] = number;
+		}
+
+		//Returns whether these postings are now empty.
+		boolean remove(int number) {
+			for (int i = 0; i < size; i++) {
+				if (numbers[i] == number) {
+					//The order of the document numbers does not matter.
+					numbers[i] = numbers[--size];
+					break;
+				}
+			}
+
+			return size == 0;
+		}
+
+		void setAll(BitSet bits) {
+			for (int i = 0; i < size; i++) {
+				bits.set(numbers[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.project;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPI;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link Iterator} that lazily iterates through all {@link CurseProject}s that match a
+ * {@link CurseSearchQuery}, starting from the query's page index.
+ * <p>
+ * Pages are retrieved using {@link CurseAPI#async()}. While the current page is being
+ * processed, the next pages are retrieved in the background. Iteration stops after the first
+ * page that is empty, that contains fewer {@link CurseProject}s than the query's page size,
+ * or that only contains {@link CurseProject}s that have already been returned.
+ * Because search results may shift between pages while they are being iterated through,
+ * each {@link CurseProject} is only returned once.
+ * <p>
+ * If a page cannot be retrieved, {@link #hasNext()} and {@link #next()} throw a
+ * {@link CompletionException} wrapping the cause.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see CurseAPI#searchProjectsStream(CurseSearchQuery, int)
+ */
+public final class CurseSearchIterator implements Iterator<CurseProject>, AutoCloseable {
+	/**
+	 * The default number of pages that are retrieved in advance.
+	 */
+	public static final int DEFAULT_PREFETCHED_PAGES = 2;
+
+	private final CurseSearchQuery query;
+	private final int prefetchedPages;
+	private final Deque<CompletableFuture<Optional<List<CurseProject>>>> pages =
+			new ArrayDeque<>();
+	private final Set<Integer> projectIDs = new HashSet<>();
+
+	private int nextPageIndex;
+	private Iterator<CurseProject> page = Collections.emptyIterator();
+	private boolean lastPage;
+	private boolean closed;
+	@Nullable
+	private CurseProject next;
+
+	/**
+	 * Constructs a {@link CurseSearchIterator} for the specified {@link CurseSearchQuery}
+	 * that retrieves {@link #DEFAULT_PREFETCHED_PAGES} pages in advance.
+	 *
+	 * @param query a {@link CurseSearchQuery}.
+	 */
+	public CurseSearchIterator(CurseSearchQuery query) {
+		this(query, DEFAULT_PREFETCHED_PAGES);
+	}
+
+	/**
+	 * Constructs a {@link CurseSearchIterator} for the specified {@link CurseSearchQuery}.
+	 * No pages are retrieved until {@link #hasNext()} or {@link #next()} is first called.
+	 *
+	 * @param query a {@link CurseSearchQuery}. The query is cloned, so later modifications
+	 * do not have any effect on this {@link CurseSearchIterator}.
+	 * @param prefetchedPages the number of pages after the current page that should be
+	 * retrieved in advance.
+	 */
+	public CurseSearchIterator(CurseSearchQuery query, int prefetchedPages) {
+		Preconditions.checkNotNull(query, "query should not be null");
+		Preconditions.checkArgument(
+				prefetchedPages >= 0, "prefetchedPages should not be smaller than 0"
+		);
+		this.query = query.clone();
+		this.prefetchedPages = prefetchedPages;
+		nextPageIndex = query.pageIndex();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null) {
+			while (page.hasNext()) {
+				final CurseProject project = page.next();
+
+				if (projectIDs.add(project.id())) {
+					next = project;
+					return true;
+				}
+			}
+
+			if (lastPage || closed) {
+				return false;
+			}
+
+			nextPage();
+		}
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CurseProject next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		final CurseProject project = next;
+		next = null;
+		return project;
+	}
+
+	/**
+	 * Cancels the retrieval of any pages that have not yet been retrieved.
+	 * After this method is called, this {@link CurseSearchIterator} only returns the remaining
+	 * {@link CurseProject}s on the current page.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		pages.forEach(future -> future.cancel(false));
+		pages.clear();
+	}
+
+	private void nextPage() {
+		requestPages();
+		final List<CurseProject> projects;
+
+		try {
+			projects = pages.remove().join().orElse(Collections.emptyList());
+		} catch (RuntimeException ex) {
+			close();
+			throw ex;
+		}
+
+		final int pageSize = query.pageSize();
+
+		//If no page size is specified, the default page size varies, so only a page without
+		//any new projects is treated as the last page.
+		if (projects.size() < pageSize || !containsNewProjects(projects)) {
+			lastPage = true;
+			close();
+		}
+
+		page = projects.iterator();
+	}
+
+	private void requestPages() {
+		while (pages.size() <= prefetchedPages) {
+			pages.add(CurseAPI.async().searchProjects(query.pageIndex(nextPageIndex++)));
+		}
+	}
+
+	private boolean containsNewProjects(List<CurseProject> projects) {
+		for (CurseProject project : projects) {
+			if (!projectIDs.contains(project.id())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -23,6 +23,8 @@
 
 package com.therandomlabs.curseapi.project;
 
+import java.util.Objects;
+
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.therandomlabs.curseapi.CursePreconditions;
@@ -56,6 +58,41 @@ public class CurseSearchQuery implements Cloneable {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(
+				gameID, categorySectionID, categoryID, gameVersion, pageIndex, pageSize,
+				searchFilter, sortingMethod
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method returns {@code true} if and only if the other object is also a
+	 * {@link CurseSearchQuery} and all of its parameters are equal to those of this
+	 * {@link CurseSearchQuery}.
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof CurseSearchQuery)) {
+			return false;
+		}
+
+		final CurseSearchQuery query = (CurseSearchQuery) object;
+		return gameID == query.gameID && categorySectionID == query.categorySectionID &&
+				categoryID == query.categoryID && gameVersion.equals(query.gameVersion) &&
+				pageIndex == query.pageIndex && pageSize == query.pageSize &&
+				searchFilter.equals(query.searchFilter) && sortingMethod == query.sortingMethod;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
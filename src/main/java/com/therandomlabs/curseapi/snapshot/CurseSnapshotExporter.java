@@ -0,0 +1,907 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_DESCRIPTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_THUMBNAIL_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_TITLE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_LOGO_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SECTIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SECTION_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SLUG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_ALTERNATE_FILE_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_CHANGELOG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DEPENDENCIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DISPLAY_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DOWNLOAD_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_GAME_VERSION_STRINGS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_LENGTH;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_NAME_ON_DISK;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_PROJECT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_RELEASE_TYPE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_STATUS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_UPLOAD_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAMES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_CATEGORY_SECTIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_SLUG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSIONS_LIST;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_VERSION_STRING;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_EXPORT_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_LISTS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_LISTS_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_MAGIC;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_STRINGS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_STRINGS_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_TABLES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_VERSION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MAGIC;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBERS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.NULL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_ATTACHMENTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_AUTHOR;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_AUTHORS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CATEGORY_SECTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CREATION_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_DESCRIPTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_DOWNLOAD_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_EXPERIMENTAL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_FILES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_GAME_VERSION_STRINGS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_MODIFICATION_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_LAST_UPDATE_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_LOGO;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_PRIMARY_CATEGORY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_SLUG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_SUMMARY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_ENTRY_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_INDEX_CAPACITY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_INDEX_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_RECORDS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_RECORD_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.VERSION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.indexCapacity;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.indexSlot;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.recordSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseDependency;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseCategorySection;
+import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.game.CurseGameVersion;
+import com.therandomlabs.curseapi.project.CurseAttachment;
+import com.therandomlabs.curseapi.project.CurseMember;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.FileMoves;
+import com.therandomlabs.curseapi.util.JsoupUtils;
+import okhttp3.HttpUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsoup.nodes.Element;
+
+/**
+ * Retrieves CurseForge data using CurseAPI and exports it to a snapshot file that can be
+ * served by {@link CurseSnapshotProvider}.
+ * <p>
+ * Projects are exported with their {@link CurseFile}s, categories and category sections.
+ * Games are exported with all of their categories and category sections and, if any
+ * {@link com.therandomlabs.curseapi.CurseAPIProvider} provides them, their
+ * {@link CurseGameVersion}s. As project descriptions and file changelogs require a request
+ * each, they are only exported if enabled.
+ * <p>
+ * Data is retrieved when it is added to a {@link CurseSnapshotExporter}, and it is only
+ * written when {@link #export(Path)} is called. This class is not thread-safe.
+ */
+public final class CurseSnapshotExporter {
+	private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+	private final Map<Integer, ExportedProject> projects = new LinkedHashMap<>();
+	private final Map<Integer, ExportedGame> games = new LinkedHashMap<>();
+	private final Map<Integer, CurseCategory> categories = new LinkedHashMap<>();
+	private final Map<Integer, CurseCategorySection> categorySections = new LinkedHashMap<>();
+
+	private boolean files = true;
+	private boolean descriptions;
+	private boolean changelogs;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("projects", projects.size()).
+				add("games", games.size()).
+				toString();
+	}
+
+	/**
+	 * Sets whether the {@link CurseFile}s in added {@link CurseProject}s should be exported.
+	 * By default, files are exported.
+	 *
+	 * @param files {@code true} if the {@link CurseFile}s in added {@link CurseProject}s should
+	 * be exported, or otherwise {@code false}.
+	 * @return this {@link CurseSnapshotExporter}.
+	 */
+	public CurseSnapshotExporter files(boolean files) {
+		this.files = files;
+		return this;
+	}
+
+	/**
+	 * Sets whether the descriptions of added {@link CurseProject}s should be exported.
+	 * By default, descriptions are not exported.
+	 *
+	 * @param descriptions {@code true} if the descriptions of added {@link CurseProject}s should
+	 * be exported, or otherwise {@code false}.
+	 * @return this {@link CurseSnapshotExporter}.
+	 */
+	public CurseSnapshotExporter descriptions(boolean descriptions) {
+		this.descriptions = descriptions;
+		return this;
+	}
+
+	/**
+	 * Sets whether the changelogs of exported {@link CurseFile}s should be exported.
+	 * By default, changelogs are not exported.
+	 *
+	 * @param changelogs {@code true} if the changelogs of exported {@link CurseFile}s should
+	 * be exported, or otherwise {@code false}.
+	 * @return this {@link CurseSnapshotExporter}.
+	 */
+	public CurseSnapshotExporter changelogs(boolean changelogs) {
+		this.changelogs = changelogs;
+		return this;
+	}
+
+	/**
+	 * Retrieves the project with the specified ID and adds it to this
+	 * {@link CurseSnapshotExporter}.
+	 *
+	 * @param id a project ID.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs or the project does not exist.
+	 */
+	public CurseSnapshotExporter addProject(int id) throws CurseException {
+		return addProjects(Collections.singleton(id));
+	}
+
+	/**
+	 * Retrieves the projects with the specified IDs and adds them to this
+	 * {@link CurseSnapshotExporter}.
+	 *
+	 * @param ids a {@link Collection} of project IDs.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs or any of the projects do not exist.
+	 * @see #addAll(Collection)
+	 */
+	public CurseSnapshotExporter addProjects(Collection<Integer> ids) throws CurseException {
+		final Map<Integer, CurseProject> projects = CurseAPI.projects(ids);
+
+		for (Integer id : ids) {
+			if (!projects.containsKey(id)) {
+				throw new CurseException("Failed to retrieve project for export: " + id);
+			}
+		}
+
+		return addAll(projects.values());
+	}
+
+	/**
+	 * Adds the specified {@link CurseProject} to this {@link CurseSnapshotExporter}.
+	 *
+	 * @param project a {@link CurseProject}.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs.
+	 * @see #addAll(Collection)
+	 */
+	public CurseSnapshotExporter add(CurseProject project) throws CurseException {
+		Preconditions.checkNotNull(project, "project should not be null");
+		return addAll(Collections.singleton(project));
+	}
+
+	/**
+	 * Adds the specified {@link CurseProject}s to this {@link CurseSnapshotExporter}.
+	 * <p>
+	 * The {@link CurseFile}s, descriptions and changelogs that are exported are retrieved in
+	 * parallel using {@link CurseAPI#executor()} with at most {@link CurseAPI#maxConcurrency()}
+	 * requests in progress at a time.
+	 *
+	 * @param projects a {@link Collection} of {@link CurseProject}s.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs.
+	 */
+	public CurseSnapshotExporter addAll(Collection<? extends CurseProject> projects)
+			throws CurseException {
+		Preconditions.checkNotNull(projects, "projects should not be null");
+
+		final List<ExportedProject> exportedProjects =
+				CurseAPI.parallelMap(projects, this::export, Collectors.toList());
+
+		if (changelogs) {
+			final List<CurseFile> files = new ArrayList<>();
+
+			for (ExportedProject project : exportedProjects) {
+				if (project.files != null) {
+					files.addAll(project.files);
+				}
+			}
+
+			final Map<Integer, String> changelogs =
+					CurseAPI.parallelMap(files, CurseFile::id, CurseFile::changelogHTML);
+
+			for (ExportedProject project : exportedProjects) {
+				project.changelogs = changelogs;
+			}
+		}
+
+		for (ExportedProject project : exportedProjects) {
+			this.projects.put(project.project.id(), project);
+
+			for (CurseCategory category : project.project.categories()) {
+				categories.putIfAbsent(category.id(), category);
+			}
+
+			final CurseCategory primaryCategory = project.project.primaryCategory();
+			categories.putIfAbsent(primaryCategory.id(), primaryCategory);
+
+			final CurseCategorySection section = project.project.categorySection();
+			categorySections.putIfAbsent(section.id(), section);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Retrieves the game with the specified ID and adds it to this
+	 * {@link CurseSnapshotExporter}.
+	 *
+	 * @param id a game ID.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs or the game does not exist.
+	 */
+	public CurseSnapshotExporter addGame(int id) throws CurseException {
+		final Optional<CurseGame> optionalGame = CurseAPI.game(id);
+
+		if (!optionalGame.isPresent()) {
+			throw new CurseException("Failed to retrieve game for export: " + id);
+		}
+
+		return add(optionalGame.get());
+	}
+
+	/**
+	 * Adds the specified {@link CurseGame} to this {@link CurseSnapshotExporter}.
+	 *
+	 * @param game a {@link CurseGame}.
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs.
+	 */
+	public CurseSnapshotExporter add(CurseGame game) throws CurseException {
+		Preconditions.checkNotNull(game, "game should not be null");
+
+		final ExportedGame exportedGame = new ExportedGame(game);
+		final Optional<SortedSet<CurseGameVersion<?>>> versions =
+				CurseAPI.gameVersions(game.id());
+
+		if (versions.isPresent()) {
+			exportedGame.versionStrings = new ArrayList<>(versions.get().size());
+
+			for (CurseGameVersion<?> version : versions.get()) {
+				exportedGame.versionStrings.add(version.versionString());
+			}
+		}
+
+		for (CurseCategory category : game.categories()) {
+			categories.put(category.id(), category);
+		}
+
+		for (CurseCategorySection section : exportedGame.categorySections) {
+			categorySections.put(section.id(), section);
+		}
+
+		games.put(game.id(), exportedGame);
+		return this;
+	}
+
+	/**
+	 * Retrieves all games that CurseForge supports and adds them to this
+	 * {@link CurseSnapshotExporter}.
+	 *
+	 * @return this {@link CurseSnapshotExporter}.
+	 * @throws CurseException if an error occurs.
+	 */
+	public CurseSnapshotExporter addGames() throws CurseException {
+		final Optional<Set<CurseGame>> optionalGames = CurseAPI.games();
+
+		if (!optionalGames.isPresent()) {
+			throw new CurseException("Failed to retrieve games for export");
+		}
+
+		for (CurseGame game : optionalGames.get()) {
+			add(game);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Writes the data that has been added to this {@link CurseSnapshotExporter} to a
+	 * snapshot file. The snapshot file is written to a temporary file first so that an existing
+	 * snapshot file is never left partially written.
+	 *
+	 * @param path the path to the snapshot file.
+	 * @throws CurseException if an error occurs.
+	 */
+	public void export(Path path) throws CurseException {
+		Preconditions.checkNotNull(path, "path should not be null");
+
+		final List<ByteBuffer> blocks;
+
+		try {
+			blocks = new Writer().write();
+		} catch (UncheckedIOException ex) {
+			throw new CurseException("Failed to export snapshot: " + path, ex.getCause());
+		}
+
+		final Path temporaryPath =
+				path.resolveSibling(path.getFileName() + TEMPORARY_FILE_EXTENSION);
+
+		try {
+			try (FileChannel channel = FileChannel.open(
+					temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING
+			)) {
+				for (ByteBuffer block : blocks) {
+					while (block.hasRemaining()) {
+						channel.write(block);
+					}
+				}
+			}
+
+			FileMoves.move(temporaryPath, path);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to write snapshot: " + path, ex);
+		}
+	}
+
+	private ExportedProject export(CurseProject project) throws CurseException {
+		final ExportedProject exportedProject = new ExportedProject(project);
+
+		if (files) {
+			exportedProject.files = project.files();
+		}
+
+		if (descriptions) {
+			exportedProject.description = project.descriptionHTML();
+		}
+
+		return exportedProject;
+	}
+
+	private static final class ExportedProject {
+		final CurseProject project;
+		@Nullable
+		CurseFiles<CurseFile> files;
+		@Nullable
+		String description;
+		Map<Integer, String> changelogs = Collections.emptyMap();
+
+		ExportedProject(CurseProject project) {
+			this.project = project;
+		}
+	}
+
+	private static final class ExportedGame {
+		final CurseGame game;
+		final Set<CurseCategorySection> categorySections;
+		@Nullable
+		List<String> versionStrings;
+
+		ExportedGame(CurseGame game) {
+			this.game = game;
+			categorySections = game.categorySections();
+		}
+	}
+
+	//Lays out the added data and encodes it as a list of blocks that form a snapshot file.
+	//The IOExceptions thrown by the in-memory streams never actually occur.
+	private final class Writer {
+		private final Map<Integer, Integer> categoryRecords = new HashMap<>();
+		private final Map<Integer, Integer> sectionRecords = new HashMap<>();
+		private final Map<Integer, CurseMember> members = new LinkedHashMap<>();
+		private final Map<Integer, Integer> memberRecords = new HashMap<>();
+		private final Map<Integer, CurseAttachment> attachments = new LinkedHashMap<>();
+		private final Map<Integer, Integer> attachmentRecords = new HashMap<>();
+		private final List<CurseFile> files = new ArrayList<>();
+		private final List<@Nullable String> changelogs = new ArrayList<>();
+		private final List<String> gameVersions = new ArrayList<>();
+		private final List<Integer> gameVersionGameIDs = new ArrayList<>();
+
+		private final ByteArrayOutputStream listBytes = new ByteArrayOutputStream();
+		private final DataOutputStream lists = new DataOutputStream(listBytes);
+		private final ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+		private final DataOutputStream strings = new DataOutputStream(stringBytes);
+		private final Map<String, Integer> stringReferences = new HashMap<>();
+
+		private final ByteBuffer[] tables = new ByteBuffer[TABLE_COUNT];
+
+		List<ByteBuffer> write() throws CurseException {
+			for (CurseCategory category : categories.values()) {
+				categoryRecords.put(category.id(), categoryRecords.size());
+			}
+
+			for (CurseCategorySection section : categorySections.values()) {
+				sectionRecords.put(section.id(), sectionRecords.size());
+			}
+
+			writeProjects();
+			writeFiles();
+			writeGames();
+			writeCategories();
+			writeCategorySections();
+			writeGameVersions();
+			writeMembers();
+			writeAttachments();
+			return layOut();
+		}
+
+		private void writeProjects() throws CurseException {
+			final ByteBuffer table = table(PROJECTS, projects.size());
+			int record = 0;
+
+			for (ExportedProject exportedProject : projects.values()) {
+				final CurseProject project = exportedProject.project;
+				final int offset = record++ * PROJECT_SIZE;
+				final List<Integer> authors = new ArrayList<>();
+
+				for (CurseMember author : project.authors()) {
+					authors.add(member(author));
+				}
+
+				final List<Integer> attachments = new ArrayList<>();
+
+				for (CurseAttachment attachment : project.attachments()) {
+					attachments.add(attachment(attachment));
+				}
+
+				final CurseAttachment logo = project.logo();
+				final List<Integer> categories = new ArrayList<>();
+
+				for (CurseCategory category : project.categories()) {
+					categories.add(categoryRecords.get(category.id()));
+				}
+
+				final List<Integer> gameVersionStrings = new ArrayList<>();
+
+				for (String versionString : project.gameVersionStrings()) {
+					gameVersionStrings.add(string(versionString));
+				}
+
+				int projectFiles = NULL;
+
+				if (exportedProject.files != null) {
+					final List<Integer> fileRecords = new ArrayList<>();
+
+					for (CurseFile file : exportedProject.files) {
+						fileRecords.add(files.size());
+						files.add(file);
+						changelogs.add(exportedProject.changelogs.get(file.id()));
+					}
+
+					projectFiles = list(fileRecords);
+				}
+
+				table.putInt(offset + PROJECT_ID, project.id());
+				table.putInt(offset + PROJECT_NAME, string(project.name()));
+				table.putInt(offset + PROJECT_AUTHOR, member(project.author()));
+				table.putInt(offset + PROJECT_AUTHORS, list(authors));
+				table.putInt(offset + PROJECT_ATTACHMENTS, list(attachments));
+				table.putInt(
+						offset + PROJECT_LOGO,
+						logo == CurseAttachment.PLACEHOLDER_LOGO ? NULL : attachment(logo)
+				);
+				table.putInt(offset + PROJECT_URL, string(project.url()));
+				table.putInt(offset + PROJECT_GAME_ID, project.gameID());
+				table.putInt(offset + PROJECT_SUMMARY, string(project.summary()));
+				table.putInt(offset + PROJECT_DESCRIPTION, string(exportedProject.description));
+				table.putInt(offset + PROJECT_DOWNLOAD_COUNT, project.downloadCount());
+				table.putInt(
+						offset + PROJECT_PRIMARY_CATEGORY,
+						categoryRecords.get(project.primaryCategory().id())
+				);
+				table.putInt(offset + PROJECT_CATEGORIES, list(categories));
+				table.putInt(
+						offset + PROJECT_CATEGORY_SECTION,
+						sectionRecords.get(project.categorySection().id())
+				);
+				table.putInt(offset + PROJECT_SLUG, string(project.slug()));
+				table.putLong(offset + PROJECT_CREATION_TIME, time(project.creationTime()));
+				table.putLong(offset + PROJECT_LAST_UPDATE_TIME, time(project.lastUpdateTime()));
+				table.putLong(
+						offset + PROJECT_MODIFICATION_TIME,
+						time(project.lastModificationTime())
+				);
+				table.putInt(offset + PROJECT_EXPERIMENTAL, project.experimental() ? 1 : 0);
+				table.putInt(offset + PROJECT_GAME_VERSION_STRINGS, list(gameVersionStrings));
+				table.putInt(offset + PROJECT_FILES, projectFiles);
+			}
+		}
+
+		private void writeFiles() {
+			final ByteBuffer table = table(FILES, files.size());
+
+			for (int record = 0; record < files.size(); record++) {
+				final CurseFile file = files.get(record);
+				final int offset = record * FILE_SIZE;
+				final List<Integer> dependencies = new ArrayList<>();
+
+				for (CurseDependency dependency : file.dependencies()) {
+					dependencies.add(dependency.projectID());
+					dependencies.add(dependency.type().id());
+				}
+
+				final List<Integer> gameVersionStrings = new ArrayList<>();
+
+				for (String versionString : file.gameVersionStrings()) {
+					gameVersionStrings.add(string(versionString));
+				}
+
+				table.putInt(offset + FILE_ID, file.id());
+				table.putInt(offset + FILE_PROJECT_ID, file.projectID());
+				table.putInt(offset + FILE_DISPLAY_NAME, string(file.displayName()));
+				table.putInt(offset + FILE_NAME_ON_DISK, string(file.nameOnDisk()));
+				table.putInt(offset + FILE_DOWNLOAD_URL, string(file.downloadURL()));
+				table.putLong(offset + FILE_UPLOAD_TIME, time(file.uploadTime()));
+				table.putLong(offset + FILE_LENGTH, file.fileSize());
+				table.putInt(offset + FILE_RELEASE_TYPE, file.releaseType().id());
+				table.putInt(offset + FILE_STATUS, file.status().id());
+				table.putInt(offset + FILE_ALTERNATE_FILE_ID, file.alternateFileID());
+				table.putInt(offset + FILE_DEPENDENCIES, list(dependencies));
+				table.putInt(offset + FILE_GAME_VERSION_STRINGS, list(gameVersionStrings));
+				table.putInt(offset + FILE_CHANGELOG, string(changelogs.get(record)));
+			}
+		}
+
+		private void writeGames() {
+			final ByteBuffer table = table(GAMES, games.size());
+			int record = 0;
+
+			for (ExportedGame exportedGame : games.values()) {
+				final CurseGame game = exportedGame.game;
+				final int offset = record++ * GAME_SIZE;
+				final List<Integer> sections = new ArrayList<>();
+
+				for (CurseCategorySection section : exportedGame.categorySections) {
+					sections.add(sectionRecords.get(section.id()));
+				}
+
+				int versions = NULL;
+
+				if (exportedGame.versionStrings != null) {
+					final List<Integer> versionRecords = new ArrayList<>();
+
+					for (String versionString : exportedGame.versionStrings) {
+						versionRecords.add(gameVersions.size());
+						gameVersions.add(versionString);
+						gameVersionGameIDs.add(game.id());
+					}
+
+					versions = list(versionRecords);
+				}
+
+				table.putInt(offset + GAME_ID, game.id());
+				table.putInt(offset + GAME_NAME, string(game.name()));
+				table.putInt(offset + GAME_SLUG, string(game.slug()));
+				table.putInt(offset + GAME_CATEGORY_SECTIONS, list(sections));
+				table.putInt(offset + GAME_VERSIONS_LIST, versions);
+			}
+		}
+
+		private void writeCategories() throws CurseException {
+			final ByteBuffer table = table(CATEGORIES, categories.size());
+			int record = 0;
+
+			for (CurseCategory category : categories.values()) {
+				final int offset = record++ * CATEGORY_SIZE;
+				table.putInt(offset + CATEGORY_ID, category.id());
+				table.putInt(offset + CATEGORY_GAME_ID, category.gameID());
+				table.putInt(offset + CATEGORY_SECTION_ID, category.sectionID());
+				table.putInt(offset + CATEGORY_NAME, string(category.name()));
+				table.putInt(offset + CATEGORY_SLUG, string(category.slug()));
+				table.putInt(offset + CATEGORY_URL, string(category.url()));
+				table.putInt(offset + CATEGORY_LOGO_URL, string(category.logoURL()));
+			}
+		}
+
+		private void writeCategorySections() {
+			final ByteBuffer table = table(CATEGORY_SECTIONS, categorySections.size());
+			final Map<Integer, List<Integer>> sectionCategories = new HashMap<>();
+
+			for (CurseCategory category : categories.values()) {
+				//All categories are only known for the category sections of exported games.
+				if (games.containsKey(category.gameID())) {
+					sectionCategories.
+							computeIfAbsent(category.sectionID(), id -> new ArrayList<>()).
+							add(categoryRecords.get(category.id()));
+				}
+			}
+
+			int record = 0;
+
+			for (CurseCategorySection section : categorySections.values()) {
+				final int offset = record++ * SECTION_SIZE;
+				final List<Integer> categories = games.containsKey(section.gameID()) ?
+						sectionCategories.getOrDefault(section.id(), Collections.emptyList()) :
+						null;
+
+				table.putInt(offset + SECTION_ID, section.id());
+				table.putInt(offset + SECTION_GAME_ID, section.gameID());
+				table.putInt(offset + SECTION_NAME, string(section.name()));
+				table.putInt(
+						offset + SECTION_CATEGORIES, categories == null ? NULL : list(categories)
+				);
+			}
+		}
+
+		private void writeGameVersions() {
+			final ByteBuffer table = table(GAME_VERSIONS, gameVersions.size());
+
+			for (int record = 0; record < gameVersions.size(); record++) {
+				final int offset = record * GAME_VERSION_SIZE;
+				table.putInt(offset + GAME_VERSION_GAME_ID, gameVersionGameIDs.get(record));
+				table.putInt(
+						offset + GAME_VERSION_VERSION_STRING, string(gameVersions.get(record))
+				);
+			}
+		}
+
+		private void writeMembers() {
+			final ByteBuffer table = table(MEMBERS, members.size());
+			int record = 0;
+
+			for (CurseMember member : members.values()) {
+				final int offset = record++ * MEMBER_SIZE;
+				table.putInt(offset + MEMBER_ID, member.id());
+				table.putInt(offset + MEMBER_NAME, string(member.name()));
+				table.putInt(offset + MEMBER_URL, string(member.url()));
+			}
+		}
+
+		private void writeAttachments() throws CurseException {
+			final ByteBuffer table = table(ATTACHMENTS, attachments.size());
+			int record = 0;
+
+			for (CurseAttachment attachment : attachments.values()) {
+				final int offset = record++ * ATTACHMENT_SIZE;
+				final Element description = attachment.description();
+
+				table.putInt(offset + ATTACHMENT_ID, attachment.id());
+				table.putInt(offset + ATTACHMENT_TITLE, string(attachment.title()));
+				table.putInt(
+						offset + ATTACHMENT_DESCRIPTION,
+						string(JsoupUtils.isEmpty(description) ? "" : description.outerHtml())
+				);
+				table.putInt(offset + ATTACHMENT_URL, string(attachment.url()));
+				table.putInt(offset + ATTACHMENT_THUMBNAIL_URL, string(attachment.thumbnailURL()));
+			}
+		}
+
+		private List<ByteBuffer> layOut() throws CurseException {
+			final List<ByteBuffer> blocks = new ArrayList<>();
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			blocks.add(header);
+			long offset = HEADER_SIZE;
+
+			header.putInt(HEADER_MAGIC, MAGIC);
+			header.putInt(HEADER_VERSION, VERSION);
+			header.putLong(HEADER_EXPORT_TIME, time(ZonedDateTime.now()));
+
+			for (int table = 0; table < TABLE_COUNT; table++) {
+				final int entry = HEADER_TABLES + table * TABLE_ENTRY_SIZE;
+				final int recordCount = tables[table].capacity() / recordSize(table);
+				//Only tables whose records are looked up by ID are indexed.
+				final ByteBuffer index = table == GAME_VERSIONS || table == MEMBERS ||
+						table == ATTACHMENTS ? ByteBuffer.allocate(0) : index(table, recordCount);
+
+				header.putInt(entry + TABLE_RECORDS_OFFSET, (int) offset);
+				header.putInt(entry + TABLE_RECORD_COUNT, recordCount);
+				blocks.add(tables[table]);
+				offset += tables[table].capacity();
+
+				header.putInt(entry + TABLE_INDEX_OFFSET, (int) offset);
+				header.putInt(entry + TABLE_INDEX_CAPACITY, index.capacity() / 4);
+				blocks.add(index);
+				offset += index.capacity();
+
+				checkSize(offset);
+			}
+
+			header.putInt(HEADER_LISTS_OFFSET, (int) offset);
+			header.putInt(HEADER_LISTS_SIZE, listBytes.size());
+			blocks.add(ByteBuffer.wrap(listBytes.toByteArray()));
+			offset += listBytes.size();
+			checkSize(offset);
+
+			header.putInt(HEADER_STRINGS_OFFSET, (int) offset);
+			header.putInt(HEADER_STRINGS_SIZE, stringBytes.size());
+			blocks.add(ByteBuffer.wrap(stringBytes.toByteArray()));
+			checkSize(offset + stringBytes.size());
+
+			return blocks;
+		}
+
+		private ByteBuffer table(int table, int recordCount) {
+			tables[table] = ByteBuffer.allocate(recordCount * recordSize(table));
+			return tables[table];
+		}
+
+		private ByteBuffer index(int table, int recordCount) {
+			final int capacity = indexCapacity(recordCount);
+			final ByteBuffer index = ByteBuffer.allocate(capacity * 4);
+			final int recordSize = recordSize(table);
+
+			for (int record = 0; record < recordCount; record++) {
+				//The ID is always the first field.
+				final int id = tables[table].getInt(record * recordSize);
+				int slot = indexSlot(id, capacity);
+
+				while (index.getInt(slot * 4) != 0) {
+					slot = (slot + 1) & (capacity - 1);
+				}
+
+				index.putInt(slot * 4, record + 1);
+			}
+
+			return index;
+		}
+
+		private int member(CurseMember member) {
+			return memberRecords.computeIfAbsent(member.id(), id -> {
+				members.put(id, member);
+				return memberRecords.size();
+			});
+		}
+
+		private int attachment(CurseAttachment attachment) {
+			return attachmentRecords.computeIfAbsent(attachment.id(), id -> {
+				attachments.put(id, attachment);
+				return attachmentRecords.size();
+			});
+		}
+
+		private int list(List<Integer> elements) {
+			final int reference = listBytes.size();
+
+			try {
+				lists.writeInt(elements.size());
+
+				for (int element : elements) {
+					lists.writeInt(element);
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+
+			return reference;
+		}
+
+		private int string(@Nullable HttpUrl url) {
+			return string(url == null ? null : url.toString());
+		}
+
+		private int string(@Nullable String string) {
+			if (string == null) {
+				return NULL;
+			}
+
+			return stringReferences.computeIfAbsent(string, key -> {
+				final int reference = stringBytes.size();
+				final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+
+				try {
+					strings.writeInt(bytes.length);
+					strings.write(bytes);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+
+				return reference;
+			});
+		}
+
+		private long time(ZonedDateTime time) {
+			return time.toInstant().toEpochMilli();
+		}
+
+		private void checkSize(long size) throws CurseException {
+			if (size > Integer.MAX_VALUE) {
+				throw new CurseException("Snapshot is too large to be memory-mapped: " + size);
+			}
+		}
+	}
+}
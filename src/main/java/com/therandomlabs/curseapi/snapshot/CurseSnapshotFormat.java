@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+//The layout of a snapshot file. All values are big-endian.
+//
+//The header contains the magic number, the format version, the export time in milliseconds
+//since the epoch, then a directory entry for each table and the offsets and sizes of the list
+//and string blocks.
+//
+//Each table contains fixed-width records. Keyed tables also have an open addressing hash index
+//that maps the ID stored in the first field of each record to the record's index plus one,
+//so that records can be found in constant time without reading any other records.
+//
+//References to other records are record indices, references to lists are byte offsets in the
+//list block and references to strings are byte offsets in the string block. Absent references
+//are stored as NULL. Lists are stored as an int count followed by that many ints, and strings
+//are stored as an int length followed by that many bytes of UTF-8.
+final class CurseSnapshotFormat {
+	static final int MAGIC = 0x43534E50;
+	static final int VERSION = 1;
+	static final int NULL = -1;
+
+	static final int HEADER_MAGIC = 0;
+	static final int HEADER_VERSION = 4;
+	static final int HEADER_EXPORT_TIME = 8;
+	static final int HEADER_TABLES = 16;
+
+	//Each table directory entry contains the records offset, the record count, the index offset
+	//and the index capacity. Tables without an index have an index capacity of zero.
+	static final int TABLE_RECORDS_OFFSET = 0;
+	static final int TABLE_RECORD_COUNT = 4;
+	static final int TABLE_INDEX_OFFSET = 8;
+	static final int TABLE_INDEX_CAPACITY = 12;
+	static final int TABLE_ENTRY_SIZE = 16;
+
+	static final int PROJECTS = 0;
+	static final int FILES = 1;
+	static final int GAMES = 2;
+	static final int CATEGORIES = 3;
+	static final int CATEGORY_SECTIONS = 4;
+	static final int GAME_VERSIONS = 5;
+	static final int MEMBERS = 6;
+	static final int ATTACHMENTS = 7;
+	static final int TABLE_COUNT = 8;
+
+	static final int HEADER_LISTS_OFFSET = HEADER_TABLES + TABLE_COUNT * TABLE_ENTRY_SIZE;
+	static final int HEADER_LISTS_SIZE = HEADER_LISTS_OFFSET + 4;
+	static final int HEADER_STRINGS_OFFSET = HEADER_LISTS_SIZE + 4;
+	static final int HEADER_STRINGS_SIZE = HEADER_STRINGS_OFFSET + 4;
+	static final int HEADER_SIZE = HEADER_STRINGS_SIZE + 4;
+
+	static final int PROJECT_ID = 0;
+	static final int PROJECT_NAME = 4;
+	static final int PROJECT_AUTHOR = 8;
+	//A list of member records.
+	static final int PROJECT_AUTHORS = 12;
+	//A list of attachment records, not including the logo.
+	static final int PROJECT_ATTACHMENTS = 16;
+	static final int PROJECT_LOGO = 20;
+	static final int PROJECT_URL = 24;
+	static final int PROJECT_GAME_ID = 28;
+	static final int PROJECT_SUMMARY = 32;
+	static final int PROJECT_DESCRIPTION = 36;
+	static final int PROJECT_DOWNLOAD_COUNT = 40;
+	static final int PROJECT_PRIMARY_CATEGORY = 44;
+	//A list of category records.
+	static final int PROJECT_CATEGORIES = 48;
+	static final int PROJECT_CATEGORY_SECTION = 52;
+	static final int PROJECT_SLUG = 56;
+	static final int PROJECT_CREATION_TIME = 60;
+	static final int PROJECT_LAST_UPDATE_TIME = 68;
+	static final int PROJECT_MODIFICATION_TIME = 76;
+	static final int PROJECT_EXPERIMENTAL = 84;
+	//A list of strings.
+	static final int PROJECT_GAME_VERSION_STRINGS = 88;
+	//A list of file records.
+	static final int PROJECT_FILES = 92;
+	static final int PROJECT_SIZE = 96;
+
+	static final int FILE_ID = 0;
+	static final int FILE_PROJECT_ID = 4;
+	static final int FILE_DISPLAY_NAME = 8;
+	static final int FILE_NAME_ON_DISK = 12;
+	static final int FILE_DOWNLOAD_URL = 16;
+	static final int FILE_UPLOAD_TIME = 20;
+	static final int FILE_LENGTH = 28;
+	static final int FILE_RELEASE_TYPE = 36;
+	static final int FILE_STATUS = 40;
+	static final int FILE_ALTERNATE_FILE_ID = 44;
+	//A list of project ID and dependency type ID pairs.
+	static final int FILE_DEPENDENCIES = 48;
+	//A list of strings.
+	static final int FILE_GAME_VERSION_STRINGS = 52;
+	static final int FILE_CHANGELOG = 56;
+	static final int FILE_SIZE = 60;
+
+	static final int GAME_ID = 0;
+	static final int GAME_NAME = 4;
+	static final int GAME_SLUG = 8;
+	//A list of category section records.
+	static final int GAME_CATEGORY_SECTIONS = 12;
+	//A list of game version records in ascending order.
+	static final int GAME_VERSIONS_LIST = 16;
+	static final int GAME_SIZE = 20;
+
+	static final int CATEGORY_ID = 0;
+	static final int CATEGORY_GAME_ID = 4;
+	static final int CATEGORY_SECTION_ID = 8;
+	static final int CATEGORY_NAME = 12;
+	static final int CATEGORY_SLUG = 16;
+	static final int CATEGORY_URL = 20;
+	static final int CATEGORY_LOGO_URL = 24;
+	static final int CATEGORY_SIZE = 28;
+
+	static final int SECTION_ID = 0;
+	static final int SECTION_GAME_ID = 4;
+	static final int SECTION_NAME = 8;
+	//A list of category records.
+	static final int SECTION_CATEGORIES = 12;
+	static final int SECTION_SIZE = 16;
+
+	static final int GAME_VERSION_GAME_ID = 0;
+	static final int GAME_VERSION_VERSION_STRING = 4;
+	static final int GAME_VERSION_SIZE = 8;
+
+	static final int MEMBER_ID = 0;
+	static final int MEMBER_NAME = 4;
+	static final int MEMBER_URL = 8;
+	static final int MEMBER_SIZE = 12;
+
+	static final int ATTACHMENT_ID = 0;
+	static final int ATTACHMENT_TITLE = 4;
+	static final int ATTACHMENT_DESCRIPTION = 8;
+	static final int ATTACHMENT_URL = 12;
+	static final int ATTACHMENT_THUMBNAIL_URL = 16;
+	static final int ATTACHMENT_SIZE = 20;
+
+	private static final int[] RECORD_SIZES = {
+			PROJECT_SIZE, FILE_SIZE, GAME_SIZE, CATEGORY_SIZE, SECTION_SIZE,
+			GAME_VERSION_SIZE, MEMBER_SIZE, ATTACHMENT_SIZE
+	};
+
+	private CurseSnapshotFormat() {}
+
+	static int recordSize(int table) {
+		return RECORD_SIZES[table];
+	}
+
+	//Index capacities are powers of two so that slots can be computed with a mask.
+	static int indexCapacity(int recordCount) {
+		return recordCount == 0 ? 0 : Integer.highestOneBit(recordCount * 2 - 1) << 1;
+	}
+
+	static int indexSlot(int id, int capacity) {
+		final int hash = id * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & (capacity - 1);
+	}
+}
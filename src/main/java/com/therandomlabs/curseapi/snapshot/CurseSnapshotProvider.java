@@ -0,0 +1,599 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SECTIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_CHANGELOG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DOWNLOAD_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_PROJECT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAMES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSIONS_LIST;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_VERSION_STRING;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_EXPORT_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_LISTS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_LISTS_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_MAGIC;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_STRINGS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_STRINGS_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_TABLES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.HEADER_VERSION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MAGIC;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.NULL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_DESCRIPTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_FILES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_ENTRY_SIZE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_INDEX_CAPACITY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_INDEX_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_RECORDS_OFFSET;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.TABLE_RECORD_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.VERSION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.indexSlot;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.recordSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseAPIOperation;
+import com.therandomlabs.curseapi.CurseAPIProvider;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.game.CurseGameVersion;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.JsoupUtils;
+import okhttp3.HttpUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsoup.nodes.Element;
+
+/**
+ * A {@link CurseAPIProvider} that serves CurseForge data from a snapshot file written by
+ * {@link CurseSnapshotExporter}, so that requests can be served without a network connection.
+ * <p>
+ * Snapshot files consist of fixed-width records and a string table, and they are
+ * memory-mapped rather than read, so a {@link CurseSnapshotProvider} is created in constant
+ * time regardless of the size of its snapshot file. Projects, files, games and categories are
+ * looked up by ID in constant time using hash indices stored in the snapshot file, and the
+ * returned objects only decode their fields from the mapped records when they are accessed.
+ * <p>
+ * Data that is not in the snapshot file falls back to the next {@link CurseAPIProvider}.
+ * Project descriptions and file changelogs are only served if they were exported, and
+ * {@link CurseGameVersion}s are served without their {@link CurseGameVersion#versionGroup()}s.
+ * {@link CurseAPIOperation#SEARCH_PROJECTS} is not supported, although
+ * {@link com.therandomlabs.curseapi.project.CurseProjectIndex} may be used to search exported
+ * projects. This class is thread-safe.
+ *
+ * @see com.therandomlabs.curseapi.CurseAPI#addProvider(CurseAPIProvider, boolean)
+ */
+public final class CurseSnapshotProvider implements CurseAPIProvider {
+	private final Path path;
+	private final ByteBuffer buffer;
+	private final ZonedDateTime exportTime;
+
+	private final int[] recordsOffsets = new int[TABLE_COUNT];
+	private final int[] recordCounts = new int[TABLE_COUNT];
+	private final int[] indexOffsets = new int[TABLE_COUNT];
+	private final int[] indexCapacities = new int[TABLE_COUNT];
+	private final int listsOffset;
+	private final int stringsOffset;
+
+	/**
+	 * Constructs a {@link CurseSnapshotProvider} that serves data from the specified
+	 * snapshot file.
+	 *
+	 * @param path the path to a snapshot file written by {@link CurseSnapshotExporter}.
+	 * @throws CurseException if the snapshot file cannot be read or is not a valid
+	 * snapshot file.
+	 */
+	public CurseSnapshotProvider(Path path) throws CurseException {
+		Preconditions.checkNotNull(path, "path should not be null");
+		this.path = path;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+				throw new CurseException("Invalid snapshot file size: " + path);
+			}
+
+			//The mapping remains valid after the channel is closed.
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to read snapshot: " + path, ex);
+		}
+
+		if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+			throw new CurseException("Not a snapshot file: " + path);
+		}
+
+		final int version = buffer.getInt(HEADER_VERSION);
+
+		if (version != VERSION) {
+			throw new CurseException("Unsupported snapshot version " + version + ": " + path);
+		}
+
+		exportTime = time(buffer.getLong(HEADER_EXPORT_TIME));
+
+		for (int table = 0; table < TABLE_COUNT; table++) {
+			final int entry = HEADER_TABLES + table * TABLE_ENTRY_SIZE;
+			recordsOffsets[table] = buffer.getInt(entry + TABLE_RECORDS_OFFSET);
+			recordCounts[table] = buffer.getInt(entry + TABLE_RECORD_COUNT);
+			indexOffsets[table] = buffer.getInt(entry + TABLE_INDEX_OFFSET);
+			indexCapacities[table] = buffer.getInt(entry + TABLE_INDEX_CAPACITY);
+			checkBlock(
+					recordsOffsets[table], (long) recordCounts[table] * recordSize(table)
+			);
+			checkBlock(indexOffsets[table], indexCapacities[table] * 4L);
+
+			//Lookups rely on index capacities being powers of two with at least one empty slot.
+			final int capacity = indexCapacities[table];
+
+			if (capacity != 0 && (Integer.bitCount(capacity) != 1 ||
+					capacity <= recordCounts[table])) {
+				throw new CurseException("Corrupt snapshot file: " + path);
+			}
+		}
+
+		listsOffset = buffer.getInt(HEADER_LISTS_OFFSET);
+		checkBlock(listsOffset, buffer.getInt(HEADER_LISTS_SIZE));
+		stringsOffset = buffer.getInt(HEADER_STRINGS_OFFSET);
+		checkBlock(stringsOffset, buffer.getInt(HEADER_STRINGS_SIZE));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("path", path).
+				add("exportTime", exportTime).
+				toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This returns all {@link CurseAPIOperation}s except
+	 * {@link CurseAPIOperation#SEARCH_PROJECTS}.
+	 */
+	@Override
+	public Set<CurseAPIOperation> operations() {
+		return EnumSet.complementOf(EnumSet.of(CurseAPIOperation.SEARCH_PROJECTS));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseProject project(int id) {
+		final int record = find(PROJECTS, id);
+		return record == NULL ? null : new SnapshotProject(this, record);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public Element projectDescription(int id) {
+		final String description = projectDescriptionHTML(id);
+		return description == null ? null : JsoupUtils.parseBody(description);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public String projectDescriptionHTML(int id) {
+		final int record = find(PROJECTS, id);
+		return record == NULL ? null : string(PROJECTS, record, PROJECT_DESCRIPTION);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseFiles<CurseFile> files(int projectID) {
+		final int record = find(PROJECTS, projectID);
+		return record == NULL ? null : files(new SnapshotProject(this, record));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseFile file(int projectID, int fileID) {
+		final int record = fileRecord(projectID, fileID);
+		return record == NULL ? null : new SnapshotFile(this, record, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public Element fileChangelog(int projectID, int fileID) {
+		final String changelog = fileChangelogHTML(projectID, fileID);
+		return changelog == null ? null : JsoupUtils.parseBody(changelog);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public String fileChangelogHTML(int projectID, int fileID) {
+		final int record = fileRecord(projectID, fileID);
+		return record == NULL ? null : string(FILES, record, FILE_CHANGELOG);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public HttpUrl fileDownloadURL(int projectID, int fileID) {
+		final int record = fileRecord(projectID, fileID);
+		return record == NULL ? null : url(FILES, record, FILE_DOWNLOAD_URL);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public Set<CurseGame> games() {
+		final int count = recordCounts[GAMES];
+
+		if (count == 0) {
+			return null;
+		}
+
+		final Set<CurseGame> games = new HashSet<>(count * 2);
+
+		for (int record = 0; record < count; record++) {
+			games.add(new SnapshotGame(this, record));
+		}
+
+		return games;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseGame game(int id) {
+		final int record = find(GAMES, id);
+		return record == NULL ? null : new SnapshotGame(this, record);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public SortedSet<? extends CurseGameVersion<?>> gameVersions(int gameID) {
+		final int record = find(GAMES, gameID);
+
+		if (record == NULL) {
+			return null;
+		}
+
+		final int[] versions = list(GAMES, record, GAME_VERSIONS_LIST);
+
+		if (versions == null) {
+			return null;
+		}
+
+		final SortedSet<SnapshotGameVersion> gameVersions = new TreeSet<>();
+
+		for (int version : versions) {
+			gameVersions.add(new SnapshotGameVersion(this, version));
+		}
+
+		return gameVersions;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseGameVersion<?> gameVersion(int gameID, String versionString) {
+		final int record = find(GAMES, gameID);
+
+		if (record == NULL) {
+			return null;
+		}
+
+		final int[] versions = list(GAMES, record, GAME_VERSIONS_LIST);
+
+		if (versions == null) {
+			return null;
+		}
+
+		final byte[] bytes = versionString.getBytes(StandardCharsets.UTF_8);
+
+		for (int version : versions) {
+			if (stringEquals(GAME_VERSIONS, version, GAME_VERSION_VERSION_STRING, bytes)) {
+				return new SnapshotGameVersion(this, version);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public Set<CurseCategory> categories() {
+		if (recordCounts[GAMES] == 0) {
+			return null;
+		}
+
+		//Categories of projects whose games were not exported are also stored, but they are
+		//not returned here as the other categories of their games are not stored.
+		final Set<CurseCategory> categories = new HashSet<>();
+
+		for (int record = 0; record < recordCounts[CATEGORIES]; record++) {
+			if (find(GAMES, getInt(CATEGORIES, record, CATEGORY_GAME_ID)) != NULL) {
+				categories.add(new SnapshotCategory(this, record));
+			}
+		}
+
+		return categories;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public Set<CurseCategory> categories(int sectionID) {
+		final int record = find(CATEGORY_SECTIONS, sectionID);
+		return record == NULL ? null : sectionCategories(record);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Nullable
+	@Override
+	public CurseCategory category(int id) {
+		final int record = find(CATEGORIES, id);
+		return record == NULL ? null : new SnapshotCategory(this, record);
+	}
+
+	/**
+	 * Returns the path to the snapshot file that this {@link CurseSnapshotProvider} serves
+	 * data from.
+	 *
+	 * @return the path to the snapshot file.
+	 */
+	public Path path() {
+		return path;
+	}
+
+	/**
+	 * Returns the time at which the snapshot file was exported.
+	 *
+	 * @return the time at which the snapshot file was exported.
+	 */
+	public ZonedDateTime exportTime() {
+		return exportTime;
+	}
+
+	//Returns the index of the record in the specified table with the specified ID,
+	//or NULL if it does not exist.
+	int find(int table, int id) {
+		final int capacity = indexCapacities[table];
+
+		if (capacity == 0) {
+			return NULL;
+		}
+
+		for (int slot = indexSlot(id, capacity); ; slot = (slot + 1) & (capacity - 1)) {
+			final int record = buffer.getInt(indexOffsets[table] + slot * 4) - 1;
+
+			if (record == NULL || getInt(table, record, 0) == id) {
+				return record;
+			}
+		}
+	}
+
+	int getInt(int table, int record, int field) {
+		return buffer.getInt(recordsOffsets[table] + record * recordSize(table) + field);
+	}
+
+	long getLong(int table, int record, int field) {
+		return buffer.getLong(recordsOffsets[table] + record * recordSize(table) + field);
+	}
+
+	ZonedDateTime getTime(int table, int record, int field) {
+		return time(getLong(table, record, field));
+	}
+
+	@Nullable
+	String string(int table, int record, int field) {
+		final int reference = getInt(table, record, field);
+		return reference == NULL ? null : string(reference);
+	}
+
+	Set<String> stringSet(int table, int record, int field) {
+		final int[] references = list(table, record, field);
+		final Set<String> strings = new LinkedHashSet<>();
+
+		if (references != null) {
+			for (int reference : references) {
+				strings.add(string(reference));
+			}
+		}
+
+		return strings;
+	}
+
+	@Nullable
+	HttpUrl url(int table, int record, int field) {
+		final String url = string(table, record, field);
+		return url == null ? null : HttpUrl.get(url);
+	}
+
+	@Nullable
+	int[] list(int table, int record, int field) {
+		final int reference = getInt(table, record, field);
+
+		if (reference == NULL) {
+			return null;
+		}
+
+		final int offset = listsOffset + reference;
+		final int[] list = new int[buffer.getInt(offset)];
+
+		for (int i = 0; i < list.length; i++) {
+			list[i] = buffer.getInt(offset + 4 + i * 4);
+		}
+
+		return list;
+	}
+
+	@Nullable
+	CurseFiles<CurseFile> files(SnapshotProject project) {
+		final int[] files = list(PROJECTS, project.record(), PROJECT_FILES);
+
+		if (files == null) {
+			return null;
+		}
+
+		final CurseFiles<CurseFile> curseFiles = new CurseFiles<>();
+
+		for (int file : files) {
+			curseFiles.add(new SnapshotFile(this, file, project));
+		}
+
+		return curseFiles;
+	}
+
+	@Nullable
+	Set<CurseCategory> categories(SnapshotCategorySection section) {
+		return sectionCategories(section.record());
+	}
+
+	@Nullable
+	private Set<CurseCategory> sectionCategories(int sectionRecord) {
+		final int[] records = list(CATEGORY_SECTIONS, sectionRecord, SECTION_CATEGORIES);
+
+		if (records == null) {
+			return null;
+		}
+
+		final Set<CurseCategory> categories = new HashSet<>(records.length * 2);
+
+		for (int record : records) {
+			categories.add(new SnapshotCategory(this, record));
+		}
+
+		return categories;
+	}
+
+	private int fileRecord(int projectID, int fileID) {
+		final int record = find(FILES, fileID);
+		return record == NULL || getInt(FILES, record, FILE_PROJECT_ID) != projectID ?
+				NULL : record;
+	}
+
+	private String string(int reference) {
+		//Absolute bulk gets are not available in Java 8, so a duplicate is used to avoid
+		//modifying the position of the shared buffer.
+		final ByteBuffer duplicate = buffer.duplicate();
+		duplicate.position(stringsOffset + reference);
+		final byte[] bytes = new byte[duplicate.getInt()];
+		duplicate.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	//Compares the stored string with the specified UTF-8 bytes without decoding it.
+	private boolean stringEquals(int table, int record, int field, byte[] bytes) {
+		final int reference = getInt(table, record, field);
+
+		if (reference == NULL) {
+			return false;
+		}
+
+		final int offset = stringsOffset + reference;
+
+		if (buffer.getInt(offset) != bytes.length) {
+			return false;
+		}
+
+		for (int i = 0; i < bytes.length; i++) {
+			if (buffer.get(offset + 4 + i) != bytes[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void checkBlock(int offset, long size) throws CurseException {
+		if (offset < 0 || size < 0 || offset + size > buffer.capacity()) {
+			throw new CurseException("Corrupt snapshot file: " + path);
+		}
+	}
+
+	private static ZonedDateTime time(long epochMilli) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_DESCRIPTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_THUMBNAIL_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_TITLE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.ATTACHMENT_URL;
+
+import com.therandomlabs.curseapi.project.CurseAttachment;
+import com.therandomlabs.curseapi.util.JsoupUtils;
+import okhttp3.HttpUrl;
+import org.jsoup.nodes.Element;
+
+final class SnapshotAttachment extends CurseAttachment {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+
+	SnapshotAttachment(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+	}
+
+	@Override
+	public int id() {
+		return snapshot.getInt(ATTACHMENTS, record, ATTACHMENT_ID);
+	}
+
+	@Override
+	public String title() {
+		return snapshot.string(ATTACHMENTS, record, ATTACHMENT_TITLE);
+	}
+
+	@Override
+	public Element description() {
+		return JsoupUtils.parseBody(
+				snapshot.string(ATTACHMENTS, record, ATTACHMENT_DESCRIPTION)
+		);
+	}
+
+	@Override
+	public HttpUrl url() {
+		return snapshot.url(ATTACHMENTS, record, ATTACHMENT_URL);
+	}
+
+	@Override
+	public HttpUrl thumbnailURL() {
+		return snapshot.url(ATTACHMENTS, record, ATTACHMENT_THUMBNAIL_URL);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_LOGO_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SECTION_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SLUG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_URL;
+
+import java.util.Optional;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseGame;
+import okhttp3.HttpUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+//NullAway does not yet support DefaultQualifier, so we have to use SuppressWarning.
+@SuppressWarnings("NullAway")
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+final class SnapshotCategory extends CurseCategory {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+
+	//Cache.
+	private transient CurseGame game;
+
+	SnapshotCategory(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+	}
+
+	@Override
+	public int gameID() {
+		return snapshot.getInt(CATEGORIES, record, CATEGORY_GAME_ID);
+	}
+
+	@Override
+	public CurseGame game() throws CurseException {
+		if (game == null) {
+			final Optional<CurseGame> optionalGame = CurseAPI.game(gameID());
+
+			if (!optionalGame.isPresent()) {
+				throw new CurseException("Could not retrieve game for category: " + this);
+			}
+
+			game = optionalGame.get();
+		}
+
+		return game;
+	}
+
+	@Override
+	public void clearGameCache() {
+		game = null;
+	}
+
+	@Override
+	public int sectionID() {
+		return snapshot.getInt(CATEGORIES, record, CATEGORY_SECTION_ID);
+	}
+
+	@Override
+	public int id() {
+		return snapshot.getInt(CATEGORIES, record, CATEGORY_ID);
+	}
+
+	@Override
+	public String name() {
+		return snapshot.string(CATEGORIES, record, CATEGORY_NAME);
+	}
+
+	@Override
+	public String slug() {
+		return snapshot.string(CATEGORIES, record, CATEGORY_SLUG);
+	}
+
+	@Override
+	public HttpUrl url() {
+		return snapshot.url(CATEGORIES, record, CATEGORY_URL);
+	}
+
+	@Override
+	public HttpUrl logoURL() {
+		return snapshot.url(CATEGORIES, record, CATEGORY_LOGO_URL);
+	}
+}
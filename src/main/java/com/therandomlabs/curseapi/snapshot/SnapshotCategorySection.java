@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.CATEGORY_SECTIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.SECTION_NAME;
+
+import java.util.Optional;
+import java.util.Set;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseCategorySection;
+import com.therandomlabs.curseapi.game.CurseGame;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+//NullAway does not yet support DefaultQualifier, so we have to use SuppressWarning.
+@SuppressWarnings("NullAway")
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+final class SnapshotCategorySection extends CurseCategorySection {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+
+	//Cache.
+	private transient CurseGame game;
+	private transient Set<CurseCategory> categories;
+	private transient CurseCategory category;
+
+	SnapshotCategorySection(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+	}
+
+	@Override
+	public int gameID() {
+		return snapshot.getInt(CATEGORY_SECTIONS, record, SECTION_GAME_ID);
+	}
+
+	@Override
+	public CurseGame game() throws CurseException {
+		if (game == null) {
+			final Optional<CurseGame> optionalGame = CurseAPI.game(gameID());
+
+			if (!optionalGame.isPresent()) {
+				throw new CurseException("Could not retrieve game for category section: " + this);
+			}
+
+			game = optionalGame.get();
+		}
+
+		return game;
+	}
+
+	@Override
+	public void clearGameCache() {
+		game = null;
+	}
+
+	@Override
+	public int id() {
+		return snapshot.getInt(CATEGORY_SECTIONS, record, SECTION_ID);
+	}
+
+	@Override
+	public String name() {
+		return snapshot.string(CATEGORY_SECTIONS, record, SECTION_NAME);
+	}
+
+	@Override
+	public Set<CurseCategory> categories() throws CurseException {
+		if (categories == null) {
+			//The categories are only exported if the game of this category section was.
+			categories = snapshot.categories(this);
+
+			if (categories == null) {
+				categories = CurseAPI.categories(id()).orElse(null);
+			}
+
+			if (categories == null) {
+				throw new CurseException(
+						"Failed to retrieve categories in category section: " + this
+				);
+			}
+		}
+
+		return categories;
+	}
+
+	@Override
+	public void clearCategoriesCache() {
+		categories = null;
+	}
+
+	@Override
+	public CurseCategory asCategory() throws CurseException {
+		if (category == null) {
+			category = CurseAPI.category(id()).orElse(null);
+
+			if (category == null) {
+				throw new CurseException(
+						"Failed to retrieve category section as category: " + this
+				);
+			}
+		}
+
+		return category;
+	}
+
+	@Override
+	public void clearAsCategoryCache() {
+		category = null;
+	}
+
+	int record() {
+		return record;
+	}
+}
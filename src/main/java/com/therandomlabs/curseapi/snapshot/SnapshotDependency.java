@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseDependency;
+import com.therandomlabs.curseapi.file.CurseDependencyType;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.project.CurseProject;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+//NullAway does not yet support DefaultQualifier, so we have to use SuppressWarning.
+@SuppressWarnings("NullAway")
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+final class SnapshotDependency extends CurseDependency {
+	private final int projectID;
+	private final CurseDependencyType type;
+	private final CurseFile dependent;
+
+	//Cache.
+	private transient CurseProject project;
+
+	SnapshotDependency(int projectID, CurseDependencyType type, CurseFile dependent) {
+		this.projectID = projectID;
+		this.type = type;
+		this.dependent = dependent;
+	}
+
+	@Override
+	public int projectID() {
+		return projectID;
+	}
+
+	@Override
+	public CurseProject project() throws CurseException {
+		if (project == null) {
+			project = CurseAPI.project(projectID).orElse(null);
+		}
+
+		return project;
+	}
+
+	@Override
+	public void clearProjectCache() {
+		project = null;
+	}
+
+	@Override
+	public CurseFile dependent() {
+		return dependent;
+	}
+
+	@Override
+	public CurseDependencyType type() {
+		return type;
+	}
+}
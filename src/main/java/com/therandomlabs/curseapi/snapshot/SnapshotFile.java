@@ -0,0 +1,231 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_ALTERNATE_FILE_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DEPENDENCIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DISPLAY_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_DOWNLOAD_URL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_GAME_VERSION_STRINGS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_LENGTH;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_NAME_ON_DISK;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_PROJECT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_RELEASE_TYPE;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_STATUS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.FILE_UPLOAD_TIME;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseAlternateFile;
+import com.therandomlabs.curseapi.file.CurseDependency;
+import com.therandomlabs.curseapi.file.CurseDependencyType;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFileStatus;
+import com.therandomlabs.curseapi.file.CurseReleaseType;
+import com.therandomlabs.curseapi.game.CurseGameVersion;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.LazyElement;
+import okhttp3.HttpUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+import org.jsoup.nodes.Element;
+
+//NullAway does not yet support DefaultQualifier, so we have to use SuppressWarning.
+@SuppressWarnings("NullAway")
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+final class SnapshotFile extends CurseFile {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+	private final int projectID;
+	private final int id;
+
+	//Cache.
+	private transient CurseProject project;
+	private transient SortedSet<CurseGameVersion<?>> gameVersions;
+	private transient LazyElement changelog;
+
+	SnapshotFile(CurseSnapshotProvider snapshot, int record, @Nullable CurseProject project) {
+		this.snapshot = snapshot;
+		this.record = record;
+		projectID = snapshot.getInt(FILES, record, FILE_PROJECT_ID);
+		id = snapshot.getInt(FILES, record, FILE_ID);
+		this.project = project;
+	}
+
+	@Override
+	public int projectID() {
+		return projectID;
+	}
+
+	@SuppressWarnings("Duplicates")
+	@Override
+	public CurseProject project() throws CurseException {
+		if (project == null) {
+			final Optional<CurseProject> optionalProject = CurseAPI.project(projectID);
+
+			if (!optionalProject.isPresent()) {
+				throw new CurseException("Failed to retrieve CurseProject: " + this);
+			}
+
+			project = optionalProject.get();
+		}
+
+		return project;
+	}
+
+	@Override
+	public void clearProjectCache() {
+		project = null;
+	}
+
+	@Override
+	public int id() {
+		return id;
+	}
+
+	@Override
+	public String displayName() {
+		return snapshot.string(FILES, record, FILE_DISPLAY_NAME);
+	}
+
+	@Override
+	public String nameOnDisk() {
+		return snapshot.string(FILES, record, FILE_NAME_ON_DISK);
+	}
+
+	@Override
+	public ZonedDateTime uploadTime() {
+		return snapshot.getTime(FILES, record, FILE_UPLOAD_TIME);
+	}
+
+	@Override
+	public long fileSize() {
+		return snapshot.getLong(FILES, record, FILE_LENGTH);
+	}
+
+	@Override
+	public CurseReleaseType releaseType() {
+		return CurseReleaseType.fromID(snapshot.getInt(FILES, record, FILE_RELEASE_TYPE));
+	}
+
+	@Override
+	public CurseFileStatus status() {
+		return CurseFileStatus.fromID(snapshot.getInt(FILES, record, FILE_STATUS));
+	}
+
+	@Override
+	public HttpUrl downloadURL() {
+		return snapshot.url(FILES, record, FILE_DOWNLOAD_URL);
+	}
+
+	@Override
+	public int alternateFileID() {
+		return snapshot.getInt(FILES, record, FILE_ALTERNATE_FILE_ID);
+	}
+
+	@Override
+	public CurseAlternateFile alternateFile() {
+		return hasAlternateFile() ? new SnapshotAlternateFile(this, project) : null;
+	}
+
+	@Override
+	public Set<CurseDependency> dependencies() {
+		//The dependencies are stored as pairs of project IDs and dependency type IDs.
+		final int[] dependencies = snapshot.list(FILES, record, FILE_DEPENDENCIES);
+		final Set<CurseDependency> curseDependencies = new HashSet<>();
+
+		for (int i = 0; i < dependencies.length; i += 2) {
+			curseDependencies.add(new SnapshotDependency(
+					dependencies[i], CurseDependencyType.fromID(dependencies[i + 1]), this
+			));
+		}
+
+		return curseDependencies;
+	}
+
+	@Override
+	public Set<String> gameVersionStrings() {
+		return snapshot.stringSet(FILES, record, FILE_GAME_VERSION_STRINGS);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <V extends CurseGameVersion<?>> SortedSet<V> gameVersions() throws CurseException {
+		if (gameVersions == null) {
+			final Set<String> versionStrings = gameVersionStrings();
+			gameVersions = new TreeSet<>();
+			final int gameID = project().gameID();
+
+			for (String versionString : versionStrings) {
+				CurseAPI.<V>gameVersion(gameID, versionString).ifPresent(gameVersions::add);
+			}
+		}
+
+		return (SortedSet<V>) gameVersions;
+	}
+
+	@Override
+	public void clearGameVersionsCache() {
+		gameVersions = null;
+	}
+
+	@Override
+	public Element changelog() throws CurseException {
+		return lazyChangelog().element();
+	}
+
+	@Override
+	public String changelogHTML() throws CurseException {
+		return lazyChangelog().html();
+	}
+
+	@Override
+	public void clearChangelogCache() {
+		changelog = null;
+	}
+
+	private LazyElement lazyChangelog() throws CurseException {
+		if (changelog == null) {
+			final Optional<String> optionalChangelog = CurseAPI.fileChangelogHTML(projectID, id);
+
+			if (!optionalChangelog.isPresent()) {
+				throw new CurseException("Failed to retrieve changelog for file: " + this);
+			}
+
+			changelog = LazyElement.of(optionalChangelog.get());
+		}
+
+		return changelog;
+	}
+}
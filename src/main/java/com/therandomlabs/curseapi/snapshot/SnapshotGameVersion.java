@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSIONS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.GAME_VERSION_VERSION_STRING;
+
+import com.therandomlabs.curseapi.game.CurseGameVersion;
+
+//Version groups are not exported, so versionGroup() always returns the "none" group.
+final class SnapshotGameVersion extends CurseGameVersion<SnapshotGameVersion> {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+
+	SnapshotGameVersion(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+	}
+
+	@Override
+	public int compareTo(SnapshotGameVersion version) {
+		final int result = Integer.compare(gameID(), version.gameID());
+		//The versions of each game are exported in ascending order.
+		return result == 0 ? Integer.compare(record, version.record) : result;
+	}
+
+	@Override
+	public int gameID() {
+		return snapshot.getInt(GAME_VERSIONS, record, GAME_VERSION_GAME_ID);
+	}
+
+	@Override
+	public String versionString() {
+		return snapshot.string(GAME_VERSIONS, record, GAME_VERSION_VERSION_STRING);
+	}
+}
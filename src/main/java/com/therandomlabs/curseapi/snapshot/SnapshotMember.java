@@ -0,0 +1,57 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBERS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.MEMBER_URL;
+
+import com.therandomlabs.curseapi.project.CurseMember;
+import okhttp3.HttpUrl;
+
+final class SnapshotMember extends CurseMember {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+
+	SnapshotMember(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+	}
+
+	@Override
+	public int id() {
+		return snapshot.getInt(MEMBERS, record, MEMBER_ID);
+	}
+
+	@Override
+	public String name() {
+		return snapshot.string(MEMBERS, record, MEMBER_NAME);
+	}
+
+	@Override
+	public HttpUrl url() {
+		return snapshot.url(MEMBERS, record, MEMBER_URL);
+	}
+}
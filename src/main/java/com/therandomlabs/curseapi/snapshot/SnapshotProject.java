@@ -0,0 +1,303 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.NULL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_ATTACHMENTS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_AUTHOR;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_AUTHORS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CATEGORIES;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CATEGORY_SECTION;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_CREATION_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_DOWNLOAD_COUNT;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_EXPERIMENTAL;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_GAME_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_GAME_VERSION_STRINGS;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_ID;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_MODIFICATION_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_LAST_UPDATE_TIME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_LOGO;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_NAME;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_PRIMARY_CATEGORY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_SLUG;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_SUMMARY;
+import static com.therandomlabs.curseapi.snapshot.CurseSnapshotFormat.PROJECT_URL;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.CursePreconditions;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.file.CurseFilesIndex;
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseCategorySection;
+import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.project.CurseAttachment;
+import com.therandomlabs.curseapi.project.CurseMember;
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.LazyElement;
+import okhttp3.HttpUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+import org.jsoup.nodes.Element;
+
+//NullAway does not yet support DefaultQualifier, so we have to use SuppressWarning.
+@SuppressWarnings("NullAway")
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+final class SnapshotProject extends CurseProject {
+	private final CurseSnapshotProvider snapshot;
+	private final int record;
+	private final int id;
+
+	//Cache.
+	private transient CurseGame game;
+	private transient LazyElement description;
+	private transient CurseFiles<CurseFile> files;
+	private transient CurseFilesIndex<CurseFile> filesIndex;
+
+	SnapshotProject(CurseSnapshotProvider snapshot, int record) {
+		this.snapshot = snapshot;
+		this.record = record;
+		id = snapshot.getInt(PROJECTS, record, PROJECT_ID);
+	}
+
+	@Override
+	public int id() {
+		return id;
+	}
+
+	@Override
+	public String name() {
+		return snapshot.string(PROJECTS, record, PROJECT_NAME);
+	}
+
+	@Override
+	public CurseMember author() {
+		return new SnapshotMember(snapshot, snapshot.getInt(PROJECTS, record, PROJECT_AUTHOR));
+	}
+
+	@Override
+	public Set<CurseMember> authors() {
+		final Set<CurseMember> authors = new LinkedHashSet<>();
+
+		for (int member : snapshot.list(PROJECTS, record, PROJECT_AUTHORS)) {
+			authors.add(new SnapshotMember(snapshot, member));
+		}
+
+		return authors;
+	}
+
+	@Override
+	public Set<CurseAttachment> attachments() {
+		final Set<CurseAttachment> attachments = new HashSet<>();
+
+		for (int attachment : snapshot.list(PROJECTS, record, PROJECT_ATTACHMENTS)) {
+			attachments.add(new SnapshotAttachment(snapshot, attachment));
+		}
+
+		return attachments;
+	}
+
+	@Override
+	public CurseAttachment logo() {
+		final int logo = snapshot.getInt(PROJECTS, record, PROJECT_LOGO);
+		return logo == NULL ?
+				CurseAttachment.PLACEHOLDER_LOGO : new SnapshotAttachment(snapshot, logo);
+	}
+
+	@Override
+	public HttpUrl url() {
+		return snapshot.url(PROJECTS, record, PROJECT_URL);
+	}
+
+	@Override
+	public int gameID() {
+		return snapshot.getInt(PROJECTS, record, PROJECT_GAME_ID);
+	}
+
+	@Override
+	public CurseGame game() throws CurseException {
+		if (game == null) {
+			final Optional<CurseGame> optionalGame = CurseAPI.game(gameID());
+
+			if (!optionalGame.isPresent()) {
+				throw new CurseException("Could not retrieve game for project: " + this);
+			}
+
+			game = optionalGame.get();
+		}
+
+		return game;
+	}
+
+	@Override
+	public void clearGameCache() {
+		game = null;
+	}
+
+	@Override
+	public String summary() {
+		return snapshot.string(PROJECTS, record, PROJECT_SUMMARY);
+	}
+
+	@Override
+	public Element description() throws CurseException {
+		return lazyDescription().element();
+	}
+
+	@Override
+	public String descriptionHTML() throws CurseException {
+		return lazyDescription().html();
+	}
+
+	@Override
+	public void clearDescriptionCache() {
+		description = null;
+	}
+
+	@Override
+	public int downloadCount() {
+		return snapshot.getInt(PROJECTS, record, PROJECT_DOWNLOAD_COUNT);
+	}
+
+	@Override
+	public CurseFiles<CurseFile> files() throws CurseException {
+		if (files == null) {
+			//Exported files are read directly so that this project is used as their project.
+			files = snapshot.files(this);
+
+			if (files == null) {
+				files = CurseAPI.files(id).orElse(null);
+			}
+
+			if (files == null) {
+				throw new CurseException("Failed to retrieve project files: " + this);
+			}
+		}
+
+		return new CurseFiles<>(files);
+	}
+
+	@Override
+	public CurseFilesIndex<CurseFile> filesIndex() throws CurseException {
+		if (filesIndex == null) {
+			filesIndex = files().index();
+		}
+
+		return filesIndex;
+	}
+
+	@Override
+	public void clearFilesCache() {
+		files = null;
+		filesIndex = null;
+	}
+
+	@Override
+	public HttpUrl fileURL(int fileID) {
+		CursePreconditions.checkFileID(fileID, "fileID");
+		return HttpUrl.get(url() + "/files/" + fileID);
+	}
+
+	@Override
+	public CurseCategory primaryCategory() {
+		return new SnapshotCategory(
+				snapshot, snapshot.getInt(PROJECTS, record, PROJECT_PRIMARY_CATEGORY)
+		);
+	}
+
+	@Override
+	public Set<CurseCategory> categories() {
+		final Set<CurseCategory> categories = new LinkedHashSet<>();
+
+		for (int category : snapshot.list(PROJECTS, record, PROJECT_CATEGORIES)) {
+			categories.add(new SnapshotCategory(snapshot, category));
+		}
+
+		return categories;
+	}
+
+	@Override
+	public CurseCategorySection categorySection() {
+		return new SnapshotCategorySection(
+				snapshot, snapshot.getInt(PROJECTS, record, PROJECT_CATEGORY_SECTION)
+		);
+	}
+
+	@Override
+	public String slug() {
+		return snapshot.string(PROJECTS, record, PROJECT_SLUG);
+	}
+
+	@Override
+	public ZonedDateTime creationTime() {
+		return snapshot.getTime(PROJECTS, record, PROJECT_CREATION_TIME);
+	}
+
+	@Override
+	public ZonedDateTime lastUpdateTime() {
+		return snapshot.getTime(PROJECTS, record, PROJECT_LAST_UPDATE_TIME);
+	}
+
+	@Override
+	public ZonedDateTime lastModificationTime() {
+		return snapshot.getTime(PROJECTS, record, PROJECT_MODIFICATION_TIME);
+	}
+
+	@Override
+	public boolean experimental() {
+		return snapshot.getInt(PROJECTS, record, PROJECT_EXPERIMENTAL) != 0;
+	}
+
+	@Override
+	public Set<String> gameVersionStrings() {
+		return snapshot.stringSet(PROJECTS, record, PROJECT_GAME_VERSION_STRINGS);
+	}
+
+	int record() {
+		return record;
+	}
+
+	private LazyElement lazyDescription() throws CurseException {
+		if (description == null) {
+			final Optional<String> optionalDescription = CurseAPI.projectDescriptionHTML(id);
+
+			if (!optionalDescription.isPresent()) {
+				throw new CurseException("Failed to retrieve description for project: " + this);
+			}
+
+			description = LazyElement.of(optionalDescription.get());
+		}
+
+		return description;
+	}
+}
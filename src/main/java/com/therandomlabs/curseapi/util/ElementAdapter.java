@@ -29,7 +29,7 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 
 /**
- * A Moshi adapter for {@link Element}s.
+ * A Moshi adapter for {@link Element}s and {@link LazyElement}s.
  */
 public final class ElementAdapter {
 	/**
@@ -60,4 +60,26 @@ public final class ElementAdapter {
 	public Element fromJSON(String element) {
 		return Jsoup.parseBodyFragment(element).body();
 	}
+
+	/**
+	 * Converts the specified {@link LazyElement} to a JSON string without parsing it.
+	 *
+	 * @param element a {@link LazyElement}.
+	 * @return a JSON string representation of the specified {@link LazyElement}.
+	 */
+	@ToJson
+	public String toJSON(LazyElement element) {
+		return element.html();
+	}
+
+	/**
+	 * Converts the specified JSON string to a {@link LazyElement} without parsing it.
+	 *
+	 * @param element a JSON string.
+	 * @return a {@link LazyElement}.
+	 */
+	@FromJson
+	public LazyElement lazyFromJSON(String element) {
+		return LazyElement.of(element);
+	}
 }
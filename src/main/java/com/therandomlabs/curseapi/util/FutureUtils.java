@@ -0,0 +1,437 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseException;
+
+/**
+ * Contains utility methods for working with {@link CompletableFuture}s.
+ */
+public final class FutureUtils {
+	private FutureUtils() {}
+
+	/**
+	 * Returns a {@link CompletableFuture} that has already completed exceptionally with the
+	 * specified {@link Throwable}.
+	 *
+	 * @param throwable a {@link Throwable}.
+	 * @param <T> the result type of the {@link CompletableFuture}.
+	 * @return a {@link CompletableFuture} that has already completed exceptionally.
+	 */
+	public static <T> CompletableFuture<T> failed(Throwable throwable) {
+		Preconditions.checkNotNull(throwable, "throwable should not be null");
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(throwable);
+		return future;
+	}
+
+	/**
+	 * Returns a {@link CompletableFuture} that is completed by calling the specified
+	 * {@link CheckedSupplier} using the specified {@link Executor}.
+	 * If the {@link CheckedSupplier} throws a {@link CurseException}, the returned
+	 * {@link CompletableFuture} completes exceptionally with that {@link CurseException}.
+	 *
+	 * @param supplier a {@link CheckedSupplier}.
+	 * @param executor an {@link Executor}.
+	 * @param <T> the result type of the {@link CompletableFuture}.
+	 * @return a {@link CompletableFuture}.
+	 */
+	public static <T> CompletableFuture<T> supplyAsync(
+			CheckedSupplier<? extends T, CurseException> supplier, Executor executor
+	) {
+		Preconditions.checkNotNull(supplier, "supplier should not be null");
+		Preconditions.checkNotNull(executor, "executor should not be null");
+
+		final CompletableFuture<T> future = new CompletableFuture<>();
+
+		try {
+			executor.execute(() -> {
+				if (future.isDone()) {
+					return;
+				}
+
+				try {
+					future.complete(supplier.get());
+				} catch (Throwable throwable) {
+					future.completeExceptionally(throwable);
+				}
+			});
+		} catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+		}
+
+		return future;
+	}
+
+	/**
+	 * Returns a {@link CompletableFuture} that completes with a {@link List} containing the
+	 * results of the specified {@link CheckedFunction} applied to each element of the specified
+	 * {@link Collection}. The {@link CheckedFunction} is called using the specified
+	 * {@link Executor}, and at most the specified number of calls are in progress at a time.
+	 * <p>
+	 * If the {@link CheckedFunction} throws an exception for any element, the returned
+	 * {@link CompletableFuture} immediately completes exceptionally with that exception,
+	 * and the {@link CheckedFunction} is not called for the elements that have not yet been
+	 * started. Calls that are already in progress are not interrupted, and their results
+	 * are discarded.
+	 *
+	 * @param elements a {@link Collection}.
+	 * @param function a {@link CheckedFunction}.
+	 * @param executor an {@link Executor}.
+	 * @param maxConcurrency the maximum number of calls to the {@link CheckedFunction} that may
+	 * be in progress at a time.
+	 * @param <E> the type of the elements.
+	 * @param <R> the type of the results.
+	 * @return a {@link CompletableFuture} that completes with a mutable {@link List} containing
+	 * the results in the iteration order of the specified {@link Collection}.
+	 */
+	public static <E, R> CompletableFuture<List<R>> mapBounded(
+			Collection<? extends E> elements,
+			CheckedFunction<? super E, ? extends R, CurseException> function, Executor executor,
+			int maxConcurrency
+	) {
+		Preconditions.checkNotNull(elements, "elements should not be null");
+		Preconditions.checkNotNull(function, "function should not be null");
+		Preconditions.checkNotNull(executor, "executor should not be null");
+		Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency should be positive");
+		return new BoundedMapper<E, R>(elements, function, executor).start(maxConcurrency);
+	}
+
+	/**
+	 * Returns a {@link List} of {@link CompletableFuture}s that complete with the results of the
+	 * specified {@link CheckedFunction} applied to each element of the specified
+	 * {@link Collection}. The {@link CheckedFunction} is called using the specified
+	 * {@link Executor} in the iteration order of the specified {@link Collection}, and at most the
+	 * specified number of calls are in progress at a time.
+	 * <p>
+	 * Unlike {@link #mapBounded(Collection, CheckedFunction, Executor, int)}, each result is
+	 * available as soon as its call completes, so results can be consumed in order while later
+	 * calls are still in progress. If the {@link CheckedFunction} throws an exception for an
+	 * element, only the {@link CompletableFuture} for that element completes exceptionally.
+	 * If a {@link CompletableFuture} is cancelled before its call has started,
+	 * the {@link CheckedFunction} is not called for its element.
+	 *
+	 * @param elements a {@link Collection}.
+	 * @param function a {@link CheckedFunction}.
+	 * @param executor an {@link Executor}.
+	 * @param maxConcurrency the maximum number of calls to the {@link CheckedFunction} that may
+	 * be in progress at a time.
+	 * @param <E> the type of the elements.
+	 * @param <R> the type of the results.
+	 * @return a {@link List} of {@link CompletableFuture}s in the iteration order of the specified
+	 * {@link Collection}.
+	 */
+	public static <E, R> List<CompletableFuture<R>> mapEachBounded(
+			Collection<? extends E> elements,
+			CheckedFunction<? super E, ? extends R, CurseException> function, Executor executor,
+			int maxConcurrency
+	) {
+		Preconditions.checkNotNull(elements, "elements should not be null");
+		Preconditions.checkNotNull(function, "function should not be null");
+		Preconditions.checkNotNull(executor, "executor should not be null");
+		Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency should be positive");
+		return new OrderedBoundedMapper<E, R>(elements, function, executor).start(maxConcurrency);
+	}
+
+	/**
+	 * Returns a {@link CompletableFuture} that completes with the result of the specified
+	 * {@link CheckedFunction} applied to the result of the specified {@link CompletableFuture}.
+	 * If the {@link CheckedFunction} throws a {@link CurseException}, the returned
+	 * {@link CompletableFuture} completes exceptionally with that {@link CurseException}.
+	 * Unlike {@link CompletableFuture#thenApply(java.util.function.Function)}, cancelling the
+	 * returned {@link CompletableFuture} also cancels the specified {@link CompletableFuture}.
+	 *
+	 * @param future a {@link CompletableFuture}.
+	 * @param function a {@link CheckedFunction}.
+	 * @param <T> the result type of the specified {@link CompletableFuture}.
+	 * @param <R> the result type of the returned {@link CompletableFuture}.
+	 * @return a {@link CompletableFuture}.
+	 */
+	public static <T, R> CompletableFuture<R> thenApply(
+			CompletableFuture<T> future,
+			CheckedFunction<? super T, ? extends R, CurseException> function
+	) {
+		Preconditions.checkNotNull(future, "future should not be null");
+		Preconditions.checkNotNull(function, "function should not be null");
+		return propagateCancellation(future, future.thenApply(result -> {
+			try {
+				return function.apply(result);
+			} catch (CurseException ex) {
+				throw new CompletionException(ex);
+			}
+		}));
+	}
+
+	/**
+	 * Makes cancelling the specified dependent {@link CompletableFuture} also cancel the
+	 * specified source {@link CompletableFuture}. {@link CompletableFuture}s derived using
+	 * methods such as {@link CompletableFuture#thenApply(java.util.function.Function)} do not
+	 * otherwise cancel the {@link CompletableFuture}s that they depend on, so cancelling them
+	 * would not stop the underlying work.
+	 *
+	 * @param source the {@link CompletableFuture} that the dependent {@link CompletableFuture}
+	 * depends on.
+	 * @param dependent a {@link CompletableFuture}.
+	 * @param <T> the result type of the dependent {@link CompletableFuture}.
+	 * @return the dependent {@link CompletableFuture}.
+	 */
+	public static <T> CompletableFuture<T> propagateCancellation(
+			CompletableFuture<?> source, CompletableFuture<T> dependent
+	) {
+		Preconditions.checkNotNull(source, "source should not be null");
+		Preconditions.checkNotNull(dependent, "dependent should not be null");
+		dependent.whenComplete((result, throwable) -> {
+			if (dependent.isCancelled()) {
+				source.cancel(false);
+			}
+		});
+		return dependent;
+	}
+
+	/**
+	 * Waits for the specified {@link CompletableFuture} to complete and returns its result.
+	 * If the {@link CompletableFuture} completes exceptionally with a {@link CurseException},
+	 * that {@link CurseException} is rethrown.
+	 *
+	 * @param future a {@link CompletableFuture}.
+	 * @param <T> the result type of the {@link CompletableFuture}.
+	 * @return the result of the {@link CompletableFuture}.
+	 * @throws CurseException if the {@link CompletableFuture} completes exceptionally with a
+	 * {@link CurseException} or a checked {@link Exception}.
+	 */
+	public static <T> T join(CompletableFuture<T> future) throws CurseException {
+		Preconditions.checkNotNull(future, "future should not be null");
+
+		try {
+			return future.join();
+		} catch (CompletionException | CancellationException ex) {
+			throw rethrow(ex);
+		}
+	}
+
+	/**
+	 * Returns the underlying cause of the specified {@link Throwable} if it is a
+	 * {@link CompletionException} or an {@link ExecutionException}.
+	 *
+	 * @param throwable a {@link Throwable}.
+	 * @return the underlying cause of the specified {@link Throwable}.
+	 */
+	public static Throwable unwrap(Throwable throwable) {
+		Preconditions.checkNotNull(throwable, "throwable should not be null");
+
+		Throwable cause = throwable;
+
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) &&
+				cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+
+		return cause;
+	}
+
+	/**
+	 * Unwraps the specified {@link Throwable} using {@link #unwrap(Throwable)}, rethrows it if it
+	 * is a {@link RuntimeException} or an {@link Error}, and otherwise returns it as a
+	 * {@link CurseException} so that it can be thrown by the caller.
+	 *
+	 * @param throwable a {@link Throwable}.
+	 * @return a {@link CurseException}.
+	 */
+	public static CurseException rethrow(Throwable throwable) {
+		final Throwable cause = unwrap(throwable);
+
+		if (cause instanceof CurseException) {
+			return (CurseException) cause;
+		}
+
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+
+		return new CurseException("Asynchronous operation failed", cause);
+	}
+
+	//Calls a function on a list of elements with a bounded number of calls in progress.
+	//Each call that completes successfully starts the call for the next element.
+	private static final class BoundedMapper<E, R> {
+		private final List<E> elements;
+		private final CheckedFunction<? super E, ? extends R, CurseException> function;
+		private final Executor executor;
+		private final AtomicReferenceArray<R> results;
+		private final AtomicInteger nextIndex = new AtomicInteger();
+		private final AtomicInteger remaining;
+		private final Set<CompletableFuture<?>> running = ConcurrentHashMap.newKeySet();
+		private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+
+		BoundedMapper(
+				Collection<? extends E> elements,
+				CheckedFunction<? super E, ? extends R, CurseException> function, Executor executor
+		) {
+			this.elements = new ArrayList<>(elements);
+			this.function = function;
+			this.executor = executor;
+			results = new AtomicReferenceArray<>(this.elements.size());
+			remaining = new AtomicInteger(this.elements.size());
+		}
+
+		CompletableFuture<List<R>> start(int maxConcurrency) {
+			if (elements.isEmpty()) {
+				result.complete(new ArrayList<>());
+				return result;
+			}
+
+			for (int i = 0; i < Math.min(maxConcurrency, elements.size()); i++) {
+				startNext();
+			}
+
+			return result;
+		}
+
+		private void startNext() {
+			if (result.isDone()) {
+				return;
+			}
+
+			final int index = nextIndex.getAndIncrement();
+
+			if (index >= elements.size()) {
+				return;
+			}
+
+			final E element = elements.get(index);
+			final CompletableFuture<R> future =
+					supplyAsync(() -> function.apply(element), executor);
+			running.add(future);
+
+			future.whenComplete((value, throwable) -> {
+				running.remove(future);
+
+				if (throwable != null) {
+					//Calls that have not yet started are skipped by supplyAsync once their
+					//CompletableFutures are cancelled.
+					if (result.completeExceptionally(unwrap(throwable))) {
+						for (CompletableFuture<?> runningFuture : running) {
+							runningFuture.cancel(false);
+						}
+					}
+
+					return;
+				}
+
+				results.set(index, value);
+
+				if (remaining.decrementAndGet() == 0) {
+					final List<R> list = new ArrayList<>(results.length());
+
+					for (int i = 0; i < results.length(); i++) {
+						list.add(results.get(i));
+					}
+
+					result.complete(list);
+				} else {
+					startNext();
+				}
+			});
+		}
+	}
+
+	//Calls a function on a list of elements with a bounded number of calls in progress,
+	//completing a separate CompletableFuture for each element.
+	private static final class OrderedBoundedMapper<E, R> {
+		private final List<E> elements;
+		private final CheckedFunction<? super E, ? extends R, CurseException> function;
+		private final Executor executor;
+		private final List<CompletableFuture<R>> results;
+		private final AtomicInteger nextIndex = new AtomicInteger();
+
+		OrderedBoundedMapper(
+				Collection<? extends E> elements,
+				CheckedFunction<? super E, ? extends R, CurseException> function, Executor executor
+		) {
+			this.elements = new ArrayList<>(elements);
+			this.function = function;
+			this.executor = executor;
+			results = new ArrayList<>(this.elements.size());
+
+			for (int i = 0; i < this.elements.size(); i++) {
+				results.add(new CompletableFuture<>());
+			}
+		}
+
+		List<CompletableFuture<R>> start(int maxConcurrency) {
+			for (int i = 0; i < Math.min(maxConcurrency, elements.size()); i++) {
+				startNext();
+			}
+
+			return Collections.unmodifiableList(results);
+		}
+
+		private void startNext() {
+			int index;
+
+			//Skip elements whose CompletableFutures have been cancelled.
+			do {
+				index = nextIndex.getAndIncrement();
+
+				if (index >= elements.size()) {
+					return;
+				}
+			} while (results.get(index).isDone());
+
+			final E element = elements.get(index);
+			final CompletableFuture<R> result = results.get(index);
+
+			supplyAsync(() -> function.apply(element), executor).whenComplete(
+					(value, throwable) -> {
+						if (throwable == null) {
+							result.complete(value);
+						} else {
+							result.completeExceptionally(unwrap(throwable));
+						}
+
+						startNext();
+					}
+			);
+		}
+	}
+}
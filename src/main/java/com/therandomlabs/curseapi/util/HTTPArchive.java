@@ -0,0 +1,471 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.therandomlabs.curseapi.CurseException;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An on-disk archive of HTTP exchanges that can be recorded from and replayed to the
+ * {@link retrofit2.Retrofit} instances returned by {@link RetrofitUtils#get(String)}.
+ * This allows the throughput and latency of CurseAPI to be measured reproducibly and offline,
+ * independently of the availability and performance of the CurseForge API.
+ * <p>
+ * Each exchange is stored as a JSON file named after a hash of the request method, URL and body.
+ * If the same request is recorded more than once, only the latest response is kept.
+ *
+ * @see RetrofitUtils#setInterceptor(Interceptor)
+ */
+public final class HTTPArchive {
+	private static final String EXTENSION = ".json";
+	private static final long CANCELLATION_CHECK_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10L);
+
+	private final Path directory;
+
+	/**
+	 * Constructs an {@link HTTPArchive} instance that stores exchanges in the specified directory.
+	 *
+	 * @param directory a {@link Path} to the archive directory.
+	 */
+	public HTTPArchive(Path directory) {
+		Preconditions.checkNotNull(directory, "directory should not be null");
+		this.directory = directory;
+	}
+
+	/**
+	 * Replays the exchanges in an {@link HTTPArchive} without making any network requests.
+	 * Latency, server errors and connection failures can be injected into the replayed
+	 * exchanges so that their effect on CurseAPI can be measured.
+	 * <p>
+	 * The random numbers used to inject latency and errors for a request are derived from a
+	 * fixed seed, the request and the number of times that the request has already been
+	 * replayed, so every request is always replayed in the same way regardless of the order in
+	 * which concurrent requests are made.
+	 * A {@link Replayer} should be configured before it is used.
+	 */
+	public static final class Replayer implements Interceptor {
+		private final Map<String, RecordedResponse> responses;
+		private Duration latency = Duration.ZERO;
+		private Duration latencyJitter = Duration.ZERO;
+		private boolean recordedLatency;
+		private double errorRate;
+		private double failureRate;
+		private final Map<String, AtomicLong> sequenceNumbers = new ConcurrentHashMap<>();
+		private long seed;
+
+		Replayer(Map<String, RecordedResponse> responses) {
+			this.responses = responses;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Response intercept(Chain chain) throws IOException {
+			final Request request = chain.request();
+			final String key = key(request);
+			final RecordedResponse response = responses.get(key);
+
+			if (response == null) {
+				throw new IOException(
+						"No recorded response for request: " + request.method() + " " +
+								request.url()
+				);
+			}
+
+			final Random random = random(key);
+			final double failure = random.nextDouble();
+			final double error = random.nextDouble();
+			long delay = recordedLatency ? response.latencyNanos : latency.toNanos();
+
+			if (!latencyJitter.isZero()) {
+				delay += (long) (random.nextDouble() * latencyJitter.toNanos());
+			}
+
+			final long sentRequestAtMillis = System.currentTimeMillis();
+
+			//The latency is waited out in short steps so that cancelled calls stop waiting,
+			//as they would if they were waiting for the server.
+			final long deadline = System.nanoTime() + delay;
+			long remaining = delay;
+
+			try {
+				while (remaining > 0L) {
+					checkCanceled(chain);
+					TimeUnit.NANOSECONDS.sleep(Math.min(remaining, CANCELLATION_CHECK_INTERVAL));
+					remaining = deadline - System.nanoTime();
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while replaying: " + request.url());
+			}
+
+			checkCanceled(chain);
+
+			if (failure < failureRate) {
+				throw new IOException("Injected failure: " + request.url());
+			}
+
+			final Response.Builder builder = new Response.Builder().
+					request(request).
+					protocol(Protocol.HTTP_1_1).
+					sentRequestAtMillis(sentRequestAtMillis).
+					receivedResponseAtMillis(System.currentTimeMillis());
+
+			if (error < errorRate) {
+				return builder.
+						code(503).
+						message("Service Unavailable").
+						body(ResponseBody.create(null, "Injected error")).
+						build();
+			}
+
+			return builder.
+					code(response.code).
+					message(response.message).
+					headers(response.headers).
+					body(ResponseBody.create(response.contentType, response.body)).
+					build();
+		}
+
+		/**
+		 * Returns the number of recorded exchanges that this {@link Replayer} serves.
+		 *
+		 * @return the number of recorded exchanges that this {@link Replayer} serves.
+		 */
+		public int size() {
+			return responses.size();
+		}
+
+		/**
+		 * Sets the latency that is added to every replayed exchange. The default is zero.
+		 *
+		 * @param latency a latency.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer latency(Duration latency) {
+			Preconditions.checkNotNull(latency, "latency should not be null");
+			Preconditions.checkArgument(!latency.isNegative(), "latency should not be negative");
+			this.latency = latency;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum amount of uniformly distributed random latency that is added to every
+		 * replayed exchange in addition to the fixed or recorded latency. The default is zero.
+		 *
+		 * @param latencyJitter a maximum amount of random latency.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer latencyJitter(Duration latencyJitter) {
+			Preconditions.checkNotNull(latencyJitter, "latencyJitter should not be null");
+			Preconditions.checkArgument(
+					!latencyJitter.isNegative(), "latencyJitter should not be negative"
+			);
+			this.latencyJitter = latencyJitter;
+			return this;
+		}
+
+		/**
+		 * Sets whether the latency measured when each exchange was recorded should be used
+		 * instead of the latency set using {@link #latency(Duration)}. The default is
+		 * {@code false}.
+		 *
+		 * @param recordedLatency {@code true} if the recorded latency should be used,
+		 * or otherwise {@code false}.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer recordedLatency(boolean recordedLatency) {
+			this.recordedLatency = recordedLatency;
+			return this;
+		}
+
+		/**
+		 * Sets the probability that a {@code 503 Service Unavailable} response is returned
+		 * instead of the recorded response. The default is zero.
+		 *
+		 * @param errorRate a probability between {@code 0.0} and {@code 1.0}.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer errorRate(double errorRate) {
+			Preconditions.checkArgument(
+					errorRate >= 0.0 && errorRate <= 1.0, "errorRate should be between 0 and 1"
+			);
+			this.errorRate = errorRate;
+			return this;
+		}
+
+		/**
+		 * Sets the probability that an {@link IOException} is thrown instead of a response
+		 * being returned, as if the server could not be reached. The default is zero.
+		 *
+		 * @param failureRate a probability between {@code 0.0} and {@code 1.0}.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer failureRate(double failureRate) {
+			Preconditions.checkArgument(
+					failureRate >= 0.0 && failureRate <= 1.0,
+					"failureRate should be between 0 and 1"
+			);
+			this.failureRate = failureRate;
+			return this;
+		}
+
+		/**
+		 * Sets the seed used to generate the random numbers used to inject latency and errors.
+		 * The default is zero. This also resets the number of times that each request is
+		 * considered to have been replayed.
+		 *
+		 * @param seed a seed.
+		 * @return this {@link Replayer}.
+		 */
+		public Replayer seed(long seed) {
+			this.seed = seed;
+			sequenceNumbers.clear();
+			return this;
+		}
+
+		private Random random(String key) {
+			final long sequenceNumber =
+					sequenceNumbers.computeIfAbsent(key, k -> new AtomicLong()).getAndIncrement();
+			return new Random(Hashing.sha256().newHasher().
+					putLong(seed).
+					putString(key, StandardCharsets.UTF_8).
+					putLong(sequenceNumber).
+					hash().
+					asLong());
+		}
+
+		private static void checkCanceled(Chain chain) throws IOException {
+			if (chain.call().isCanceled()) {
+				throw new IOException("Canceled");
+			}
+		}
+	}
+
+	private static final class Recorder implements Interceptor {
+		private final Path directory;
+
+		Recorder(Path directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		public Response intercept(Chain chain) throws IOException {
+			final Request request = chain.request();
+			final long startTime = System.nanoTime();
+			final Response response = chain.proceed(request);
+			final ResponseBody body = response.body();
+			final byte[] bytes;
+			final MediaType contentType;
+
+			if (body == null) {
+				bytes = new byte[0];
+				contentType = null;
+			} else {
+				try (ResponseBody closeableBody = body) {
+					bytes = closeableBody.bytes();
+					contentType = closeableBody.contentType();
+				}
+			}
+
+			final Exchange exchange = new Exchange();
+			exchange.method = request.method();
+			exchange.url = request.url().toString();
+			exchange.code = response.code();
+			exchange.message = response.message();
+			exchange.headers = new ArrayList<>();
+			exchange.contentType = contentType == null ? null : contentType.toString();
+			exchange.body = Base64.getEncoder().encodeToString(bytes);
+			exchange.latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+			final Headers headers = response.headers();
+
+			for (int i = 0; i < headers.size(); i++) {
+				exchange.headers.add(headers.name(i));
+				exchange.headers.add(headers.value(i));
+			}
+
+			write(key(request), exchange);
+
+			//The body has been consumed, so it is replaced with the bytes that were read.
+			return response.newBuilder().body(ResponseBody.create(contentType, bytes)).build();
+		}
+
+		private void write(String key, Exchange exchange) throws IOException {
+			final Path path = directory.resolve(key + EXTENSION);
+
+			//Concurrent identical requests may be recorded at the same time, so the exchange is
+			//written to a temporary file first so that it is never left partially written.
+			final Path temporaryPath = Files.createTempFile(directory, key, ".tmp");
+
+			try {
+				Files.write(
+						temporaryPath, MoshiUtils.toJSON(exchange).getBytes(StandardCharsets.UTF_8)
+				);
+				FileMoves.move(temporaryPath, path);
+			} finally {
+				Files.deleteIfExists(temporaryPath);
+			}
+		}
+	}
+
+	private static final class RecordedResponse {
+		private final int code;
+		private final String message;
+		private final Headers headers;
+		@Nullable
+		private final MediaType contentType;
+		private final byte[] body;
+		private final long latencyNanos;
+
+		RecordedResponse(Exchange exchange) {
+			code = exchange.code;
+			message = exchange.message;
+			headers = Headers.of(exchange.headers.toArray(new String[0]));
+			contentType =
+					exchange.contentType == null ? null : MediaType.parse(exchange.contentType);
+			body = Base64.getDecoder().decode(exchange.body);
+			latencyNanos = TimeUnit.MILLISECONDS.toNanos(exchange.latencyMillis);
+		}
+	}
+
+	private static final class Exchange {
+		String method;
+		String url;
+		int code;
+		String message;
+		//Header names and values in alternating order.
+		List<String> headers;
+		@Nullable
+		String contentType;
+		String body;
+		long latencyMillis;
+	}
+
+	/**
+	 * Returns the archive directory.
+	 *
+	 * @return a {@link Path} to the archive directory.
+	 */
+	public Path directory() {
+		return directory;
+	}
+
+	/**
+	 * Returns an OkHttp application {@link Interceptor} that records every exchange made through
+	 * it to this archive. Response bodies are read in full so that they can be stored, after
+	 * which they are passed on unchanged. If an exchange cannot be recorded, the request fails
+	 * with an {@link IOException}.
+	 *
+	 * @return an {@link Interceptor} that records exchanges to this archive.
+	 * @throws CurseException if the archive directory cannot be created.
+	 * @see RetrofitUtils#setInterceptor(Interceptor)
+	 */
+	public Interceptor recorder() throws CurseException {
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to create HTTP archive directory: " + directory, ex);
+		}
+
+		return new Recorder(directory);
+	}
+
+	/**
+	 * Loads the exchanges in this archive into memory and returns a {@link Replayer} that serves
+	 * them. Requests for which no exchange has been recorded fail with an {@link IOException}.
+	 * Exchanges recorded after this method is called are not served by the returned
+	 * {@link Replayer}.
+	 *
+	 * @return a {@link Replayer} that serves the exchanges in this archive.
+	 * @throws CurseException if the archive cannot be read.
+	 * @see RetrofitUtils#setInterceptor(Interceptor)
+	 */
+	public Replayer replayer() throws CurseException {
+		final Map<String, RecordedResponse> responses = new HashMap<>();
+
+		try (Stream<Path> paths = Files.list(directory)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				final String fileName = path.getFileName().toString();
+
+				if (fileName.endsWith(EXTENSION)) {
+					responses.put(
+							fileName.substring(0, fileName.length() - EXTENSION.length()),
+							new RecordedResponse(MoshiUtils.fromJSON(path, Exchange.class))
+					);
+				}
+			}
+		} catch (IOException ex) {
+			throw new CurseException("Failed to read HTTP archive: " + directory, ex);
+		}
+
+		return new Replayer(responses);
+	}
+
+	private static String key(Request request) throws IOException {
+		final Hasher hasher = Hashing.sha256().newHasher().
+				putString(request.method(), StandardCharsets.UTF_8).
+				putByte((byte) 0).
+				putString(request.url().toString(), StandardCharsets.UTF_8);
+		final RequestBody body = request.body();
+
+		if (body != null) {
+			final Buffer buffer = new Buffer();
+			body.writeTo(buffer);
+			hasher.putByte((byte) 0).putBytes(buffer.readByteArray());
+		}
+
+		return hasher.hash().toString();
+	}
+}
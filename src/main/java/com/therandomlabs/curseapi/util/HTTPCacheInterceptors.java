@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+//OkHttp interceptors used by the HTTP cache that can be enabled using RetrofitUtils.
+final class HTTPCacheInterceptors {
+	private static final Logger logger = LoggerFactory.getLogger(HTTPCacheInterceptors.class);
+
+	private HTTPCacheInterceptors() {}
+
+	//A network interceptor that makes responses without caching headers cacheable so that
+	//they are stored by OkHttp's Cache and revalidated using their ETag or Last-Modified headers.
+	static final class ResponseCacheControl implements Interceptor {
+		private final String cacheControl;
+
+		ResponseCacheControl(Duration maxAge) {
+			//If the maximum age is zero, responses are revalidated every time they are used.
+			//no-cache is not used because it prevents stale responses from being served.
+			cacheControl = "max-age=" + toSeconds(maxAge);
+		}
+
+		@Override
+		public Response intercept(Chain chain) throws IOException {
+			final Request request = chain.request();
+			final Response response = chain.proceed(request);
+
+			if (!"GET".equals(request.method()) || !response.isSuccessful() ||
+					response.header("Cache-Control") != null ||
+					response.header("Expires") != null) {
+				return response;
+			}
+
+			return response.newBuilder().
+					removeHeader("Pragma").
+					header("Cache-Control", cacheControl).
+					build();
+		}
+	}
+
+	//An application interceptor that serves stale cached responses if the network cannot be
+	//reached or the server returns an error, and optionally whenever they are within max-stale.
+	static final class StaleResponses implements Interceptor {
+		private final CacheControl staleCacheControl;
+		private final boolean alwaysAllowStale;
+
+		StaleResponses(Duration maxStale, boolean alwaysAllowStale) {
+			staleCacheControl = new CacheControl.Builder().
+					maxStale(toSeconds(maxStale), TimeUnit.SECONDS).
+					build();
+			this.alwaysAllowStale = alwaysAllowStale;
+		}
+
+		@Override
+		public Response intercept(Chain chain) throws IOException {
+			Request request = chain.request();
+
+			if (!"GET".equals(request.method())) {
+				return chain.proceed(request);
+			}
+
+			if (alwaysAllowStale && request.header("Cache-Control") == null) {
+				request = request.newBuilder().cacheControl(staleCacheControl).build();
+			}
+
+			final Response response;
+
+			try {
+				response = chain.proceed(request);
+			} catch (IOException ex) {
+				final Response staleResponse = getStaleResponse(chain, request);
+
+				if (staleResponse == null) {
+					throw ex;
+				}
+
+				logger.warn("Serving stale response for {} due to error", request.url(), ex);
+				return staleResponse;
+			}
+
+			if (response.code() < 500) {
+				return response;
+			}
+
+			final Response staleResponse = getStaleResponse(chain, request);
+
+			if (staleResponse == null) {
+				return response;
+			}
+
+			logger.warn(
+					"Serving stale response for {} due to HTTP status: {}",
+					request.url(), response.code()
+			);
+			response.close();
+			return staleResponse;
+		}
+
+		@Nullable
+		private Response getStaleResponse(Chain chain, Request request) throws IOException {
+			//Conditional headers would cause OkHttp to bypass the cache.
+			final Request staleRequest = request.newBuilder().
+					removeHeader("If-None-Match").
+					removeHeader("If-Modified-Since").
+					cacheControl(new CacheControl.Builder().
+							onlyIfCached().
+							maxStale(staleCacheControl.maxStaleSeconds(), TimeUnit.SECONDS).
+							build()).
+					build();
+			final Response staleResponse = chain.proceed(staleRequest);
+
+			if (staleResponse.isSuccessful()) {
+				return staleResponse;
+			}
+
+			//OkHttp returns 504 Unsatisfiable Request if nothing suitable is cached.
+			staleResponse.close();
+			return null;
+		}
+	}
+
+	private static int toSeconds(Duration duration) {
+		return (int) Math.min(duration.getSeconds(), Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.squareup.moshi.FromJson;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.ToJson;
+import com.therandomlabs.curseapi.file.CurseFile;
+
+/**
+ * A Moshi adapter for strings qualified with {@link Interned} and {@code int} arrays qualified
+ * with {@link GameVersionIndices}.
+ */
+public final class InternedStringAdapter {
+	/**
+	 * The singleton instance of {@link InternedStringAdapter}.
+	 */
+	public static final InternedStringAdapter INSTANCE = new InternedStringAdapter();
+
+	//A weak interner is used so that strings that are no longer referenced can be collected.
+	private static final Interner<String> interner = Interners.newWeakInterner();
+
+	private InternedStringAdapter() {}
+
+	/**
+	 * Returns the specified string.
+	 *
+	 * @param string a string.
+	 * @return the specified string.
+	 */
+	@ToJson
+	public String toJSON(@Interned String string) {
+		return string;
+	}
+
+	/**
+	 * Returns a canonical instance of the specified string.
+	 *
+	 * @param string a JSON string.
+	 * @return a canonical instance of the specified string.
+	 */
+	@FromJson
+	@Interned
+	public String fromJSON(String string) {
+		return interner.intern(string);
+	}
+
+	/**
+	 * Writes the game version strings with the specified indices as a JSON array.
+	 *
+	 * @param writer a {@link JsonWriter}.
+	 * @param gameVersionIndices indices in
+	 * {@link CurseFile#gameVersionStringDictionary()}.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@ToJson
+	public void toJSON(JsonWriter writer, @GameVersionIndices int[] gameVersionIndices)
+			throws IOException {
+		final StringDictionary dictionary = CurseFile.gameVersionStringDictionary();
+		writer.beginArray();
+
+		for (int index : gameVersionIndices) {
+			writer.value(dictionary.string(index));
+		}
+
+		writer.endArray();
+	}
+
+	/**
+	 * Reads a JSON array of game version strings and returns their indices in
+	 * {@link CurseFile#gameVersionStringDictionary()}.
+	 *
+	 * @param reader a {@link JsonReader}.
+	 * @return the indices of the game version strings.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@FromJson
+	@GameVersionIndices
+	public int[] fromJSON(JsonReader reader) throws IOException {
+		final StringDictionary dictionary = CurseFile.gameVersionStringDictionary();
+		int[] indices = new int[4];
+		int size = 0;
+
+		reader.beginArray();
+
+		while (reader.hasNext()) {
+			if (size == indices.length) {
+				indices = Arrays.copyOf(indices, size * 2);
+			}
+
+			indices[size++] = dictionary.index(reader.nextString());
+		}
+
+		reader.endArray();
+		return size == indices.length ? indices : Arrays.copyOf(indices, size);
+	}
+}
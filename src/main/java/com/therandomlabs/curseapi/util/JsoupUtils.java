@@ -23,6 +23,9 @@
 
 package com.therandomlabs.curseapi.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import com.google.common.base.Preconditions;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jsoup.Jsoup;
@@ -34,6 +37,24 @@ import org.jsoup.select.NodeTraversor;
  * Contains utility methods for working with jsoup.
  */
 public final class JsoupUtils {
+	private static final StreamingHtmlParser.Handler noOpHandler =
+			new StreamingHtmlParser.Handler() {
+				@Override
+				public void head(String name, int depth) {
+					//No-op.
+				}
+
+				@Override
+				public void text(String text, int depth) {
+					//No-op.
+				}
+
+				@Override
+				public void tail(String name, @Nullable String href) {
+					//No-op.
+				}
+			};
+
 	private JsoupUtils() {}
 
 	/**
@@ -116,4 +137,71 @@ public final class JsoupUtils {
 
 		return string.replace("\n", System.lineSeparator());
 	}
+
+	/**
+	 * Converts the specified HTML fragment to plain text without building a DOM.
+	 * This is an alternative to calling {@link #getPlainText(Element, int)} with the
+	 * {@link Element} returned by {@link #parseBody(String)} that uses less memory.
+	 * The output is the same for well-formed HTML, but may differ for some malformed HTML,
+	 * as described in {@link #renderPlainText(String, int, Appendable)}.
+	 *
+	 * @param html an HTML fragment.
+	 * @param maxLineLength a maximum line length used for word wrapping.
+	 * @return a plain text representation of the specified HTML fragment.
+	 */
+	public static String renderPlainText(String html, int maxLineLength) {
+		Preconditions.checkNotNull(html, "html should not be null");
+		final StringBuilder builder = new StringBuilder(html.length());
+
+		try {
+			renderPlainText(html, maxLineLength, builder);
+		} catch (IOException ex) {
+			//This should never happen.
+			throw new UncheckedIOException(ex);
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Converts the specified HTML fragment to plain text without building a DOM and writes it
+	 * to the specified {@link Appendable}. The plain text is written as the HTML is tokenized,
+	 * so large numbers of changelogs or descriptions can be converted with bounded memory.
+	 * <p>
+	 * Only the parts of the HTML tree construction algorithm that affect the plain text are
+	 * emulated. For well-formed HTML, the output is the same as that of
+	 * {@link #getPlainText(Element, int)} when it is called with the {@link Element} returned by
+	 * {@link #parseBody(String)}. For malformed HTML that relies on table foster parenting, or in
+	 * which formatting elements such as {@code a} are closed while block elements inside them
+	 * are still open, the output may differ. The plain text accessors in CurseAPI use
+	 * {@link #getPlainText(Element, int)}.
+	 *
+	 * @param html an HTML fragment.
+	 * @param maxLineLength a maximum line length used for word wrapping.
+	 * @param appendable an {@link Appendable} to which the plain text is written.
+	 * @throws IOException if an I/O error occurs while writing to the {@link Appendable}.
+	 */
+	public static void renderPlainText(String html, int maxLineLength, Appendable appendable)
+			throws IOException {
+		Preconditions.checkNotNull(html, "html should not be null");
+		Preconditions.checkArgument(maxLineLength > 0, "maxLineLength should be greater than 0");
+		Preconditions.checkNotNull(appendable, "appendable should not be null");
+
+		//parseBody(String) discards the body unless it has at least one child element, and if it
+		//only has one, the text around it is discarded as well.
+		final StreamingHtmlParser counter = new StreamingHtmlParser(html, noOpHandler);
+
+		while (counter.topLevelElements() < 2 && counter.next()) {
+			//Keep counting.
+		}
+
+		if (counter.topLevelElements() == 0) {
+			return;
+		}
+
+		final PlainTextWriter writer =
+				new PlainTextWriter(maxLineLength, appendable, counter.topLevelElements() == 1);
+		new StreamingHtmlParser(html, writer).finish();
+		writer.flush();
+	}
 }
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsoup.nodes.Element;
+
+/**
+ * Holds an HTML fragment and parses it into an {@link Element} the first time it is needed.
+ * <p>
+ * The HTML is stored as UTF-8 bytes, so callers that only need the raw HTML, such as crawlers
+ * that store descriptions and changelogs verbatim, never build a DOM.
+ * This class is thread-safe.
+ *
+ * @see JsoupUtils#parseBody(String)
+ */
+public final class LazyElement {
+	private final byte[] html;
+	@Nullable
+	private volatile Element element;
+
+	private LazyElement(byte[] html) {
+		this.html = html;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("htmlLength", html.length).
+				add("parsed", isParsed()).
+				toString();
+	}
+
+	/**
+	 * Returns the HTML fragment.
+	 *
+	 * @return the HTML fragment.
+	 */
+	public String html() {
+		return new String(html, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns whether the HTML fragment is empty or only contains whitespace.
+	 * This method does not parse the HTML fragment.
+	 *
+	 * @return {@code true} if the HTML fragment is empty or only contains whitespace,
+	 * or otherwise {@code false}.
+	 */
+	public boolean isBlank() {
+		for (byte b : html) {
+			if (!Character.isWhitespace(b)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the HTML fragment as an {@link Element}, parsing it if it has not already been
+	 * parsed. The same {@link Element} instance is returned every time this method is called.
+	 *
+	 * @return the HTML fragment as an {@link Element}.
+	 * @see JsoupUtils#parseBody(String)
+	 */
+	public Element element() {
+		Element element = this.element;
+
+		if (element == null) {
+			synchronized (this) {
+				element = this.element;
+
+				if (element == null) {
+					element = JsoupUtils.parseBody(html());
+					this.element = element;
+				}
+			}
+		}
+
+		return element;
+	}
+
+	/**
+	 * Returns whether the HTML fragment has been parsed.
+	 *
+	 * @return {@code true} if {@link #element()} has been called, or otherwise {@code false}.
+	 */
+	public boolean isParsed() {
+		return element != null;
+	}
+
+	/**
+	 * Returns a {@link LazyElement} that holds the specified HTML fragment.
+	 *
+	 * @param html an HTML fragment.
+	 * @return a {@link LazyElement} that holds the specified HTML fragment.
+	 */
+	public static LazyElement of(String html) {
+		Preconditions.checkNotNull(html, "html should not be null");
+		return new LazyElement(html.getBytes(StandardCharsets.UTF_8));
+	}
+}
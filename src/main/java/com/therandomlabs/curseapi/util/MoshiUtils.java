@@ -39,12 +39,14 @@ import okio.Okio;
 public final class MoshiUtils {
 	/**
 	 * A {@link Moshi} instance with adapters for {@link org.jsoup.nodes.Element}s,
-	 * {@link okhttp3.HttpUrl}s and {@link java.time.ZonedDateTime}s.
+	 * {@link okhttp3.HttpUrl}s, {@link java.time.ZonedDateTime}s, {@link Interned} strings
+	 * and {@link GameVersionIndices}.
 	 */
 	public static final Moshi moshi = new Moshi.Builder().
 			add(ElementAdapter.INSTANCE).
 			add(HttpUrlAdapter.INSTANCE).
 			add(ZonedDateTimeAdapter.INSTANCE).
+			add(InternedStringAdapter.INSTANCE).
 			build();
 
 	private MoshiUtils() {}
@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+//A streaming equivalent of FormattingVisitor and the post-processing in
+//JsoupUtils#getPlainText(Element, int) that writes to an Appendable as it goes.
+final class PlainTextWriter implements StreamingHtmlParser.Handler {
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	private final int maxLineLength;
+	private final Appendable appendable;
+	//jsoup only converts a single top-level element, so in that case, top-level text is ignored.
+	private final boolean skipTopLevelText;
+
+	private int currentLineLength;
+	private boolean shouldGetWholeText;
+
+	//Newlines are buffered so that runs of three can be collapsed and a leading newline can be
+	//removed like in JsoupUtils#getPlainText(Element, int).
+	private int pendingNewlines;
+	private boolean startOfText = true;
+
+	PlainTextWriter(int maxLineLength, Appendable appendable, boolean skipTopLevelText) {
+		this.maxLineLength = maxLineLength;
+		this.appendable = appendable;
+		this.skipTopLevelText = skipTopLevelText;
+	}
+
+	@Override
+	public void head(String name, int depth) throws IOException {
+		switch (name) {
+		case "pre":
+			shouldGetWholeText = true;
+			break;
+		case "a":
+			append("[");
+			break;
+		case "li":
+			append("\n * ");
+			break;
+		case "dt":
+			append("  ");
+			break;
+		case "p":
+		case "h1":
+		case "h2":
+		case "h3":
+		case "h4":
+		case "h5":
+		case "tr":
+			append("\n");
+			break;
+		default:
+			break;
+		}
+	}
+
+	@Override
+	public void text(String text, int depth) throws IOException {
+		if (skipTopLevelText && depth == 0) {
+			return;
+		}
+
+		append(shouldGetWholeText ? text.trim() : normalizeWhitespace(text));
+	}
+
+	@Override
+	public void tail(String name, @Nullable String href) throws IOException {
+		switch (name) {
+		case "br":
+		case "dd":
+		case "dt":
+		case "p":
+		case "h1":
+		case "h2":
+		case "h3":
+		case "h4":
+		case "h5":
+			append("\n");
+			break;
+		case "a":
+			append("](" + absoluteURL(href) + ")");
+			break;
+		case "pre":
+			shouldGetWholeText = false;
+			break;
+		default:
+			break;
+		}
+	}
+
+	//Writes any remaining buffered newlines.
+	void flush() throws IOException {
+		flushNewlines();
+	}
+
+	private void append(String string) throws IOException {
+		if (string.startsWith("\n")) {
+			//Reset counter if the string starts with a newline.
+			currentLineLength = 0;
+		}
+
+		if (string.length() + currentLineLength > maxLineLength) {
+			wrapAndAppend(string);
+		} else {
+			write(string, 0, string.length());
+			currentLineLength += string.length();
+		}
+	}
+
+	//Equivalent to FormattingVisitor#wrapAndAppend(String), but splits the string in place.
+	private void wrapAndAppend(String string) throws IOException {
+		final int length = string.length();
+		int wordStart = 0;
+
+		while (true) {
+			int wordEnd = wordStart;
+
+			while (wordEnd < length && !isRegexWhitespace(string.charAt(wordEnd))) {
+				wordEnd++;
+			}
+
+			final int wordLength = wordEnd - wordStart;
+
+			if (length + currentLineLength > maxLineLength) {
+				//Wrap and reset counter.
+				write("\n", 0, 1);
+				write(string, wordStart, wordEnd);
+				currentLineLength = wordLength;
+			} else {
+				write(string, wordStart, wordEnd);
+
+				//If this isn't the last word, insert a space.
+				if (wordEnd < length) {
+					write(" ", 0, 1);
+					currentLineLength++;
+				}
+
+				currentLineLength += wordLength;
+			}
+
+			if (wordEnd == length) {
+				return;
+			}
+
+			wordStart = wordEnd;
+
+			while (wordStart < length && isRegexWhitespace(string.charAt(wordStart))) {
+				wordStart++;
+			}
+		}
+	}
+
+	private void write(String string, int start, int end) throws IOException {
+		int segmentStart = start;
+
+		for (int i = start; i < end; i++) {
+			if (string.charAt(i) == '\n') {
+				if (i > segmentStart) {
+					flushNewlines();
+					appendable.append(string, segmentStart, i);
+				}
+
+				pendingNewlines++;
+				segmentStart = i + 1;
+			}
+		}
+
+		if (end > segmentStart) {
+			flushNewlines();
+			appendable.append(string, segmentStart, end);
+		}
+	}
+
+	private void flushNewlines() throws IOException {
+		if (pendingNewlines != 0) {
+			//Equivalent to String#replace("\n\n\n", "\n").
+			int newlines = pendingNewlines / 3 + pendingNewlines % 3;
+
+			if (startOfText) {
+				newlines--;
+			}
+
+			for (int i = 0; i < newlines; i++) {
+				appendable.append(LINE_SEPARATOR);
+			}
+
+			pendingNewlines = 0;
+		}
+
+		startOfText = false;
+	}
+
+	//Equivalent to jsoup's TextNode#text().
+	private static String normalizeWhitespace(String string) {
+		final int length = string.length();
+		int i = 0;
+
+		//Avoid copying strings that are already normalized.
+		for (; i < length; i++) {
+			final char c = string.charAt(i);
+
+			if (isInvisible(c) || (isHTMLWhitespace(c) &&
+					(c != ' ' || (i + 1 < length && isHTMLWhitespace(string.charAt(i + 1)))))) {
+				break;
+			}
+		}
+
+		if (i == length) {
+			return string;
+		}
+
+		final StringBuilder builder = new StringBuilder(length).append(string, 0, i);
+		boolean lastWasWhitespace = i != 0 && isHTMLWhitespace(string.charAt(i - 1));
+
+		for (; i < length; i++) {
+			final char c = string.charAt(i);
+
+			if (isHTMLWhitespace(c)) {
+				if (!lastWasWhitespace) {
+					builder.append(' ');
+					lastWasWhitespace = true;
+				}
+			} else if (!isInvisible(c)) {
+				builder.append(c);
+				lastWasWhitespace = false;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	//Equivalent to jsoup's Node#absUrl(String) with an empty base URI.
+	private static String absoluteURL(@Nullable String href) {
+		if (href == null) {
+			return "";
+		}
+
+		try {
+			return new URL(href).toExternalForm();
+		} catch (MalformedURLException ex) {
+			return "";
+		}
+	}
+
+	//The characters matched by \s.
+	private static boolean isRegexWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r';
+	}
+
+	//The characters jsoup treats as whitespace when normalizing text.
+	private static boolean isHTMLWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u00a0';
+	}
+
+	private static boolean isInvisible(char c) {
+		return c == '\u200b' || c == '\u200c' || c == '\u200d' || c == '\u00ad';
+	}
+}
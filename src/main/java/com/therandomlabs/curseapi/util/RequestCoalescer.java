@@ -0,0 +1,271 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.therandomlabs.curseapi.CurseException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Coalesces concurrent identical requests so that only one of them is executed while the others
+ * wait for and share its outcome.
+ * <p>
+ * A request is identified by a key. If a request is made while another request with an equal key
+ * is in flight, the new request is not executed; instead, it completes with the result or
+ * exception of the in-flight request. Once a request completes, its key is released, so results
+ * are never reused by requests made afterwards.
+ * <p>
+ * Because waiting requests share the result of the in-flight request, a copy function may be
+ * specified so that each request, including the one that was executed, receives its own copy of
+ * a mutable result. The shared result itself is never returned, so callers may modify the
+ * results they receive while other requests are still copying the shared result.
+ *
+ * @param <K> the type of the keys that identify requests.
+ */
+public final class RequestCoalescer<K> {
+	private final ConcurrentMap<K, CompletableFuture<?>> inFlightRequests =
+			new ConcurrentHashMap<>();
+
+	private final LongAdder executedRequests = new LongAdder();
+	private final LongAdder deduplicatedRequests = new LongAdder();
+
+	private volatile boolean enabled = true;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).
+				add("enabled", enabled).
+				add("inFlightRequests", inFlightRequests.size()).
+				add("executedRequests", executedRequests()).
+				add("deduplicatedRequests", deduplicatedRequests()).
+				toString();
+	}
+
+	/**
+	 * Returns whether request coalescing is enabled. If it is disabled, every request is executed.
+	 * Request coalescing is enabled by default.
+	 *
+	 * @return {@code true} if request coalescing is enabled, or otherwise {@code false}.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets whether request coalescing is enabled. If it is disabled, every request is executed.
+	 *
+	 * @param enabled {@code true} if request coalescing should be enabled,
+	 * or otherwise {@code false}.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns the number of requests that were actually executed.
+	 *
+	 * @return the number of requests that were actually executed.
+	 */
+	public long executedRequests() {
+		return executedRequests.sum();
+	}
+
+	/**
+	 * Returns the number of requests that were not executed because an identical request
+	 * was already in flight.
+	 *
+	 * @return the number of requests that were deduplicated.
+	 */
+	public long deduplicatedRequests() {
+		return deduplicatedRequests.sum();
+	}
+
+	/**
+	 * Returns the number of requests that are currently in flight.
+	 *
+	 * @return the number of requests that are currently in flight.
+	 */
+	public int inFlightRequests() {
+		return inFlightRequests.size();
+	}
+
+	/**
+	 * Resets the counters returned by {@link #executedRequests()} and
+	 * {@link #deduplicatedRequests()}.
+	 */
+	public void resetStatistics() {
+		executedRequests.reset();
+		deduplicatedRequests.reset();
+	}
+
+	/**
+	 * Executes the request with the specified key using the specified {@link CheckedSupplier}
+	 * unless an identical request is already in flight, in which case this method waits for
+	 * that request to complete and returns its result or throws its exception.
+	 *
+	 * @param key a key that identifies the request.
+	 * @param supplier a {@link CheckedSupplier} that executes the request.
+	 * @param <T> the result type of the request.
+	 * @return the result of the request.
+	 * @throws CurseException if the request fails.
+	 */
+	@Nullable
+	public <T> T execute(K key, CheckedSupplier<T, CurseException> supplier)
+			throws CurseException {
+		return execute(key, supplier, UnaryOperator.identity());
+	}
+
+	/**
+	 * Executes the request with the specified key using the specified {@link CheckedSupplier}
+	 * unless an identical request is already in flight, in which case this method waits for
+	 * that request to complete and returns its result or throws its exception. In either case,
+	 * a copy of the result created using the specified {@link UnaryOperator} is returned.
+	 *
+	 * @param key a key that identifies the request.
+	 * @param supplier a {@link CheckedSupplier} that executes the request.
+	 * @param copier a {@link UnaryOperator} that copies non-{@code null} results.
+	 * @param <T> the result type of the request.
+	 * @return the result of the request.
+	 * @throws CurseException if the request fails.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T execute(
+			K key, CheckedSupplier<T, CurseException> supplier, UnaryOperator<T> copier
+	) throws CurseException {
+		Preconditions.checkNotNull(key, "key should not be null");
+		Preconditions.checkNotNull(supplier, "supplier should not be null");
+		Preconditions.checkNotNull(copier, "copier should not be null");
+
+		if (!enabled) {
+			executedRequests.increment();
+			return supplier.get();
+		}
+
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final CompletableFuture<T> inFlightFuture =
+				(CompletableFuture<T>) inFlightRequests.putIfAbsent(key, future);
+
+		if (inFlightFuture != null) {
+			deduplicatedRequests.increment();
+			return copy(FutureUtils.join(inFlightFuture), copier);
+		}
+
+		executedRequests.increment();
+
+		final T result;
+
+		try {
+			result = supplier.get();
+		} catch (CurseException | RuntimeException | Error ex) {
+			inFlightRequests.remove(key, future);
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+
+		//The key is released before the future is completed so that requests made by
+		//waiting threads after they are woken up are not coalesced with this one.
+		//The shared result is only ever copied, so the caller receives a copy as well.
+		inFlightRequests.remove(key, future);
+		future.complete(result);
+		return copy(result, copier);
+	}
+
+	/**
+	 * Executes the asynchronous request with the specified key using the specified
+	 * {@link Supplier} unless an identical request is already in flight, in which case
+	 * the returned {@link CompletableFuture} completes with the result of that request.
+	 * In either case, the returned {@link CompletableFuture} completes with a copy of the result
+	 * created using the specified {@link UnaryOperator}.
+	 * <p>
+	 * The returned {@link CompletableFuture} is not the shared in-flight
+	 * {@link CompletableFuture}, so completing or cancelling it does not affect other waiters.
+	 *
+	 * @param key a key that identifies the request.
+	 * @param supplier a {@link Supplier} that starts the request.
+	 * @param copier a {@link UnaryOperator} that copies non-{@code null} results.
+	 * @param <T> the result type of the request.
+	 * @return a {@link CompletableFuture} that completes with the result of the request.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> executeAsync(
+			K key, Supplier<? extends CompletableFuture<T>> supplier, UnaryOperator<T> copier
+	) {
+		Preconditions.checkNotNull(key, "key should not be null");
+		Preconditions.checkNotNull(supplier, "supplier should not be null");
+		Preconditions.checkNotNull(copier, "copier should not be null");
+
+		if (!enabled) {
+			executedRequests.increment();
+			return supplier.get();
+		}
+
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final CompletableFuture<T> inFlightFuture =
+				(CompletableFuture<T>) inFlightRequests.putIfAbsent(key, future);
+
+		if (inFlightFuture != null) {
+			deduplicatedRequests.increment();
+			return inFlightFuture.thenApply(result -> copy(result, copier));
+		}
+
+		executedRequests.increment();
+
+		CompletableFuture<T> request;
+
+		try {
+			request = supplier.get();
+		} catch (RuntimeException | Error ex) {
+			request = FutureUtils.failed(ex);
+		}
+
+		request.whenComplete((result, throwable) -> {
+			inFlightRequests.remove(key, future);
+
+			if (throwable == null) {
+				future.complete(result);
+			} else {
+				future.completeExceptionally(FutureUtils.unwrap(throwable));
+			}
+		});
+
+		return future.thenApply(result -> copy(result, copier));
+	}
+
+	@Nullable
+	private static <T> T copy(@Nullable T result, UnaryOperator<T> copier) {
+		return result == null ? null : copier.apply(result);
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.util.concurrent.RateLimiter;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+//A network interceptor used by RetrofitUtils that limits the rate of requests using a
+//token bucket and the number of requests in progress using an AIMD (additive increase,
+//multiplicative decrease) limit. Because it is a network interceptor, responses served from
+//the HTTP cache are not limited. When the server asks clients to slow down, the application
+//interceptor returned by retryAfterInterceptor() pauses all requests for the duration
+//specified by the Retry-After header and retries the request.
+final class RequestThrottle implements Interceptor {
+	static final int DEFAULT_MIN_LIMIT = 1;
+	static final int DEFAULT_MAX_LIMIT = 64;
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestThrottle.class);
+
+	private static final int INITIAL_LIMIT = 16;
+	private static final double BACKOFF_RATIO = 0.5;
+	private static final int MAX_THROTTLED_ATTEMPTS = 3;
+	private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1L);
+	private static final Duration MAX_RETRY_AFTER = Duration.ofMinutes(1L);
+
+	private final Lock lock = new ReentrantLock();
+	//Signalled when a request completes or the limit changes.
+	private final Condition permitReleased = lock.newCondition();
+	private final Interceptor retryAfterInterceptor = this::retryAfter;
+
+	@Nullable
+	private volatile RateLimiter rateLimiter;
+
+	private int minLimit = DEFAULT_MIN_LIMIT;
+	private int maxLimit = DEFAULT_MAX_LIMIT;
+	private double limit = INITIAL_LIMIT;
+	private int inProgress;
+	//Incremented every time the limit is decreased so that a burst of overloaded responses to
+	//requests that were sent under the same limit only decreases it once.
+	private long generation;
+	private long pausedUntilNanos = System.nanoTime();
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		final Request request = chain.request();
+		final long requestGeneration = acquire(request);
+		final RateLimiter limiter = rateLimiter;
+
+		if (limiter != null) {
+			limiter.acquire();
+		}
+
+		Response response = null;
+		boolean overloaded = false;
+
+		try {
+			response = chain.proceed(request);
+			overloaded = isOverloaded(response);
+			return response;
+		} catch (SocketTimeoutException ex) {
+			overloaded = true;
+			throw ex;
+		} finally {
+			release(requestGeneration, response != null, overloaded);
+		}
+	}
+
+	Interceptor retryAfterInterceptor() {
+		return retryAfterInterceptor;
+	}
+
+	double rateLimit() {
+		final RateLimiter limiter = rateLimiter;
+		return limiter == null ? Double.POSITIVE_INFINITY : limiter.getRate();
+	}
+
+	void setRateLimit(double requestsPerSecond) {
+		rateLimiter = requestsPerSecond == Double.POSITIVE_INFINITY ?
+				null : RateLimiter.create(requestsPerSecond);
+	}
+
+	int maxLimit() {
+		lock.lock();
+
+		try {
+			return maxLimit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	int limit() {
+		lock.lock();
+
+		try {
+			return (int) limit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	void setLimits(int minLimit, int maxLimit) {
+		lock.lock();
+
+		try {
+			this.minLimit = minLimit;
+			this.maxLimit = maxLimit;
+			limit = Math.max(minLimit, Math.min(maxLimit, INITIAL_LIMIT));
+			permitReleased.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Response retryAfter(Chain chain) throws IOException {
+		final Request request = chain.request();
+
+		for (int attempt = 1; ; attempt++) {
+			final Response response = chain.proceed(request);
+
+			if (!isOverloaded(response) || attempt == MAX_THROTTLED_ATTEMPTS) {
+				return response;
+			}
+
+			Duration retryAfter = getRetryAfter(response);
+
+			//A 503 without Retry-After is returned to the caller without being retried here.
+			//RetrofitUtils does not retry it either, as it only retries failed calls.
+			if (retryAfter == null) {
+				if (response.code() != 429) {
+					return response;
+				}
+
+				retryAfter = DEFAULT_RETRY_AFTER;
+			} else if (retryAfter.compareTo(MAX_RETRY_AFTER) > 0) {
+				return response;
+			}
+
+			logger.warn(
+					"Pausing requests for {} ms due to HTTP status {} for: {}",
+					retryAfter.toMillis(), response.code(), request.url()
+			);
+			response.close();
+			pause(retryAfter);
+		}
+	}
+
+	private long acquire(Request request) throws InterruptedIOException {
+		lock.lock();
+
+		try {
+			while (true) {
+				final long pauseNanos = pausedUntilNanos - System.nanoTime();
+
+				if (pauseNanos > 0L) {
+					permitReleased.awaitNanos(pauseNanos);
+				} else if (inProgress < (int) limit) {
+					inProgress++;
+					return generation;
+				} else {
+					permitReleased.await();
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while throttled: " + request.url());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void release(long requestGeneration, boolean completed, boolean overloaded) {
+		lock.lock();
+
+		try {
+			if (overloaded) {
+				if (requestGeneration == generation) {
+					limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+					generation++;
+					logger.debug("Decreased concurrency limit to {}", (int) limit);
+				}
+			} else if (completed && inProgress >= limit / 2.0) {
+				//The limit is only increased if it is being used.
+				limit = Math.min(maxLimit, limit + 1.0 / limit);
+			}
+
+			inProgress--;
+			permitReleased.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void pause(Duration duration) {
+		lock.lock();
+
+		try {
+			final long pausedUntilNanos = System.nanoTime() + duration.toNanos();
+
+			if (pausedUntilNanos - this.pausedUntilNanos > 0L) {
+				this.pausedUntilNanos = pausedUntilNanos;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static boolean isOverloaded(Response response) {
+		return response.code() == 429 || response.code() == 503;
+	}
+
+	@Nullable
+	private static Duration getRetryAfter(Response response) {
+		final String retryAfter = response.header("Retry-After");
+
+		if (retryAfter == null) {
+			return null;
+		}
+
+		try {
+			return Duration.ofSeconds(Math.max(0L, Long.parseLong(retryAfter.trim())));
+		} catch (NumberFormatException ignored) {
+			//Retry-After is either a number of seconds or an HTTP date.
+		}
+
+		try {
+			final Duration duration = Duration.between(
+					ZonedDateTime.now(),
+					ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+			);
+			return duration.isNegative() ? Duration.ZERO : duration;
+		} catch (DateTimeParseException ex) {
+			logger.warn("Ignoring invalid Retry-After header: {}", retryAfter);
+			return null;
+		}
+	}
+}
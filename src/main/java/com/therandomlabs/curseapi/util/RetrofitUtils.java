@@ -24,22 +24,41 @@
 package com.therandomlabs.curseapi.util;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.therandomlabs.curseapi.CurseException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retrofit.CircuitBreakerCallAdapter;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.vavr.control.Try;
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
 import okhttp3.ResponseBody;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.moshi.MoshiConverterFactory;
@@ -55,17 +74,126 @@ public final class RetrofitUtils {
 	private static Function<String, Retrofit> retrofitSupplier = baseURL -> new Retrofit.Builder().
 			addCallAdapterFactory(CircuitBreakerCallAdapter.of(
 					circuitBreaker,
-					response -> response.isSuccessful() || response.code() == 404
+					//Throttled requests do not indicate that the server is failing.
+					response -> response.isSuccessful() || response.code() == 404 ||
+							response.code() == 429
 			)).
 			baseUrl(baseURL).
-			client(OkHttpUtils.getClient()).
+			//The client is retrieved for each call so that changes to it take effect.
+			callFactory(request -> getClient().newCall(request)).
 			addConverterFactory(MoshiConverterFactory.create(MoshiUtils.moshi)).
 			build();
 
 	private static Retry retry = Retry.ofDefaults("curseapi");
 
+	//Used to schedule retries of asynchronous calls.
+	private static final ScheduledExecutorService retryScheduler =
+			Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().
+					setNameFormat("CurseAPI-Retry-%d").
+					setDaemon(true).
+					build());
+
+	//Decoded response bodies that can be reused if the response is served from the HTTP cache.
+	private static final Map<String, DecodedResponseBody> decodedResponseBodies =
+			CacheBuilder.newBuilder().maximumSize(256L).softValues().
+					<String, DecodedResponseBody>build().asMap();
+
+	private static final RequestThrottle throttle = new RequestThrottle();
+
+	@Nullable
+	private static volatile HTTPCacheClient httpCacheClient;
+
+	private static volatile InterceptingClient interceptingClient =
+			new InterceptingClient(null, OkHttpUtils.getClient());
+
 	private RetrofitUtils() {}
 
+	/**
+	 * Represents when stale responses in the HTTP cache may be served.
+	 *
+	 * @see #enableHTTPCache(Path, long, Duration, Duration, StaleResponsePolicy)
+	 */
+	public enum StaleResponsePolicy {
+		/**
+		 * Stale responses are only served if the server cannot be reached or returns a server
+		 * error. Otherwise, stale responses are revalidated.
+		 */
+		ON_ERROR,
+		/**
+		 * Stale responses are served without being revalidated as long as they are within the
+		 * maximum staleness, as well as if the server cannot be reached or returns a server
+		 * error.
+		 */
+		WITHIN_MAX_STALE
+	}
+
+	private static final class DecodedResponseBody {
+		private final String validator;
+		private final Object body;
+
+		DecodedResponseBody(String validator, Object body) {
+			this.validator = validator;
+			this.body = body;
+		}
+	}
+
+	private static final class HTTPCacheClient {
+		private final Cache cache;
+		private final Duration maxAge;
+		private final Duration maxStale;
+		private final StaleResponsePolicy staleResponsePolicy;
+		private final OkHttpClient baseClient;
+		private final OkHttpClient client;
+
+		HTTPCacheClient(
+				Cache cache, Duration maxAge, Duration maxStale,
+				StaleResponsePolicy staleResponsePolicy, OkHttpClient baseClient
+		) {
+			this.cache = cache;
+			this.maxAge = maxAge;
+			this.maxStale = maxStale;
+			this.staleResponsePolicy = staleResponsePolicy;
+			this.baseClient = baseClient;
+			client = baseClient.newBuilder().
+					cache(cache).
+					addInterceptor(new HTTPCacheInterceptors.StaleResponses(
+							maxStale, staleResponsePolicy == StaleResponsePolicy.WITHIN_MAX_STALE
+					)).
+					addNetworkInterceptor(new HTTPCacheInterceptors.ResponseCacheControl(maxAge)).
+					build();
+		}
+
+		HTTPCacheClient withBaseClient(OkHttpClient baseClient) {
+			return new HTTPCacheClient(cache, maxAge, maxStale, staleResponsePolicy, baseClient);
+		}
+	}
+
+	private static final class InterceptingClient {
+		@Nullable
+		private final Interceptor interceptor;
+		private final OkHttpClient baseClient;
+		private final OkHttpClient client;
+
+		InterceptingClient(@Nullable Interceptor interceptor, OkHttpClient baseClient) {
+			this.interceptor = interceptor;
+			this.baseClient = baseClient;
+
+			final OkHttpClient.Builder builder = baseClient.newBuilder();
+			//Requests are retried when the server asks clients to slow down before the
+			//interceptor and the HTTP cache see them, and the throttle is added as the first
+			//network interceptor so that only requests that reach the network are limited.
+			builder.interceptors().add(0, throttle.retryAfterInterceptor());
+
+			if (interceptor != null) {
+				builder.interceptors().add(1, interceptor);
+			}
+
+			builder.networkInterceptors().add(0, throttle);
+			client = builder.build();
+			raiseDispatcherLimits(client.dispatcher(), throttle.maxLimit());
+		}
+	}
+
 	/**
 	 * Returns a {@link Retrofit} instance for the specified base URL that uses
 	 * {@link MoshiUtils#moshi}.
@@ -92,34 +220,128 @@ public final class RetrofitUtils {
 	public static <T> T execute(Call<T> call) throws CurseException {
 		Preconditions.checkNotNull(call, "call should not be null");
 
-		logger.debug("Executing request: {}", call.request());
-
 		try {
-			final Response<T> response = Try.of(Retry.decorateCheckedSupplier(
-					retry, () -> call.clone().execute()
-			)).get();
+			return handleResponse(executeWithRetry(call));
+		} catch (IOException ex) {
+			throw new CurseException("Failed to execute request: " + call.request(), ex);
+		}
+	}
 
-			if (response.isSuccessful()) {
-				return response.body();
-			}
+	/**
+	 * Executes the specified {@link Call} and deserializes the response body to the specified
+	 * {@link Type} using {@link MoshiUtils#moshi}. If the {@link Call} fails, a
+	 * {@link CurseException} is thrown with an appropriate detail message.
+	 *
+	 * @param call a {@link Call}.
+	 * @param type the {@link Type} of the response body.
+	 * @param <T> the type of the response body.
+	 * @return the deserialized response body.
+	 * @throws CurseException if the {@link Call} fails to execute correctly.
+	 */
+	@Nullable
+	public static <T> T execute(Call<ResponseBody> call, Type type) throws CurseException {
+		Preconditions.checkNotNull(call, "call should not be null");
+		Preconditions.checkNotNull(type, "type should not be null");
 
-			//The path could not be found, so we return null.
-			if (response.code() == 404) {
-				return null;
-			}
+		try {
+			return decode(executeWithRetry(call), type, null);
+		} catch (IOException ex) {
+			throw new CurseException("Failed to execute request: " + call.request(), ex);
+		}
+	}
 
-			try (ResponseBody errorBody = response.errorBody()) {
-				throw new CurseException(String.format(
-						"Failed to execute call. HTTP status: %s (%s). Response body: %s",
-						response.message(), response.code(),
-						errorBody == null ? null : errorBody.string()
-				));
-			}
+	/**
+	 * Executes the specified {@link Call} and deserializes the response body to the specified
+	 * {@link Type} using {@link MoshiUtils#moshi}. If the {@link Call} fails, a
+	 * {@link CurseException} is thrown with an appropriate detail message.
+	 * <p>
+	 * If the HTTP cache is enabled, the deserialized response body is held in memory, and
+	 * when the same response is served from the HTTP cache again, either directly or after the
+	 * server responds with {@code 304 Not Modified}, it is reused rather than deserialized again.
+	 * The deserialized response body itself is never returned; instead, a copy created using
+	 * the specified {@link UnaryOperator} is returned, so callers may modify it freely.
+	 *
+	 * @param call a {@link Call}.
+	 * @param type the {@link Type} of the response body.
+	 * @param copier a {@link UnaryOperator} that creates a copy of a deserialized response body
+	 * that does not share any mutable state with it.
+	 * @param <T> the type of the response body.
+	 * @return a copy of the deserialized response body.
+	 * @throws CurseException if the {@link Call} fails to execute correctly.
+	 * @see #enableHTTPCache(Path, long, Duration, Duration, StaleResponsePolicy)
+	 */
+	@Nullable
+	public static <T> T execute(Call<ResponseBody> call, Type type, UnaryOperator<T> copier)
+			throws CurseException {
+		Preconditions.checkNotNull(call, "call should not be null");
+		Preconditions.checkNotNull(type, "type should not be null");
+		Preconditions.checkNotNull(copier, "copier should not be null");
+
+		try {
+			return decode(executeWithRetry(call), type, copier);
 		} catch (IOException ex) {
 			throw new CurseException("Failed to execute request: " + call.request(), ex);
 		}
 	}
 
+	/**
+	 * Asynchronously executes the specified {@link Call}. This is the asynchronous equivalent of
+	 * {@link #execute(Call)}: the {@link Call} is enqueued on the OkHttp dispatcher rather than
+	 * executed on the calling thread, and failed attempts are retried without blocking.
+	 *
+	 * @param call a {@link Call}.
+	 * @param <T> the response body type of the {@link Call}.
+	 * @return a {@link CompletableFuture} that completes with the deserialized response body,
+	 * or {@code null} if the path could not be found. If the {@link Call} fails to execute
+	 * correctly, the {@link CompletableFuture} completes exceptionally with a
+	 * {@link CurseException}.
+	 */
+	public static <T> CompletableFuture<T> executeAsync(Call<T> call) {
+		Preconditions.checkNotNull(call, "call should not be null");
+		return executeAsync(call, RetrofitUtils::handleResponse);
+	}
+
+	/**
+	 * Asynchronously executes the specified {@link Call} and deserializes the response body to
+	 * the specified {@link Type}. This is the asynchronous equivalent of
+	 * {@link #execute(Call, Type)}.
+	 *
+	 * @param call a {@link Call}.
+	 * @param type the {@link Type} of the response body.
+	 * @param <T> the type of the response body.
+	 * @return a {@link CompletableFuture} that completes with the deserialized response body,
+	 * or {@code null} if the path could not be found.
+	 * @see #execute(Call, Type)
+	 */
+	public static <T> CompletableFuture<T> executeAsync(Call<ResponseBody> call, Type type) {
+		Preconditions.checkNotNull(call, "call should not be null");
+		Preconditions.checkNotNull(type, "type should not be null");
+		return executeAsync(call, response -> decode(response, type, null));
+	}
+
+	/**
+	 * Asynchronously executes the specified {@link Call} and deserializes the response body to
+	 * the specified {@link Type}. This is the asynchronous equivalent of
+	 * {@link #execute(Call, Type, UnaryOperator)}.
+	 *
+	 * @param call a {@link Call}.
+	 * @param type the {@link Type} of the response body.
+	 * @param copier a {@link UnaryOperator} that creates a copy of a deserialized response body
+	 * that does not share any mutable state with it.
+	 * @param <T> the type of the response body.
+	 * @return a {@link CompletableFuture} that completes with a copy of the deserialized
+	 * response body, or {@code null} if the path could not be found.
+	 * @see #execute(Call, Type, UnaryOperator)
+	 */
+	public static <T> CompletableFuture<T> executeAsync(
+			Call<ResponseBody> call, Type type, UnaryOperator<T> copier
+	) {
+		Preconditions.checkNotNull(call, "call should not be null");
+		Preconditions.checkNotNull(type, "type should not be null");
+		Preconditions.checkNotNull(copier, "copier should not be null");
+		return executeAsync(call, response -> decode(response, type, copier));
+	}
+
 	/**
 	 * Executes the specified {@link Call} using {@link #execute(Call)} and returns the response
 	 * body as a string.
@@ -164,6 +386,236 @@ public final class RetrofitUtils {
 		return JsoupUtils.parseBody(string);
 	}
 
+	/**
+	 * Asynchronously executes the specified {@link Call} using {@link #executeAsync(Call)} and
+	 * returns the response body as a string.
+	 *
+	 * @param call a {@link Call}.
+	 * @return a {@link CompletableFuture} that completes with the response body as a string.
+	 * @see #getString(Call)
+	 */
+	public static CompletableFuture<String> getStringAsync(Call<ResponseBody> call) {
+		Preconditions.checkNotNull(call, "call should not be null");
+		return FutureUtils.thenApply(executeAsync(call), responseBody -> {
+			if (responseBody == null) {
+				return null;
+			}
+
+			try {
+				return responseBody.string();
+			} catch (IOException ex) {
+				throw new CurseException("Failed to get string: " + call.request(), ex);
+			}
+		});
+	}
+
+	/**
+	 * Asynchronously executes the specified {@link Call} using {@link #executeAsync(Call)} and
+	 * returns the response body as an {@link Element}.
+	 *
+	 * @param call a {@link Call}.
+	 * @return a {@link CompletableFuture} that completes with the response body as an
+	 * {@link Element}.
+	 * @see #getElement(Call)
+	 */
+	public static CompletableFuture<Element> getElementAsync(Call<ResponseBody> call) {
+		Preconditions.checkNotNull(call, "call should not be null");
+		return FutureUtils.thenApply(
+				getStringAsync(call), string -> string == null ? null : JsoupUtils.parseBody(string)
+		);
+	}
+
+	/**
+	 * Enables the on-disk HTTP cache for the {@link Retrofit} instances returned by
+	 * {@link #get(String)} with a maximum age of zero, a maximum staleness of seven days and
+	 * {@link StaleResponsePolicy#ON_ERROR}.
+	 *
+	 * @param directory a {@link Path} to the cache directory.
+	 * @param maxSize the maximum size of the cache in bytes.
+	 * @see #enableHTTPCache(Path, long, Duration, Duration, StaleResponsePolicy)
+	 */
+	public static void enableHTTPCache(Path directory, long maxSize) {
+		enableHTTPCache(
+				directory, maxSize, Duration.ZERO, Duration.ofDays(7L),
+				StaleResponsePolicy.ON_ERROR
+		);
+	}
+
+	/**
+	 * Enables the on-disk HTTP cache for the {@link Retrofit} instances returned by
+	 * {@link #get(String)}. The cache is not used for file downloads.
+	 * <p>
+	 * Responses are stored along with their {@code ETag} and {@code Last-Modified} headers,
+	 * and once they become stale, they are revalidated using conditional requests, so unchanged
+	 * responses do not have to be downloaded again. Responses for which the server does not
+	 * specify caching headers are considered fresh for the specified maximum age.
+	 *
+	 * @param directory a {@link Path} to the cache directory.
+	 * @param maxSize the maximum size of the cache in bytes.
+	 * @param maxAge the maximum age of responses for which the server does not specify caching
+	 * headers. If this is zero, such responses are revalidated every time they are used.
+	 * @param maxStale the maximum amount of time for which responses may be stale and still
+	 * be served according to the specified {@link StaleResponsePolicy}.
+	 * @param staleResponsePolicy a {@link StaleResponsePolicy}.
+	 */
+	public static void enableHTTPCache(
+			Path directory, long maxSize, Duration maxAge, Duration maxStale,
+			StaleResponsePolicy staleResponsePolicy
+	) {
+		Preconditions.checkNotNull(directory, "directory should not be null");
+		Preconditions.checkArgument(maxSize > 0L, "maxSize should be positive");
+		Preconditions.checkNotNull(maxAge, "maxAge should not be null");
+		Preconditions.checkArgument(!maxAge.isNegative(), "maxAge should not be negative");
+		Preconditions.checkNotNull(maxStale, "maxStale should not be null");
+		Preconditions.checkArgument(!maxStale.isNegative(), "maxStale should not be negative");
+		Preconditions.checkNotNull(staleResponsePolicy, "staleResponsePolicy should not be null");
+
+		synchronized (RetrofitUtils.class) {
+			disableHTTPCache();
+			httpCacheClient = new HTTPCacheClient(
+					new Cache(directory.toFile(), maxSize), maxAge, maxStale,
+					staleResponsePolicy, OkHttpUtils.getClient()
+			);
+		}
+	}
+
+	/**
+	 * Disables the HTTP cache if it is enabled. The cached responses are not deleted.
+	 */
+	public static void disableHTTPCache() {
+		synchronized (RetrofitUtils.class) {
+			final HTTPCacheClient oldClient = httpCacheClient;
+
+			if (oldClient == null) {
+				return;
+			}
+
+			httpCacheClient = null;
+			decodedResponseBodies.clear();
+
+			try {
+				oldClient.cache.close();
+			} catch (IOException ex) {
+				logger.warn("Failed to close HTTP cache", ex);
+			}
+		}
+	}
+
+	/**
+	 * Returns the OkHttp {@link Cache} used as the HTTP cache.
+	 *
+	 * @return the OkHttp {@link Cache} used as the HTTP cache, or {@code null} if the
+	 * HTTP cache is not enabled.
+	 */
+	@Nullable
+	public static Cache getHTTPCache() {
+		final HTTPCacheClient client = httpCacheClient;
+		return client == null ? null : client.cache;
+	}
+
+	/**
+	 * Sets an OkHttp application {@link Interceptor} for the {@link Retrofit} instances returned
+	 * by {@link #get(String)}. The interceptor is not used for file downloads, and it runs before
+	 * the HTTP cache is consulted. This can be used to record and replay the requests made by
+	 * CurseAPI using {@link HTTPArchive}. Responses that the interceptor returns without
+	 * proceeding with the request do not count towards the limits set using
+	 * {@link #setRateLimit(double)} and {@link #setConcurrencyLimits(int, int)}.
+	 *
+	 * @param interceptor an {@link Interceptor}, or {@code null} if no interceptor should be used.
+	 * @see HTTPArchive#recorder()
+	 * @see HTTPArchive#replayer()
+	 */
+	public static void setInterceptor(@Nullable Interceptor interceptor) {
+		synchronized (RetrofitUtils.class) {
+			interceptingClient = new InterceptingClient(interceptor, getCachingClient());
+		}
+	}
+
+	/**
+	 * Returns the OkHttp application {@link Interceptor} for the {@link Retrofit} instances
+	 * returned by {@link #get(String)}.
+	 *
+	 * @return the {@link Interceptor} set using {@link #setInterceptor(Interceptor)},
+	 * or {@code null} if no interceptor is used.
+	 */
+	@Nullable
+	public static Interceptor getInterceptor() {
+		return interceptingClient.interceptor;
+	}
+
+	/**
+	 * Limits the rate at which the {@link Retrofit} instances returned by {@link #get(String)}
+	 * send requests. Requests are not rate limited by default.
+	 * <p>
+	 * Requests are rate limited using a token bucket that allows up to one second's worth of
+	 * requests to be sent in a burst. Only requests that are sent over the network count
+	 * towards the rate limit, so responses served from the HTTP cache without being revalidated
+	 * do not.
+	 *
+	 * @param requestsPerSecond the maximum number of requests per second, or
+	 * {@link Double#POSITIVE_INFINITY} if requests should not be rate limited.
+	 */
+	public static void setRateLimit(double requestsPerSecond) {
+		Preconditions.checkArgument(
+				requestsPerSecond > 0.0, "requestsPerSecond should be positive"
+		);
+		throttle.setRateLimit(requestsPerSecond);
+	}
+
+	/**
+	 * Returns the maximum number of requests per second sent by the {@link Retrofit} instances
+	 * returned by {@link #get(String)}.
+	 *
+	 * @return the maximum number of requests per second, or {@link Double#POSITIVE_INFINITY}
+	 * if requests are not rate limited.
+	 * @see #setRateLimit(double)
+	 */
+	public static double getRateLimit() {
+		return throttle.rateLimit();
+	}
+
+	/**
+	 * Sets the bounds of the adaptive limit on the number of requests sent by the
+	 * {@link Retrofit} instances returned by {@link #get(String)} that may be in progress at
+	 * a time. The defaults are {@code 1} and {@code 64}, and the current limit is reset to
+	 * {@code 16} or the nearest bound.
+	 * <p>
+	 * The limit is increased by one for every limit's worth of requests that complete while
+	 * it is being used, and it is halved when the server responds with
+	 * {@code 429 Too Many Requests} or {@code 503 Service Unavailable}, or a request times out.
+	 * If the server responds with {@code 429 Too Many Requests}, or with
+	 * {@code 503 Service Unavailable} and a {@code Retry-After} header, all requests are paused
+	 * for the specified duration and the request is retried up to two times.
+	 * <p>
+	 * Only requests that are sent over the network count towards the limit. Asynchronous
+	 * requests wait for the limit on OkHttp's dispatcher threads, so the maximum numbers of
+	 * requests and requests per host of the client's {@link Dispatcher} are raised to
+	 * {@code maxLimit} if they are lower.
+	 *
+	 * @param minLimit the minimum concurrency limit.
+	 * @param maxLimit the maximum concurrency limit.
+	 */
+	public static void setConcurrencyLimits(int minLimit, int maxLimit) {
+		Preconditions.checkArgument(minLimit > 0, "minLimit should be positive");
+		Preconditions.checkArgument(
+				maxLimit >= minLimit, "maxLimit should not be smaller than minLimit"
+		);
+		throttle.setLimits(minLimit, maxLimit);
+		raiseDispatcherLimits(getClient().dispatcher(), maxLimit);
+	}
+
+	/**
+	 * Returns the current adaptive limit on the number of requests sent by the
+	 * {@link Retrofit} instances returned by {@link #get(String)} that may be in progress at
+	 * a time.
+	 *
+	 * @return the current concurrency limit.
+	 * @see #setConcurrencyLimits(int, int)
+	 */
+	public static int getConcurrencyLimit() {
+		return throttle.limit();
+	}
+
 	/**
 	 * Sets CurseAPI's {@link Retrofit} supplier.
 	 *
@@ -192,4 +644,226 @@ public final class RetrofitUtils {
 						build()
 		);
 	}
+
+	private static OkHttpClient getClient() {
+		final OkHttpClient baseClient = getCachingClient();
+		InterceptingClient client = interceptingClient;
+
+		//If the caching client or the client used by CurseAPI has been changed,
+		//the intercepting client is rebuilt.
+		if (client.baseClient != baseClient) {
+			synchronized (RetrofitUtils.class) {
+				client = interceptingClient;
+
+				if (client.baseClient != baseClient) {
+					client = new InterceptingClient(client.interceptor, baseClient);
+					interceptingClient = client;
+				}
+			}
+		}
+
+		return client.client;
+	}
+
+	private static OkHttpClient getCachingClient() {
+		final OkHttpClient baseClient = OkHttpUtils.getClient();
+		HTTPCacheClient client = httpCacheClient;
+
+		if (client == null) {
+			return baseClient;
+		}
+
+		//If the client used by CurseAPI has been changed, the caching client is rebuilt.
+		if (client.baseClient != baseClient) {
+			synchronized (RetrofitUtils.class) {
+				client = httpCacheClient;
+
+				if (client == null) {
+					return baseClient;
+				}
+
+				if (client.baseClient != baseClient) {
+					client = client.withBaseClient(baseClient);
+					httpCacheClient = client;
+				}
+			}
+		}
+
+		return client.client;
+	}
+
+	//OkHttp only runs five asynchronous calls per host at a time by default, which would
+	//otherwise cap the number of requests in progress below the throttle's limit.
+	private static void raiseDispatcherLimits(Dispatcher dispatcher, int maxLimit) {
+		if (dispatcher.getMaxRequests() < maxLimit) {
+			dispatcher.setMaxRequests(maxLimit);
+		}
+
+		if (dispatcher.getMaxRequestsPerHost() < maxLimit) {
+			dispatcher.setMaxRequestsPerHost(maxLimit);
+		}
+	}
+
+	private static <T> Response<T> executeWithRetry(Call<T> call) throws IOException {
+		logger.debug("Executing request: {}", call.request());
+		return Try.of(Retry.decorateCheckedSupplier(retry, () -> call.clone().execute())).get();
+	}
+
+	private static <T, R> CompletableFuture<R> executeAsync(
+			Call<T> call, ResponseHandler<T, R> handler
+	) {
+		logger.debug("Enqueueing request: {}", call.request());
+
+		final AtomicReference<Call<T>> currentAttempt = new AtomicReference<>();
+		final AtomicBoolean cancelled = new AtomicBoolean();
+
+		final CompletionStage<Response<T>> responseStage =
+				Retry.decorateCompletionStage(retry, retryScheduler, () -> {
+					final Call<T> attempt = call.clone();
+					currentAttempt.set(attempt);
+
+					//If the returned future has been cancelled, no more attempts are made.
+					if (cancelled.get()) {
+						return FutureUtils.failed(new CancellationException());
+					}
+
+					return enqueue(attempt);
+				}).get();
+
+		final CompletableFuture<R> future =
+				responseStage.toCompletableFuture().handle((response, throwable) -> {
+					if (throwable != null) {
+						final Throwable cause = FutureUtils.unwrap(throwable);
+						throw new CompletionException(cause instanceof CurseException ?
+								cause :
+								new CurseException(
+										"Failed to execute request: " + call.request(), cause
+								));
+					}
+
+					try {
+						return handler.handle(response);
+					} catch (CurseException | IOException ex) {
+						throw new CompletionException(ex);
+					}
+				});
+
+		//Cancelling the returned future cancels the attempt that is in progress.
+		future.whenComplete((result, throwable) -> {
+			if (future.isCancelled()) {
+				cancelled.set(true);
+				final Call<T> attempt = currentAttempt.get();
+
+				if (attempt != null) {
+					attempt.cancel();
+				}
+			}
+		});
+
+		return future;
+	}
+
+	@FunctionalInterface
+	private interface ResponseHandler<T, R> {
+		@Nullable
+		R handle(Response<T> response) throws CurseException, IOException;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <T> T decode(
+			Response<ResponseBody> response, Type type, @Nullable UnaryOperator<T> copier
+	) throws CurseException, IOException {
+		final ResponseBody body = handleResponse(response);
+
+		if (body == null) {
+			return null;
+		}
+
+		try (ResponseBody closeableBody = body) {
+			final okhttp3.Response rawResponse = response.raw();
+			final String key = rawResponse.request().url().toString();
+			final String validator = getValidator(rawResponse);
+
+			//Decoded response bodies are only reused if they can be copied, as they would
+			//otherwise be shared between callers.
+			if (validator == null || copier == null || httpCacheClient == null) {
+				return MoshiUtils.moshi.<T>adapter(type).fromJson(closeableBody.source());
+			}
+
+			final okhttp3.Response networkResponse = rawResponse.networkResponse();
+
+			//If the body was read from the cache, it is the same as the last time it was
+			//received, so if it is still in memory, it does not need to be decoded again.
+			if (rawResponse.cacheResponse() != null &&
+					(networkResponse == null || networkResponse.code() == 304)) {
+				final DecodedResponseBody decoded = decodedResponseBodies.get(key);
+
+				if (decoded != null && decoded.validator.equals(validator)) {
+					logger.debug("Reusing decoded response body for: {}", key);
+					return copier.apply((T) decoded.body);
+				}
+			}
+
+			final T decodedBody =
+					MoshiUtils.moshi.<T>adapter(type).fromJson(closeableBody.source());
+
+			if (decodedBody == null) {
+				return null;
+			}
+
+			decodedResponseBodies.put(key, new DecodedResponseBody(validator, decodedBody));
+			return copier.apply(decodedBody);
+		}
+	}
+
+	@Nullable
+	private static String getValidator(okhttp3.Response response) {
+		final String eTag = response.header("ETag");
+
+		if (eTag != null) {
+			return "ETag: " + eTag;
+		}
+
+		final String lastModified = response.header("Last-Modified");
+		return lastModified == null ? null : "Last-Modified: " + lastModified;
+	}
+
+	@Nullable
+	private static <T> T handleResponse(Response<T> response) throws CurseException, IOException {
+		if (response.isSuccessful()) {
+			return response.body();
+		}
+
+		//The path could not be found, so we return null.
+		if (response.code() == 404) {
+			return null;
+		}
+
+		try (ResponseBody errorBody = response.errorBody()) {
+			throw new CurseException(String.format(
+					"Failed to execute call. HTTP status: %s (%s). Response body: %s",
+					response.message(), response.code(),
+					errorBody == null ? null : errorBody.string()
+			));
+		}
+	}
+
+	private static <T> CompletableFuture<Response<T>> enqueue(Call<T> call) {
+		final CompletableFuture<Response<T>> future = new CompletableFuture<>();
+
+		call.enqueue(new Callback<T>() {
+			@Override
+			public void onResponse(Call<T> call, Response<T> response) {
+				future.complete(response);
+			}
+
+			@Override
+			public void onFailure(Call<T> call, Throwable throwable) {
+				future.completeExceptionally(throwable);
+			}
+		});
+
+		return future;
+	}
 }
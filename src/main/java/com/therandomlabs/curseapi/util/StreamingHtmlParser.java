@@ -0,0 +1,898 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jsoup.parser.Parser;
+
+//Tokenizes an HTML fragment and reports the nodes that jsoup would build for it as a stream of
+//events, without building a DOM. Only the parts of the HTML tree construction algorithm that
+//affect FormattingVisitor are emulated: implied end tags, scopes, void elements, raw text
+//elements and the reconstruction of active formatting elements. Because events cannot be taken
+//back, text is not foster parented out of tables, and when the adoption agency algorithm would
+//move a block out of a misnested formatting element, the formatting element is simply closed.
+final class StreamingHtmlParser {
+	interface Handler {
+		void head(String name, int depth) throws IOException;
+
+		void text(String text, int depth) throws IOException;
+
+		void tail(String name, @Nullable String href) throws IOException;
+	}
+
+	private static final Set<String> voidElements = ImmutableSet.of(
+			"area", "base", "basefont", "bgsound", "br", "col", "command", "device", "embed",
+			"frame", "hr", "img", "input", "keygen", "link", "menuitem", "meta", "param",
+			"source", "track", "wbr"
+	);
+
+	private static final Set<String> pClosingElements = ImmutableSet.of(
+			"address", "article", "aside", "blockquote", "center", "details", "dir", "div", "dl",
+			"fieldset", "figcaption", "figure", "footer", "form", "header", "hgroup", "hr",
+			"listing", "main", "menu", "nav", "ol", "p", "plaintext", "pre", "section", "summary",
+			"table", "ul", "xmp", "h1", "h2", "h3", "h4", "h5", "h6", "li", "dd", "dt"
+	);
+
+	private static final Set<String> specialElements = ImmutableSet.of(
+			"address", "applet", "area", "article", "aside", "base", "basefont", "bgsound",
+			"blockquote", "body", "br", "button", "caption", "center", "col", "colgroup", "dd",
+			"details", "dir", "div", "dl", "dt", "embed", "fieldset", "figcaption", "figure",
+			"footer", "form", "frame", "frameset", "h1", "h2", "h3", "h4", "h5", "h6", "head",
+			"header", "hgroup", "hr", "html", "iframe", "img", "input", "li", "link", "listing",
+			"main", "marquee", "menu", "meta", "nav", "noembed", "noframes", "noscript", "object",
+			"ol", "p", "param", "plaintext", "pre", "script", "section", "select", "source",
+			"style", "summary", "table", "tbody", "td", "template", "textarea", "tfoot", "th",
+			"thead", "title", "tr", "track", "ul", "wbr", "xmp"
+	);
+
+	private static final Set<String> impliedEndTagElements = ImmutableSet.of(
+			"dd", "dt", "li", "optgroup", "option", "p", "rb", "rp", "rt", "rtc"
+	);
+
+	private static final Set<String> scopeBoundaries = ImmutableSet.of(
+			"applet", "caption", "html", "table", "td", "th", "marquee", "object", "template"
+	);
+
+	private static final Set<String> tableSectionElements =
+			ImmutableSet.of("tbody", "tfoot", "thead");
+
+	private static final Set<String> headings =
+			ImmutableSet.of("h1", "h2", "h3", "h4", "h5", "h6");
+
+	private static final Set<String> formattingElements = ImmutableSet.of(
+			"a", "b", "big", "code", "em", "font", "i", "nobr", "s", "small", "strike", "strong",
+			"tt", "u"
+	);
+
+	private static final Set<String> markerElements =
+			ImmutableSet.of("applet", "caption", "marquee", "object", "td", "th");
+
+	//Start tags before which jsoup does not reconstruct active formatting elements.
+	private static final Set<String> nonReconstructingElements = ImmutableSet.of(
+			"base", "basefont", "bgsound", "caption", "col", "colgroup", "command", "frame",
+			"iframe", "link", "meta", "noembed", "noframes", "param", "script", "source", "style",
+			"tbody", "td", "textarea", "tfoot", "th", "thead", "title", "tr", "track"
+	);
+
+	private final String html;
+	private final Handler handler;
+
+	//The stack of open elements.
+	private String[] names = new String[16];
+	private String[] hrefs = new String[16];
+	private int[] ids = new int[16];
+	private int size;
+	private int nextID;
+
+	//The list of active formatting elements. Markers have an ID of -1.
+	private String[] formattingNames = new String[8];
+	private String[] formattingHrefs = new String[8];
+	private int[] formattingIDs = new int[8];
+	private int formattingSize;
+
+	private int position;
+	private int topLevelElements;
+	private boolean finished;
+
+	//Reused while reading tags.
+	private String tagName = "";
+	@Nullable
+	private String href;
+	private boolean selfClosing;
+
+	StreamingHtmlParser(String html, Handler handler) {
+		this.html = html;
+		this.handler = handler;
+	}
+
+	//Processes the next token. Returns false once the end of the HTML has been reached and all
+	//open elements have been closed.
+	boolean next() throws IOException {
+		if (finished) {
+			return false;
+		}
+
+		final int length = html.length();
+
+		if (position >= length) {
+			popUntil(0);
+			finished = true;
+			return false;
+		}
+
+		final int markupStart = nextMarkupStart(position);
+
+		if (markupStart > position) {
+			final String text = html.substring(position, markupStart);
+			position = markupStart;
+			reconstructFormattingElements();
+			handler.text(
+					text.indexOf('&') == -1 ? text : Parser.unescapeEntities(text, false), size
+			);
+			return true;
+		}
+
+		final char next = html.charAt(position + 1);
+
+		if (next == '!') {
+			skipDeclaration();
+		} else if (next == '?') {
+			skipPast('>', position + 2);
+		} else if (next == '/') {
+			if (position + 2 < length && isASCIILetter(html.charAt(position + 2))) {
+				position += 2;
+
+				if (readTag(false)) {
+					endTag(tagName);
+				}
+			} else if (position + 2 < length && html.charAt(position + 2) == '>') {
+				position += 3;
+			} else {
+				skipPast('>', position + 2);
+			}
+		} else {
+			position++;
+
+			if (readTag(true)) {
+				startTag(tagName, href, selfClosing);
+			}
+		}
+
+		return true;
+	}
+
+	//Processes the remaining tokens.
+	void finish() throws IOException {
+		while (next()) {
+			//Keep going.
+		}
+	}
+
+	//The number of elements that have been opened at the top level, i.e. the number of
+	//elements that would be children of the body.
+	int topLevelElements() {
+		return topLevelElements;
+	}
+
+	private int nextMarkupStart(int from) {
+		final int length = html.length();
+
+		int index = html.indexOf('<', from);
+
+		while (index != -1 && index < length - 1) {
+			final char next = html.charAt(index + 1);
+
+			if (isASCIILetter(next) || next == '/' || next == '!' || next == '?') {
+				return index;
+			}
+
+			index = html.indexOf('<', index + 1);
+		}
+
+		return length;
+	}
+
+	private void skipDeclaration() {
+		if (html.startsWith("<!--", position)) {
+			if (html.startsWith("<!-->", position)) {
+				position += 5;
+			} else if (html.startsWith("<!--->", position)) {
+				position += 6;
+			} else {
+				final int end = html.indexOf("-->", position + 4);
+				position = end == -1 ? html.length() : end + 3;
+			}
+		} else {
+			skipPast('>', position + 2);
+		}
+	}
+
+	private void skipPast(char c, int from) {
+		final int index = html.indexOf(c, from);
+		position = index == -1 ? html.length() : index + 1;
+	}
+
+	//Reads a tag name and its attributes. position should be at the first character of the name.
+	//Returns false if the end of the HTML is reached before the tag is closed, in which case
+	//jsoup discards the tag.
+	private boolean readTag(boolean startTag) {
+		final int length = html.length();
+		final int nameStart = position;
+
+		while (position < length && !isTagNameEnd(html.charAt(position))) {
+			position++;
+		}
+
+		tagName = Ascii.toLowerCase(html.substring(nameStart, position));
+		href = null;
+		selfClosing = false;
+
+		while (position < length) {
+			final char c = html.charAt(position);
+
+			if (c == '>') {
+				position++;
+				return true;
+			}
+
+			if (c == '/') {
+				position++;
+				selfClosing = position < length && html.charAt(position) == '>';
+				continue;
+			}
+
+			if (isWhitespace(c)) {
+				position++;
+				continue;
+			}
+
+			final int attributeStart = position;
+
+			while (position < length && !isAttributeNameEnd(html.charAt(position))) {
+				position++;
+			}
+
+			final int attributeEnd = position;
+			skipWhitespace();
+
+			if (position >= length || html.charAt(position) != '=') {
+				continue;
+			}
+
+			position++;
+			skipWhitespace();
+
+			if (position >= length) {
+				return false;
+			}
+
+			final char quote = html.charAt(position);
+			final int valueStart;
+			final int valueEnd;
+
+			if (quote == '"' || quote == '\'') {
+				valueStart = position + 1;
+				valueEnd = html.indexOf(quote, valueStart);
+
+				if (valueEnd == -1) {
+					return false;
+				}
+
+				position = valueEnd + 1;
+			} else {
+				valueStart = position;
+
+				while (position < length && !isWhitespace(html.charAt(position)) &&
+						html.charAt(position) != '>') {
+					position++;
+				}
+
+				valueEnd = position;
+			}
+
+			//jsoup keeps the first of any duplicate attributes.
+			if (startTag && href == null && attributeEnd - attributeStart == 4 &&
+					html.regionMatches(true, attributeStart, "href", 0, 4)) {
+				final String value = html.substring(valueStart, valueEnd);
+				href = value.indexOf('&') == -1 ? value : Parser.unescapeEntities(value, true);
+			}
+		}
+
+		return false;
+	}
+
+	private void skipWhitespace() {
+		while (position < html.length() && isWhitespace(html.charAt(position))) {
+			position++;
+		}
+	}
+
+	private void startTag(String name, @Nullable String href, boolean selfClosing)
+			throws IOException {
+		switch (name) {
+		case "html":
+		case "head":
+		case "body":
+		case "frameset":
+			return;
+		case "image":
+			startTag("img", href, selfClosing);
+			return;
+		case "li":
+			closeListItem(name, name);
+			break;
+		case "dd":
+		case "dt":
+			closeListItem("dd", "dt");
+			break;
+		case "a":
+			if (lastFormattingElement("a") != -1) {
+				runAdoptionAgency("a");
+			}
+
+			break;
+		case "button":
+			if (inScope("button", scopeBoundaries)) {
+				endTag("button");
+			}
+
+			break;
+		case "td":
+		case "th":
+			if (indexOf("table") == -1) {
+				return;
+			}
+
+			if (inScope("td", scopeBoundaries) || inScope("th", scopeBoundaries)) {
+				closeCell();
+			}
+
+			if (!inTableScope("tr")) {
+				push("tr", null);
+			}
+
+			break;
+		case "tr":
+			if (indexOf("table") == -1) {
+				return;
+			}
+
+			if (inTableScope("tr")) {
+				popUntilAfter(lastIndexOf("tr"));
+			}
+
+			break;
+		case "tbody":
+		case "tfoot":
+		case "thead":
+		case "caption":
+		case "colgroup":
+			if (indexOf("table") == -1) {
+				return;
+			}
+
+			popUntil(lastIndexOf("table") + 1);
+			break;
+		default:
+			break;
+		}
+
+		if (pClosingElements.contains(name)) {
+			closeParagraph();
+
+			if (headings.contains(name) && size != 0 && headings.contains(names[size - 1])) {
+				pop();
+			}
+		}
+
+		if (!pClosingElements.contains(name) && !nonReconstructingElements.contains(name)) {
+			reconstructFormattingElements();
+		}
+
+		if (voidElements.contains(name)) {
+			handler.head(name, size);
+			countTopLevelElement();
+			handler.tail(name, href);
+			return;
+		}
+
+		push(name, href);
+
+		if (formattingElements.contains(name)) {
+			addFormattingElement(name, href, ids[size - 1]);
+		} else if (markerElements.contains(name)) {
+			addFormattingElement(null, null, -1);
+		}
+
+		switch (name) {
+		case "pre":
+		case "listing":
+			//jsoup ignores a newline immediately after these start tags.
+			if (html.startsWith("\n", position)) {
+				position++;
+			}
+
+			break;
+		case "plaintext":
+			rawText(html.length(), true);
+			return;
+		default:
+			break;
+		}
+
+		if (selfClosing) {
+			endTag(name);
+			return;
+		}
+
+		switch (name) {
+		case "script":
+		case "style":
+			rawText(rawTextEnd(name), false);
+			break;
+		case "textarea":
+		case "title":
+		case "xmp":
+		case "iframe":
+		case "noembed":
+		case "noframes":
+			rawText(rawTextEnd(name), true);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void endTag(String name) throws IOException {
+		switch (name) {
+		case "html":
+		case "head":
+		case "body":
+			return;
+		case "br":
+			startTag("br", null, false);
+			return;
+		case "p":
+			if (!inScope("p", scopeBoundaries, "button")) {
+				push("p", null);
+			}
+
+			break;
+		case "li":
+			if (!inScope("li", scopeBoundaries, "ol", "ul")) {
+				return;
+			}
+
+			break;
+		case "h1":
+		case "h2":
+		case "h3":
+		case "h4":
+		case "h5":
+		case "h6":
+			for (int i = size - 1; i >= 0; i--) {
+				if (headings.contains(names[i])) {
+					generateImpliedEndTags(null);
+					popUntilAfter(i);
+					return;
+				}
+
+				if (scopeBoundaries.contains(names[i])) {
+					return;
+				}
+			}
+
+			return;
+		case "table":
+		case "tr":
+		case "td":
+		case "th":
+		case "tbody":
+		case "tfoot":
+		case "thead":
+		case "caption":
+		case "colgroup":
+			if (inTableScope(name)) {
+				popUntilAfter(lastIndexOf(name));
+			}
+
+			return;
+		default:
+			if (formattingElements.contains(name)) {
+				runAdoptionAgency(name);
+				return;
+			}
+
+			if (specialElements.contains(name) && !voidElements.contains(name)) {
+				if (!inScope(name, scopeBoundaries)) {
+					return;
+				}
+
+				break;
+			}
+
+			for (int i = size - 1; i >= 0; i--) {
+				if (name.equals(names[i])) {
+					generateImpliedEndTags(name);
+					popUntilAfter(i);
+					return;
+				}
+
+				if (specialElements.contains(names[i])) {
+					return;
+				}
+			}
+
+			return;
+		}
+
+		generateImpliedEndTags(name);
+		popUntilAfter(lastIndexOf(name));
+	}
+
+	private void closeParagraph() throws IOException {
+		if (inScope("p", scopeBoundaries, "button")) {
+			generateImpliedEndTags("p");
+			popUntilAfter(lastIndexOf("p"));
+		}
+	}
+
+	private void closeListItem(String name1, String name2) throws IOException {
+		for (int i = size - 1; i >= 0; i--) {
+			final String name = names[i];
+
+			if (name.equals(name1) || name.equals(name2)) {
+				generateImpliedEndTags(name);
+				popUntilAfter(i);
+				return;
+			}
+
+			if (specialElements.contains(name) && !"address".equals(name) &&
+					!"div".equals(name) && !"p".equals(name)) {
+				return;
+			}
+		}
+	}
+
+	private void closeCell() throws IOException {
+		generateImpliedEndTags(null);
+
+		for (int i = size - 1; i >= 0; i--) {
+			if ("td".equals(names[i]) || "th".equals(names[i])) {
+				popUntilAfter(i);
+				return;
+			}
+		}
+	}
+
+	private void generateImpliedEndTags(@Nullable String exception) throws IOException {
+		while (size != 0) {
+			final String name = names[size - 1];
+
+			if (name.equals(exception) || !impliedEndTagElements.contains(name)) {
+				return;
+			}
+
+			pop();
+		}
+	}
+
+	private boolean inScope(String name, Set<String> boundaries, String... extraBoundaries) {
+		for (int i = size - 1; i >= 0; i--) {
+			final String openName = names[i];
+
+			if (openName.equals(name)) {
+				return true;
+			}
+
+			if (boundaries.contains(openName)) {
+				return false;
+			}
+
+			for (String extraBoundary : extraBoundaries) {
+				if (openName.equals(extraBoundary)) {
+					return false;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private boolean inTableScope(String name) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (names[i].equals(name)) {
+				return true;
+			}
+
+			if ("table".equals(names[i]) || "template".equals(names[i])) {
+				return false;
+			}
+		}
+
+		return false;
+	}
+
+	private int indexOf(String name) {
+		for (int i = 0; i < size; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private int lastIndexOf(String name) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void rawText(int end, boolean emitText) throws IOException {
+		if (end > position && emitText) {
+			final String text = html.substring(position, end);
+			//Only RCDATA elements decode character references.
+			final boolean rcData = "textarea".equals(names[size - 1]) ||
+					"title".equals(names[size - 1]);
+			handler.text(
+					rcData && text.indexOf('&') != -1 ? Parser.unescapeEntities(text, false) : text,
+					size
+			);
+		}
+
+		position = end;
+	}
+
+	private int rawTextEnd(String name) {
+		final int length = html.length();
+
+		for (int i = html.indexOf("</", position); i != -1; i = html.indexOf("</", i + 2)) {
+			final int nameEnd = i + 2 + name.length();
+
+			if (html.regionMatches(true, i + 2, name, 0, name.length()) &&
+					(nameEnd == length || isTagNameEnd(html.charAt(nameEnd)))) {
+				return i;
+			}
+		}
+
+		return length;
+	}
+
+	//A simplified version of the adoption agency algorithm.
+	private void runAdoptionAgency(String name) throws IOException {
+		final int formattingIndex = lastFormattingElement(name);
+
+		if (formattingIndex == -1) {
+			//Treat this as any other end tag.
+			for (int i = size - 1; i >= 0; i--) {
+				if (name.equals(names[i])) {
+					generateImpliedEndTags(name);
+					popUntilAfter(i);
+					return;
+				}
+
+				if (specialElements.contains(names[i])) {
+					return;
+				}
+			}
+
+			return;
+		}
+
+		final int id = formattingIDs[formattingIndex];
+		int index = -1;
+
+		for (int i = size - 1; i >= 0; i--) {
+			if (ids[i] == id) {
+				index = i;
+				break;
+			}
+
+			if (scopeBoundaries.contains(names[i])) {
+				//The element is not in scope, so the tag is ignored.
+				if (indexOfID(id) == -1) {
+					removeFormattingElement(formattingIndex);
+				}
+
+				return;
+			}
+		}
+
+		removeFormattingElement(formattingIndex);
+
+		if (index == -1) {
+			return;
+		}
+
+		for (int i = index + 1; i < size; i++) {
+			if (specialElements.contains(names[i])) {
+				//jsoup would move the block out of the formatting element, which cannot be done
+				//after the fact, so only the formatting element is closed.
+				remove(index);
+				return;
+			}
+		}
+
+		popUntil(index);
+	}
+
+	private void reconstructFormattingElements() throws IOException {
+		if (formattingSize == 0) {
+			return;
+		}
+
+		int index = formattingSize - 1;
+
+		if (formattingIDs[index] == -1 || indexOfID(formattingIDs[index]) != -1) {
+			return;
+		}
+
+		while (index > 0 && formattingIDs[index - 1] != -1 &&
+				indexOfID(formattingIDs[index - 1]) == -1) {
+			index--;
+		}
+
+		for (; index < formattingSize; index++) {
+			push(formattingNames[index], formattingHrefs[index]);
+			formattingIDs[index] = ids[size - 1];
+		}
+	}
+
+	private int lastFormattingElement(String name) {
+		for (int i = formattingSize - 1; i >= 0 && formattingIDs[i] != -1; i--) {
+			if (name.equals(formattingNames[i])) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void addFormattingElement(@Nullable String name, @Nullable String href, int id) {
+		if (formattingSize == formattingIDs.length) {
+			formattingNames = Arrays.copyOf(formattingNames, formattingSize * 2);
+			formattingHrefs = Arrays.copyOf(formattingHrefs, formattingSize * 2);
+			formattingIDs = Arrays.copyOf(formattingIDs, formattingSize * 2);
+		}
+
+		formattingNames[formattingSize] = name;
+		formattingHrefs[formattingSize] = href;
+		formattingIDs[formattingSize++] = id;
+	}
+
+	private void removeFormattingElement(int index) {
+		final int moved = formattingSize - index - 1;
+		System.arraycopy(formattingNames, index + 1, formattingNames, index, moved);
+		System.arraycopy(formattingHrefs, index + 1, formattingHrefs, index, moved);
+		System.arraycopy(formattingIDs, index + 1, formattingIDs, index, moved);
+		formattingSize--;
+		formattingNames[formattingSize] = null;
+		formattingHrefs[formattingSize] = null;
+	}
+
+	private void clearFormattingElementsToLastMarker() {
+		while (formattingSize != 0) {
+			final boolean marker = formattingIDs[formattingSize - 1] == -1;
+			removeFormattingElement(formattingSize - 1);
+
+			if (marker) {
+				return;
+			}
+		}
+	}
+
+	private int indexOfID(int id) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (ids[i] == id) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void push(String name, @Nullable String href) throws IOException {
+		handler.head(name, size);
+		countTopLevelElement();
+
+		if (size == names.length) {
+			names = Arrays.copyOf(names, size * 2);
+			hrefs = Arrays.copyOf(hrefs, size * 2);
+			ids = Arrays.copyOf(ids, size * 2);
+		}
+
+		names[size] = name;
+		hrefs[size] = href;
+		ids[size++] = nextID++;
+	}
+
+	private void pop() throws IOException {
+		remove(size - 1);
+	}
+
+	//Removes the element at the specified index from the stack of open elements.
+	private void remove(int index) throws IOException {
+		final String name = names[index];
+		final String href = hrefs[index];
+		final int moved = size - index - 1;
+		System.arraycopy(names, index + 1, names, index, moved);
+		System.arraycopy(hrefs, index + 1, hrefs, index, moved);
+		System.arraycopy(ids, index + 1, ids, index, moved);
+		size--;
+		names[size] = null;
+		hrefs[size] = null;
+		handler.tail(name, href);
+
+		if (markerElements.contains(name)) {
+			clearFormattingElementsToLastMarker();
+		}
+	}
+
+	//Pops elements until the stack has the specified size.
+	private void popUntil(int newSize) throws IOException {
+		while (size > newSize) {
+			pop();
+		}
+	}
+
+	//Pops the element at the specified index and all elements above it.
+	private void popUntilAfter(int index) throws IOException {
+		if (index != -1) {
+			popUntil(index);
+		}
+	}
+
+	private void countTopLevelElement() {
+		if (size == 0) {
+			topLevelElements++;
+		}
+	}
+
+	private static boolean isASCIILetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+	private static boolean isTagNameEnd(char c) {
+		return isWhitespace(c) || c == '/' || c == '>';
+	}
+
+	private static boolean isAttributeNameEnd(char c) {
+		return isWhitespace(c) || c == '/' || c == '>' || c == '=';
+	}
+}
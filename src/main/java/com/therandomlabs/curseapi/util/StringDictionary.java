@@ -0,0 +1,183 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An append-only dictionary that assigns each distinct string a small, stable index so that
+ * sets of strings can be represented as bitsets.
+ * <p>
+ * Indices are never reassigned, so a bitset created using this dictionary remains valid after
+ * further strings are added. This class is thread-safe.
+ */
+public final class StringDictionary {
+	private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+	//Only modified while synchronized on this dictionary.
+	private volatile String[] strings = new String[16];
+
+	/**
+	 * Returns the index of the specified string, adding it to this dictionary if necessary.
+	 *
+	 * @param string a string.
+	 * @return the index of the specified string.
+	 */
+	public int index(String string) {
+		Preconditions.checkNotNull(string, "string should not be null");
+		final Integer index = indices.get(string);
+
+		if (index != null) {
+			return index;
+		}
+
+		synchronized (this) {
+			final Integer existingIndex = indices.get(string);
+
+			if (existingIndex != null) {
+				return existingIndex;
+			}
+
+			final int newIndex = indices.size();
+
+			if (newIndex == strings.length) {
+				strings = Arrays.copyOf(strings, newIndex * 2);
+			}
+
+			//The string is stored before its index is published so that any thread that
+			//retrieves the index can also retrieve the string.
+			strings[newIndex] = string;
+			indices.put(string, newIndex);
+			return newIndex;
+		}
+	}
+
+	/**
+	 * Returns the string with the specified index. The returned instance is the instance that
+	 * was first added to this dictionary, so it may be used to deduplicate equal strings.
+	 *
+	 * @param index an index returned by {@link #index(String)}.
+	 * @return the string with the specified index.
+	 * @throws IndexOutOfBoundsException if no string has the specified index.
+	 */
+	public String string(int index) {
+		Preconditions.checkElementIndex(index, indices.size());
+		return strings[index];
+	}
+
+	/**
+	 * Returns the instance of the specified string in this dictionary, adding it to this
+	 * dictionary if necessary. This can be used to deduplicate equal strings.
+	 *
+	 * @param string a string.
+	 * @return the instance of the specified string in this dictionary.
+	 */
+	public String intern(String string) {
+		return string(index(string));
+	}
+
+	/**
+	 * Returns the number of strings in this dictionary.
+	 *
+	 * @return the number of strings in this dictionary.
+	 */
+	public int size() {
+		return indices.size();
+	}
+
+	/**
+	 * Returns a bitset representing the specified strings, adding them to this dictionary
+	 * if necessary. The bit for a string is set in the bitset if and only if the string is in
+	 * the specified collection.
+	 *
+	 * @param strings a collection of strings.
+	 * @return a bitset represented as a {@code long} array.
+	 * @see #intersects(long[], long[])
+	 */
+	public long[] bits(Collection<String> strings) {
+		Preconditions.checkNotNull(strings, "strings should not be null");
+		long[] bits = new long[0];
+
+		for (String string : strings) {
+			final int index = index(string);
+			final int word = index >>> 6;
+
+			if (word >= bits.length) {
+				final long[] newBits = new long[word + 1];
+				System.arraycopy(bits, 0, newBits, 0, bits.length);
+				bits = newBits;
+			}
+
+			bits[word] |= 1L << index;
+		}
+
+		return bits;
+	}
+
+	/**
+	 * Returns whether the specified bitsets have any bits in common.
+	 * This method does not allocate any objects.
+	 *
+	 * @param bits1 a bitset returned by {@link #bits(Collection)}.
+	 * @param bits2 another bitset returned by {@link #bits(Collection)}.
+	 * @return {@code true} if the specified bitsets have any bits in common,
+	 * or otherwise {@code false}.
+	 */
+	public static boolean intersects(long[] bits1, long[] bits2) {
+		final int length = Math.min(bits1.length, bits2.length);
+
+		for (int i = 0; i < length; i++) {
+			if ((bits1[i] & bits2[i]) != 0L) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns whether the bit for any of the specified indices is set in the specified bitset.
+	 * This method does not allocate any objects.
+	 *
+	 * @param bits a bitset returned by {@link #bits(Collection)}.
+	 * @param indices indices returned by {@link #index(String)}.
+	 * @return {@code true} if the bit for any of the specified indices is set in the specified
+	 * bitset, or otherwise {@code false}.
+	 */
+	public static boolean intersects(long[] bits, int[] indices) {
+		for (int index : indices) {
+			final int word = index >>> 6;
+
+			if (word < bits.length && (bits[word] & 1L << index) != 0L) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.therandomlabs.curseapi.project.CurseProject;
+import com.therandomlabs.curseapi.util.FutureUtils;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CurseAPIAsyncTest {
+	@Mock
+	private static CurseAPIProvider mockProvider;
+
+	@Test
+	public void shouldThrowExceptionIfInvalidProjectID() {
+		assertThatThrownBy(() -> CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID - 1)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be smaller than");
+	}
+
+	@Test
+	public void projectShouldBePresentIfExistent() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID))).
+				isPresent();
+	}
+
+	@Test
+	public void projectShouldNotBePresentIfNonexistent() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().project(Integer.MAX_VALUE))).isNotPresent();
+	}
+
+	@Test
+	public void projectsShouldBeRetrievedConcurrently() throws CurseException {
+		final CompletableFuture<Optional<CurseProject>> project1 =
+				CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID);
+		final CompletableFuture<Optional<CurseProject>> project2 =
+				CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID + 1);
+
+		assertThat(FutureUtils.join(project1).map(CurseProject::id)).
+				contains(CurseAPI.MIN_PROJECT_ID);
+		assertThat(FutureUtils.join(project2).map(CurseProject::id)).
+				contains(CurseAPI.MIN_PROJECT_ID + 1);
+	}
+
+	@Test
+	public void projectDescriptionPlainTextShouldNotBeEmpty() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().projectDescriptionPlainText(
+				CurseAPI.MIN_PROJECT_ID
+		))).get().asString().isNotEmpty();
+	}
+
+	@Test
+	public void filesShouldNotBeEmpty() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().files(CurseAPI.MIN_PROJECT_ID))).get().
+				asInstanceOf(InstanceOfAssertFactories.ITERABLE).
+				isNotEmpty();
+	}
+
+	@Test
+	public void fileShouldNotBePresentIfNonexistent() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().file(
+				CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID + 1
+		))).isNotPresent();
+	}
+
+	@Test
+	public void fileDownloadURLShouldBePresentIfExistent() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().fileDownloadURL(
+				CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID
+		))).isPresent();
+	}
+
+	@Test
+	public void gamesAndCategoriesShouldNotBeEmpty() throws CurseException {
+		assertThat(FutureUtils.join(CurseAPI.async().games())).get().
+				asInstanceOf(InstanceOfAssertFactories.ITERABLE).
+				isNotEmpty();
+		assertThat(FutureUtils.join(CurseAPI.async().categories())).get().
+				asInstanceOf(InstanceOfAssertFactories.ITERABLE).
+				isNotEmpty();
+	}
+
+	@Test
+	public void customProviderFunctionsCorrectly() throws CurseException {
+		final Optional<CurseProject> optionalProject =
+				FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID));
+		assertThat(optionalProject).isPresent();
+
+		assertThat(CurseAPI.addProvider(mockProvider, true)).isTrue();
+		assertThat(FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID))).get().
+				isEqualTo(optionalProject.get());
+		assertThat(CurseAPI.removeProvider(mockProvider)).isTrue();
+
+		final List<CurseAPIProvider> providers = CurseAPI.providers();
+		providers.forEach(CurseAPI::removeProvider);
+		assertThat(FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID))).
+				isNotPresent();
+		providers.forEach(provider -> CurseAPI.addProvider(provider, false));
+	}
+
+	@Test
+	public void racedAndHedgedRequestsShouldNotWaitForSlowProviders() throws CurseException {
+		final CompletableFuture<CurseProject> slowProject = new CompletableFuture<>();
+		final CurseAPIProvider slowProvider = new CurseAPIProvider() {
+			@Override
+			public CompletableFuture<CurseProject> projectAsync(int id) {
+				return slowProject;
+			}
+		};
+
+		assertThat(CurseAPI.addProvider(slowProvider, true)).isTrue();
+
+		try {
+			CurseAPI.setDispatchPolicy(CurseAPIDispatchPolicy.RACE);
+			assertThat(FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID))).
+					isPresent();
+			assertThat(slowProject).isCancelled();
+
+			CurseAPI.cache().invalidateAll();
+			CurseAPI.setDispatchPolicy(CurseAPIDispatchPolicy.HEDGED);
+			assertThat(FutureUtils.join(CurseAPI.async().project(CurseAPI.MIN_PROJECT_ID))).
+					isPresent();
+			assertThat(CurseAPI.providerLatency(CurseAPI.providers().get(1))).isPresent();
+			assertThat(CurseAPI.providerLatency(slowProvider)).isNotPresent();
+		} finally {
+			CurseAPI.setDispatchPolicy(CurseAPIDispatchPolicy.SEQUENTIAL);
+			assertThat(CurseAPI.removeProvider(slowProvider)).isTrue();
+		}
+	}
+
+	@Test
+	public void batchRequestsShouldUseAsynchronousProviderMethods() throws CurseException {
+		final List<CompletableFuture<Map<Integer, CurseProject>>> calls = new ArrayList<>();
+		final CurseAPIProvider slowProvider = new CurseAPIProvider() {
+			@Override
+			public CompletableFuture<Map<Integer, CurseProject>> projectsAsync(
+					Collection<Integer> ids
+			) {
+				final CompletableFuture<Map<Integer, CurseProject>> call =
+						new CompletableFuture<>();
+				calls.add(call);
+				return call;
+			}
+		};
+		final List<Integer> ids =
+				Arrays.asList(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_PROJECT_ID + 1);
+
+		CurseAPI.cache().invalidateAll();
+		assertThat(CurseAPI.addProvider(slowProvider, true)).isTrue();
+
+		try {
+			final CompletableFuture<Map<Integer, CurseProject>> projects =
+					CurseAPI.async().projects(ids);
+			assertThat(calls).hasSize(1);
+			assertThat(projects).isNotDone();
+
+			projects.cancel(true);
+			assertThat(calls.get(0)).isCancelled();
+
+			final CompletableFuture<Map<Integer, CurseProject>> remainingProjects =
+					CurseAPI.async().projects(ids);
+			calls.get(1).complete(new HashMap<>());
+			assertThat(FutureUtils.join(remainingProjects)).containsOnlyKeys(ids);
+		} finally {
+			assertThat(CurseAPI.removeProvider(slowProvider)).isTrue();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.project.CurseProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CurseAPICacheTest {
+	private final CurseAPICache cache = CurseAPI.cache();
+
+	@AfterEach
+	public void resetCache() {
+		cache.setEnabled(true);
+		cache.setPolicy(CurseAPIOperation.PROJECT, CurseAPICache.Policy.of(
+				10_000L, Duration.ofMinutes(10L)
+		));
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfPolicyIsInvalid() {
+		assertThatThrownBy(() -> CurseAPICache.Policy.of(-1L, Duration.ZERO)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be negative");
+		assertThatThrownBy(() -> CurseAPICache.Policy.of(1L, Duration.ofSeconds(-1L))).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be negative");
+	}
+
+	@Test
+	public void projectsShouldBeCached() throws CurseException {
+		final CurseAPIRequest request =
+				CurseAPIRequest.of(CurseAPIOperation.PROJECT, CurseAPI.MIN_PROJECT_ID);
+		cache.invalidate(request);
+
+		final long hitCount = cache.stats(CurseAPIOperation.PROJECT).hitCount();
+		final Optional<CurseProject> project = CurseAPI.project(CurseAPI.MIN_PROJECT_ID);
+		assertThat(project).isPresent();
+		assertThat(cache.size(CurseAPIOperation.PROJECT)).isPositive();
+
+		assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isEqualTo(project);
+		assertThat(cache.stats(CurseAPIOperation.PROJECT).hitCount()).isEqualTo(hitCount + 1);
+
+		cache.invalidateAll(CurseAPIOperation.PROJECT);
+		assertThat(cache.size(CurseAPIOperation.PROJECT)).isZero();
+	}
+
+	@Test
+	public void cachedMutableResultsShouldBeCopied() throws CurseException {
+		final Optional<CurseFiles<CurseFile>> optionalFiles =
+				CurseAPI.files(CurseAPI.MIN_PROJECT_ID);
+		assertThat(optionalFiles).isPresent();
+		final CurseFiles<CurseFile> files = optionalFiles.get();
+		final int size = files.size();
+		files.clear();
+
+		assertThat(CurseAPI.files(CurseAPI.MIN_PROJECT_ID).map(CurseFiles::size)).contains(size);
+	}
+
+	@Test
+	public void disabledPolicyShouldPreventCaching() throws CurseException {
+		cache.setPolicy(CurseAPIOperation.PROJECT, CurseAPICache.Policy.DISABLED);
+		assertThat(cache.policy(CurseAPIOperation.PROJECT)).
+				isEqualTo(CurseAPICache.Policy.DISABLED);
+		assertThat(cache.toString()).isNotEmpty();
+
+		assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isPresent();
+		assertThat(cache.size(CurseAPIOperation.PROJECT)).isZero();
+	}
+
+	@Test
+	public void disabledCacheShouldNotBeUsed() throws CurseException {
+		cache.setEnabled(false);
+		assertThat(cache.isEnabled()).isFalse();
+
+		assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isPresent();
+		assertThat(cache.size(CurseAPIOperation.PROJECT)).isZero();
+	}
+
+	@Test
+	public void nonexistentProjectsShouldNotBeCached() throws CurseException {
+		cache.invalidateAll();
+		assertThat(CurseAPI.project(Integer.MAX_VALUE)).isNotPresent();
+		assertThat(cache.size(CurseAPIOperation.PROJECT)).isZero();
+	}
+}
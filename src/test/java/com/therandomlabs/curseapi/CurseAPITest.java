@@ -29,13 +29,19 @@ import static org.mockito.Mockito.when;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import com.therandomlabs.curseapi.file.BasicCurseFile;
+import com.therandomlabs.curseapi.file.CurseFile;
 import com.therandomlabs.curseapi.game.CurseCategory;
 import com.therandomlabs.curseapi.game.CurseGame;
 import com.therandomlabs.curseapi.game.CurseGameVersion;
@@ -86,6 +92,36 @@ public class CurseAPITest {
 		assertThat(CurseAPI.project(Integer.MAX_VALUE)).isNotPresent();
 	}
 
+	@Test
+	public void projectsShouldContainOnlyExistentProjectsInOrder() throws CurseException {
+		final List<Integer> ids = new ArrayList<>();
+		ids.add(285612);
+		ids.add(Integer.MAX_VALUE);
+		ids.add(CurseAPI.MIN_PROJECT_ID);
+		ids.add(285612);
+
+		final Map<Integer, CurseProject> projects = CurseAPI.projects(ids);
+		assertThat(projects.keySet()).containsExactly(285612, CurseAPI.MIN_PROJECT_ID);
+		assertThat(projects.get(CurseAPI.MIN_PROJECT_ID)).isEqualTo(
+				CurseAPI.project(CurseAPI.MIN_PROJECT_ID).orElse(null)
+		);
+	}
+
+	@Test
+	public void projectsShouldBeRetrievedInBatches() throws CurseException {
+		final List<Integer> ids = IntStream.rangeClosed(285612, 286611).boxed().
+				collect(Collectors.toList());
+		assertThat(CurseAPI.projects(ids)).containsKey(285612);
+	}
+
+	@Test
+	public void shouldThrowExceptionIfInvalidProjectIDInCollection() {
+		assertThatThrownBy(() -> CurseAPI.projects(
+				Collections.singletonList(CurseAPI.MIN_PROJECT_ID - 1)
+		)).isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be smaller than");
+	}
+
 	@Test
 	public void exceptionShouldBeThrownIfMaxLineLengthIsInvalid() {
 		assertThatThrownBy(() -> CurseAPI.projectDescriptionPlainText(CurseAPI.MIN_PROJECT_ID, 0)).
@@ -105,6 +141,12 @@ public class CurseAPITest {
 		)).get().asString().isNotEmpty();
 	}
 
+	@Test
+	public void projectDescriptionHTMLShouldNotBeEmpty() throws CurseException {
+		assertThat(CurseAPI.projectDescriptionHTML(CurseAPI.MIN_PROJECT_ID)).
+				get().asString().isNotBlank();
+	}
+
 	@Test
 	public void searchResultsShouldBeValid() throws CurseException {
 		final Optional<CurseGame> optionalGame = CurseAPI.game(432);
@@ -147,6 +189,26 @@ public class CurseAPITest {
 		assertThat(CurseAPI.searchProjects(query)).get().asList().hasSizeGreaterThan(15);
 	}
 
+	@Test
+	public void searchProjectsStreamShouldPageAutomatically() {
+		final CurseSearchQuery query = new CurseSearchQuery().
+				gameID(432).
+				pageSize(10).
+				sortingMethod(CurseSearchSort.NAME);
+
+		try (Stream<CurseProject> projects = CurseAPI.searchProjectsStream(query, 3)) {
+			final List<Integer> ids = projects.limit(35).map(CurseProject::id).
+					collect(Collectors.toList());
+			assertThat(ids).hasSize(35).doesNotHaveDuplicates();
+		}
+
+		query.searchFilter("EnderCore");
+
+		try (Stream<CurseProject> projects = CurseAPI.searchProjectsStream(query)) {
+			assertThat(projects.map(CurseProject::id)).contains(231868);
+		}
+	}
+
 	@Test
 	public void filesShouldBeEmpty() throws CurseException {
 		assertThat(CurseAPI.files(Integer.MAX_VALUE)).isNotPresent();
@@ -176,12 +238,34 @@ public class CurseAPITest {
 		assertThat(CurseAPI.file(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID + 1)).isNotPresent();
 	}
 
+	@Test
+	public void filesShouldContainOnlyExistentFiles() throws CurseException {
+		final BasicCurseFile existent =
+				new BasicCurseFile.Immutable(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID);
+		final BasicCurseFile nonexistent =
+				new BasicCurseFile.Immutable(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID + 1);
+
+		final Map<BasicCurseFile, CurseFile> files =
+				CurseAPI.files(Arrays.asList(existent, nonexistent));
+		assertThat(files.keySet()).containsExactly(existent);
+		assertThat(files.get(existent).projectID()).isEqualTo(CurseAPI.MIN_PROJECT_ID);
+		assertThat(files.get(existent)).isEqualTo(
+				CurseAPI.file(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID).orElse(null)
+		);
+	}
+
 	@Test
 	public void fileChangelogShouldNotBeEmpty() throws CurseException {
 		assertThat(CurseAPI.fileChangelogPlainText(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID)).
 				get().asString().isNotEmpty();
 	}
 
+	@Test
+	public void fileChangelogHTMLShouldNotBeEmpty() throws CurseException {
+		assertThat(CurseAPI.fileChangelogHTML(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID)).
+				get().asString().isNotBlank();
+	}
+
 	@SuppressWarnings("SpellCheckingInspection")
 	@Test
 	public void fileShouldDownload(@TempDir Path tempDirectory) throws CurseException {
@@ -363,6 +447,24 @@ public class CurseAPITest {
 		)).hasSize(4);
 	}
 
+	@Test
+	public void parallelMapShouldUseSpecifiedMaxConcurrency() throws CurseException {
+		assertThat(CurseAPI.parallelMap(
+				Arrays.asList(1, 2, 3),
+				number -> number * 2,
+				Collectors.toList(),
+				CurseAPI.executor(),
+				1
+		)).containsExactly(2, 4, 6);
+	}
+
+	@Test
+	public void shouldThrowExceptionIfInvalidMaxConcurrency() {
+		assertThatThrownBy(() -> CurseAPI.setMaxConcurrency(0)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be positive");
+	}
+
 	@Test
 	public void parallelMapShouldThrowCorrectly() {
 		assertThatThrownBy(() -> CurseAPI.parallelMap(
@@ -386,6 +488,43 @@ public class CurseAPITest {
 		)).isInstanceOf(RuntimeException.class).hasMessage("Test exception");
 	}
 
+	@Test
+	public void providersShouldBeSwappedAndOnlyCalledForTheirOperations() throws CurseException {
+		final CurseAPIProvider gamesProvider = new CurseAPIProvider() {
+			@Override
+			public Set<CurseAPIOperation> operations() {
+				return EnumSet.of(CurseAPIOperation.GAMES);
+			}
+
+			@Override
+			public CurseProject project(int id) {
+				throw new AssertionError("project should not be called");
+			}
+		};
+
+		final List<CurseAPIProvider> providers = CurseAPI.providers();
+		final List<CurseAPIProvider> newProviders = new ArrayList<>();
+		newProviders.add(gamesProvider);
+		newProviders.addAll(providers);
+		newProviders.add(gamesProvider);
+
+		assertThat(CurseAPI.setProviders(newProviders)).isEqualTo(providers);
+
+		try {
+			assertThat(CurseAPI.providers()).
+					hasSize(providers.size() + 1).
+					startsWith(gamesProvider);
+			assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isPresent();
+
+			CurseAPI.setProviders(Collections.emptyList());
+			assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isNotPresent();
+		} finally {
+			CurseAPI.setProviders(providers);
+		}
+
+		assertThat(CurseAPI.providers()).isEqualTo(providers);
+	}
+
 	@Test
 	public void customProviderFunctionsCorrectly() throws CurseException {
 		final Optional<CurseProject> optionalProject = CurseAPI.project(CurseAPI.MIN_PROJECT_ID);
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.util.OkHttpUtils;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CurseDownloadManagerTest {
+	private static CurseFile file;
+
+	@Test
+	public void fileShouldDownloadWithCorrectSize(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final AtomicLong progress = new AtomicLong();
+		final CurseDownloadManager manager = new CurseDownloadManager().
+				progressListener((downloadedFile, bytes, totalBytes) -> progress.set(bytes));
+		final Map<ExistingCurseFile, Path> paths =
+				manager.download(Collections.singletonList(file), tempDirectory);
+
+		final Path path = paths.get(file);
+		assertThat(path).isRegularFile().hasFileName(file.nameOnDisk());
+		assertThat(Files.size(path)).isEqualTo(file.fileSize());
+		assertThat(tempDirectory.resolve(file.nameOnDisk() + ".part")).doesNotExist();
+		assertThat(progress).hasValue(file.fileSize());
+		assertThat(manager.filesDownloaded()).isOne();
+		assertThat(manager.bytesDownloaded()).isEqualTo(file.fileSize());
+		assertThat(manager.throughput()).isPositive();
+	}
+
+	@Test
+	public void existingFileShouldNotBeDownloadedAgain(@TempDir Path tempDirectory)
+			throws CurseException {
+		final CurseDownloadManager manager = new CurseDownloadManager();
+		manager.download(Collections.singletonList(file), tempDirectory);
+		manager.resetStatistics();
+
+		manager.download(Collections.singletonList(file), tempDirectory);
+		assertThat(manager.filesDownloaded()).isZero();
+		assertThat(manager.bytesDownloaded()).isZero();
+	}
+
+	@Test
+	public void partialDownloadShouldBeResumed(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final Path path = new CurseDownloadManager().
+				download(Collections.singletonList(file), tempDirectory).
+				get(file);
+		final byte[] bytes = Files.readAllBytes(path);
+		Files.delete(path);
+
+		final int partialSize = bytes.length / 2;
+		final byte[] partialBytes = new byte[partialSize];
+		System.arraycopy(bytes, 0, partialBytes, 0, partialSize);
+		Files.write(tempDirectory.resolve(file.nameOnDisk() + ".part"), partialBytes);
+		writeValidator(tempDirectory);
+
+		final CurseDownloadManager manager = new CurseDownloadManager();
+		manager.download(Collections.singletonList(file), tempDirectory);
+
+		assertThat(Files.readAllBytes(path)).isEqualTo(bytes);
+		//If the server does not support range requests, the whole file is downloaded again.
+		assertThat(manager.bytesDownloaded()).isBetween(
+				(long) bytes.length - partialSize, (long) bytes.length
+		);
+	}
+
+	@Test
+	public void changedFileShouldBeDownloadedAgain(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final Path path = new CurseDownloadManager().
+				download(Collections.singletonList(file), tempDirectory).
+				get(file);
+		final byte[] bytes = Files.readAllBytes(path);
+		Files.delete(path);
+
+		//The partial file is from a version of the file that no longer exists.
+		Files.write(tempDirectory.resolve(file.nameOnDisk() + ".part"), new byte[bytes.length / 2]);
+		Files.write(
+				tempDirectory.resolve(file.nameOnDisk() + ".part.validator"),
+				"\"outdated\"".getBytes(StandardCharsets.UTF_8)
+		);
+
+		new CurseDownloadManager().download(Collections.singletonList(file), tempDirectory);
+		assertThat(Files.readAllBytes(path)).isEqualTo(bytes);
+		assertThat(tempDirectory.resolve(file.nameOnDisk() + ".part.validator")).doesNotExist();
+	}
+
+	@Test
+	public void duplicateFilesShouldBeDownloadedOnce(@TempDir Path tempDirectory)
+			throws CurseException {
+		final CurseDownloadManager manager = new CurseDownloadManager();
+		final Map<ExistingCurseFile, Path> paths =
+				manager.download(Arrays.asList(file, file), tempDirectory);
+		assertThat(paths).containsOnlyKeys(file);
+		assertThat(manager.filesDownloaded()).isOne();
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfMaxConcurrencyIsInvalid() {
+		assertThatThrownBy(() -> new CurseDownloadManager().maxConcurrency(0)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be positive");
+	}
+
+	@BeforeAll
+	public static void getFile() throws CurseException {
+		final Optional<CurseFile> optionalFile =
+				CurseAPI.file(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID);
+		assertThat(optionalFile).isPresent();
+		file = optionalFile.get();
+	}
+
+	private static void writeValidator(Path directory) throws CurseException, IOException {
+		final Request request = new Request.Builder().url(file.downloadURL()).head().build();
+
+		try (Response response = OkHttpUtils.getClient().newCall(request).execute()) {
+			final String eTag = response.header("ETag");
+			final String validator = eTag != null && !eTag.startsWith("W/") ?
+					eTag : response.header("Last-Modified");
+
+			if (validator != null) {
+				Files.write(
+						directory.resolve(file.nameOnDisk() + ".part.validator"),
+						validator.getBytes(StandardCharsets.UTF_8)
+				);
+			}
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CurseFileStoreTest {
+	private static CurseFile file;
+
+	@Test
+	public void storedFileShouldBeReused(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final CurseFileStore store = new CurseFileStore(tempDirectory.resolve("store"));
+		assertThat(store.get(file.id(), file.fileSize())).isNull();
+
+		final Path path1 = tempDirectory.resolve("1").resolve(file.nameOnDisk());
+		store.download(file, path1);
+
+		final Path storedFile = store.get(file.id(), file.fileSize());
+		assertThat(storedFile).isNotNull();
+		assertThat(storedFile.getFileName().toString()).matches("[0-9a-f]{40}");
+		assertThat(Files.size(path1)).isEqualTo(file.fileSize());
+
+		final Path path2 = tempDirectory.resolve("2").resolve(file.nameOnDisk());
+		store.hardLinks(false).download(file, path2);
+		assertThat(Files.readAllBytes(path2)).isEqualTo(Files.readAllBytes(path1));
+		assertThat(store.get(file.id(), file.fileSize())).isEqualTo(storedFile);
+	}
+
+	@Test
+	public void modifiedStoredFileShouldNotBeReused(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final CurseFileStore store = new CurseFileStore(tempDirectory);
+		final Path storedFile = store.put(file.id(), file.downloadURL(), file.fileSize());
+
+		final byte[] bytes = Files.readAllBytes(storedFile);
+		bytes[0]++;
+		//Stored files are read-only.
+		assertThat(storedFile.toFile().setWritable(true)).isTrue();
+		Files.write(storedFile, bytes);
+
+		assertThat(store.get(file.id(), file.fileSize())).isNull();
+		assertThat(storedFile).doesNotExist();
+	}
+
+	@Test
+	public void globalStoreShouldBeUsed(@TempDir Path tempDirectory) throws CurseException {
+		final CurseFileStore store = new CurseFileStore(tempDirectory.resolve("store"));
+		CurseFileStore.setGlobal(store);
+
+		try {
+			final Path path = file.downloadToDirectory(tempDirectory.resolve("download"));
+			assertThat(path).isRegularFile();
+			assertThat(store.get(file.id(), file.fileSize())).isNotNull();
+		} finally {
+			CurseFileStore.setGlobal(null);
+		}
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfSizeIsIncorrect(@TempDir Path tempDirectory)
+			throws CurseException {
+		final CurseFileStore store = new CurseFileStore(tempDirectory);
+		assertThatThrownBy(() -> store.put(file.id(), file.downloadURL(), file.fileSize() + 1L)).
+				isInstanceOf(CurseException.class).
+				hasMessageContaining("does not match expected size");
+		assertThat(store.get(file.id(), -1L)).isNull();
+	}
+
+	@BeforeAll
+	public static void getFile() throws CurseException {
+		final Optional<CurseFile> optionalFile =
+				CurseAPI.file(CurseAPI.MIN_PROJECT_ID, CurseAPI.MIN_FILE_ID);
+		assertThat(optionalFile).isPresent();
+		file = optionalFile.get();
+	}
+}
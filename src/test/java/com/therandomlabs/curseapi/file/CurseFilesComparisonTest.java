@@ -26,6 +26,14 @@ package com.therandomlabs.curseapi.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.therandomlabs.curseapi.CurseAPI;
 import com.therandomlabs.curseapi.CurseException;
 import org.junit.jupiter.api.Test;
 import org.mockito.internal.util.collections.Iterables;
@@ -117,4 +125,91 @@ public class CurseFilesComparisonTest {
 						"Neither file for CurseFileChange could be retrieved as CurseFile"
 				);
 	}
+
+	@Test
+	public void changelogsShouldBeStreamedInOrder() throws CurseException {
+		final CurseFileChange<BasicCurseFile> update = new CurseFileChange<>(
+				new BasicCurseFile.Immutable(231868, 2578528),
+				new BasicCurseFile.Immutable(231868, 2822401)
+		);
+
+		final List<CurseFileChangelog> changelogs;
+
+		try (Stream<CurseFileChangelog> stream = update.changelogs(80)) {
+			changelogs = stream.collect(Collectors.toList());
+		}
+
+		assertThat(changelogs).extracting(CurseFileChangelog::file).
+				containsExactlyElementsOf(update.filesBetween());
+		assertThat(changelogs.get(0).plainText()).
+				isEqualTo(update.newerCurseFile().changelogPlainText(80));
+
+		final CurseFilesComparison<BasicCurseFile> comparison = CurseFilesComparison.of(
+				Collections.singleton(update.oldFile()), Collections.singleton(update.newFile())
+		);
+
+		try (Stream<CurseFileChangelog> stream = comparison.updatedChangelogs(80)) {
+			assertThat(stream.map(CurseFileChangelog::file)).
+					containsExactlyElementsOf(update.filesBetween());
+		}
+
+		try (Stream<CurseFileChangelog> stream = comparison.downgradedChangelogs(80)) {
+			assertThat(stream).isEmpty();
+		}
+	}
+
+	@Test
+	public void parallelComparisonShouldBeEquivalent() {
+		final List<BasicCurseFile> oldFiles = new ArrayList<>();
+		final List<BasicCurseFile> newFiles = new ArrayList<>();
+
+		for (int i = 0; i < 10000; i++) {
+			final int projectID = CurseAPI.MIN_PROJECT_ID + i;
+			final int fileID = CurseAPI.MIN_FILE_ID + 1 + i * 10;
+
+			if (i % 5 != 4) {
+				oldFiles.add(new BasicCurseFile.Immutable(projectID, fileID));
+			}
+
+			if (i % 5 != 3) {
+				newFiles.add(new BasicCurseFile.Immutable(projectID, fileID + i % 3 - 1));
+			}
+		}
+
+		final CurseFilesComparison<BasicCurseFile> comparison =
+				CurseFilesComparison.of(oldFiles, newFiles);
+		final CurseFilesComparison<BasicCurseFile> parallelComparison =
+				CurseFilesComparison.ofParallel(oldFiles, newFiles);
+
+		assertThat(comparison.unchanged()).isNotEmpty();
+		assertThat(comparison.updated()).isNotEmpty();
+		assertThat(comparison.downgraded()).isNotEmpty();
+		assertThat(comparison.removed()).hasSize(2000);
+		assertThat(comparison.added()).hasSize(2000);
+
+		assertThat(parallelComparison.unchanged()).isEqualTo(comparison.unchanged());
+		assertThat(parallelComparison.updated()).isEqualTo(comparison.updated());
+		assertThat(parallelComparison.downgraded()).isEqualTo(comparison.downgraded());
+		assertThat(parallelComparison.removed()).isEqualTo(comparison.removed());
+		assertThat(parallelComparison.added()).isEqualTo(comparison.added());
+	}
+
+	@Test
+	public void duplicateProjectsShouldBeRejected() {
+		final BasicCurseFile file = new BasicCurseFile.Immutable(243121, 2759240);
+		final List<BasicCurseFile> files = Arrays.asList(
+				file, new BasicCurseFile.Immutable(243121, 2759241)
+		);
+
+		assertThatThrownBy(() -> CurseFilesComparison.of(files, Collections.emptyList())).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("oldFiles contains multiple files of project 243121");
+		assertThatThrownBy(() -> CurseFilesComparison.ofParallel(Collections.emptyList(), files)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("newFiles contains multiple files of project 243121");
+
+		//The same file may be specified more than once.
+		assertThat(CurseFilesComparison.of(Arrays.asList(file, file), Collections.singleton(file)).
+				unchanged()).containsOnly(file);
+	}
 }
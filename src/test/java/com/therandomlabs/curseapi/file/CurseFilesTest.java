@@ -24,8 +24,10 @@
 package com.therandomlabs.curseapi.file;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -108,6 +110,14 @@ public class CurseFilesTest {
 		filtered2.filter(filter);
 		assertThat(filtered2).isEqualTo(filtered);
 
+		final CompiledCurseFileFilter compiledFilter = filter.compile();
+		assertThat(compiledFilter.toString()).isNotEmpty();
+		assertThat(files.stream().filter(compiledFilter)).containsExactlyElementsOf(filtered);
+
+		final CurseFiles<CurseFile> compiledFiltered = files.clone();
+		compiledFilter.apply(compiledFiltered);
+		assertThat(compiledFiltered).isEqualTo(filtered);
+
 		final CurseFiles<CurseFile> filtered3 = files.clone();
 
 		filter.clearGameVersions();
@@ -118,6 +128,7 @@ public class CurseFilesTest {
 		filter.gameVersionsArray(mockVersion);
 
 		filter.apply(filtered3);
+		assertThat(files.stream().filter(filter.compile())).containsExactlyElementsOf(filtered3);
 
 		for (CurseFile file : filtered3) {
 			assertThat(file.gameVersionStrings()).contains("1.12.2");
@@ -131,6 +142,61 @@ public class CurseFilesTest {
 		assertThat(sortedByOldest.first().id()).isEqualTo(2522102);
 	}
 
+	@Test
+	public void fileWithIDShouldWorkWithAnyComparator() {
+		final CurseFile file = files.fileWithID(2634354);
+		assertThat(file).isNotNull();
+		assertThat(file.id()).isEqualTo(2634354);
+		assertThat(files.withComparator(CurseFiles.SORT_BY_OLDEST).fileWithID(2634354)).
+				isSameAs(file);
+		assertThat(files.withComparator(
+				Comparator.comparing(CurseFile::displayName)
+		).fileWithID(2634354)).isSameAs(file);
+		assertThat(files.fileWithID(2634355)).isNull();
+	}
+
+	@Test
+	public void indexShouldWorkCorrectly() {
+		final CurseFilesIndex<CurseFile> index = files.index();
+		assertThat(index.size()).isEqualTo(files.size());
+		assertThat(index.isEmpty()).isFalse();
+		assertThat(index.toString()).isNotEmpty();
+		assertThat(index.files()).containsExactlyElementsOf(files);
+		assertThat(index.toCurseFiles()).isEqualTo(files);
+		assertThat(index.fileWithID(2634354)).isSameAs(files.fileWithID(2634354));
+		assertThat(index.fileWithID(2634355)).isNull();
+
+		assertThat(index.latest()).isSameAs(files.first());
+		assertThat(index.latest(3)).containsExactlyElementsOf(
+				files.stream().limit(3).collect(Collectors.toList())
+		);
+		assertThat(index.latest(files.size() + 1)).hasSameSizeAs(files);
+
+		final CurseFiles<CurseFile> filtered = files.clone();
+		new CurseFileFilter().between(2522102, 2831330).apply(filtered);
+		assertThat(index.between(2522102, 2831330)).containsExactlyElementsOf(filtered);
+		assertThat(index.between(2522101, 2831331)).
+				hasSize(filtered.size() + 2).
+				startsWith(files.fileWithID(2831330)).
+				endsWith(files.fileWithID(2522102));
+
+		assertThat(index.newerThan(2634354)).
+				containsExactlyElementsOf(files.headSet(files.fileWithID(2634354)));
+		assertThat(index.olderThan(2634354)).
+				containsExactlyElementsOf(files.tailSet(files.fileWithID(2634354), false));
+		assertThat(index.newerThan(Integer.MAX_VALUE)).isEmpty();
+		assertThat(index.olderThan(CurseAPI.MIN_FILE_ID)).isEmpty();
+
+		assertThatThrownBy(() -> index.between(2831330, 2522102)).
+				isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.latest(-1)).isInstanceOf(IllegalArgumentException.class);
+
+		final CurseFilesIndex<CurseFile> emptyIndex = new CurseFiles<CurseFile>().index();
+		assertThat(emptyIndex.isEmpty()).isTrue();
+		assertThat(emptyIndex.latest()).isNull();
+		assertThat(emptyIndex.latest(1)).isEmpty();
+	}
+
 	@Test
 	public void parallelMapProducesValidList() throws CurseException {
 		final CurseFiles<CurseFile> smallerFiles = files.clone();
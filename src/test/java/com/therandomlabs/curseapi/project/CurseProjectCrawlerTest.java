@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CurseProjectCrawlerTest {
+	@Test
+	public void onlyChangedProjectsShouldBeCrawled(@TempDir Path tempDirectory)
+			throws CurseException, IOException {
+		final Path checkpoint = tempDirectory.resolve("checkpoint.json");
+		final ZonedDateTime time = ZonedDateTime.now().minusHours(2);
+		Files.write(
+				checkpoint,
+				("{\"lastModificationTime\": \"" + time.format(DateTimeFormatter.ISO_INSTANT) +
+						"\"}").getBytes(StandardCharsets.UTF_8)
+		);
+
+		final CurseProjectCrawler crawler = new CurseProjectCrawler(
+				new CurseSearchQuery().gameID(432).pageSize(50), checkpoint
+		).overlap(Duration.ofMinutes(30));
+		assertThat(crawler.toString()).isNotEmpty();
+		assertThat(crawler.checkpoint()).hasValueSatisfying(
+				value -> assertThat(value.toInstant()).isEqualTo(time.toInstant())
+		);
+
+		crawler.crawl((project, files) -> {
+			assertThat(project.lastModificationTime()).isAfter(time);
+
+			for (CurseFile file : files) {
+				assertThat(file.uploadTime()).isAfter(time);
+			}
+		});
+
+		assertThat(crawler.checkpoint()).get().matches(value -> !value.isBefore(time));
+		final ZonedDateTime newTime = crawler.checkpoint().get();
+
+		crawler.files(false).crawl((project, files) -> {
+			assertThat(project.lastModificationTime()).isAfter(newTime);
+			assertThat(files).isEmpty();
+		});
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfOverlapIsNegative(@TempDir Path tempDirectory) {
+		final CurseProjectCrawler crawler = new CurseProjectCrawler(
+				new CurseSearchQuery(), tempDirectory.resolve("checkpoint.json")
+		);
+		assertThatThrownBy(() -> crawler.overlap(Duration.ofSeconds(-1))).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be negative");
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import com.therandomlabs.curseapi.game.CurseCategory;
+import com.therandomlabs.curseapi.game.CurseCategorySection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CurseProjectIndexTest {
+	private static final int GAME_ID = 432;
+	private static final int CATEGORY_SECTION_ID = 6;
+
+	private final CurseProjectIndex index = new CurseProjectIndex();
+
+	@BeforeEach
+	public void addProjects() {
+		index.addAll(Arrays.asList(
+				mockProject(
+						231868, "EnderCore", "tterrag", "A library for Ender IO", 423,
+						100, 3, "1.12.2"
+				),
+				mockProject(
+						64578, "Ender IO", "CrazyPants", "Machines and conduits", 412,
+						300, 1, "1.12.2", "1.16.5"
+				),
+				mockProject(
+						225643, "Botania", "Vazkii", "Natural magic", 420,
+						200, 2, "1.16.5"
+				)
+		));
+	}
+
+	@Test
+	public void searchFilterShouldMatchPrefixesOfTerms() {
+		assertThat(ids(new CurseSearchQuery().searchFilter("ender"))).
+				containsExactlyInAnyOrder(231868, 64578);
+		assertThat(ids(new CurseSearchQuery().searchFilter("Ender library"))).
+				containsExactly(231868);
+		assertThat(ids(new CurseSearchQuery().searchFilter("vazk"))).containsExactly(225643);
+		assertThat(ids(new CurseSearchQuery().searchFilter("enderio"))).isEmpty();
+	}
+
+	@Test
+	public void filtersShouldBeApplied() {
+		assertThat(ids(new CurseSearchQuery().gameVersionString("1.16.5"))).
+				containsExactlyInAnyOrder(64578, 225643);
+		assertThat(ids(new CurseSearchQuery().categoryID(423))).containsExactly(231868);
+		assertThat(ids(new CurseSearchQuery().gameID(GAME_ID).categorySectionID(
+				CATEGORY_SECTION_ID
+		))).hasSize(3);
+		assertThat(ids(new CurseSearchQuery().gameVersionString("1.7.10"))).isEmpty();
+	}
+
+	@Test
+	public void resultsShouldBeSortedAndPaged() {
+		final CurseSearchQuery query = new CurseSearchQuery().gameID(GAME_ID);
+		assertThat(ids(query.sortingMethod(CurseSearchSort.TOTAL_DOWNLOADS))).
+				containsExactly(64578, 225643, 231868);
+		assertThat(ids(query.sortingMethod(CurseSearchSort.NAME))).
+				containsExactly(225643, 64578, 231868);
+		assertThat(ids(query.sortingMethod(CurseSearchSort.AUTHOR))).
+				containsExactly(64578, 231868, 225643);
+		assertThat(ids(query.sortingMethod(CurseSearchSort.LAST_UPDATED))).
+				containsExactly(64578, 225643, 231868);
+		assertThat(ids(query.sortingMethod(CurseSearchSort.TOTAL_DOWNLOADS).pageSize(1).
+				pageIndex(1))).containsExactly(225643);
+		assertThat(ids(query.pageIndex(3))).isEmpty();
+	}
+
+	@Test
+	public void projectsShouldBeReplacedAndRemoved() {
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.project(225643)).isNotNull();
+
+		index.add(mockProject(
+				225643, "Botania Unofficial", "Vazkii", "Natural magic", 420, 200, 2, "1.16.5"
+		));
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(ids(new CurseSearchQuery().searchFilter("unofficial"))).
+				containsExactly(225643);
+
+		assertThat(index.remove(64578)).isTrue();
+		assertThat(index.remove(64578)).isFalse();
+		assertThat(index.project(64578)).isNull();
+		assertThat(ids(new CurseSearchQuery().searchFilter("ender"))).containsExactly(231868);
+		assertThat(ids(new CurseSearchQuery().searchFilter("conduits"))).isEmpty();
+
+		index.clear();
+		assertThat(index.size()).isZero();
+		assertThat(index.searchProjects(new CurseSearchQuery())).isNull();
+	}
+
+	@Test
+	public void searchProjectsShouldFallBackForUnindexedGames() {
+		assertThat(index.searchProjects(new CurseSearchQuery().gameID(GAME_ID))).hasSize(3);
+		assertThat(index.searchProjects(new CurseSearchQuery().gameID(1))).isNull();
+		assertThat(index.toString()).isNotEmpty();
+	}
+
+	private List<Integer> ids(CurseSearchQuery query) {
+		final List<Integer> ids = new ArrayList<>();
+		index.search(query).forEach(project -> ids.add(project.id()));
+		return ids;
+	}
+
+	private static CurseProject mockProject(
+			int id, String name, String author, String summary, int categoryID,
+			int downloadCount, int daysSinceUpdate, String... gameVersions
+	) {
+		final CurseMember mockAuthor = mock(CurseMember.class);
+		when(mockAuthor.id()).thenReturn(id);
+		when(mockAuthor.name()).thenReturn(author);
+
+		final CurseCategory mockCategory = mock(CurseCategory.class);
+		when(mockCategory.id()).thenReturn(categoryID);
+		when(mockCategory.name()).thenReturn("Category " + categoryID);
+
+		final CurseCategorySection mockSection = mock(CurseCategorySection.class);
+		when(mockSection.id()).thenReturn(CATEGORY_SECTION_ID);
+
+		final CurseProject mockProject = mock(CurseProject.class);
+		when(mockProject.id()).thenReturn(id);
+		when(mockProject.name()).thenReturn(name);
+		when(mockProject.author()).thenReturn(mockAuthor);
+		when(mockProject.authors()).thenReturn(Collections.singleton(mockAuthor));
+		when(mockProject.summary()).thenReturn(summary);
+		when(mockProject.slug()).thenReturn(name.toLowerCase().replace(' ', '-'));
+		when(mockProject.gameID()).thenReturn(GAME_ID);
+		when(mockProject.categorySection()).thenReturn(mockSection);
+		when(mockProject.categories()).thenReturn(Collections.singleton(mockCategory));
+		when(mockProject.downloadCount()).thenReturn(downloadCount);
+		when(mockProject.lastUpdateTime()).thenReturn(
+				ZonedDateTime.now().minusDays(daysSinceUpdate)
+		);
+		when(mockProject.gameVersionStrings()).thenReturn(
+				new HashSet<>(Arrays.asList(gameVersions))
+		);
+		return mockProject;
+	}
+}
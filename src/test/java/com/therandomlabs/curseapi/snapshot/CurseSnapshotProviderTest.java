@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.therandomlabs.curseapi.CurseAPI;
+import com.therandomlabs.curseapi.CurseAPIProvider;
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.file.CurseFile;
+import com.therandomlabs.curseapi.file.CurseFiles;
+import com.therandomlabs.curseapi.game.CurseGame;
+import com.therandomlabs.curseapi.project.CurseProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CurseSnapshotProviderTest {
+	@Test
+	public void exportedDataShouldBeServedOffline(@TempDir Path tempDirectory)
+			throws CurseException {
+		final Path path = tempDirectory.resolve("snapshot.bin");
+		final CurseProject project = CurseAPI.project(285612).get();
+		final CurseFiles<CurseFile> files = project.files();
+		final CurseGame game = CurseAPI.game(432).get();
+
+		new CurseSnapshotExporter().
+				descriptions(true).
+				add(project).
+				add(game).
+				export(path);
+
+		final CurseSnapshotProvider snapshot = new CurseSnapshotProvider(path);
+		assertThat(snapshot.toString()).isNotEmpty();
+		assertThat(snapshot.path()).isEqualTo(path);
+		final List<CurseAPIProvider> providers =
+				CurseAPI.setProviders(Collections.singletonList(snapshot));
+
+		try {
+			final Optional<CurseProject> optionalProject = CurseAPI.project(285612);
+			assertThat(optionalProject).get().isEqualTo(project);
+			final CurseProject snapshotProject = optionalProject.get();
+			assertThat(snapshotProject.name()).isEqualTo(project.name());
+			assertThat(snapshotProject.author()).isEqualTo(project.author());
+			assertThat(snapshotProject.categories()).isEqualTo(project.categories());
+			assertThat(snapshotProject.lastModificationTime().toInstant()).
+					isEqualTo(project.lastModificationTime().toInstant());
+			assertThat(snapshotProject.descriptionHTML()).isEqualTo(project.descriptionHTML());
+			assertThat(snapshotProject.files()).isEqualTo(files);
+
+			final CurseFile file = files.first();
+			assertThat(CurseAPI.file(285612, file.id())).hasValueSatisfying(snapshotFile -> {
+				assertThat(snapshotFile.nameOnDisk()).isEqualTo(file.nameOnDisk());
+				assertThat(snapshotFile.downloadURL()).isEqualTo(file.downloadURL());
+				assertThat(snapshotFile.gameVersionStrings()).
+						isEqualTo(file.gameVersionStrings());
+				assertThat(snapshotFile.dependencies()).isEqualTo(file.dependencies());
+			});
+
+			assertThat(CurseAPI.game(432)).get().isEqualTo(game);
+			assertThat(CurseAPI.categories()).get().isEqualTo(game.categories());
+			assertThat(CurseAPI.project(CurseAPI.MIN_PROJECT_ID)).isNotPresent();
+		} finally {
+			CurseAPI.setProviders(providers);
+		}
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfFileIsNotSnapshot(@TempDir Path tempDirectory)
+			throws IOException {
+		final Path path = tempDirectory.resolve("snapshot.bin");
+		Files.write(path, new byte[1024]);
+		assertThatThrownBy(() -> new CurseSnapshotProvider(path)).
+				isInstanceOf(CurseException.class).
+				hasMessageContaining("Not a snapshot file");
+
+		Files.write(path, "snapshot".getBytes(StandardCharsets.UTF_8));
+		assertThatThrownBy(() -> new CurseSnapshotProvider(path)).
+				isInstanceOf(CurseException.class).
+				hasMessageContaining("Invalid snapshot file size");
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.therandomlabs.curseapi.CurseException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class FutureUtilsTest {
+	private static ExecutorService executor;
+
+	@Test
+	public void mapBoundedShouldPreserveOrder() throws CurseException {
+		final List<Integer> elements =
+				IntStream.range(0, 100).boxed().collect(Collectors.toList());
+		assertThat(FutureUtils.join(FutureUtils.mapBounded(
+				elements, element -> element * 2, executor, 4
+		))).containsExactlyElementsOf(
+				elements.stream().map(element -> element * 2).collect(Collectors.toList())
+		);
+	}
+
+	@Test
+	public void mapBoundedShouldReturnEmptyListIfNoElements() throws CurseException {
+		assertThat(FutureUtils.join(FutureUtils.mapBounded(
+				Collections.emptyList(), element -> element, executor, 4
+		))).isEmpty();
+	}
+
+	@Test
+	public void mapBoundedShouldNotExceedMaxConcurrency() throws CurseException {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+
+		FutureUtils.join(FutureUtils.mapBounded(
+				IntStream.range(0, 50).boxed().collect(Collectors.toList()),
+				element -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Uninterruptibles.sleepUninterruptibly(5L, TimeUnit.MILLISECONDS);
+					running.decrementAndGet();
+					return element;
+				},
+				executor, 3
+		));
+
+		assertThat(maxRunning.get()).isBetween(1, 3);
+	}
+
+	@Test
+	public void mapBoundedShouldFailFast() {
+		final AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> FutureUtils.join(FutureUtils.mapBounded(
+				Arrays.asList(1, 2, 3, 4, 5),
+				element -> {
+					calls.incrementAndGet();
+
+					if (element == 2) {
+						throw new CurseException("Test exception");
+					}
+
+					return element;
+				},
+				executor, 1
+		))).isInstanceOf(CurseException.class).hasMessage("Test exception");
+
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	public void mapBoundedShouldRethrowRuntimeExceptions() {
+		assertThatThrownBy(() -> FutureUtils.join(FutureUtils.mapBounded(
+				Collections.singletonList("Test exception"),
+				message -> {
+					throw new IllegalStateException(message);
+				},
+				executor, 1
+		))).isInstanceOf(IllegalStateException.class).hasMessage("Test exception");
+	}
+
+	@Test
+	public void mapEachBoundedShouldCompleteEachElementSeparately() throws CurseException {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+
+		final List<CompletableFuture<Integer>> futures = FutureUtils.mapEachBounded(
+				IntStream.range(0, 20).boxed().collect(Collectors.toList()),
+				element -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Uninterruptibles.sleepUninterruptibly(2L, TimeUnit.MILLISECONDS);
+					running.decrementAndGet();
+
+					if (element == 5) {
+						throw new CurseException("Test exception");
+					}
+
+					return element * 2;
+				},
+				executor, 3
+		);
+
+		assertThat(futures).hasSize(20);
+		assertThat(FutureUtils.join(futures.get(4))).isEqualTo(8);
+		assertThatThrownBy(() -> FutureUtils.join(futures.get(5))).
+				isInstanceOf(CurseException.class).
+				hasMessage("Test exception");
+		assertThat(FutureUtils.join(futures.get(19))).isEqualTo(38);
+		assertThat(maxRunning.get()).isBetween(1, 3);
+	}
+
+	@Test
+	public void mapEachBoundedShouldSkipCancelledElements() throws CurseException {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicInteger calls = new AtomicInteger();
+
+		final List<CompletableFuture<Integer>> futures = FutureUtils.mapEachBounded(
+				Arrays.asList(1, 2, 3),
+				element -> {
+					calls.incrementAndGet();
+					Uninterruptibles.awaitUninterruptibly(latch);
+					return element;
+				},
+				executor, 1
+		);
+
+		futures.get(1).cancel(false);
+		latch.countDown();
+
+		assertThat(FutureUtils.join(futures.get(2))).isEqualTo(3);
+		assertThat(futures.get(1)).isCancelled();
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfMaxConcurrencyIsInvalid() {
+		assertThatThrownBy(() -> FutureUtils.mapBounded(
+				Collections.emptyList(), element -> element, executor, 0
+		)).isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be positive");
+	}
+
+	@BeforeAll
+	public static void createExecutor() {
+		executor = Executors.newCachedThreadPool();
+	}
+
+	@AfterAll
+	public static void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+}
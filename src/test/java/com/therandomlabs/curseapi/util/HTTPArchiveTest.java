@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.forgesvc.ForgeSvcProvider;
+import com.therandomlabs.curseapi.game.CurseGame;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HTTPArchiveTest {
+	@AfterEach
+	public void removeInterceptor() {
+		RetrofitUtils.setInterceptor(null);
+	}
+
+	@Test
+	public void recordedExchangesShouldBeReplayed(@TempDir Path tempDirectory)
+			throws CurseException {
+		final HTTPArchive archive = new HTTPArchive(tempDirectory);
+		RetrofitUtils.setInterceptor(archive.recorder());
+		final Set<CurseGame> games = ForgeSvcProvider.instance.games();
+
+		final HTTPArchive.Replayer replayer = archive.replayer().latency(Duration.ofMillis(10L));
+		assertThat(replayer.size()).isOne();
+		RetrofitUtils.setInterceptor(replayer);
+		assertThat(RetrofitUtils.getInterceptor()).isSameAs(replayer);
+		assertThat(ForgeSvcProvider.instance.games()).isEqualTo(games);
+	}
+
+	@Test
+	public void injectedErrorsShouldCauseFailures(@TempDir Path tempDirectory)
+			throws CurseException {
+		final HTTPArchive archive = new HTTPArchive(tempDirectory);
+		RetrofitUtils.setInterceptor(archive.recorder());
+		assertThat(ForgeSvcProvider.instance.games()).isNotEmpty();
+
+		RetrofitUtils.setInterceptor(archive.replayer().errorRate(1.0));
+		assertThatThrownBy(ForgeSvcProvider.instance::games).
+				isInstanceOf(CurseException.class).
+				hasMessageContaining("503");
+
+		RetrofitUtils.setInterceptor(archive.replayer().failureRate(1.0));
+		assertThatThrownBy(ForgeSvcProvider.instance::games).isInstanceOf(CurseException.class);
+	}
+
+	@Test
+	public void seededReplayersShouldReplayEachRequestInTheSameWay(@TempDir Path tempDirectory)
+			throws IOException {
+		final HTTPArchive archive = new HTTPArchive(tempDirectory);
+		final Request request1 = new Request.Builder().url("https://example.com/1").build();
+		final Request request2 = new Request.Builder().url("https://example.com/2").build();
+		archive.recorder().intercept(chain(request1));
+		archive.recorder().intercept(chain(request2));
+
+		final HTTPArchive.Replayer replayer1 = archive.replayer().errorRate(0.5).seed(42L);
+		final List<Integer> codes1 = new ArrayList<>();
+		final List<Integer> codes2 = new ArrayList<>();
+
+		for (int i = 0; i < 16; i++) {
+			codes1.add(replayer1.intercept(chain(request1)).code());
+			codes2.add(replayer1.intercept(chain(request2)).code());
+		}
+
+		assertThat(codes1).contains(200, 503);
+
+		//The order in which the requests are made should not affect how each is replayed.
+		final HTTPArchive.Replayer replayer2 = archive.replayer().errorRate(0.5).seed(42L);
+		final List<Integer> reorderedCodes2 = new ArrayList<>();
+		final List<Integer> reorderedCodes1 = new ArrayList<>();
+
+		for (int i = 0; i < 16; i++) {
+			reorderedCodes2.add(replayer2.intercept(chain(request2)).code());
+		}
+
+		for (int i = 0; i < 16; i++) {
+			reorderedCodes1.add(replayer2.intercept(chain(request1)).code());
+		}
+
+		assertThat(reorderedCodes1).isEqualTo(codes1);
+		assertThat(reorderedCodes2).isEqualTo(codes2);
+	}
+
+	@Test
+	public void unrecordedRequestsShouldFail(@TempDir Path tempDirectory) throws CurseException {
+		final HTTPArchive.Replayer replayer = new HTTPArchive(tempDirectory).replayer();
+		assertThat(replayer.size()).isZero();
+		RetrofitUtils.setInterceptor(replayer);
+		assertThatThrownBy(ForgeSvcProvider.instance::games).isInstanceOf(CurseException.class);
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfRatesAreInvalid(@TempDir Path tempDirectory)
+			throws CurseException {
+		final HTTPArchive.Replayer replayer = new HTTPArchive(tempDirectory).replayer();
+		assertThatThrownBy(() -> replayer.errorRate(1.5)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("between 0 and 1");
+		assertThatThrownBy(() -> replayer.failureRate(-0.1)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("between 0 and 1");
+		assertThatThrownBy(() -> replayer.latency(Duration.ofMillis(-1L))).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("negative");
+	}
+
+	private static Interceptor.Chain chain(Request request) throws IOException {
+		final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+		when(chain.request()).thenReturn(request);
+		when(chain.call()).thenReturn(mock(Call.class));
+		when(chain.proceed(request)).thenReturn(new Response.Builder().
+				request(request).
+				protocol(Protocol.HTTP_1_1).
+				code(200).
+				message("OK").
+				body(ResponseBody.create(null, request.url().toString())).
+				build());
+		return chain;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class JsoupUtilsTest {
+	private static final String[] changelogs = {
+			"",
+			"Fixed a crash",
+			"<p>Fixed a crash</p>",
+			"Before <p>Fixed a crash</p> after",
+			"<p>Fixed a crash</p>\n<p>Updated to 1.15.2</p>",
+			"<p>Added:<br>Config option<br/>Commands</p><p>&nbsp;</p><p>Removed &amp; fixed</p>",
+			"<h2>1.2.0</h2><ul>\n<li>Added <strong>this</strong></li>\n" +
+					"<li>Fixed that<li>Implied</ul>",
+			"<p>See <a href=\"https://github.com/TheRandomLabs/CurseAPI/issues?q=a&amp;b\">issues" +
+					"</a> and <a href=\"/relative\">this</a>.</p><p>Thanks</p>",
+			"<div><p>Unclosed<p>paragraphs<div>and divs</div>",
+			"<pre>\n  indented\n    code  </pre><p>after</p>",
+			"<dl><dt>Term<dd>Definition<dt>Term 2<dd>Definition 2</dl><p>end</p>",
+			"<table><tr><td>a<td>b<tr><td>c</table><table><td>implied row</table>",
+			"<!-- comment --><p>a</p><script>var p = '<p>';</script><style>p {}</style><p>b</p>",
+			"<P CLASS=\"upper\">Upper case</P><h1>One</h1><h3>Two<h4>Three</h3></p>",
+			"<p>a < b > c</p><p><em>Italic <b>bold</b></em> text</p>",
+			"<p>A very long line of text that needs to be wrapped because it is longer than " +
+					"the maximum line length</p><ul><li>With a list item that is also long " +
+					"enough to be wrapped</li></ul>"
+	};
+
+	@Test
+	public void renderedPlainTextShouldMatchDOMPlainText() {
+		for (String html : changelogs) {
+			for (int maxLineLength : new int[] {Integer.MAX_VALUE, 80, 20, 5}) {
+				assertThat(JsoupUtils.renderPlainText(html, maxLineLength)).
+						as("%s (maxLineLength = %s)", html, maxLineLength).
+						isEqualTo(JsoupUtils.getPlainText(
+								JsoupUtils.parseBody(html), maxLineLength
+						));
+			}
+		}
+	}
+
+	@Test
+	public void plainTextShouldBeRenderedToAppendable() throws IOException {
+		final StringWriter writer = new StringWriter();
+		JsoupUtils.renderPlainText("<p>a</p><ul><li>b</li></ul>", Integer.MAX_VALUE, writer);
+		assertThat(writer.toString()).isEqualTo(
+				"a" + System.lineSeparator() + System.lineSeparator() + " * b"
+		);
+	}
+
+	@Test
+	public void invalidArgumentsShouldBeRejected() {
+		assertThatThrownBy(() -> JsoupUtils.renderPlainText("", 0, new StringBuilder())).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be greater than");
+		assertThatThrownBy(() -> JsoupUtils.renderPlainText("", 1, null)).
+				isInstanceOf(NullPointerException.class).
+				hasMessageContaining("should not be null");
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+public class LazyElementTest {
+	@Test
+	public void htmlShouldNotBeParsedUntilElementIsCalled() {
+		final String html = "<p>\u00dcn\u00efc\u00f6d\u00e9 changelog</p>";
+		final LazyElement lazyElement = LazyElement.of(html);
+		assertThat(lazyElement.html()).isEqualTo(html);
+		assertThat(lazyElement.isBlank()).isFalse();
+		assertThat(lazyElement.isParsed()).isFalse();
+
+		final Element element = lazyElement.element();
+		assertThat(lazyElement.isParsed()).isTrue();
+		assertThat(element.text()).isEqualTo("\u00dcn\u00efc\u00f6d\u00e9 changelog");
+		assertThat(lazyElement.element()).isSameAs(element);
+	}
+
+	@Test
+	public void blankHTMLShouldBeDetected() {
+		assertThat(LazyElement.of("").isBlank()).isTrue();
+		assertThat(LazyElement.of(" \n\t").isBlank()).isTrue();
+		assertThatThrownBy(() -> LazyElement.of(null)).
+				isInstanceOf(NullPointerException.class).
+				hasMessageContaining("should not be null");
+	}
+}
@@ -31,6 +31,7 @@ import java.nio.file.Path;
 
 import com.therandomlabs.curseapi.CurseException;
 import com.therandomlabs.curseapi.file.BasicCurseFile;
+import com.therandomlabs.curseapi.file.CurseFile;
 import okio.BufferedSink;
 import okio.BufferedSource;
 import okio.Okio;
@@ -45,6 +46,9 @@ public class MoshiUtilsTest {
 			"{\n  \"fileID\": %s,\n  \"projectID\": %s\n}\n", FILE_ID, PROJECT_ID
 	);
 
+	private static final String INTERNED_JSON =
+			"{\"name\":\"Mods\",\"gameVersion\":[\"1.12.2\",\"Forge\"]}";
+
 	@Test
 	public void exceptionShouldBeThrownIfJsonIsInvalid() {
 		assertThatThrownBy(() -> MoshiUtils.fromJSON("", BasicCurseFile.Immutable.class)).
@@ -92,4 +96,31 @@ public class MoshiUtilsTest {
 			assertThat(source.readUtf8()).isEqualTo(JSON);
 		}
 	}
+
+	@Test
+	public void stringsShouldBeInterned() throws CurseException {
+		final InternedStrings strings1 = MoshiUtils.fromJSON(INTERNED_JSON, InternedStrings.class);
+		final InternedStrings strings2 = MoshiUtils.fromJSON(INTERNED_JSON, InternedStrings.class);
+
+		assertThat(strings1.name).isEqualTo("Mods").isSameAs(strings2.name);
+
+		final StringDictionary dictionary = CurseFile.gameVersionStringDictionary();
+		assertThat(strings1.gameVersion).containsExactly(
+				dictionary.index("1.12.2"), dictionary.index("Forge")
+		).isEqualTo(strings2.gameVersion);
+		assertThat(dictionary.string(strings1.gameVersion[1])).
+				isSameAs(dictionary.string(strings2.gameVersion[1]));
+
+		final InternedStrings strings3 =
+				MoshiUtils.fromJSON(MoshiUtils.toJSON(strings1), InternedStrings.class);
+		assertThat(strings3.name).isSameAs(strings1.name);
+		assertThat(strings3.gameVersion).isEqualTo(strings1.gameVersion);
+	}
+
+	private static final class InternedStrings {
+		@Interned
+		private String name;
+		@GameVersionIndices
+		private int[] gameVersion;
+	}
 }
@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.therandomlabs.curseapi.CurseException;
+import org.junit.jupiter.api.Test;
+
+public class RequestCoalescerTest {
+	private static final int THREADS = 8;
+
+	@Test
+	public void concurrentIdenticalRequestsShouldBeCoalesced() throws Exception {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		final List<Future<List<String>>> futures = submit(() -> coalescer.execute("key", () -> {
+			calls.incrementAndGet();
+			Uninterruptibles.awaitUninterruptibly(latch);
+			final List<String> list = new ArrayList<>();
+			list.add("result");
+			return list;
+		}, ArrayList::new), coalescer, latch);
+
+		final List<List<String>> results = new ArrayList<>();
+
+		for (Future<List<String>> future : futures) {
+			results.add(future.get(10L, TimeUnit.SECONDS));
+		}
+
+		assertThat(calls).hasValue(1);
+		assertThat(coalescer.executedRequests()).isOne();
+		assertThat(coalescer.deduplicatedRequests()).isEqualTo(THREADS - 1);
+		assertThat(coalescer.inFlightRequests()).isZero();
+		assertThat(results).allSatisfy(result -> assertThat(result).containsExactly("result"));
+		//Each waiter should receive its own copy of the result.
+		assertThat(results.stream().distinct().count()).isOne();
+		final Set<List<String>> distinctInstances =
+				Collections.newSetFromMap(new IdentityHashMap<>());
+		distinctInstances.addAll(results);
+		assertThat(distinctInstances).hasSize(THREADS);
+	}
+
+	@Test
+	public void leaderShouldBeAbleToModifyResultWhileWaitersCopyIt() throws Exception {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		final CountDownLatch latch = new CountDownLatch(1);
+		final CountDownLatch leaderModified = new CountDownLatch(1);
+		final AtomicReference<Thread> leader = new AtomicReference<>();
+
+		final List<Future<List<String>>> futures = submit(() -> {
+			final List<String> result = coalescer.execute("key", () -> {
+				leader.set(Thread.currentThread());
+				Uninterruptibles.awaitUninterruptibly(latch);
+				final List<String> list = new ArrayList<>();
+				list.add("result");
+				return list;
+			}, list -> {
+				//Waiters only copy the result after the leader has modified its own.
+				if (Thread.currentThread() != leader.get()) {
+					Uninterruptibles.awaitUninterruptibly(leaderModified, 10L, TimeUnit.SECONDS);
+				}
+
+				return new ArrayList<>(list);
+			});
+
+			result.add("modified");
+
+			if (Thread.currentThread() == leader.get()) {
+				leaderModified.countDown();
+			}
+
+			return result;
+		}, coalescer, latch);
+
+		for (Future<List<String>> future : futures) {
+			assertThat(future.get(20L, TimeUnit.SECONDS)).containsExactly("result", "modified");
+		}
+	}
+
+	@Test
+	public void waitersShouldReceiveSameException() throws Exception {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		final List<Future<Object>> futures = submit(() -> coalescer.execute("key", () -> {
+			Uninterruptibles.awaitUninterruptibly(latch);
+			throw new CurseException("Test exception");
+		}), coalescer, latch);
+
+		for (Future<Object> future : futures) {
+			assertThatThrownBy(() -> future.get(10L, TimeUnit.SECONDS)).
+					hasCauseInstanceOf(CurseException.class).
+					hasMessageContaining("Test exception");
+		}
+
+		assertThat(coalescer.executedRequests()).isOne();
+		assertThat(coalescer.inFlightRequests()).isZero();
+	}
+
+	@Test
+	public void sequentialRequestsShouldNotBeCoalesced() throws CurseException {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		final AtomicInteger calls = new AtomicInteger();
+
+		coalescer.execute("key", calls::incrementAndGet);
+		coalescer.execute("key", calls::incrementAndGet);
+
+		assertThat(calls).hasValue(2);
+		assertThat(coalescer.deduplicatedRequests()).isZero();
+	}
+
+	@Test
+	public void asynchronousRequestsShouldBeCoalesced() throws CurseException {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		final CompletableFuture<String> request = new CompletableFuture<>();
+		final AtomicInteger calls = new AtomicInteger();
+
+		final CompletableFuture<String> result1 = coalescer.executeAsync("key", () -> {
+			calls.incrementAndGet();
+			return request;
+		}, String::new);
+		final CompletableFuture<String> result2 = coalescer.executeAsync("key", () -> {
+			calls.incrementAndGet();
+			return request;
+		}, String::new);
+
+		//Cancelling one waiter should not affect the others.
+		result2.cancel(false);
+		request.complete("result");
+
+		assertThat(FutureUtils.join(result1)).isEqualTo("result");
+		assertThat(calls).hasValue(1);
+		assertThat(coalescer.deduplicatedRequests()).isOne();
+		assertThat(coalescer.inFlightRequests()).isZero();
+	}
+
+	@Test
+	public void disabledCoalescerShouldExecuteEveryRequest() throws Exception {
+		final RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+		coalescer.setEnabled(false);
+		assertThat(coalescer.isEnabled()).isFalse();
+
+		final AtomicInteger calls = new AtomicInteger();
+		final CompletableFuture<Integer> request = new CompletableFuture<>();
+		coalescer.executeAsync("key", () -> request, i -> i);
+		coalescer.executeAsync("key", () -> request, i -> i);
+		coalescer.execute("key", calls::incrementAndGet);
+
+		assertThat(coalescer.executedRequests()).isEqualTo(3);
+		assertThat(coalescer.deduplicatedRequests()).isZero();
+		assertThat(coalescer.toString()).isNotEmpty();
+
+		coalescer.resetStatistics();
+		assertThat(coalescer.executedRequests()).isZero();
+	}
+
+	private static <T> List<Future<T>> submit(
+			CheckedSupplier<T, Exception> task, RequestCoalescer<?> coalescer, CountDownLatch latch
+	) throws InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		final List<Future<T>> futures = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(task::get));
+			}
+
+			//Wait until every thread other than the one executing the request is waiting.
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+			while (coalescer.deduplicatedRequests() < THREADS - 1 &&
+					System.nanoTime() < deadline) {
+				Thread.sleep(10L);
+			}
+
+			latch.countDown();
+			return futures;
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import com.therandomlabs.curseapi.CurseException;
+import com.therandomlabs.curseapi.forgesvc.ForgeSvcProvider;
+import com.therandomlabs.curseapi.game.CurseGame;
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RetrofitUtilsTest {
+	@AfterEach
+	public void resetRetrofitUtils() {
+		RetrofitUtils.disableHTTPCache();
+		RetrofitUtils.setInterceptor(null);
+		RetrofitUtils.setRateLimit(Double.POSITIVE_INFINITY);
+		RetrofitUtils.setConcurrencyLimits(1, 64);
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfHTTPCacheSizeIsInvalid(@TempDir Path tempDirectory) {
+		assertThatThrownBy(() -> RetrofitUtils.enableHTTPCache(tempDirectory, 0L)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be positive");
+		assertThatThrownBy(() -> RetrofitUtils.enableHTTPCache(
+				tempDirectory, 1024L, Duration.ofSeconds(-1L), Duration.ZERO,
+				RetrofitUtils.StaleResponsePolicy.ON_ERROR
+		)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("negative");
+		assertThat(RetrofitUtils.getHTTPCache()).isNull();
+	}
+
+	@Test
+	public void httpCacheShouldBeUsed(@TempDir Path tempDirectory) throws CurseException {
+		RetrofitUtils.enableHTTPCache(tempDirectory, 10L * 1024L * 1024L);
+		final Cache cache = RetrofitUtils.getHTTPCache();
+		assertThat(cache).isNotNull();
+
+		final Set<CurseGame> games = ForgeSvcProvider.instance.games();
+		assertThat(ForgeSvcProvider.instance.games()).isEqualTo(games);
+		assertThat(cache.requestCount()).isGreaterThanOrEqualTo(2);
+		assertThat(cache.hitCount() + cache.networkCount()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	public void httpCacheShouldNotBeUsedAfterBeingDisabled(@TempDir Path tempDirectory)
+			throws CurseException {
+		RetrofitUtils.enableHTTPCache(tempDirectory, 10L * 1024L * 1024L);
+		final Cache cache = RetrofitUtils.getHTTPCache();
+		assertThat(cache).isNotNull();
+
+		RetrofitUtils.disableHTTPCache();
+		assertThat(RetrofitUtils.getHTTPCache()).isNull();
+		assertThat(ForgeSvcProvider.instance.games()).isNotEmpty();
+		assertThat(cache.requestCount()).isZero();
+	}
+
+	@Test
+	public void exceptionShouldBeThrownIfThrottleLimitsAreInvalid() {
+		assertThatThrownBy(() -> RetrofitUtils.setRateLimit(0.0)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should be positive");
+		assertThatThrownBy(() -> RetrofitUtils.setConcurrencyLimits(8, 4)).
+				isInstanceOf(IllegalArgumentException.class).
+				hasMessageContaining("should not be smaller than");
+		assertThat(RetrofitUtils.getRateLimit()).isEqualTo(Double.POSITIVE_INFINITY);
+	}
+
+	@Test
+	public void concurrencyLimitShouldDecreaseIfServerIsOverloaded() {
+		final OkHttpClient client = OkHttpUtils.getClient();
+		OkHttpUtils.setClient(client.newBuilder().
+				addNetworkInterceptor(chain -> new Response.Builder().
+						request(chain.request()).
+						protocol(Protocol.HTTP_1_1).
+						code(503).
+						message("Service Unavailable").
+						body(ResponseBody.create(null, "")).
+						build()).
+				build());
+
+		try {
+			RetrofitUtils.setConcurrencyLimits(1, 64);
+			final int limit = RetrofitUtils.getConcurrencyLimit();
+			assertThatThrownBy(ForgeSvcProvider.instance::games).
+					isInstanceOf(CurseException.class);
+			assertThat(RetrofitUtils.getConcurrencyLimit()).isLessThan(limit);
+		} finally {
+			OkHttpUtils.setClient(client);
+		}
+	}
+
+	@Test
+	public void dispatcherShouldNotLimitConcurrencyBelowMaxLimit() {
+		RetrofitUtils.setConcurrencyLimits(1, 128);
+		final Dispatcher dispatcher = OkHttpUtils.getClient().dispatcher();
+		assertThat(dispatcher.getMaxRequests()).isGreaterThanOrEqualTo(128);
+		assertThat(dispatcher.getMaxRequestsPerHost()).isGreaterThanOrEqualTo(128);
+	}
+
+	@Test
+	public void requestsShouldBeRateLimited() throws CurseException {
+		final Set<CurseGame> games = ForgeSvcProvider.instance.games();
+		RetrofitUtils.setRateLimit(4.0);
+		final long startTime = System.nanoTime();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(ForgeSvcProvider.instance.games()).isEqualTo(games);
+		}
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startTime)).
+				isGreaterThanOrEqualTo(Duration.ofMillis(500L));
+	}
+
+	@Test
+	public void httpCacheHitsShouldNotBeRateLimited(@TempDir Path tempDirectory)
+			throws CurseException {
+		RetrofitUtils.enableHTTPCache(
+				tempDirectory, 10L * 1024L * 1024L, Duration.ofHours(1L), Duration.ZERO,
+				RetrofitUtils.StaleResponsePolicy.ON_ERROR
+		);
+		final Set<CurseGame> games = ForgeSvcProvider.instance.games();
+		RetrofitUtils.setRateLimit(1.0);
+		final long startTime = System.nanoTime();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(ForgeSvcProvider.instance.games()).isEqualTo(games);
+		}
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startTime)).
+				isLessThan(Duration.ofSeconds(2L));
+	}
+
+	@Test
+	public void cancellingAsyncRequestShouldCancelCall(@TempDir Path tempDirectory)
+			throws CurseException, InterruptedException {
+		final HTTPArchive archive = new HTTPArchive(tempDirectory);
+		RetrofitUtils.setInterceptor(archive.recorder());
+		assertThat(ForgeSvcProvider.instance.games()).isNotEmpty();
+
+		RetrofitUtils.setInterceptor(archive.replayer().latency(Duration.ofMinutes(1L)));
+		final Dispatcher dispatcher = OkHttpUtils.getClient().dispatcher();
+		final CompletableFuture<Set<CurseGame>> games = ForgeSvcProvider.instance.gamesAsync();
+		assertThat(awaitRunningCalls(dispatcher, count -> count > 0)).isOne();
+
+		assertThat(games.cancel(false)).isTrue();
+		assertThat(awaitRunningCalls(dispatcher, count -> count == 0)).isZero();
+
+		//The call should not be retried after being cancelled.
+		Thread.sleep(1000L);
+		assertThat(dispatcher.runningCallsCount()).isZero();
+	}
+
+	private static int awaitRunningCalls(Dispatcher dispatcher, IntPredicate condition)
+			throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+
+		while (!condition.test(dispatcher.runningCallsCount()) &&
+				System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+
+		return dispatcher.runningCallsCount();
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019-2020 TheRandomLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.therandomlabs.curseapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class StringDictionaryTest {
+	@Test
+	public void indicesShouldBeStable() {
+		final StringDictionary dictionary = new StringDictionary();
+		assertThat(dictionary.index("1.12.2")).isZero();
+		assertThat(dictionary.index("1.15.2")).isOne();
+		assertThat(dictionary.index("1.12.2")).isZero();
+		assertThat(dictionary.size()).isEqualTo(2);
+		assertThat(dictionary.string(1)).isEqualTo("1.15.2");
+		assertThatThrownBy(() -> dictionary.string(2)).
+				isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	public void internShouldReturnFirstInstance() {
+		final StringDictionary dictionary = new StringDictionary();
+		final String string = new String(new char[] {'1', '.', '7'});
+		assertThat(dictionary.intern(string)).isSameAs(string);
+		assertThat(dictionary.intern(new String(string.toCharArray()))).isSameAs(string);
+	}
+
+	@Test
+	public void bitsShouldIntersectCorrectly() {
+		final StringDictionary dictionary = new StringDictionary();
+		final List<String> strings =
+				IntStream.range(0, 200).mapToObj(Integer::toString).collect(Collectors.toList());
+		final long[] allBits = dictionary.bits(strings);
+		assertThat(allBits).hasSize(4);
+
+		final long[] bits1 = dictionary.bits(Arrays.asList("1", "150"));
+		final long[] bits2 = dictionary.bits(Arrays.asList("150", "199"));
+		final long[] bits3 = dictionary.bits(Collections.singleton("2"));
+
+		assertThat(StringDictionary.intersects(bits1, bits2)).isTrue();
+		assertThat(StringDictionary.intersects(bits2, bits1)).isTrue();
+		assertThat(StringDictionary.intersects(bits1, bits3)).isFalse();
+		assertThat(StringDictionary.intersects(bits2, bits3)).isFalse();
+		assertThat(StringDictionary.intersects(allBits, bits3)).isTrue();
+		assertThat(StringDictionary.intersects(bits3, dictionary.bits(Collections.emptySet()))).
+				isFalse();
+	}
+
+	@Test
+	public void bitsShouldIntersectIndicesCorrectly() {
+		final StringDictionary dictionary = new StringDictionary();
+		final long[] bits = dictionary.bits(Arrays.asList("1", "150"));
+		final int[] indices = {dictionary.index("2"), dictionary.index("150")};
+
+		assertThat(StringDictionary.intersects(bits, indices)).isTrue();
+		assertThat(StringDictionary.intersects(bits, new int[] {dictionary.index("2")})).
+				isFalse();
+		assertThat(StringDictionary.intersects(bits, new int[] {dictionary.index("199")})).
+				isFalse();
+		assertThat(StringDictionary.intersects(bits, new int[0])).isFalse();
+	}
+}